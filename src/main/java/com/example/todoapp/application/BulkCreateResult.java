@@ -0,0 +1,36 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import java.util.List;
+
+/**
+ * Todo の一括作成の結果を表す。
+ *
+ * <p>入力の一部が不正でも処理全体は中断せず、成功した項目と失敗した項目を入力順の index で対応付けて返す。
+ *
+ * @param created 作成に成功した項目
+ * @param errors 作成に失敗した項目
+ */
+public record BulkCreateResult(List<Created> created, List<ItemError> errors) {
+
+    public BulkCreateResult {
+        created = List.copyOf(created);
+        errors = List.copyOf(errors);
+    }
+
+    /**
+     * 作成に成功した項目。
+     *
+     * @param index 入力リスト内の位置（0 始まり）
+     * @param todo 作成された Todo
+     */
+    public record Created(int index, Todo todo) {}
+
+    /**
+     * 作成に失敗した項目。
+     *
+     * @param index 入力リスト内の位置（0 始まり）
+     * @param message 失敗理由
+     */
+    public record ItemError(int index, String message) {}
+}
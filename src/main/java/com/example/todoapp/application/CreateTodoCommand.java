@@ -0,0 +1,12 @@
+package com.example.todoapp.application;
+
+import java.time.LocalDate;
+
+/**
+ * Todo の一括作成で 1 件分の入力を表すコマンド。
+ *
+ * @param title タイトル（必須、100文字以内）
+ * @param detail 詳細（任意、1000文字以内）
+ * @param dueDate 期限日（必須、本日以降）
+ */
+public record CreateTodoCommand(String title, String detail, LocalDate dueDate) {}
@@ -0,0 +1,134 @@
+package com.example.todoapp.application;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 形式の CSV を 1 レコードずつ読み出すリーダー。
+ *
+ * <p>引用符で囲まれたフィールドには区切り文字・改行・二重にした引用符を含められる。 改行は CRLF・LF・CR のいずれも受け付け、 先頭の BOM と空行は読み飛ばす。
+ * 不正な入力で全体を読み込んでしまわないよう、1 レコードの長さには上限を設ける。
+ */
+public class CsvRecordReader {
+
+    /** 1 レコードの最大文字数 */
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final int EOF = -1;
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private boolean started;
+
+    /** 先読みした 1 文字（先読みしていない場合は null） */
+    private Integer pushedBack;
+
+    /**
+     * CsvRecordReader を構築する。
+     *
+     * @param reader 読み出し元
+     */
+    public CsvRecordReader(Reader reader) {
+        this.reader =
+                reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * 次のレコードを読み出す。
+     *
+     * @return フィールドのリスト（入力の終わりに達した場合は null）
+     * @throws IOException 読み出しに失敗した場合
+     * @throws IllegalArgumentException 引用符が閉じられていない、またはレコードが長すぎる場合
+     */
+    public List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                // 空行は読み飛ばす
+                continue;
+            }
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        boolean afterQuote = false;
+        while (true) {
+            int c = read();
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("CSV の 1 行が長すぎます");
+            }
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalArgumentException("CSV の引用符が閉じられていません");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        unread(following);
+                        quoted = false;
+                        afterQuote = true;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == EOF || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '"' && field.isEmpty() && !afterQuote) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != null) {
+            int c = pushedBack;
+            pushedBack = null;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == BOM) {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * エクスポート対象の履歴を絞り込む記録日時の範囲を表す。 開始を含み、終了を含まない。
+ *
+ * @param from 記録日時の下限（含む、null の場合は制限なし）
+ * @param to 記録日時の上限（含まない、null の場合は制限なし）
+ */
+public record RecordedAtRange(LocalDateTime from, LocalDateTime to) {
+
+    public RecordedAtRange {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("記録日時の範囲は開始が終了より前になるよう指定してください");
+        }
+    }
+}
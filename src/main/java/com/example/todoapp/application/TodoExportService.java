@@ -0,0 +1,51 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.infrastructure.repository.export.TodoExportRepository;
+import com.example.todoapp.infrastructure.repository.export.TodoExportRow;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Todo と履歴のエクスポートを行うアプリケーションサービス。
+ *
+ * <p>行は 1 件ずつ呼び出し元に渡し、リストには溜めない。 DB からはサーバー側カーソルで読み出すため、 処理が終わるまで読み取り専用のトランザクションを維持する。
+ */
+@Service
+public class TodoExportService {
+
+    private final TodoExportRepository exportRepository;
+
+    public TodoExportService(TodoExportRepository exportRepository) {
+        this.exportRepository = exportRepository;
+    }
+
+    /**
+     * 更新日時が範囲内の Todo を、更新日時の昇順で 1 件ずつ処理する（削除済みを含む）。
+     *
+     * @param range 更新日時の範囲
+     * @param action 各行に対する処理
+     */
+    @Transactional(readOnly = true)
+    public void exportTodos(UpdatedAtRange range, Consumer<TodoExportRow> action) {
+        try (Stream<TodoExportRow> rows = exportRepository.streamTodos(range.from(), range.to())) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * 記録日時が範囲内の履歴を、記録日時の昇順で 1 件ずつ処理する。
+     *
+     * @param range 記録日時の範囲
+     * @param action 各行に対する処理
+     */
+    @Transactional(readOnly = true)
+    public void exportHistory(RecordedAtRange range, Consumer<TodoHistoryExportRow> action) {
+        try (Stream<TodoHistoryExportRow> rows =
+                exportRepository.streamHistory(range.from(), range.to())) {
+            rows.forEach(action);
+        }
+    }
+}
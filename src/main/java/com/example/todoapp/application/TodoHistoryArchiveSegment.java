@@ -0,0 +1,35 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.infrastructure.entity.TodoHistoryArchiveSegmentEntity;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 保持期間を過ぎた履歴を書き出したセグメントファイルを表す。
+ *
+ * @param segmentId セグメントID（ダウンロード時に指定する）
+ * @param minUpdatedAt 含まれる履歴の最も古い更新日時
+ * @param maxUpdatedAt 含まれる履歴の最も新しい更新日時
+ * @param rowCount 含まれる履歴の件数
+ * @param byteSize ファイルのバイト数（圧縮後）
+ * @param createdAt 作成日時
+ */
+public record TodoHistoryArchiveSegment(
+        UUID segmentId,
+        LocalDateTime minUpdatedAt,
+        LocalDateTime maxUpdatedAt,
+        int rowCount,
+        long byteSize,
+        LocalDateTime createdAt) {
+
+    /** 永続化エンティティから生成するファクトリメソッド。 */
+    static TodoHistoryArchiveSegment from(TodoHistoryArchiveSegmentEntity entity) {
+        return new TodoHistoryArchiveSegment(
+                entity.getSegmentId(),
+                entity.getMinUpdatedAt(),
+                entity.getMaxUpdatedAt(),
+                entity.getRowCount(),
+                entity.getByteSize(),
+                entity.getCreatedAt());
+    }
+}
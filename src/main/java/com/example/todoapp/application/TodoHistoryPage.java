@@ -0,0 +1,17 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import java.util.List;
+
+/**
+ * キーセットページングで取得した Todo の履歴の 1 ページ分を表す。
+ *
+ * @param items ページ内の履歴（版数の昇順）
+ * @param nextAfterVersion 次ページ取得用の版数（最終ページの場合は null）
+ */
+public record TodoHistoryPage(List<TodoHistoryExportRow> items, Integer nextAfterVersion) {
+
+    public TodoHistoryPage {
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.domain.exception.TodoNotFoundException;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import com.example.todoapp.infrastructure.repository.export.TodoExportRepository;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryArchive;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Todo の履歴を参照するアプリケーションサービス。
+ *
+ * <p>履歴は Todo ごとに版数のキーセットページングで取得する。 ある時点の状態は、履歴を Java で再生せず「その時点で最新の版」を DB の索引から直接取得する。 削除済みの Todo
+ * の履歴も参照できる（監査のため）。
+ *
+ * <p>保持期間を過ぎて todo_history からアーカイブへ移された版は、todo_history にない範囲を参照する場合に限りアーカイブから読み出す。 アーカイブされた版は Todo
+ * ごとに古い方から連続しているため、todo_history の先頭の版より前だけを補えばよい。
+ */
+@Service
+public class TodoHistoryService {
+
+    /** 履歴の 1 ページあたりの最大件数 */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final TodoDomainRepository todoRepository;
+    private final TodoHistoryJpaRepository historyRepository;
+    private final TodoExportRepository exportRepository;
+    private final TodoHistoryArchive archive;
+
+    /**
+     * TodoHistoryService を構築する。
+     *
+     * @param todoRepository 公開IDから Todo を引くためのリポジトリ
+     * @param historyRepository Todo 履歴の永続化リポジトリ
+     * @param exportRepository ボード全体の時点指定の状態を逐次読み出すリポジトリ
+     * @param archive 保持期間を過ぎた版のアーカイブ
+     */
+    public TodoHistoryService(
+            TodoDomainRepository todoRepository,
+            TodoHistoryJpaRepository historyRepository,
+            TodoExportRepository exportRepository,
+            TodoHistoryArchive archive) {
+        this.todoRepository = todoRepository;
+        this.historyRepository = historyRepository;
+        this.exportRepository = exportRepository;
+        this.archive = archive;
+    }
+
+    /**
+     * 指定された Todo の履歴を版数の昇順で 1 ページ分取得する。
+     *
+     * <p>次ページの有無を判定するため、指定件数より 1 件多く取得する。 todo_history から取得した先頭の版が指定された版数の直後でない場合は、
+     * その間の版をアーカイブから補う。
+     *
+     * @param publicId 公開ID
+     * @param afterVersion 前ページで返された版数（先頭ページの場合は null）
+     * @param size 1 ページあたりの件数（1 以上 {@value #MAX_PAGE_SIZE} 以下）
+     * @return 履歴の 1 ページ分
+     * @throws TodoNotFoundException Todo が見つからない場合
+     * @throws IllegalArgumentException 版数または件数が不正な場合
+     */
+    @Transactional(readOnly = true)
+    public TodoHistoryPage listHistory(PublicId publicId, Integer afterVersion, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("件数は1以上" + MAX_PAGE_SIZE + "以下で指定してください");
+        }
+        if (afterVersion != null && afterVersion < 0) {
+            throw new IllegalArgumentException("版数は0以上で指定してください");
+        }
+        Integer internalId = findInternalId(publicId);
+        int after = afterVersion == null ? 0 : afterVersion;
+        List<TodoHistoryExportRow> fetched =
+                historyRepository.findPage(internalId, after, Limit.of(size + 1));
+        if (fetched.isEmpty() || fetched.getFirst().versionNumber() > after + 1) {
+            fetched = prependArchived(internalId, after, fetched, size + 1);
+        }
+        if (fetched.size() <= size) {
+            return new TodoHistoryPage(fetched, null);
+        }
+        List<TodoHistoryExportRow> items = fetched.subList(0, size);
+        return new TodoHistoryPage(items, items.get(size - 1).versionNumber());
+    }
+
+    /**
+     * 指定された Todo の、指定日時の時点の状態（その時点で最新の版の履歴）を取得する。
+     *
+     * @param publicId 公開ID
+     * @param at 時点
+     * @return その時点で最新の版の履歴（削除状態を含む）
+     *     <p>todo_history にその時点以前の版がない場合は、アーカイブから探す。
+     * @throws TodoNotFoundException Todo が見つからない、またはその時点で作成されていない場合
+     */
+    @Transactional(readOnly = true)
+    public TodoHistoryExportRow getAsOf(PublicId publicId, LocalDateTime at) {
+        requireAt(at);
+        Integer internalId = findInternalId(publicId);
+        return historyRepository.findLatestAsOf(internalId, at, Limit.of(1)).stream()
+                .findFirst()
+                .or(() -> archive.findLatestAsOf(internalId, at))
+                .orElseThrow(() -> new TodoNotFoundException("指定日時の時点では Todo が存在しません"));
+    }
+
+    /**
+     * 指定日時の時点のボード（その時点で削除されていない Todo）の状態を、内部IDの順で 1 件ずつ処理する。
+     *
+     * <p>DB からはサーバー側カーソルで読み出すため、処理が終わるまで読み取り専用のトランザクションを維持する。 ボード全体の状態は todo_history
+     * だけから求めるため、その時点で最新の版がアーカイブ済みの Todo がある日時は指定できない（Todo ごとの参照を使う）。
+     *
+     * @param at 時点
+     * @param action 各 Todo のその時点で最新の版の履歴に対する処理
+     * @throws IllegalArgumentException その時点で最新の版がアーカイブ済みの Todo がある場合
+     */
+    @Transactional(readOnly = true)
+    public void forEachStateAsOf(LocalDateTime at, Consumer<TodoHistoryExportRow> action) {
+        requireBoardAsOf(at);
+        try (Stream<TodoHistoryExportRow> rows = exportRepository.streamStateAsOf(at)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * 指定日時の時点のボード全体の状態を参照できるかを検証する。
+     *
+     * <p>逐次書き出しを始める前に呼び出し、応答の途中で失敗しないようにするために使用する。 アーカイブされた版は Todo ごとに古い方から連続しているため、 その時点以前の版が
+     * todo_history に 1 つでも残っていれば、その時点で最新の版も todo_history にある。 アーカイブがその時点以前の版を含む場合に限り、そのような版が残っていない
+     * Todo があるかを DB で確認する。
+     *
+     * @param at 時点
+     * @throws IllegalArgumentException 日時が未指定、またはその時点で最新の版がアーカイブ済みの Todo がある場合
+     */
+    @Transactional(readOnly = true)
+    public void requireBoardAsOf(LocalDateTime at) {
+        if (archive.containsUpdatedAtOrBefore(requireAt(at))
+                && historyRepository.existsTodoWithoutHistoryAsOf(at)) {
+            throw new IllegalArgumentException(
+                    "指定日時はアーカイブ済みの期間のため、ボード全体の状態は参照できません（Todo ごとの履歴を参照してください）");
+        }
+    }
+
+    // ========================================================================
+    // アーカイブ
+    // ========================================================================
+    /**
+     * アーカイブのセグメントを作成日時の順で取得する。
+     *
+     * @return セグメントのリスト
+     */
+    @Transactional(readOnly = true)
+    public List<TodoHistoryArchiveSegment> listArchiveSegments() {
+        return archive.listSegments().stream().map(TodoHistoryArchiveSegment::from).toList();
+    }
+
+    /**
+     * アーカイブのセグメントファイルのパスを取得する。
+     *
+     * @param segmentId セグメントID
+     * @return gzip で圧縮された NDJSON のファイル
+     * @throws TodoNotFoundException セグメントが見つからない場合
+     */
+    @Transactional(readOnly = true)
+    public Path getArchiveSegmentFile(UUID segmentId) {
+        return archive.findSegmentFile(segmentId)
+                .filter(Files::isRegularFile)
+                .orElseThrow(() -> new TodoNotFoundException("アーカイブのセグメントが見つかりません"));
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /** todo_history から取得した版の前に、指定された版数より後ろのアーカイブ済みの版を補う。 */
+    private List<TodoHistoryExportRow> prependArchived(
+            Integer internalId, int after, List<TodoHistoryExportRow> hot, int limit) {
+        Integer hotFirst = hot.isEmpty() ? null : hot.getFirst().versionNumber();
+        List<TodoHistoryExportRow> merged = new ArrayList<>();
+        for (TodoHistoryExportRow row : archive.findVersions(internalId)) {
+            if (row.versionNumber() > after
+                    && (hotFirst == null || row.versionNumber() < hotFirst)) {
+                merged.add(row);
+            }
+        }
+        if (merged.isEmpty()) {
+            return hot;
+        }
+        merged.addAll(hot);
+        return merged.size() <= limit ? merged : merged.subList(0, limit);
+    }
+
+    private Integer findInternalId(PublicId publicId) {
+        return todoRepository
+                .findByPublicId(publicId)
+                .orElseThrow(() -> new TodoNotFoundException())
+                .getInternalId()
+                .value();
+    }
+
+    private static LocalDateTime requireAt(LocalDateTime at) {
+        if (at == null) {
+            throw new IllegalArgumentException("日時を指定してください");
+        }
+        return at;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.infrastructure.entity.TodoImportJobEntity;
+import com.example.todoapp.infrastructure.entity.TodoImportStatus;
+import java.util.UUID;
+
+/**
+ * CSV からの一括取り込みの進捗を表す。
+ *
+ * @param jobId ジョブID（再開時に指定する）
+ * @param status 状態
+ * @param processedRecords コミット済みの最後の行番号（ヘッダーを除き 1 始まり、再開時はこの次の行から取り込む）
+ * @param importedCount 取り込んだ件数
+ * @param errorCount エラーとなった行数
+ */
+public record TodoImportJob(
+        UUID jobId,
+        TodoImportStatus status,
+        int processedRecords,
+        int importedCount,
+        int errorCount) {
+
+    /** 永続化エンティティから生成するファクトリメソッド。 */
+    static TodoImportJob from(TodoImportJobEntity entity) {
+        return new TodoImportJob(
+                entity.getJobId(),
+                entity.getStatus(),
+                entity.getProcessedRecords(),
+                entity.getImportedCount(),
+                entity.getErrorCount());
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.domain.exception.TodoConflictException;
+import com.example.todoapp.domain.exception.TodoNotFoundException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.infrastructure.entity.TodoImportJobEntity;
+import com.example.todoapp.infrastructure.entity.TodoImportStatus;
+import com.example.todoapp.infrastructure.repository.importer.TodoCopyWriter;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorJpaRepository;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorRow;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportJobJpaRepository;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * CSV から Todo を一括で取り込むアプリケーションサービス。
+ *
+ * <p>取り込みは次の 3 段のパイプラインで行う。
+ *
+ * <ol>
+ *   <li>読み出し（1 スレッド）: CSV をレコードに分解し、一定件数ごとのバッチにまとめて検証に回す
+ *   <li>検証（複数スレッド）: 各行を Todo.create() と同じ規則で検証し、Todo またはエラーに変換する
+ *   <li>書き込み（呼び出し元のスレッド）: バッチを入力順に受け取り、COPY で todos・todo_history に書き込む
+ * </ol>
+ *
+ * <p>検証中・検証済みのバッチは有界のキューで受け渡すため、書き込みが追いつかない場合は読み出しが待たされ（背圧）、 メモリに載る行数はキューの容量で頭打ちになる。
+ *
+ * <p>バッチごとに 1 トランザクションでコミットし、同じトランザクションで進捗（コミット済みの最後の行番号）を進める。 中断した場合は同じジョブIDと同じ CSV
+ * で再開すると、コミット済みの行を読み飛ばして続きから取り込む。 エラーとなった行は行番号と理由を記録し、後から一覧で取得できる。
+ */
+@Slf4j
+@Service
+public class TodoImportService {
+
+    private static final String COLUMN_TITLE = "title";
+    private static final String COLUMN_DETAIL = "detail";
+    private static final String COLUMN_DUE_DATE = "dueDate";
+
+    /** 入力の終わりを表すバッチ */
+    private static final ParsedBatch END = new ParsedBatch(0, List.of(), List.of());
+
+    private final TodoCopyWriter copyWriter;
+    private final TodoImportJobJpaRepository jobRepository;
+    private final TodoImportErrorJpaRepository errorRepository;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int parserThreads;
+    private final int queueCapacity;
+
+    /**
+     * TodoImportService を構築する。
+     *
+     * @param copyWriter COPY による書き込み
+     * @param jobRepository 取り込みの進捗の永続化リポジトリ
+     * @param errorRepository エラーとなった行の永続化リポジトリ
+     * @param transactionOperations バッチごとのトランザクションを開始するためのテンプレート
+     * @param batchSize 1 トランザクションで書き込む行数
+     * @param parserThreads 検証を並行して行うスレッド数
+     * @param queueCapacity 検証中・検証済みで書き込みを待てるバッチの数
+     */
+    public TodoImportService(
+            TodoCopyWriter copyWriter,
+            TodoImportJobJpaRepository jobRepository,
+            TodoImportErrorJpaRepository errorRepository,
+            TransactionOperations transactionOperations,
+            @Value("${todoapp.import.batch-size:1000}") int batchSize,
+            @Value("${todoapp.import.parser-threads:4}") int parserThreads,
+            @Value("${todoapp.import.queue-capacity:8}") int queueCapacity) {
+        this.copyWriter = copyWriter;
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.parserThreads = parserThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // ========================================================================
+    // Import
+    // ========================================================================
+    /**
+     * CSV から Todo を取り込む。
+     *
+     * <p>CSV の先頭行は列名（title, detail, dueDate）とし、detail 列は省略できる。
+     * ジョブIDを指定した場合は、そのジョブのコミット済みの行を読み飛ばして再開する。
+     *
+     * <p>バッチごとにトランザクションを開始するため、既存のトランザクションの外から呼び出すこと。
+     *
+     * @param jobId 再開するジョブID（新規に取り込む場合は null）
+     * @param csv 取り込む CSV
+     * @return 取り込み後の進捗
+     * @throws TodoNotFoundException 指定されたジョブが存在しない場合
+     * @throws IllegalArgumentException 指定されたジョブが完了済みの場合、または CSV の形式が不正な場合
+     * @throws TodoConflictException 同じジョブが並行して取り込まれている場合
+     */
+    public TodoImportJob importTodos(UUID jobId, Reader csv) {
+        TodoImportJobEntity job =
+                transactionOperations.execute(
+                        status -> jobId == null ? jobRepository.save(newJob()) : resume(jobId));
+        UUID id = job.getJobId();
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads);
+        BlockingQueue<CompletableFuture<ParsedBatch>> queue =
+                new ArrayBlockingQueue<>(queueCapacity);
+        try {
+            int skip = job.getProcessedRecords();
+            reader.submit(
+                    () -> {
+                        readBatches(csv, skip, parsers, queue);
+                        return null;
+                    });
+
+            int processed = skip;
+            while (true) {
+                ParsedBatch batch = queue.take().join();
+                if (batch == END) {
+                    break;
+                }
+                int expected = processed;
+                transactionOperations.executeWithoutResult(
+                        status -> {
+                            copyWriter.write(id, batch.todos(), batch.errors());
+                            int advanced =
+                                    jobRepository.advance(
+                                            id,
+                                            expected,
+                                            batch.lastRecordNumber(),
+                                            batch.todos().size(),
+                                            batch.errors().size(),
+                                            LocalDateTime.now());
+                            if (advanced == 0) {
+                                throw new TodoConflictException("取り込みジョブが他の処理で更新されました");
+                            }
+                        });
+                processed = batch.lastRecordNumber();
+            }
+            return finish(id, TodoImportStatus.COMPLETED);
+        } catch (CompletionException e) {
+            finish(id, TodoImportStatus.FAILED);
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } catch (RuntimeException e) {
+            finish(id, TodoImportStatus.FAILED);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(id, TodoImportStatus.FAILED);
+            throw new IllegalStateException("取り込みが中断されました", e);
+        } finally {
+            reader.shutdownNow();
+            parsers.shutdownNow();
+        }
+    }
+
+    // ========================================================================
+    // Read
+    // ========================================================================
+    /**
+     * 取り込みの進捗を取得する。
+     *
+     * @param jobId ジョブID
+     * @return 取り込みの進捗
+     * @throws TodoNotFoundException 指定されたジョブが存在しない場合
+     */
+    @Transactional(readOnly = true)
+    public TodoImportJob getJob(UUID jobId) {
+        return TodoImportJob.from(findJob(jobId));
+    }
+
+    /**
+     * エラーとなった行を、行番号の昇順で 1 件ずつ処理する。
+     *
+     * @param jobId ジョブID
+     * @param action 各行に対する処理
+     */
+    @Transactional(readOnly = true)
+    public void forEachError(UUID jobId, Consumer<TodoImportErrorRow> action) {
+        try (Stream<TodoImportErrorRow> errors = errorRepository.streamByJobId(jobId)) {
+            errors.forEach(action);
+        }
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    private static TodoImportJobEntity newJob() {
+        LocalDateTime now = LocalDateTime.now();
+        TodoImportJobEntity job = new TodoImportJobEntity();
+        job.setJobId(UUID.randomUUID());
+        job.setStatus(TodoImportStatus.RUNNING);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        return job;
+    }
+
+    private TodoImportJobEntity resume(UUID jobId) {
+        TodoImportJobEntity job = findJob(jobId);
+        if (job.getStatus() == TodoImportStatus.COMPLETED) {
+            throw new IllegalArgumentException("取り込みジョブは完了済みです");
+        }
+        job.setStatus(TodoImportStatus.RUNNING);
+        job.setUpdatedAt(LocalDateTime.now());
+        return job;
+    }
+
+    private TodoImportJobEntity findJob(UUID jobId) {
+        return jobRepository
+                .findById(jobId)
+                .orElseThrow(() -> new TodoNotFoundException("取り込みジョブが見つかりません"));
+    }
+
+    private TodoImportJob finish(UUID jobId, TodoImportStatus status) {
+        return transactionOperations.execute(
+                tx -> {
+                    TodoImportJobEntity job = findJob(jobId);
+                    job.setStatus(status);
+                    job.setUpdatedAt(LocalDateTime.now());
+                    log.info(
+                            "CSV の取り込みを終了しました（ジョブ: {}, 状態: {}, 取り込み: {} 件, エラー: {} 件）",
+                            jobId,
+                            status,
+                            job.getImportedCount(),
+                            job.getErrorCount());
+                    return TodoImportJob.from(job);
+                });
+    }
+
+    /**
+     * CSV を読み出してバッチにまとめ、検証を並行して開始した順にキューへ入れる。
+     *
+     * <p>キューが一杯の間は読み出しを止める。 読み出しに失敗した場合は失敗したバッチをキューに入れ、書き込み側に伝える。
+     */
+    private void readBatches(
+            Reader csv,
+            int skip,
+            ExecutorService parsers,
+            BlockingQueue<CompletableFuture<ParsedBatch>> queue)
+            throws InterruptedException {
+        try {
+            CsvRecordReader reader = new CsvRecordReader(csv);
+            Columns columns = Columns.of(reader.next());
+            int recordNumber = 0;
+            int firstRecordNumber = 0;
+            List<List<String>> records = new ArrayList<>(batchSize);
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                recordNumber++;
+                if (recordNumber <= skip) {
+                    continue;
+                }
+                if (records.isEmpty()) {
+                    firstRecordNumber = recordNumber;
+                }
+                records.add(record);
+                if (records.size() == batchSize) {
+                    queue.put(parseAsync(columns, firstRecordNumber, records, parsers));
+                    records = new ArrayList<>(batchSize);
+                }
+            }
+            if (!records.isEmpty()) {
+                queue.put(parseAsync(columns, firstRecordNumber, records, parsers));
+            }
+            queue.put(CompletableFuture.completedFuture(END));
+        } catch (IOException e) {
+            queue.put(CompletableFuture.failedFuture(new UncheckedIOException(e)));
+        } catch (RuntimeException e) {
+            queue.put(CompletableFuture.failedFuture(e));
+        }
+    }
+
+    private static CompletableFuture<ParsedBatch> parseAsync(
+            Columns columns,
+            int firstRecordNumber,
+            List<List<String>> records,
+            ExecutorService parsers) {
+        return CompletableFuture.supplyAsync(
+                () -> parse(columns, firstRecordNumber, records), parsers);
+    }
+
+    /** バッチ内の各行を検証し、Todo またはエラーに変換する。 */
+    private static ParsedBatch parse(
+            Columns columns, int firstRecordNumber, List<List<String>> records) {
+        List<Todo> todos = new ArrayList<>(records.size());
+        List<TodoImportErrorRow> errors = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                todos.add(toTodo(columns, records.get(i)));
+            } catch (IllegalArgumentException e) {
+                errors.add(new TodoImportErrorRow(firstRecordNumber + i, e.getMessage()));
+            }
+        }
+        return new ParsedBatch(firstRecordNumber + records.size() - 1, todos, errors);
+    }
+
+    /**
+     * 1 行を Todo.create() で Todo に変換する。 空欄の詳細は未設定として扱う。
+     *
+     * @throws IllegalArgumentException 列の数・期限日の形式・Todo の検証のいずれかが不正な場合
+     */
+    private static Todo toTodo(Columns columns, List<String> record) {
+        if (record.size() != columns.size()) {
+            throw new IllegalArgumentException("列の数が不正です");
+        }
+        String title = record.get(columns.title());
+        String detail = columns.detail() < 0 ? null : record.get(columns.detail());
+        String dueDate = record.get(columns.dueDate());
+        return Todo.create(
+                title,
+                detail == null || detail.isEmpty() ? null : detail,
+                dueDate.isBlank() ? null : parseDate(dueDate));
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("期限日の形式が不正です（yyyy-MM-dd）");
+        }
+    }
+
+    /**
+     * 検証済みのバッチ。
+     *
+     * @param lastRecordNumber バッチの最後の行番号
+     * @param todos 検証を通過した Todo（入力順）
+     * @param errors エラーとなった行
+     */
+    private record ParsedBatch(
+            int lastRecordNumber, List<Todo> todos, List<TodoImportErrorRow> errors) {}
+
+    /**
+     * ヘッダー行から求めた各列の位置。
+     *
+     * @param size 列の数
+     * @param title タイトルの列の位置
+     * @param detail 詳細の列の位置（列がない場合は -1）
+     * @param dueDate 期限日の列の位置
+     */
+    private record Columns(int size, int title, int detail, int dueDate) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV にヘッダー行がありません");
+            }
+            List<String> names = header.stream().map(String::trim).toList();
+            int title = names.indexOf(COLUMN_TITLE);
+            int dueDate = names.indexOf(COLUMN_DUE_DATE);
+            if (title < 0 || dueDate < 0) {
+                throw new IllegalArgumentException(
+                        "CSV のヘッダー行には " + COLUMN_TITLE + " と " + COLUMN_DUE_DATE + " の列が必要です");
+            }
+            return new Columns(names.size(), title, names.indexOf(COLUMN_DETAIL), dueDate);
+        }
+    }
+}
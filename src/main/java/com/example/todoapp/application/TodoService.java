@@ -1,39 +1,82 @@
 package com.example.todoapp.application;
 
-import java.time.LocalDate;
-import java.util.List;
-
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import com.example.todoapp.domain.exception.TodoConflictException;
 import com.example.todoapp.domain.exception.TodoNotFoundException;
+import com.example.todoapp.domain.exception.TodoVersionMismatchException;
 import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.TodoSummary;
 import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
 import com.example.todoapp.domain.repository.TodoDomainRepository;
 import com.example.todoapp.infrastructure.entity.TodoHistoryEntity;
+import com.example.todoapp.infrastructure.metrics.TodoMetrics;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryCapture;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryWriteBehind;
 import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 /**
  * Todo のユースケースを実装するアプリケーションサービス。
  *
  * <p>ドメインレイヤーの Todo とインフラストラクチャ層の TodoEntity を調整し、 ビジネスロジックを実行する。履歴管理も併せて実施する。
+ *
+ * <p>各ユースケースの処理時間と、見つからない・競合・完了済みで何もしなかった操作の回数は {@link TodoMetrics} に記録する。
  */
 @Service
 public class TodoService {
 
+    /** 一覧の 1 ページあたりの最大件数 */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** 一括操作で受け付ける最大件数 */
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    /** 一括作成で 1 トランザクションにまとめる件数 */
+    static final int BULK_CHUNK_SIZE = 500;
+
     private final TodoDomainRepository todoRepository;
     private final TodoHistoryJpaRepository historyRepository;
+    private final TransactionOperations transactionOperations;
+    private final TodoHistoryWriteBehind historyWriteBehind;
+    private final TodoHistoryCapture historyCapture;
+    private final TodoMetrics metrics;
 
     /**
      * TodoService を構築する。
      *
      * @param todoRepository Todo の永続化リポジトリ
      * @param historyRepository Todo 履歴の永続化リポジトリ
+     * @param transactionOperations 一括処理でチャンクごとのトランザクションを開始するためのテンプレート
+     * @param historyWriteBehind 履歴を非同期で書き込む場合の書き込み先
+     * @param historyCapture 履歴を DB のトリガーで作成するかの設定
+     * @param metrics ユースケースの処理時間の記録先
      */
     public TodoService(
-            TodoDomainRepository todoRepository, TodoHistoryJpaRepository historyRepository) {
+            TodoDomainRepository todoRepository,
+            TodoHistoryJpaRepository historyRepository,
+            TransactionOperations transactionOperations,
+            TodoHistoryWriteBehind historyWriteBehind,
+            TodoHistoryCapture historyCapture,
+            TodoMetrics metrics) {
         this.todoRepository = todoRepository;
         this.historyRepository = historyRepository;
+        this.transactionOperations = transactionOperations;
+        this.historyWriteBehind = historyWriteBehind;
+        this.historyCapture = historyCapture;
+        this.metrics = metrics;
     }
 
     // ========================================================================
@@ -52,11 +95,82 @@ public class TodoService {
      */
     @Transactional
     public Todo createTodo(String title, String detail, LocalDate dueDate) {
-        Todo newTodo = Todo.create(title, detail, dueDate);
-        Todo saved = todoRepository.save(newTodo);
-        // 履歴を保存
-        saveHistory(saved);
-        return saved;
+        return metrics.timeService(
+                "create",
+                () -> {
+                    Todo newTodo = Todo.create(title, detail, dueDate);
+                    Todo saved = todoRepository.save(newTodo);
+                    // 履歴を保存
+                    saveHistory(saved);
+                    return saved;
+                });
+    }
+
+    /**
+     * 複数の Todo をまとめて作成する。
+     *
+     * <p>まず全件を Todo.create() で検証し、不正な項目はエラーとして記録する。 検証を通過した項目は {@value #BULK_CHUNK_SIZE}
+     * 件ずつのチャンクに分け、チャンクごとに 1 トランザクションで todos と todo_history へバッチ INSERT する。
+     * 一部の項目やチャンクが失敗しても、残りの処理は継続する。
+     *
+     * <p>チャンクごとにトランザクションを開始するため、既存のトランザクションの外から呼び出すこと。
+     *
+     * @param commands 作成する Todo の入力（{@value #MAX_BULK_SIZE} 件以下）
+     * @return 入力順の index で対応付けた成功項目と失敗項目
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    public BulkCreateResult createTodos(List<CreateTodoCommand> commands) {
+        return metrics.timeService("create_bulk", () -> createTodosInChunks(commands));
+    }
+
+    /**
+     * 複数の Todo をまとめて作成する（{@link #createTodos(List)} の本体）。
+     *
+     * @param commands 作成する Todo の入力
+     * @return 入力順の index で対応付けた成功項目と失敗項目
+     */
+    private BulkCreateResult createTodosInChunks(List<CreateTodoCommand> commands) {
+        if (commands.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("一括作成は" + MAX_BULK_SIZE + "件以内で指定してください");
+        }
+
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Todo> validTodos = new ArrayList<>();
+        List<BulkCreateResult.ItemError> errors = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            CreateTodoCommand command = commands.get(i);
+            try {
+                validTodos.add(Todo.create(command.title(), command.detail(), command.dueDate()));
+                validIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                errors.add(new BulkCreateResult.ItemError(i, e.getMessage()));
+            }
+        }
+
+        List<BulkCreateResult.Created> created = new ArrayList<>(validTodos.size());
+        for (int from = 0; from < validTodos.size(); from += BULK_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_CHUNK_SIZE, validTodos.size());
+            List<Todo> chunk = validTodos.subList(from, to);
+            List<Integer> chunkIndexes = validIndexes.subList(from, to);
+            try {
+                List<Todo> saved =
+                        transactionOperations.execute(
+                                status -> {
+                                    List<Todo> result = todoRepository.saveAll(chunk);
+                                    saveHistories(result);
+                                    return result;
+                                });
+                for (int i = 0; i < saved.size(); i++) {
+                    created.add(new BulkCreateResult.Created(chunkIndexes.get(i), saved.get(i)));
+                }
+            } catch (DataAccessException e) {
+                for (Integer index : chunkIndexes) {
+                    errors.add(new BulkCreateResult.ItemError(index, "保存に失敗しました"));
+                }
+            }
+        }
+        errors.sort(Comparator.comparingInt(BulkCreateResult.ItemError::index));
+        return new BulkCreateResult(created, errors);
     }
 
     // ========================================================================
@@ -67,30 +181,62 @@ public class TodoService {
      *
      * <p>公開IDで対象 Todo を検索し、内容を更新する。 版数が変わった場合の み履歴を記録する。
      *
-     * @param publicId 公開ID（UUID形式）
+     * @param publicId 公開ID
      * @param title 更新後のタイトル（必須、100文字以内）
      * @param detail 更新後の詳細（任意、1000文字以内）
      * @param dueDate 更新後の期限日（必須、本日以降）
      * @return 更新後の Todo
      * @throws TodoNotFoundException Todo が見つからない場合
      * @throws IllegalArgumentException 入力値が不正な場合
+     * @throws TodoConflictException 他の操作と更新が競合した場合
      */
     @Transactional
-    public Todo updateTodo(String publicId, String title, String detail, LocalDate dueDate) {
-        Todo todo =
-                todoRepository
-                        .findByPublicId(new PublicId(publicId))
-                        .orElseThrow(() -> new TodoNotFoundException());
-
-        int beforeVersion = todo.getVersionNumber().value();
-        todo.update(title, detail, dueDate);
-        Todo saved = todoRepository.save(todo);
-
-        // 版数が増えた場合のみ履歴保存
-        if (saved.getVersionNumber().value() > beforeVersion) {
-            saveHistory(saved);
-        }
-        return saved;
+    public Todo updateTodo(PublicId publicId, String title, String detail, LocalDate dueDate) {
+        return updateTodo(publicId, null, title, detail, dueDate);
+    }
+
+    /**
+     * 版数を指定して既存の Todo を更新する。
+     *
+     * <p>現在の版数が指定された版数と一致しない場合は、更新せずに例外をスローする。
+     *
+     * @param publicId 公開ID
+     * @param expectedVersion 更新の前提とする版数（null の場合は確認しない）
+     * @param title 更新後のタイトル（必須、100文字以内）
+     * @param detail 更新後の詳細（任意、1000文字以内）
+     * @param dueDate 更新後の期限日（必須、本日以降）
+     * @return 更新後の Todo
+     * @throws TodoNotFoundException Todo が見つからない場合
+     * @throws TodoVersionMismatchException 現在の版数が指定された版数と一致しない場合
+     * @throws IllegalArgumentException 入力値が不正な場合
+     * @throws TodoConflictException 他の操作と更新が競合した場合
+     */
+    @Transactional
+    public Todo updateTodo(
+            PublicId publicId,
+            VersionNumber expectedVersion,
+            String title,
+            String detail,
+            LocalDate dueDate) {
+        return metrics.timeService(
+                "update",
+                () -> {
+                    Todo todo =
+                            todoRepository
+                                    .findByPublicId(publicId)
+                                    .orElseThrow(() -> new TodoNotFoundException());
+                    verifyVersion(todo, expectedVersion);
+
+                    int beforeVersion = todo.getVersionNumber().value();
+                    todo.update(title, detail, dueDate);
+                    Todo saved = todoRepository.save(todo);
+
+                    // 版数が増えた場合のみ履歴保存
+                    if (saved.getVersionNumber().value() > beforeVersion) {
+                        saveHistory(saved);
+                    }
+                    return saved;
+                });
     }
 
     // ========================================================================
@@ -101,30 +247,54 @@ public class TodoService {
      *
      * <p>公開IDで対象 Todo を検索し、完了処理を実行する。 すでに完了状態の場合はスキップする。
      *
-     * @param publicId 公開ID（UUID形式）
+     * @param publicId 公開ID
      * @return 完了後の Todo
      * @throws TodoNotFoundException Todo が見つからない場合
+     * @throws TodoConflictException 他の操作と更新が競合した場合
      */
     @Transactional
-    public Todo completeTodo(String publicId) {
-        Todo todo =
-                todoRepository
-                        .findByPublicId(new PublicId(publicId))
-                        .orElseThrow(() -> new TodoNotFoundException());
-
-        // すでに完了状態の場合はスキップ
-        if (todo.isCompleted()) {
-            return todo;
-        }
+    public Todo completeTodo(PublicId publicId) {
+        return completeTodo(publicId, null);
+    }
+
+    /**
+     * 版数を指定して Todo を完了状態にする。
+     *
+     * <p>現在の版数が指定された版数と一致しない場合は、完了処理を行わずに例外をスローする。
+     *
+     * @param publicId 公開ID
+     * @param expectedVersion 完了処理の前提とする版数（null の場合は確認しない）
+     * @return 完了後の Todo
+     * @throws TodoNotFoundException Todo が見つからない場合
+     * @throws TodoVersionMismatchException 現在の版数が指定された版数と一致しない場合
+     * @throws TodoConflictException 他の操作と更新が競合した場合
+     */
+    @Transactional
+    public Todo completeTodo(PublicId publicId, VersionNumber expectedVersion) {
+        return metrics.timeService(
+                "complete",
+                () -> {
+                    Todo todo =
+                            todoRepository
+                                    .findByPublicId(publicId)
+                                    .orElseThrow(() -> new TodoNotFoundException());
+                    verifyVersion(todo, expectedVersion);
 
-        int beforeVersion = todo.getVersionNumber().value();
-        todo.complete();
-        Todo saved = todoRepository.save(todo);
+                    // すでに完了状態の場合はスキップ
+                    if (todo.isCompleted()) {
+                        metrics.recordCompleteNoop();
+                        return todo;
+                    }
 
-        if (saved.getVersionNumber().value() > beforeVersion) {
-            saveHistory(saved);
-        }
-        return saved;
+                    int beforeVersion = todo.getVersionNumber().value();
+                    todo.complete();
+                    Todo saved = todoRepository.save(todo);
+
+                    if (saved.getVersionNumber().value() > beforeVersion) {
+                        saveHistory(saved);
+                    }
+                    return saved;
+                });
     }
 
     // ========================================================================
@@ -135,25 +305,93 @@ public class TodoService {
      *
      * <p>公開IDで対象 Todo を検索し、削除フラグを立てる。 物理削除ではなく論理削除（ソフトデリート）を行う。
      *
-     * @param publicId 公開ID（UUID形式）
+     * @param publicId 公開ID
      * @return 削除後の Todo
      * @throws TodoNotFoundException Todo が見つからない場合
+     * @throws TodoConflictException 他の操作と更新が競合した場合
      */
     @Transactional
-    public Todo deleteTodo(String publicId) {
-        Todo todo =
-                todoRepository
-                        .findByPublicId(new PublicId(publicId))
-                        .orElseThrow(() -> new TodoNotFoundException());
-
-        int beforeVersion = todo.getVersionNumber().value();
-        todo.delete();
-        Todo saved = todoRepository.save(todo);
-
-        if (saved.getVersionNumber().value() > beforeVersion) {
-            saveHistory(saved);
-        }
-        return saved;
+    public Todo deleteTodo(PublicId publicId) {
+        return deleteTodo(publicId, null);
+    }
+
+    /**
+     * 版数を指定して Todo を論理削除する。
+     *
+     * <p>現在の版数が指定された版数と一致しない場合は、削除せずに例外をスローする。
+     *
+     * @param publicId 公開ID
+     * @param expectedVersion 削除の前提とする版数（null の場合は確認しない）
+     * @return 削除後の Todo
+     * @throws TodoNotFoundException Todo が見つからない場合
+     * @throws TodoVersionMismatchException 現在の版数が指定された版数と一致しない場合
+     * @throws TodoConflictException 他の操作と更新が競合した場合
+     */
+    @Transactional
+    public Todo deleteTodo(PublicId publicId, VersionNumber expectedVersion) {
+        return metrics.timeService(
+                "delete",
+                () -> {
+                    Todo todo =
+                            todoRepository
+                                    .findByPublicId(publicId)
+                                    .orElseThrow(() -> new TodoNotFoundException());
+                    verifyVersion(todo, expectedVersion);
+
+                    int beforeVersion = todo.getVersionNumber().value();
+                    todo.delete();
+                    Todo saved = todoRepository.save(todo);
+
+                    if (saved.getVersionNumber().value() > beforeVersion) {
+                        saveHistory(saved);
+                    }
+                    return saved;
+                });
+    }
+
+    // ========================================================================
+    // Bulk Complete / Delete
+    // ========================================================================
+    /**
+     * 指定された複数の Todo をまとめて完了状態にする。
+     *
+     * <p>Todo.complete() と同じく、完了状態へ遷移した Todo のみ版数を進めて履歴を記録する。 すでに完了済みの Todo や存在しない公開ID は無視される。
+     * 件数によらず、todos の UPDATE と todo_history の INSERT ... SELECT の 2 文で処理する。
+     *
+     * @param publicIds 公開ID（{@value #MAX_BULK_SIZE} 件以下）
+     * @return 完了状態へ遷移した件数
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    @Transactional
+    public int completeTodos(List<PublicId> publicIds) {
+        return metrics.timeService(
+                "complete_bulk",
+                () -> {
+                    List<Todo> completed = todoRepository.completeAll(checkBulkSize(publicIds));
+                    saveHistorySnapshots(completed);
+                    return completed.size();
+                });
+    }
+
+    /**
+     * 指定された複数の Todo をまとめて論理削除する。
+     *
+     * <p>Todo.delete() と同じく、削除状態へ遷移した Todo のみ版数を進めて履歴を記録する。 すでに削除済みの Todo や存在しない公開ID は無視される。
+     * 件数によらず、todos の UPDATE と todo_history の INSERT ... SELECT の 2 文で処理する。
+     *
+     * @param publicIds 公開ID（{@value #MAX_BULK_SIZE} 件以下）
+     * @return 削除状態へ遷移した件数
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    @Transactional
+    public int deleteTodos(List<PublicId> publicIds) {
+        return metrics.timeService(
+                "delete_bulk",
+                () -> {
+                    List<Todo> deleted = todoRepository.deleteAll(checkBulkSize(publicIds));
+                    saveHistorySnapshots(deleted);
+                    return deleted.size();
+                });
     }
 
     // ========================================================================
@@ -164,23 +402,27 @@ public class TodoService {
      *
      * <p>論理削除済みの Todo は存在しないものとして扱い、例外をスローする。
      *
-     * @param publicId 公開ID（UUID形式）
+     * @param publicId 公開ID
      * @return 指定された Todo
      * @throws TodoNotFoundException Todo が見つからない、または削除済みの場合
      */
     @Transactional(readOnly = true)
-    public Todo getTodo(String publicId) {
-        Todo todo =
-                todoRepository
-                        .findByPublicId(new PublicId(publicId))
-                        .orElseThrow(() -> new TodoNotFoundException());
-
-        // 削除済みTodoは存在しないものとして扱う
-        if (todo.isDeleted()) {
-            throw new TodoNotFoundException();
-        }
+    public Todo getTodo(PublicId publicId) {
+        return metrics.timeService(
+                "get",
+                () -> {
+                    Todo todo =
+                            todoRepository
+                                    .findByPublicId(publicId)
+                                    .orElseThrow(() -> new TodoNotFoundException());
+
+                    // 削除済みTodoは存在しないものとして扱う
+                    if (todo.isDeleted()) {
+                        throw new TodoNotFoundException();
+                    }
 
-        return todo;
+                    return todo;
+                });
     }
 
     /**
@@ -190,26 +432,170 @@ public class TodoService {
      *
      * @return 活動中の Todo のリスト（ソート済み）
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Todo> listActiveTodos() {
-        return todoRepository.findAllActiveAndValid();
+        return metrics.timeService("list_active", todoRepository::findAllActiveAndValid);
+    }
+
+    /**
+     * 活動中の Todo の一覧の行をキーセットページングで 1 ページ分取得する。
+     *
+     * <p>並び順は期限日の昇順、作成日時の昇順、内部IDの昇順。 次ページの有無を判定するため、指定件数より 1 件多く取得する。
+     *
+     * <p>一覧に表示する項目のみを返し、詳細は含まない（詳細は {@link #getTodo(PublicId)} で個別に取得する）。
+     *
+     * <p>一覧はインメモリの索引から返せるため、トランザクションは開始しない（DB のコネクションを確保しない）。
+     *
+     * @param cursor 前ページで返されたカーソルトークン（先頭ページの場合は null）
+     * @param size 1 ページあたりの件数（1 以上 {@value #MAX_PAGE_SIZE} 以下）
+     * @return 活動中の Todo の 1 ページ分
+     * @throws IllegalArgumentException カーソルまたは件数が不正な場合
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TodoPage listActiveTodos(String cursor, int size) {
+        return metrics.timeService("list_active_page", () -> findActivePage(cursor, size));
+    }
+
+    /**
+     * 活動中の Todo の一覧の行を 1 ページ分取得する（{@link #listActiveTodos(String, int)} の本体）。
+     *
+     * @param cursor 前ページで返されたカーソルトークン（先頭ページの場合は null）
+     * @param size 1 ページあたりの件数
+     * @return 活動中の Todo の 1 ページ分
+     */
+    private TodoPage findActivePage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("件数は1以上" + MAX_PAGE_SIZE + "以下で指定してください");
+        }
+        TodoCursor after = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor);
+
+        List<TodoSummary> fetched = todoRepository.findActiveSummaries(after, size + 1);
+        if (fetched.size() <= size) {
+            return new TodoPage(fetched, null);
+        }
+        List<TodoSummary> items = fetched.subList(0, size);
+        return new TodoPage(items, TodoCursor.of(items.get(size - 1)));
+    }
+
+    /**
+     * 活動中の Todo の一覧の行を、一覧の並び順で 1 件ずつ処理する。
+     *
+     * <p>全件をリストに載せずに逐次読み出すため、件数によらずメモリ使用量は一定となる。 DB から読み出す場合はサーバー側カーソルを使うため、
+     * 処理が終わるまで読み取り専用のトランザクションを維持する。
+     *
+     * @param action 各行に対する処理（一覧の並び順で呼ばれる）
+     */
+    @Transactional(readOnly = true)
+    public void forEachActiveTodo(Consumer<TodoSummary> action) {
+        try (Stream<TodoSummary> summaries = todoRepository.streamActiveSummaries()) {
+            summaries.forEach(action);
+        }
     }
 
     // ========================================================================
     // Helper
     // ========================================================================
+    /**
+     * Todo の現在の版数が、操作の前提とする版数と一致することを確認する。
+     *
+     * @param todo 対象の Todo
+     * @param expectedVersion 操作の前提とする版数（null の場合は確認しない）
+     * @throws TodoVersionMismatchException 版数が一致しない場合
+     */
+    private static void verifyVersion(Todo todo, VersionNumber expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(todo.getVersionNumber())) {
+            throw new TodoVersionMismatchException();
+        }
+    }
+
     /**
      * Todo の変更履歴を保存する。
      *
-     * <p>内部IDが設定されていない場合（JPA採番前）は保存をスキップする。
+     * <p>内部IDが設定されていない場合（JPA採番前）は保存をスキップする。 write-behind が有効な場合は、コミット後に非同期で書き込むよう登録する。 履歴を DB
+     * のトリガーで作成する場合は何もしない。
      *
      * @param todo 履歴を記録する Todo
      */
     private void saveHistory(Todo todo) {
+        if (historyCapture.isDatabase()) {
+            return;
+        }
         if (todo.getInternalId() == null) {
             // 念のため internalId がない場合は保存しない（JPA 採番前）
             return;
         }
+        if (historyWriteBehind.isEnabled()) {
+            metrics.timeHistorySave(
+                    "write_behind", () -> historyWriteBehind.enqueueAfterCommit(todo));
+            return;
+        }
+        metrics.timeHistorySave("sync", () -> historyRepository.save(toHistoryEntity(todo)));
+    }
+
+    /**
+     * 複数の Todo の変更履歴をまとめて保存する。
+     *
+     * <p>履歴エンティティは常に新規行として扱われるため、コミット時に JDBC バッチで INSERT される。 write-behind が有効な場合は、 1
+     * 件ずつ保存する場合と同じくコミット後にまとめてキューへ入れる。 履歴を DB のトリガーで作成する場合は何もしない。
+     *
+     * @param todos 履歴を記録する Todo（永続化済み）
+     */
+    private void saveHistories(List<Todo> todos) {
+        if (historyCapture.isDatabase()) {
+            return;
+        }
+        List<Todo> persisted = todos.stream().filter(todo -> todo.getInternalId() != null).toList();
+        if (historyWriteBehind.isEnabled()) {
+            metrics.timeHistorySave(
+                    "write_behind", () -> historyWriteBehind.enqueueAllAfterCommit(persisted));
+            return;
+        }
+        historyRepository.saveAll(persisted.stream().map(TodoService::toHistoryEntity).toList());
+    }
+
+    /**
+     * 一括更新した Todo の現在の状態を、履歴としてまとめて保存する。
+     *
+     * <p>todos から INSERT ... SELECT で 1 文で記録する。 write-behind が有効な場合は、一括更新で返された状態をコミット後にまとめてキューへ入れる。
+     * 履歴を DB のトリガーで作成する場合は、UPDATE の時点で記録済みのため何もしない。
+     *
+     * @param todos 一括更新した Todo（更新後の状態）
+     */
+    private void saveHistorySnapshots(List<Todo> todos) {
+        if (todos.isEmpty() || historyCapture.isDatabase()) {
+            return;
+        }
+        if (historyWriteBehind.isEnabled()) {
+            metrics.timeHistorySave(
+                    "write_behind", () -> historyWriteBehind.enqueueAllAfterCommit(todos));
+            return;
+        }
+        historyRepository.insertSnapshotsOf(
+                todos.stream().map(todo -> todo.getInternalId().value()).toArray(Integer[]::new),
+                LocalDateTime.now());
+    }
+
+    /**
+     * 一括操作の件数が上限以内であることを検証する。
+     *
+     * @param publicIds 公開ID
+     * @return 引数の公開ID
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    private static List<PublicId> checkBulkSize(List<PublicId> publicIds) {
+        if (publicIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("一括操作は" + MAX_BULK_SIZE + "件以内で指定してください");
+        }
+        return publicIds;
+    }
+
+    /**
+     * Todo の現在の状態から履歴エンティティを生成する。
+     *
+     * @param todo 履歴を記録する Todo
+     * @return 履歴エンティティ
+     */
+    private static TodoHistoryEntity toHistoryEntity(Todo todo) {
         TodoHistoryEntity history = new TodoHistoryEntity();
         history.setInternalId(todo.getInternalId().value());
         history.setVersionNumber(todo.getVersionNumber().value());
@@ -220,7 +606,6 @@ public class TodoService {
         history.setCompletedFlag(todo.isCompleted());
         history.setDeletedFlag(todo.isDeleted());
         // createdAt / updatedAt は @CreationTimestamp / @UpdateTimestamp で管理
-
-        historyRepository.save(history);
+        return history;
     }
 }
@@ -0,0 +1,21 @@
+package com.example.todoapp.domain.exception;
+
+/** Todo の更新が他の更新と競合した場合（版数が一致しない場合）にスローされる例外。 */
+public class TodoConflictException extends RuntimeException {
+
+    private static final String DEFAULT_MESSAGE = "Todoは他の操作で更新されています";
+
+    /** デフォルトメッセージで例外を生成する。 */
+    public TodoConflictException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * 指定されたメッセージで例外を生成する。
+     *
+     * @param message エラーメッセージ
+     */
+    public TodoConflictException(String message) {
+        super(message != null ? message : DEFAULT_MESSAGE);
+    }
+}
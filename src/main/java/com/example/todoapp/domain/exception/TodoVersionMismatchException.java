@@ -0,0 +1,16 @@
+package com.example.todoapp.domain.exception;
+
+/**
+ * 操作の前提とした版数と、Todo の現在の版数が一致しない場合にスローされる例外。
+ *
+ * <p>クライアントが取得した時点から他の操作で更新されていることを表し、更新は行わない。
+ */
+public class TodoVersionMismatchException extends TodoConflictException {
+
+    private static final String DEFAULT_MESSAGE = "Todoは取得後に他の操作で更新されています";
+
+    /** デフォルトメッセージで例外を生成する。 */
+    public TodoVersionMismatchException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
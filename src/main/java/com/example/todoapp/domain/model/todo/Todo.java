@@ -21,7 +21,7 @@ import lombok.Getter;
  *   <li>タイトル・詳細
  *   <li>期限日
  *   <li>完了状態・削除状態
- *   <li>版数
+ *   <li>版数（楽観的ロック用に復元時点の版数も保持）
  *   <li>作成日時・更新日時
  * </ul>
  */
@@ -41,6 +41,9 @@ public class Todo {
     /** 版数 */
     private VersionNumber versionNumber;
 
+    /** 永続化層から復元した時点の版数（楽観的ロックの比較に使用、永続化前は null） */
+    private final VersionNumber persistedVersionNumber;
+
     /** タイトル（必須） */
     private String title;
 
@@ -81,6 +84,7 @@ public class Todo {
         this.internalId = internalId;
         this.publicId = publicId;
         this.versionNumber = versionNumber;
+        this.persistedVersionNumber = internalId != null ? versionNumber : null;
         this.title = title;
         this.detail = detail;
         this.completed = completed;
@@ -0,0 +1,27 @@
+package com.example.todoapp.domain.model.todo;
+
+import java.util.List;
+
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
+
+/**
+ * キーセットページングで取得した Todo 一覧の 1 ページ分を表す。
+ *
+ * @param items ページ内の行（一覧の並び順）
+ * @param nextCursor 次ページ取得用のカーソル（最終ページの場合は null）
+ */
+public record TodoPage(List<TodoSummary> items, TodoCursor nextCursor) {
+
+    public TodoPage {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * 次のページが存在するかを返す。
+     *
+     * @return 次のページが存在する場合は true
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todoapp.domain.model.todo;
+
+import java.time.LocalDateTime;
+
+import com.example.todoapp.domain.model.todo.value.DueDate;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+
+/**
+ * Todo 一覧の 1 行分を表す読み取り専用のビュー。
+ *
+ * <p>一覧に表示する項目と並び順のキーだけを持ち、詳細（detail）は含まない。 詳細は展開時に個別に取得する。
+ *
+ * @param internalId 内部ID
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param dueDate 期限日
+ * @param completed 完了状態
+ * @param createdAt 作成日時
+ */
+public record TodoSummary(
+        InternalId internalId,
+        PublicId publicId,
+        VersionNumber versionNumber,
+        String title,
+        DueDate dueDate,
+        boolean completed,
+        LocalDateTime createdAt) {
+
+    /**
+     * Todo から一覧の 1 行分を生成する。
+     *
+     * @param todo 対象の Todo（永続化済みであること）
+     * @return 生成されたビュー
+     */
+    public static TodoSummary of(Todo todo) {
+        return new TodoSummary(
+                todo.getInternalId(),
+                todo.getPublicId(),
+                todo.getVersionNumber(),
+                todo.getTitle(),
+                todo.getDueDate(),
+                todo.isCompleted(),
+                todo.getCreatedAt());
+    }
+}
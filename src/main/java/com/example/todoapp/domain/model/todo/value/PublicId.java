@@ -6,17 +6,31 @@ import java.util.UUID;
 /**
  * Todo の公開IDを表す ValueObject。
  *
- * <p>UUID 形式の文字列で、外部に公開される識別子。 ドメイン外部のシステムとの連携に使用される。
+ * <p>UUID（128 ビット）で、外部に公開される識別子。 ドメイン外部のシステムとの連携に使用される。 文字列との変換は HTTP
+ * などの境界でのみ行い、ドメイン内では UUID のまま扱う。
  */
 @Embeddable
-public record PublicId(String value) {
+public record PublicId(UUID value) {
     public PublicId {
+        if (value == null) {
+            throw new IllegalArgumentException("公開IDは空にできません");
+        }
+    }
+
+    /**
+     * UUID 形式の文字列から公開IDを生成する。
+     *
+     * @param value UUID 形式の文字列
+     * @return 生成された公開ID
+     * @throws IllegalArgumentException 空、または UUID 形式でない場合
+     */
+    public static PublicId of(String value) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("公開IDは空にできません");
         }
         try {
-            UUID.fromString(value);
-        } catch (Exception e) {
+            return new PublicId(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("公開IDはUUID形式である必要があります");
         }
     }
@@ -29,6 +43,16 @@ public record PublicId(String value) {
      * @return 生成された公開ID
      */
     public static PublicId generate() {
-        return new PublicId(UUID.randomUUID().toString());
+        return new PublicId(UUID.randomUUID());
+    }
+
+    /**
+     * 公開IDの文字列表現（UUID 形式）を返す。
+     *
+     * @return UUID 形式の文字列
+     */
+    @Override
+    public String toString() {
+        return value.toString();
     }
 }
@@ -0,0 +1,109 @@
+package com.example.todoapp.domain.model.todo.value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+
+import com.example.todoapp.domain.model.todo.TodoSummary;
+
+/**
+ * Todo 一覧のキーセットページングに使用するカーソルを表す ValueObject。
+ *
+ * <p>一覧の並び順である（期限日, 作成日時, 内部ID）の組を保持し、 次のページはこの値より後ろの行から取得する。 OFFSET
+ * を使わないため、何ページ目であっても取得コストは先頭ページと変わらない。
+ *
+ * <p>HTTP 上では {@link #encode()} で不透明な文字列トークンとして受け渡す。 自然順序は一覧の並び順と一致する。
+ */
+public record TodoCursor(LocalDate dueDate, LocalDateTime createdAt, Integer internalId)
+        implements Comparable<TodoCursor> {
+
+    private static final String SEPARATOR = "_";
+
+    private static final Comparator<TodoCursor> ORDER =
+            Comparator.comparing(TodoCursor::dueDate)
+                    .thenComparing(TodoCursor::createdAt)
+                    .thenComparing(TodoCursor::internalId);
+
+    public TodoCursor {
+        if (dueDate == null || createdAt == null || internalId == null) {
+            throw new IllegalArgumentException("カーソルの値が不正です");
+        }
+    }
+
+    /**
+     * 一覧の指定された行の位置を指すカーソルを生成する。
+     *
+     * @param summary ページの末尾の行
+     * @return 生成されたカーソル
+     */
+    public static TodoCursor of(TodoSummary summary) {
+        if (summary.internalId() == null) {
+            throw new IllegalArgumentException("永続化前の Todo からカーソルは生成できません");
+        }
+        return new TodoCursor(
+                summary.dueDate().value(), summary.createdAt(), summary.internalId().value());
+    }
+
+    /**
+     * 指定された期限日の先頭（その日のどの Todo よりも前）を指すカーソルを生成する。
+     *
+     * @param dueDate 期限日
+     * @return 生成されたカーソル
+     */
+    public static TodoCursor startOf(LocalDate dueDate) {
+        return new TodoCursor(dueDate, LocalDateTime.MIN, Integer.MIN_VALUE);
+    }
+
+    /**
+     * 文字列トークンからカーソルを復元する。
+     *
+     * @param token {@link #encode()} で生成したトークン
+     * @return 復元されたカーソル
+     * @throws IllegalArgumentException トークンの形式が不正な場合
+     */
+    public static TodoCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("カーソルは空にできません");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("カーソルの形式が不正です");
+            }
+            return new TodoCursor(
+                    LocalDate.parse(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("カーソルの形式が不正です");
+        }
+    }
+
+    /**
+     * カーソルを URL に埋め込める文字列トークンに変換する。
+     *
+     * @return Base64URL 形式のトークン
+     */
+    public String encode() {
+        String raw = dueDate + SEPARATOR + createdAt + SEPARATOR + internalId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 一覧の並び順（期限日, 作成日時, 内部ID の昇順）で比較する。
+     *
+     * @param other 比較対象のカーソル
+     * @return 一覧でこのカーソルが前にある場合は負の値
+     */
+    @Override
+    public int compareTo(TodoCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -2,10 +2,13 @@ package com.example.todoapp.domain.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoSummary;
 import com.example.todoapp.domain.model.todo.value.InternalId;
 import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
 
 /**
  * Todo の永続化を行うドメイン repository インターフェース。
@@ -40,6 +43,26 @@ public interface TodoDomainRepository {
      */
     List<Todo> findAllActiveAndValid();
 
+    /**
+     * 削除されておらず、期限日が本日以降のTodoの一覧の行をキーセットページングで取得する。
+     *
+     * <p>期限日の昇順、作成日時の昇順、内部IDの昇順でソートされ、 カーソルが指す行より後ろの行を最大 limit 件返す。 一覧に表示する項目のみを取得し、詳細は含まない。
+     *
+     * @param after 直前のページの末尾を指すカーソル（先頭ページの場合は null）
+     * @param limit 取得する最大件数
+     * @return 一覧の行のリスト（ソート済み）
+     */
+    List<TodoSummary> findActiveSummaries(TodoCursor after, int limit);
+
+    /**
+     * 削除されておらず、期限日が本日以降のTodoの一覧の行を一覧の並び順で逐次取得する。
+     *
+     * <p>全件をリストとして保持せずに読み出す。 DB から読み出す場合があるため、トランザクション内で使用し、使用後は close すること。
+     *
+     * @return 一覧の行のストリーム（ソート済み）
+     */
+    Stream<TodoSummary> streamActiveSummaries();
+
     /**
      * Todo を永続化する。
      *
@@ -47,4 +70,34 @@ public interface TodoDomainRepository {
      * @return 永続化後の Todo
      */
     Todo save(Todo todo);
+
+    /**
+     * 複数の Todo をまとめて永続化する。
+     *
+     * <p>新規作成の Todo は JDBC バッチでまとめて INSERT される。
+     *
+     * @param todos 永続化対象の Todo
+     * @return 永続化後の Todo（入力と同じ順序、内部IDが設定済み）
+     */
+    List<Todo> saveAll(List<Todo> todos);
+
+    /**
+     * 指定された公開IDの未完了の Todo をまとめて完了状態にする。
+     *
+     * <p>Todo.complete() と同じく、すでに完了済みの Todo は変更せず、完了状態へ遷移した Todo のみ版数を 1 つ進める。
+     *
+     * @param ids 対象の公開ID
+     * @return 完了状態へ遷移した Todo（更新後の状態）
+     */
+    List<Todo> completeAll(List<PublicId> ids);
+
+    /**
+     * 指定された公開IDの未削除の Todo をまとめて論理削除する。
+     *
+     * <p>Todo.delete() と同じく、すでに削除済みの Todo は変更せず、削除状態へ遷移した Todo のみ版数を 1 つ進める。
+     *
+     * @param ids 対象の公開ID
+     * @return 削除状態へ遷移した Todo（更新後の状態）
+     */
+    List<Todo> deleteAll(List<PublicId> ids);
 }
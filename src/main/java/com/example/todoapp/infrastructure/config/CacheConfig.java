@@ -0,0 +1,19 @@
+package com.example.todoapp.infrastructure.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * キャッシュの設定クラス。
+ *
+ * <p>CacheManager は Spring Boot の自動構成で Caffeine を使って生成する。 キャッシュ名・最大件数・有効期限は
+ * application.properties の spring.cache.* で定義し、 ヒット/ミス/追い出しの件数は actuator の metrics（cache.gets,
+ * cache.evictions）として公開される。
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** 公開IDをキーに Todo を保持するキャッシュの名前 */
+    public static final String TODOS_BY_PUBLIC_ID = "todosByPublicId";
+}
@@ -0,0 +1,89 @@
+package com.example.todoapp.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * 仮想スレッドで動かす場合に、接続プールへの同時アクセスを制限する設定クラス。
+ *
+ * <p>{@code spring.threads.virtual.enabled=true} にすると、リクエストの処理（@Transactional なサービスの呼び出しを含む）と
+ * 非同期の応答が仮想スレッドで動く。 このとき todoapp.datasource.limiter.enabled（既定は仮想スレッドの設定と同じ）が有効なら、 接続プールを {@link
+ * ConnectionLimitingDataSource} で包み、同時に借りられる接続の数をプールの最大サイズ（または permits）に制限する。
+ */
+@Configuration
+@ConditionalOnProperty(name = "todoapp.datasource.limiter.enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+
+    /** 接続プールを同時アクセスの制限付きの DataSource で包む。 */
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        int configuredPermits =
+                binder.bind("todoapp.datasource.limiter.permits", Integer.class).orElse(0);
+        Duration acquireTimeout =
+                binder.bind("todoapp.datasource.limiter.acquire-timeout", Duration.class)
+                        .orElse(Duration.ofSeconds(30));
+        return new LimitingPostProcessor(configuredPermits, acquireTimeout);
+    }
+
+    /** 許可の使用数・待機中のスレッドの数を /actuator/metrics で参照できるようにする。 */
+    @Bean
+    MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionLimitingDataSource limiter =
+                    DataSourceUnwrapper.unwrap(dataSource, ConnectionLimitingDataSource.class);
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder(
+                            "todoapp.datasource.limiter.active",
+                            limiter,
+                            ConnectionLimitingDataSource::getActivePermits)
+                    .description("接続の許可を得ているスレッドの数")
+                    .register(registry);
+            Gauge.builder(
+                            "todoapp.datasource.limiter.waiting",
+                            limiter,
+                            ConnectionLimitingDataSource::getWaitingThreads)
+                    .description("接続の許可を待っているスレッドの数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 接続プールを {@link ConnectionLimitingDataSource} で包む BeanPostProcessor。
+     *
+     * <p>順序を持たない BeanPostProcessor（{@link SlowQueryConfig} など）より先に、接続プールそのものを包む。
+     *
+     * @param configuredPermits 同時に借りられる接続の数（0 の場合は接続プールの最大サイズ）
+     * @param acquireTimeout 許可を待つ最大時間
+     */
+    private record LimitingPostProcessor(int configuredPermits, Duration acquireTimeout)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            int permits = configuredPermits > 0 ? configuredPermits : hikari.getMaximumPoolSize();
+            return new ConnectionLimitingDataSource(hikari, permits, acquireTimeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.todoapp.infrastructure.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 同時に借りられる接続の数をセマフォで制限する DataSource。
+ *
+ * <p>仮想スレッドではリクエストごとにスレッドが作られるため、同時に数千のスレッドが接続プールに殺到しうる。 接続を借りる前に公平なセマフォの許可を取り、
+ * 接続を閉じた（プールに返した）時点で許可を返すことで、接続を待つスレッドを到着順に並ばせる。 許可の数は接続プールの最大サイズに合わせるため、
+ * 許可を取れたスレッドはプールで待たずに接続を借りられる。
+ *
+ * <p>許可を acquire-timeout 以内に取れない場合は {@link SQLTransientConnectionException}
+ * をスローする（プールの接続待ちのタイムアウトと同じ扱い）。
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final Duration acquireTimeout;
+
+    /**
+     * ConnectionLimitingDataSource を構築する。
+     *
+     * @param delegate 接続プール
+     * @param maxPermits 同時に借りられる接続の数
+     * @param acquireTimeout 許可を待つ最大時間
+     */
+    public ConnectionLimitingDataSource(
+            DataSource delegate, int maxPermits, Duration acquireTimeout) {
+        super(delegate);
+        if (maxPermits < 1) {
+            throw new IllegalArgumentException("同時に借りられる接続の数は 1 以上を指定してください");
+        }
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * 同時に借りられる接続の数を返す。
+     *
+     * @return 許可の総数
+     */
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * 現在借りられている接続の数を返す。
+     *
+     * @return 使用中の許可の数
+     */
+    public int getActivePermits() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * 許可を待っているスレッドの数（概算）を返す。
+     *
+     * @return 待機中のスレッドの数
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "接続の許可を " + acquireTimeout.toMillis() + "ms 以内に取得できませんでした");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("接続の許可の待機中に割り込まれました", e);
+        }
+    }
+
+    /** 接続を借り、閉じた時に許可を返すプロキシで包む（借りられなかった場合はすぐに許可を返す）。 */
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        new ReleasingHandler(connection));
+    }
+
+    /** close で許可を 1 回だけ返し、それ以外の呼び出しは元の接続へ委譲する。 */
+    private final class ReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                try {
+                    target.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.todoapp.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** 定期実行の設定クラス。 索引の保守など、インフラ層の定期処理を有効にする。 */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
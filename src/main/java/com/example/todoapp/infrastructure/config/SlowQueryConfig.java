@@ -0,0 +1,47 @@
+package com.example.todoapp.infrastructure.config;
+
+import com.example.todoapp.infrastructure.metrics.SlowQueryLog;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 遅い SQL 文を記録する設定クラス。
+ *
+ * <p>todoapp.sql.slow-query.enabled（既定は true）が有効なら、アプリケーションの DataSource を {@link
+ * SlowQueryDataSource} で包み、すべての文の実行時間を計測する。 接続の制限（{@link ConnectionLimitConfig}）が有効な場合は、その外側を包む。
+ */
+@Configuration
+@ConditionalOnProperty(
+        name = "todoapp.sql.slow-query.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class SlowQueryConfig {
+
+    /** DataSource を実行時間を計測する DataSource で包む。 */
+    @Bean
+    static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            Environment environment, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        Duration explainTimeout =
+                Binder.get(environment)
+                        .bind("todoapp.sql.slow-query.explain-timeout", Duration.class)
+                        .orElse(Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)
+                        || bean instanceof SlowQueryDataSource) {
+                    return bean;
+                }
+                return new SlowQueryDataSource(
+                        dataSource, slowQueryLog.getObject(), explainTimeout);
+            }
+        };
+    }
+}
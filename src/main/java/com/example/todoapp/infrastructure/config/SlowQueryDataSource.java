@@ -0,0 +1,238 @@
+package com.example.todoapp.infrastructure.config;
+
+import com.example.todoapp.infrastructure.metrics.SlowQueryLog;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * すべての SQL 文の実行時間を計測し、しきい値を超えた文を {@link SlowQueryLog} に記録する DataSource。
+ *
+ * <p>接続と文をプロキシで包み、execute 系のメソッドの呼び出しにかかった時間を計測する（クエリの場合は最初のフェッチまでを含む）。 PreparedStatement
+ * に設定されたパラメーターも覚えておき、しきい値を超えた文は同じバインド値で再実行して実行計画を取得する。
+ *
+ * <p>実行計画は元の DataSource から別の接続を借り、読み取り専用のトランザクションで取得してロールバックする。 SELECT（行ロックを取るものを除く）は {@code
+ * EXPLAIN (ANALYZE, BUFFERS)} で実際に実行し、更新系の文は実行せずに {@code EXPLAIN} で推定の計画のみを取得する。
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    /** 実行計画を取得できる文 */
+    private static final Pattern EXPLAINABLE =
+            Pattern.compile("^\\s*(select|insert|update|delete|with)\\b", Pattern.CASE_INSENSITIVE);
+
+    /** 実際に実行して実行計画を取得してよい文（行ロックを取らない SELECT） */
+    private static final Pattern ANALYZABLE =
+            Pattern.compile("^\\s*select\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LOCKING =
+            Pattern.compile(
+                    "\\bfor\\s+(update|no\\s+key\\s+update|share|key\\s+share)\\b",
+                    Pattern.CASE_INSENSITIVE);
+
+    private final SlowQueryLog slowQueryLog;
+    private final Duration explainTimeout;
+
+    /**
+     * SlowQueryDataSource を構築する。
+     *
+     * @param delegate 元の DataSource（実行計画の取得にも使う）
+     * @param slowQueryLog しきい値を超えた文の記録先
+     * @param explainTimeout 実行計画の取得にかけられる最大時間
+     */
+    public SlowQueryDataSource(
+            DataSource delegate, SlowQueryLog slowQueryLog, Duration explainTimeout) {
+        super(delegate);
+        this.slowQueryLog = slowQueryLog;
+        this.explainTimeout = explainTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    private Connection timed(Connection connection) {
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        new ConnectionHandler(connection));
+    }
+
+    /** しきい値を超えた場合に記録し、EXPLAIN できる文であれば実行計画の取得を依頼する。 */
+    private void onExecuted(
+            String sql, Map<Integer, BoundParameter> boundParameters, long elapsedNanos) {
+        if (!slowQueryLog.recordExecution(elapsedNanos) || sql == null) {
+            return;
+        }
+        List<BoundParameter> parameters = List.copyOf(boundParameters.values());
+        Callable<String> planner =
+                EXPLAINABLE.matcher(sql).find() ? () -> explain(sql, parameters) : null;
+        slowQueryLog.record(
+                sql,
+                parameters.stream().map(BoundParameter::shape).toList(),
+                elapsedNanos,
+                planner);
+    }
+
+    /** 同じバインド値で実行計画を取得する。 */
+    private String explain(String sql, List<BoundParameter> parameters) throws SQLException {
+        boolean analyze = ANALYZABLE.matcher(sql).find() && !LOCKING.matcher(sql).find();
+        String explainSql = (analyze ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql;
+        try (Connection connection = getTargetDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeout.toMillis());
+                }
+                try (PreparedStatement statement = connection.prepareStatement(explainSql)) {
+                    for (BoundParameter parameter : parameters) {
+                        parameter.applyTo(statement);
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            plan.append(rs.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /** 文を作成するメソッドの戻り値を、実行時間を計測するプロキシで包む。 */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            String sql =
+                    method.getName().startsWith("prepare") && args[0] instanceof String s
+                            ? s
+                            : null;
+            return Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {method.getReturnType()},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    /** execute 系のメソッドの実行時間を計測し、PreparedStatement のパラメーターを覚えておく。 */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Map<Integer, BoundParameter> parameters = new TreeMap<>();
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (preparedSql != null
+                    && name.startsWith("set")
+                    && args != null
+                    && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, new BoundParameter(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDataSource.invoke(target, method, args);
+            }
+
+            String sql =
+                    preparedSql != null
+                            ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String s
+                                    ? s
+                                    : null;
+            long start = System.nanoTime();
+            try {
+                return SlowQueryDataSource.invoke(target, method, args);
+            } finally {
+                onExecuted(sql, parameters, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * PreparedStatement に設定された 1 つのパラメーター。
+     *
+     * @param setter 設定に使われたメソッド（setInt、setObject など）
+     * @param args 設定に使われた引数（先頭はパラメーターの位置）
+     */
+    private record BoundParameter(Method setter, Object[] args) {
+
+        /** 実行計画の取得用の文に同じ値を設定する。 */
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new SQLException("パラメーターを設定できませんでした", e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("パラメーターを設定できませんでした", e);
+            }
+        }
+
+        /** パラメーターの位置と型を返す（値は含めない）。 */
+        String shape() {
+            Object value = args[1];
+            String type =
+                    setter.getName().equals("setNull") || value == null
+                            ? "null"
+                            : value.getClass().getSimpleName();
+            return args[0] + ": " + type;
+        }
+    }
+}
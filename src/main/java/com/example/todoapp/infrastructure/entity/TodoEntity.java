@@ -5,9 +5,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
@@ -24,9 +26,25 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "todos")
 public class TodoEntity {
 
-    /** DB が採番する内部ID */
+    /**
+     * 内部IDの採番単位。
+     *
+     * <p>pooled オプティマイザにより、シーケンスを 1 回呼ぶごとにこの件数分の ID をまとめて確保する。 実際の値は DB
+     * のシーケンスの INCREMENT BY に合わせて補正される（{@code increment_size_mismatch_strategy=fix}）。
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * DB のシーケンスで採番する内部ID。
+     *
+     * <p>IDENTITY と異なり INSERT 前に ID が確定するため、Hibernate が INSERT を JDBC バッチにまとめられる。
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_internal_id_seq")
+    @SequenceGenerator(
+            name = "todos_internal_id_seq",
+            sequenceName = "todos_internal_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "internal_id")
     private Integer internalId;
 
@@ -36,7 +54,7 @@ public class TodoEntity {
 
     /** 公開ID（UUID形式） */
     @Column(name = "public_id")
-    private String publicId;
+    private UUID publicId;
 
     /** タイトル（必須） */
     @Column(name = "title", nullable = false, length = 255)
@@ -0,0 +1,59 @@
+package com.example.todoapp.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 保持期間を過ぎた履歴を書き出したセグメントファイルを表す永続化エンティティ。
+ *
+ * <p>セグメント内の行は（内部ID, 版数）の昇順に並ぶ。 Todo ごとの履歴を参照する場合は、内部IDの範囲がその Todo を含むセグメントだけを読み出す。
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "todo_history_archive_segments")
+public class TodoHistoryArchiveSegmentEntity {
+
+    /** セグメントID */
+    @Id
+    @Column(name = "segment_id")
+    private UUID segmentId;
+
+    /** アーカイブのディレクトリからの相対パス */
+    @Column(name = "file_name", nullable = false, updatable = false)
+    private String fileName;
+
+    /** 含まれる行の最小の内部ID */
+    @Column(name = "min_internal_id", nullable = false, updatable = false)
+    private Integer minInternalId;
+
+    /** 含まれる行の最大の内部ID */
+    @Column(name = "max_internal_id", nullable = false, updatable = false)
+    private Integer maxInternalId;
+
+    /** 含まれる行の最も古い更新日時 */
+    @Column(name = "min_updated_at", nullable = false, updatable = false)
+    private LocalDateTime minUpdatedAt;
+
+    /** 含まれる行の最も新しい更新日時 */
+    @Column(name = "max_updated_at", nullable = false, updatable = false)
+    private LocalDateTime maxUpdatedAt;
+
+    /** 行数 */
+    @Column(name = "row_count", nullable = false, updatable = false)
+    private int rowCount;
+
+    /** ファイルのバイト数（圧縮後） */
+    @Column(name = "byte_size", nullable = false, updatable = false)
+    private long byteSize;
+
+    /** 作成日時 */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,20 +4,35 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
+/**
+ * Todo 履歴の永続化エンティティ。
+ *
+ * <p>履歴は追記のみで更新されないため、 {@link Persistable} を実装して常に新規行として扱う。 これにより複合主キーが設定済みでも merge（存在確認の
+ * SELECT）は行われず、INSERT のみが発行される。
+ *
+ * <p>DB の主キーは（内部ID, 版数, 記録日時）だが、（内部ID, 版数）の一意性は台帳 todo_history_versions とトリガーで保証しているため、
+ * エンティティの識別子は（内部ID, 版数）とする。 todo_history に残っている版を INSERT すると一意制約違反となる。
+ */
 @Getter
 @Setter
 @Entity
 @IdClass(TodoHistoryId.class)
 @Table(name = "todo_history")
-public class TodoHistoryEntity {
+public class TodoHistoryEntity implements Persistable<TodoHistoryId> {
 
     @Id
     @Column(name = "internal_id")
@@ -28,7 +43,7 @@ public class TodoHistoryEntity {
     private Integer versionNumber;
 
     @Column(name = "public_id")
-    private String publicId;
+    private UUID publicId;
 
     @Column(name = "title", nullable = false, length = 255)
     private String title;
@@ -52,4 +67,29 @@ public class TodoHistoryEntity {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    /** 新規行かどうか（永続化・読み込み後は false） */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public TodoHistoryId getId() {
+        TodoHistoryId id = new TodoHistoryId();
+        id.setInternalId(internalId);
+        id.setVersionNumber(versionNumber);
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.todoapp.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * CSV からの一括取り込みでエラーとなった行を表す永続化エンティティ。
+ *
+ * <p>書き込みは COPY で行うため、このエンティティは読み出しにのみ使用する。
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(TodoImportErrorId.class)
+@Table(name = "todo_import_errors")
+public class TodoImportErrorEntity {
+
+    /** ジョブID */
+    @Id
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    /** 行番号（ヘッダーを除き 1 始まり） */
+    @Id
+    @Column(name = "record_number")
+    private Integer recordNumber;
+
+    /** エラーの理由 */
+    @Column(name = "message", nullable = false)
+    private String message;
+}
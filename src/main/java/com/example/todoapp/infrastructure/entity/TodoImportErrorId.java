@@ -0,0 +1,11 @@
+package com.example.todoapp.infrastructure.entity;
+
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class TodoImportErrorId implements Serializable {
+    private UUID jobId;
+    private Integer recordNumber;
+}
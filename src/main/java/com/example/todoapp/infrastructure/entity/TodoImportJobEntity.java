@@ -0,0 +1,54 @@
+package com.example.todoapp.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * CSV からの一括取り込みの進捗を表す永続化エンティティ。
+ *
+ * <p>processed_records はコミット済みの最後の行番号（ヘッダーを除き 1 始まり）で、 再開時はこの次の行から取り込む。
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "todo_import_jobs")
+public class TodoImportJobEntity {
+
+    /** ジョブID */
+    @Id
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    /** 状態 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private TodoImportStatus status;
+
+    /** コミット済みの最後の行番号 */
+    @Column(name = "processed_records", nullable = false)
+    private int processedRecords;
+
+    /** 取り込んだ件数 */
+    @Column(name = "imported_count", nullable = false)
+    private int importedCount;
+
+    /** エラーとなった行数 */
+    @Column(name = "error_count", nullable = false)
+    private int errorCount;
+
+    /** 作成日時 */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** 更新日時 */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,14 @@
+package com.example.todoapp.infrastructure.entity;
+
+/** CSV からの一括取り込みの状態。 */
+public enum TodoImportStatus {
+
+    /** 取り込み中（中断した場合もこの状態のまま残る） */
+    RUNNING,
+
+    /** 全行の取り込みが完了した */
+    COMPLETED,
+
+    /** エラーにより中断した（同じジョブIDで再開できる） */
+    FAILED
+}
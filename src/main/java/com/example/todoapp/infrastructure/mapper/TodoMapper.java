@@ -1,11 +1,13 @@
 package com.example.todoapp.infrastructure.mapper;
 
 import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoSummary;
 import com.example.todoapp.domain.model.todo.value.DueDate;
 import com.example.todoapp.domain.model.todo.value.InternalId;
 import com.example.todoapp.domain.model.todo.value.PublicId;
 import com.example.todoapp.domain.model.todo.value.VersionNumber;
 import com.example.todoapp.infrastructure.entity.TodoEntity;
+import com.example.todoapp.infrastructure.repository.jpa.TodoSummaryRow;
 
 /**
  * ドメイン層の Todo とインフラストラクチャ層の TodoEntity の相互変換を行うマッパー。
@@ -60,4 +62,43 @@ public class TodoMapper {
         entity.setUpdatedAt(domain.getUpdatedAt());
         return entity;
     }
+
+    /**
+     * ドメインの Todo を、永続化済みの状態として複製する。
+     *
+     * <p>複製後の Todo は現在の版数を復元時点の版数として持つため、 続けて保存する場合も楽観的ロックの比較が正しく行われる。
+     *
+     * @param domain 複製対象のドメイン Todo（内部IDが設定済み）
+     * @return 複製されたドメイン Todo
+     */
+    public static Todo copyOf(Todo domain) {
+        return new Todo(
+                domain.getInternalId(),
+                domain.getPublicId(),
+                domain.getVersionNumber(),
+                domain.getTitle(),
+                domain.getDetail(),
+                domain.isCompleted(),
+                domain.isDeleted(),
+                domain.getDueDate(),
+                domain.getCreatedAt(),
+                domain.getUpdatedAt());
+    }
+
+    /**
+     * 一覧表示用の射影を、ドメインの一覧の行に変換する。
+     *
+     * @param row 変換対象の射影
+     * @return 変換後の一覧の行
+     */
+    public static TodoSummary toSummary(TodoSummaryRow row) {
+        return new TodoSummary(
+                new InternalId(row.internalId()),
+                new PublicId(row.publicId()),
+                new VersionNumber(row.versionNumber()),
+                row.title(),
+                new DueDate(row.dueDate()),
+                row.completedFlag(),
+                row.createdAt());
+    }
 }
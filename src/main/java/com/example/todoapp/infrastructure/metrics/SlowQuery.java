@@ -0,0 +1,54 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * しきい値を超えた SQL 文の 1 回の実行を表す。
+ *
+ * <p>バインド値そのものは保持せず、パラメーターの位置と型（バインドの形）のみを保持する。
+ *
+ * @param id 記録の ID（記録順の連番）
+ * @param executedAt 実行が終わった日時
+ * @param elapsedMillis 実行にかかった時間（ミリ秒）
+ * @param sql 実行した SQL 文
+ * @param parameters パラメーターの位置と型（例: {@code 1: UUID}）
+ * @param planStatus 実行計画の取得状況
+ * @param plan 取得した実行計画、または取得に失敗した理由（取得していない場合は null）
+ */
+public record SlowQuery(
+        long id,
+        LocalDateTime executedAt,
+        long elapsedMillis,
+        String sql,
+        List<String> parameters,
+        PlanStatus planStatus,
+        String plan) {
+
+    public SlowQuery {
+        parameters = List.copyOf(parameters);
+    }
+
+    /** 実行計画の取得状況 */
+    public enum PlanStatus {
+        /** サンプリングの対象外、または EXPLAIN できない文のため取得しない */
+        NOT_SAMPLED,
+        /** 取得待ち */
+        PENDING,
+        /** 取得済み */
+        CAPTURED,
+        /** 取得に失敗した */
+        FAILED
+    }
+
+    /**
+     * 実行計画の取得結果を反映した記録を返す。
+     *
+     * @param status 取得状況
+     * @param text 実行計画、または取得に失敗した理由
+     * @return 取得結果を反映した記録
+     */
+    public SlowQuery withPlan(PlanStatus status, String text) {
+        return new SlowQuery(id, executedAt, elapsedMillis, sql, parameters, status, text);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * 実行時間がしきい値を超えた SQL 文の直近の記録を返す actuator エンドポイント。
+ *
+ * <p>{@code /actuator/slowqueries} で新しい順の一覧を、{@code /actuator/slowqueries/{id}} で 1
+ * 件（取得済みの実行計画を含む）を返す。
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * SlowQueryEndpoint を構築する。
+     *
+     * @param slowQueryLog 遅い SQL 文の記録
+     */
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * 直近の記録を新しい順に返す。
+     *
+     * @return 記録のリスト
+     */
+    @ReadOperation
+    public List<SlowQuery> recent() {
+        return slowQueryLog.recent();
+    }
+
+    /**
+     * 指定された ID の記録を返す。
+     *
+     * @param id 記録の ID
+     * @return 記録（保持されていない場合は null で、404 を返す）
+     */
+    @ReadOperation
+    public SlowQuery entry(@Selector long id) {
+        return slowQueryLog.find(id).orElse(null);
+    }
+}
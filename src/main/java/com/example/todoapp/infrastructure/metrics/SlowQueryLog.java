@@ -0,0 +1,234 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import com.example.todoapp.infrastructure.metrics.SlowQuery.PlanStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * しきい値を超えた SQL 文の実行を記録する。
+ *
+ * <p>直近の {@code max-entries} 件をメモリに保持し、actuator の slowqueries エンドポイントで参照できるようにする。
+ * 記録した文は、サンプリング（{@code explain-sample-rate}）で選ばれ、かつ同じ文を {@code explain-interval} 以内に取得していない場合に、
+ * 別スレッドで同じバインド値で再実行して実行計画を取得する。 取得待ちが溜まっている場合は取得しない。
+ *
+ * <p>すべての文の実行時間は todoapp.sql.execution に、しきい値を超えた回数は todoapp.sql.slow に記録する。
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements DisposableBean {
+
+    /** 実行計画の取得待ちとして保持する最大件数 */
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+
+    /** 実行計画を取得した日時を覚えておく文の最大数 */
+    private static final int MAX_EXPLAINED_STATEMENTS = 1_000;
+
+    private final long thresholdNanos;
+    private final double explainSampleRate;
+    private final long explainIntervalNanos;
+    private final int maxEntries;
+
+    private final Map<Long, SlowQuery> entries;
+    private final Map<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor explainExecutor;
+
+    private final Timer executionTimer;
+    private final Counter slowStatements;
+
+    /**
+     * SlowQueryLog を構築する。
+     *
+     * @param meterRegistry メトリクスの登録先
+     * @param threshold 記録する実行時間のしきい値
+     * @param maxEntries 保持する記録の最大件数
+     * @param explainSampleRate 実行計画を取得する割合（0.0〜1.0）
+     * @param explainInterval 同じ文の実行計画を再び取得するまでの間隔
+     */
+    public SlowQueryLog(
+            MeterRegistry meterRegistry,
+            @Value("${todoapp.sql.slow-query.threshold:PT0.5S}") Duration threshold,
+            @Value("${todoapp.sql.slow-query.max-entries:100}") int maxEntries,
+            @Value("${todoapp.sql.slow-query.explain-sample-rate:1.0}") double explainSampleRate,
+            @Value("${todoapp.sql.slow-query.explain-interval:PT10M}") Duration explainInterval) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("保持する記録の件数は 1 以上を指定してください");
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.maxEntries = maxEntries;
+        this.explainSampleRate = explainSampleRate;
+        this.explainIntervalNanos = explainInterval.toNanos();
+        this.entries =
+                new LinkedHashMap<>() {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, SlowQuery> eldest) {
+                        return size() > SlowQueryLog.this.maxEntries;
+                    }
+                };
+        this.explainExecutor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        0,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY),
+                        Thread.ofPlatform().name("slow-query-explain").daemon().factory());
+
+        this.executionTimer =
+                Timer.builder("todoapp.sql.execution")
+                        .description("SQL 文の実行にかかった時間")
+                        .register(meterRegistry);
+        this.slowStatements =
+                Counter.builder("todoapp.sql.slow")
+                        .description("実行時間がしきい値を超えた SQL 文の数")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * SQL 文の実行時間を記録し、しきい値を超えたかを返す。
+     *
+     * @param elapsedNanos 実行にかかった時間（ナノ秒）
+     * @return しきい値を超えた場合は true
+     */
+    public boolean recordExecution(long elapsedNanos) {
+        executionTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * しきい値を超えた SQL 文の実行を記録する。
+     *
+     * <p>実行計画の取得対象に選ばれた場合は、planner を別スレッドで呼び出し、その結果を記録に反映する。
+     *
+     * @param sql 実行した SQL 文
+     * @param parameters パラメーターの位置と型
+     * @param elapsedNanos 実行にかかった時間（ナノ秒）
+     * @param planner 実行計画を取得する処理（EXPLAIN できない文の場合は null）
+     * @return 記録した内容
+     */
+    public SlowQuery record(
+            String sql, List<String> parameters, long elapsedNanos, Callable<String> planner) {
+        slowStatements.increment();
+        boolean explain = planner != null && sampled(sql);
+        SlowQuery entry =
+                new SlowQuery(
+                        sequence.incrementAndGet(),
+                        LocalDateTime.now(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        sql,
+                        parameters,
+                        explain ? PlanStatus.PENDING : PlanStatus.NOT_SAMPLED,
+                        null);
+        synchronized (entries) {
+            entries.put(entry.id(), entry);
+        }
+        log.warn("実行時間がしきい値を超えた SQL 文です（{} ms、ID {}）: {}", entry.elapsedMillis(), entry.id(), sql);
+
+        if (explain) {
+            try {
+                explainExecutor.execute(() -> capturePlan(entry.id(), planner));
+            } catch (RejectedExecutionException e) {
+                // 取得待ちが溜まっている（または停止中の）ため、この実行の計画は取得しない
+                lastExplainedAt.remove(sql);
+                updatePlan(entry.id(), PlanStatus.NOT_SAMPLED, null);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 記録を新しい順に返す。
+     *
+     * @return 記録のリスト（新しい順）
+     */
+    public List<SlowQuery> recent() {
+        List<SlowQuery> recent;
+        synchronized (entries) {
+            recent = new ArrayList<>(entries.values());
+        }
+        Collections.reverse(recent);
+        return recent;
+    }
+
+    /**
+     * ID で記録を検索する。
+     *
+     * @param id 記録の ID
+     * @return 見つかった場合は記録を含む Optional（保持件数を超えて破棄された場合は空）
+     */
+    public Optional<SlowQuery> find(long id) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(id));
+        }
+    }
+
+    /** 実行計画の取得待ちを破棄し、取得中の処理に割り込む。 */
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /** サンプリングで選ばれ、かつ同じ文を間隔内に取得していない場合に true を返す（true の場合は取得日時を更新する）。 */
+    private boolean sampled(String sql) {
+        if (ThreadLocalRandom.current().nextDouble() >= explainSampleRate) {
+            return false;
+        }
+        if (lastExplainedAt.size() >= MAX_EXPLAINED_STATEMENTS) {
+            lastExplainedAt.clear();
+        }
+        long now = System.nanoTime();
+        Long previous =
+                lastExplainedAt.compute(
+                        sql,
+                        (key, last) ->
+                                last == null || now - last >= explainIntervalNanos ? now : last);
+        return previous == now;
+    }
+
+    private void capturePlan(long id, Callable<String> planner) {
+        PlanStatus status;
+        String text;
+        try {
+            text = planner.call();
+            status = PlanStatus.CAPTURED;
+        } catch (Exception e) {
+            log.warn("実行計画を取得できませんでした（ID {}）", id, e);
+            text = e.getMessage();
+            status = PlanStatus.FAILED;
+        }
+        updatePlan(id, status, text);
+    }
+
+    private void updatePlan(long id, PlanStatus status, String text) {
+        synchronized (entries) {
+            SlowQuery entry = entries.get(id);
+            if (entry != null) {
+                entries.put(id, entry.withPlan(status, text));
+            }
+        }
+    }
+}
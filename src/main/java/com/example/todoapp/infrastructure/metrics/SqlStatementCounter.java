@@ -0,0 +1,124 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate が発行する SQL 文をスレッドごとに数える StatementInspector。
+ *
+ * <p>{@link #open(boolean)} で開いた範囲（HTTP リクエスト、ユースケースなど）ごとに、その範囲が開いている間に同じスレッドで準備された文の数を数える。
+ * 範囲は入れ子にでき、内側の範囲の文は外側の範囲にも数えられる。 JDBC バッチは 1 回の準備で複数行を送るため 1 文として数える。
+ *
+ * <p>JdbcTemplate など Hibernate を経由しない SQL は数えない。
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final transient ThreadLocal<List<Scope>> openScopes =
+            ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * SessionFactory にこのインスタンスを StatementInspector として登録する。
+     *
+     * @param hibernateProperties SessionFactory の設定
+     */
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * 準備される SQL 文を、このスレッドで開いているすべての範囲に数える。
+     *
+     * @param sql 準備される SQL 文
+     * @return 引数の SQL 文（書き換えない）
+     */
+    @Override
+    public String inspect(String sql) {
+        List<Scope> scopes = openScopes.get();
+        for (int i = 0; i < scopes.size(); i++) {
+            scopes.get(i).add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * このスレッドで SQL 文を数える範囲を開く。
+     *
+     * <p>範囲は開いたスレッドで閉じること。
+     *
+     * @param recordSql 文ごとの発行回数も記録するか（同じ文の繰り返しを検出する場合に指定する）
+     * @return 開いた範囲
+     */
+    public Scope open(boolean recordSql) {
+        List<Scope> scopes = openScopes.get();
+        Scope scope = new Scope(scopes, recordSql);
+        scopes.add(scope);
+        return scope;
+    }
+
+    /** SQL 文を数える範囲。 閉じた後も、閉じるまでに数えた値を参照できる。 */
+    public static final class Scope implements AutoCloseable {
+
+        private final List<Scope> owner;
+        private final Map<String, Integer> countsBySql;
+        private long count;
+
+        private Scope(List<Scope> owner, boolean recordSql) {
+            this.owner = owner;
+            this.countsBySql = recordSql ? new HashMap<>() : null;
+        }
+
+        private void add(String sql) {
+            count++;
+            if (countsBySql != null) {
+                countsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        /**
+         * 範囲を開いてから数えた SQL 文の数を返す。
+         *
+         * @return SQL 文の数
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * 文ごとの発行回数を返す（発行回数を記録しない範囲では空）。
+         *
+         * @return SQL 文とその発行回数
+         */
+        public Map<String, Integer> countsBySql() {
+            return countsBySql == null ? Map.of() : Map.copyOf(countsBySql);
+        }
+
+        /**
+         * 最も多く発行された文を返す（N+1 の検出に使う）。
+         *
+         * @return SQL 文とその発行回数（発行回数を記録しない範囲や、文を発行していない場合は空）
+         */
+        public Optional<Map.Entry<String, Integer>> mostRepeated() {
+            if (countsBySql == null) {
+                return Optional.empty();
+            }
+            return countsBySql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(e -> Map.entry(e.getKey(), e.getValue()));
+        }
+
+        /** 範囲を閉じ、以降の文を数えないようにする。 */
+        @Override
+        public void close() {
+            owner.remove(this);
+        }
+    }
+}
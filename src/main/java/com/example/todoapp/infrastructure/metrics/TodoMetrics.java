@@ -0,0 +1,197 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import com.example.todoapp.domain.exception.TodoConflictException;
+import com.example.todoapp.domain.exception.TodoNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Todo のユースケースとリポジトリの呼び出しにかかった時間を計測するメトリクス。
+ *
+ * <p>ユースケース（todoapp.service）、リポジトリのメソッド（todoapp.repository）、履歴の保存（todoapp.history.save）
+ * ごとにパーセンタイルのヒストグラムを公開するため、どのユースケース・どの層が p99 を押し上げているかを比較できる。 例外で終わった呼び出しは exception
+ * タグに例外のクラス名を設定して記録する（正常終了は none）。
+ *
+ * <p>ユースケースの時間は @Transactional のメソッドの内側で計測するため、コミットにかかる時間は含まない。
+ *
+ * <p>ユースケースごとに Hibernate が発行した SQL 文の数（todoapp.sql.statements.service）も記録する。 文の数はコミット時の flush
+ * で発行される文を含めるため、トランザクションの完了後に記録する。
+ */
+@Component
+public class TodoMetrics {
+
+    /** 例外が発生しなかった場合の exception タグの値 */
+    static final String NO_EXCEPTION = "none";
+
+    /** ヒストグラムのバケットの下限（これより短い時間はすべて最初のバケットに入る） */
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+
+    /** ヒストグラムのバケットの上限（これより長い時間はすべて最後のバケットに入る） */
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+    private final SqlStatementCounter statementCounter;
+    private final Meter.MeterProvider<Timer> serviceTimers;
+    private final Meter.MeterProvider<Timer> repositoryTimers;
+    private final Meter.MeterProvider<Timer> historySaveTimers;
+    private final Meter.MeterProvider<Counter> notFound;
+    private final Meter.MeterProvider<Counter> versionConflicts;
+    private final Counter completeNoops;
+    private final Meter.MeterProvider<DistributionSummary> serviceStatements;
+
+    /**
+     * TodoMetrics を構築する。
+     *
+     * @param registry メトリクスの登録先
+     * @param statementCounter ユースケースごとの SQL 文の数え方
+     */
+    public TodoMetrics(MeterRegistry registry, SqlStatementCounter statementCounter) {
+        this.registry = registry;
+        this.statementCounter = statementCounter;
+        this.serviceTimers =
+                histogram("todoapp.service", "Todo のユースケースの処理時間").withRegistry(registry);
+        this.repositoryTimers =
+                histogram("todoapp.repository", "TodoDomainRepository のメソッドの処理時間")
+                        .withRegistry(registry);
+        this.historySaveTimers =
+                histogram("todoapp.history.save", "Todo の変更 1 件分の履歴の保存にかかった時間")
+                        .withRegistry(registry);
+        this.notFound =
+                Counter.builder("todoapp.todo.not_found")
+                        .description("対象の Todo が見つからなかった操作の回数")
+                        .withRegistry(registry);
+        this.versionConflicts =
+                Counter.builder("todoapp.todo.version_conflict")
+                        .description("版数の競合で失敗した操作の回数")
+                        .withRegistry(registry);
+        this.completeNoops =
+                Counter.builder("todoapp.todo.complete.noop")
+                        .description("すでに完了済みのため何もしなかった完了操作の回数")
+                        .register(registry);
+        this.serviceStatements =
+                DistributionSummary.builder("todoapp.sql.statements.service")
+                        .description("ユースケース 1 回あたりに発行した SQL 文の数")
+                        .withRegistry(registry);
+    }
+
+    /**
+     * ユースケースを実行し、その処理時間を記録する。
+     *
+     * <p>{@link TodoNotFoundException} と {@link TodoConflictException} で終わった場合は、 それぞれの回数も記録する。
+     *
+     * @param operation ユースケースの名前（operation タグの値）
+     * @param action ユースケースの処理
+     * @param <T> 処理結果の型
+     * @return 処理結果
+     */
+    public <T> T timeService(String operation, Supplier<T> action) {
+        SqlStatementCounter.Scope statements = statementCounter.open(false);
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NO_EXCEPTION;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            if (e instanceof TodoNotFoundException) {
+                notFound.withTags("operation", operation).increment();
+            } else if (e instanceof TodoConflictException) {
+                versionConflicts.withTags("operation", operation).increment();
+            }
+            throw e;
+        } finally {
+            sample.stop(serviceTimers.withTags("operation", operation, "exception", exception));
+            recordStatementsAfterCompletion(operation, statements);
+        }
+    }
+
+    /**
+     * リポジトリのメソッドを実行し、その処理時間を記録する。
+     *
+     * <p>ストリームを返すメソッドでは、ストリームを開くまでの時間のみを計測する（読み出しの時間は含まない）。
+     *
+     * @param method メソッドの名前（method タグの値）
+     * @param action メソッドの処理
+     * @param <T> 処理結果の型
+     * @return 処理結果
+     */
+    public <T> T timeRepository(String method, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NO_EXCEPTION;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(repositoryTimers.withTags("method", method, "exception", exception));
+        }
+    }
+
+    /**
+     * 履歴の保存を実行し、その処理時間を記録する。
+     *
+     * @param mode 保存の方式（sync: トランザクション内で INSERT、write_behind: キューへの登録）
+     * @param action 保存の処理
+     */
+    public void timeHistorySave(String mode, Runnable action) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NO_EXCEPTION;
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(historySaveTimers.withTags("mode", mode, "exception", exception));
+        }
+    }
+
+    /** すでに完了済みの Todo に対する完了操作を 1 回記録する。 */
+    public void recordCompleteNoop() {
+        completeNoops.increment();
+    }
+
+    /**
+     * ユースケースで発行した SQL 文の数を記録する。
+     *
+     * <p>トランザクション内の場合は、コミット時の flush の文も数えるため、完了後に範囲を閉じて記録する。
+     *
+     * @param operation ユースケースの名前
+     * @param statements ユースケースの開始時に開いた範囲
+     */
+    private void recordStatementsAfterCompletion(
+            String operation, SqlStatementCounter.Scope statements) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordStatements(operation, statements);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        recordStatements(operation, statements);
+                    }
+                });
+    }
+
+    private void recordStatements(String operation, SqlStatementCounter.Scope statements) {
+        statements.close();
+        serviceStatements.withTags("operation", operation).record(statements.count());
+    }
+
+    private static Timer.Builder histogram(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED);
+    }
+}
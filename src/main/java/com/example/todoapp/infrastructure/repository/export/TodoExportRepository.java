@@ -0,0 +1,183 @@
+package com.example.todoapp.infrastructure.repository.export;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+/**
+ * todos と todo_history をエクスポート用に逐次読み出す repository。
+ *
+ * <p>結果は前方向のみのスクロール（Hibernate の getResultStream）で読み出し、JDBC のフェッチサイズ単位で DB から取得する。 射影で取得するため
+ * 永続化コンテキストにも行が溜まらず、件数によらずメモリ使用量は一定となる（PostgreSQL ではトランザクション内でのみカーソルが使われる）。
+ *
+ * <p>更新日時の範囲（開始を含み、終了を含まない）で絞り込めるため、前回のエクスポート以降の差分だけを取り出せる。 行は更新日時の昇順で返す。
+ *
+ * <p>todo_history は記録日時（created_at）の月ごとにパーティションを分けているため、履歴の範囲・時点の条件には created_at の条件も付け、
+ * 対象外の月のパーティションを読まない（パーティションの刈り込み）。 履歴の行は記録時に作成日時・更新日時を設定した後は更新しないため、 created_at は更新日時と同じ時刻か、
+ * それより前の時刻となる。
+ */
+@Repository
+public class TodoExportRepository {
+
+    private static final String TODO_COLUMNS =
+            "new com.example.todoapp.infrastructure.repository.export.TodoExportRow("
+                    + "t.publicId, t.versionNumber, t.title, t.detail, t.dueDate, "
+                    + "t.completedFlag, t.deletedFlag, t.createdAt, t.updatedAt)";
+
+    private static final String HISTORY_COLUMNS =
+            "new com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow("
+                    + "h.publicId, h.versionNumber, h.title, h.detail, h.dueDate, "
+                    + "h.completedFlag, h.deletedFlag, h.createdAt, h.updatedAt)";
+
+    /**
+     * 指定日時の時点で各 Todo の最新の版を 1 行ずつ取得し、その時点で削除されていないものを返す。
+     *
+     * <p>DISTINCT ON は索引 idx_todo_history_as_of の順（内部ID, 更新日時の降順, 版数の降順）に読み出して 各 Todo
+     * の先頭の行を残すため、並び替えは行わない。
+     */
+    private static final String STATE_AS_OF =
+            "SELECT public_id, version_number, title, detail, due_date, completed_flag, "
+                    + "deleted_flag, created_at, updated_at FROM ("
+                    + "SELECT DISTINCT ON (internal_id) * FROM todo_history "
+                    + "WHERE updated_at <= :at AND created_at <= :at "
+                    + "ORDER BY internal_id, updated_at DESC, version_number DESC) latest "
+                    + "WHERE NOT deleted_flag "
+                    + "ORDER BY internal_id";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    /**
+     * TodoExportRepository を構築する。
+     *
+     * @param entityManager クエリを発行する EntityManager
+     * @param fetchSize 1 回の往復で DB から読み出す行数
+     */
+    public TodoExportRepository(
+            EntityManager entityManager,
+            @Value("${todoapp.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 更新日時が範囲内の Todo を、更新日時の昇順で逐次取得する（削除済みを含む）。
+     *
+     * @param updatedFrom 更新日時の下限（含む、null の場合は制限なし）
+     * @param updatedTo 更新日時の上限（含まない、null の場合は制限なし）
+     * @return Todo の行のストリーム（使用後に close が必要）
+     */
+    public Stream<TodoExportRow> streamTodos(LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+        return stream(
+                "SELECT " + TODO_COLUMNS + " FROM TodoEntity t",
+                "t.updatedAt",
+                "t.internalId",
+                TodoExportRow.class,
+                updatedFrom,
+                updatedTo);
+    }
+
+    /**
+     * 記録日時が範囲内の履歴を、記録日時の昇順で逐次取得する。
+     *
+     * <p>履歴の行は記録後に更新されないため、範囲と並び順には記録日時（created_at、パーティションキー）を使い、範囲外の月のパーティションを読まない。
+     *
+     * @param recordedFrom 記録日時の下限（含む、null の場合は制限なし）
+     * @param recordedTo 記録日時の上限（含まない、null の場合は制限なし）
+     * @return 履歴の行のストリーム（使用後に close が必要）
+     */
+    public Stream<TodoHistoryExportRow> streamHistory(
+            LocalDateTime recordedFrom, LocalDateTime recordedTo) {
+        return stream(
+                "SELECT " + HISTORY_COLUMNS + " FROM TodoHistoryEntity h",
+                "h.createdAt",
+                "h.internalId, h.versionNumber",
+                TodoHistoryExportRow.class,
+                recordedFrom,
+                recordedTo);
+    }
+
+    /**
+     * 指定日時の時点のボード（削除されていない Todo）の状態を、各 Todo のその時点で最新の履歴として逐次取得する。
+     *
+     * <p>履歴を Java で再生せず、1 回の問い合わせで求める。 行は内部IDの昇順で返す。
+     *
+     * @param at 時点
+     * @return 履歴の行のストリーム（使用後に close が必要）
+     */
+    public Stream<TodoHistoryExportRow> streamStateAsOf(LocalDateTime at) {
+        NativeQuery<?> query =
+                entityManager
+                        .createNativeQuery(STATE_AS_OF)
+                        .setParameter("at", at)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .unwrap(NativeQuery.class);
+        Stream<?> rows =
+                query.addScalar("public_id", UUID.class)
+                        .addScalar("version_number", Integer.class)
+                        .addScalar("title", String.class)
+                        .addScalar("detail", String.class)
+                        .addScalar("due_date", LocalDate.class)
+                        .addScalar("completed_flag", Boolean.class)
+                        .addScalar("deleted_flag", Boolean.class)
+                        .addScalar("created_at", LocalDateTime.class)
+                        .addScalar("updated_at", LocalDateTime.class)
+                        .getResultStream();
+        return rows.map(Object[].class::cast)
+                .map(
+                        row ->
+                                new TodoHistoryExportRow(
+                                        (UUID) row[0],
+                                        (Integer) row[1],
+                                        (String) row[2],
+                                        (String) row[3],
+                                        (LocalDate) row[4],
+                                        (Boolean) row[5],
+                                        (Boolean) row[6],
+                                        (LocalDateTime) row[7],
+                                        (LocalDateTime) row[8]));
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /**
+     * 日時の条件と並び順を付けたクエリを前方向のみで逐次実行する。
+     *
+     * <p>指定されていない境界は条件に含めない（null の比較を SQL に渡さない）。
+     */
+    private <T> Stream<T> stream(
+            String select,
+            String timeColumn,
+            String tieBreaker,
+            Class<T> rowType,
+            LocalDateTime updatedFrom,
+            LocalDateTime updatedTo) {
+        StringBuilder jpql = new StringBuilder(select);
+        String keyword = " WHERE ";
+        if (updatedFrom != null) {
+            jpql.append(keyword).append(timeColumn).append(" >= :updatedFrom");
+            keyword = " AND ";
+        }
+        if (updatedTo != null) {
+            jpql.append(keyword).append(timeColumn).append(" < :updatedTo");
+        }
+        jpql.append(" ORDER BY ").append(timeColumn).append(" ASC, ").append(tieBreaker);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), rowType);
+        if (updatedFrom != null) {
+            query.setParameter("updatedFrom", updatedFrom);
+        }
+        if (updatedTo != null) {
+            query.setParameter("updatedTo", updatedTo);
+        }
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize).getResultStream();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.infrastructure.repository.export;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * エクスポート用に todos の 1 行を表す射影。
+ *
+ * <p>JPQL のコンストラクタ式で生成されるため、管理対象のエンティティにはならず、 永続化コンテキストにも保持されない。 内部IDは出力しない。
+ *
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param detail 詳細
+ * @param dueDate 期限日
+ * @param completed 完了状態
+ * @param deleted 削除状態
+ * @param createdAt 作成日時
+ * @param updatedAt 更新日時
+ */
+public record TodoExportRow(
+        UUID publicId,
+        Integer versionNumber,
+        String title,
+        String detail,
+        LocalDate dueDate,
+        boolean completed,
+        boolean deleted,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {}
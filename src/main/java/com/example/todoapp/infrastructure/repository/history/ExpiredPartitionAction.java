@@ -0,0 +1,11 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+/** 保持期間を過ぎた todo_history のパーティションの扱い。 */
+public enum ExpiredPartitionAction {
+
+    /** todo_history から切り離し、単独のテーブルとして残す（退避・削除は運用で行う） */
+    DETACH,
+
+    /** 削除する */
+    DROP
+}
@@ -0,0 +1,259 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import com.example.todoapp.infrastructure.entity.TodoHistoryArchiveSegmentEntity;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryArchiveSegmentJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 保持期間を過ぎた履歴を保存する、圧縮済みのセグメントファイルの置き場。
+ *
+ * <p>セグメントファイルは（内部ID, 版数）の昇順に並んだ履歴を NDJSON で書き出し、gzip で圧縮したもので、 一度書き出した後は変更しない（追記のみ）。
+ * ファイルの一覧と各ファイルが含む内部IDの範囲は todo_history_archive_segments に記録する。
+ *
+ * <ul>
+ *   <li>ファイルは一時ファイルに書き出してディスクに同期した後、名前を変えて配置する（書きかけのファイルは見えない）
+ *   <li>一覧への記録は呼び出し元のトランザクションで行い、ロールバックした場合は配置したファイルを削除する
+ *   <li>Todo ごとの参照では、内部IDの範囲がその Todo を含むセグメントだけを先頭から読み出す
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TodoHistoryArchive {
+
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+
+    private final TodoHistoryArchiveSegmentJpaRepository segmentRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    /**
+     * TodoHistoryArchive を構築する。
+     *
+     * @param segmentRepository セグメントの一覧の永続化リポジトリ
+     * @param objectMapper 行の書き出し・読み込みに使用する ObjectMapper
+     * @param directory セグメントファイルを置くディレクトリ
+     */
+    public TodoHistoryArchive(
+            TodoHistoryArchiveSegmentJpaRepository segmentRepository,
+            ObjectMapper objectMapper,
+            @Value("${todoapp.history.archive.directory:data/history-archive}") Path directory) {
+        this.segmentRepository = segmentRepository;
+        this.objectMapper = objectMapper;
+        this.directory = directory.toAbsolutePath();
+    }
+
+    // ========================================================================
+    // 書き出し
+    // ========================================================================
+    /**
+     * 履歴の行を 1 つのセグメントファイルに書き出し、セグメントの一覧に記録する。
+     *
+     * <p>実行中のトランザクションで一覧に記録し、トランザクションがコミットされなかった場合はファイルを削除する。
+     *
+     * @param rows （内部ID, 版数）の昇順に並んだ履歴の行（1 件以上）
+     * @param createdAt セグメントの作成日時
+     * @return 記録したセグメント
+     * @throws IllegalStateException トランザクションの外で呼び出された場合
+     * @throws UncheckedIOException ファイルの書き出しに失敗した場合
+     */
+    public TodoHistoryArchiveSegmentEntity writeSegment(
+            List<TodoHistoryArchiveRow> rows, LocalDateTime createdAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("セグメントの書き出しはトランザクション内で行う必要があります");
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("セグメントに書き出す履歴がありません");
+        }
+        UUID segmentId = UUID.randomUUID();
+        String fileName = segmentId + SEGMENT_SUFFIX;
+        Path file = directory.resolve(fileName);
+        long byteSize = write(rows, file);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            deleteQuietly(file);
+                        }
+                    }
+                });
+
+        TodoHistoryArchiveSegmentEntity segment = new TodoHistoryArchiveSegmentEntity();
+        segment.setSegmentId(segmentId);
+        segment.setFileName(fileName);
+        segment.setMinInternalId(rows.getFirst().internalId());
+        segment.setMaxInternalId(rows.getLast().internalId());
+        segment.setMinUpdatedAt(
+                rows.stream()
+                        .map(TodoHistoryArchiveRow::updatedAt)
+                        .min(Comparator.naturalOrder())
+                        .get());
+        segment.setMaxUpdatedAt(
+                rows.stream()
+                        .map(TodoHistoryArchiveRow::updatedAt)
+                        .max(Comparator.naturalOrder())
+                        .get());
+        segment.setRowCount(rows.size());
+        segment.setByteSize(byteSize);
+        segment.setCreatedAt(createdAt);
+        return segmentRepository.save(segment);
+    }
+
+    // ========================================================================
+    // 参照
+    // ========================================================================
+    /**
+     * 指定された Todo のアーカイブ済みの履歴を版数の昇順で取得する。
+     *
+     * @param internalId 内部ID
+     * @return 履歴の行のリスト（アーカイブされていない場合は空）
+     */
+    public List<TodoHistoryExportRow> findVersions(Integer internalId) {
+        List<TodoHistoryExportRow> versions = new ArrayList<>();
+        for (TodoHistoryArchiveSegmentEntity segment : segmentRepository.findCovering(internalId)) {
+            for (TodoHistoryArchiveRow row : readRowsOf(segment, internalId)) {
+                versions.add(row.toExportRow());
+            }
+        }
+        versions.sort(Comparator.comparing(TodoHistoryExportRow::versionNumber));
+        return versions;
+    }
+
+    /**
+     * 指定された Todo の、指定日時の時点で最新のアーカイブ済みの版を取得する。
+     *
+     * @param internalId 内部ID
+     * @param at 時点
+     * @return その時点で最新の版（アーカイブにない場合は空）
+     */
+    public Optional<TodoHistoryExportRow> findLatestAsOf(Integer internalId, LocalDateTime at) {
+        return findVersions(internalId).stream()
+                .filter(row -> !row.updatedAt().isAfter(at))
+                .max(
+                        Comparator.comparing(TodoHistoryExportRow::updatedAt)
+                                .thenComparing(TodoHistoryExportRow::versionNumber));
+    }
+
+    /**
+     * 指定日時以前に更新された履歴がアーカイブされているかを返す。
+     *
+     * @param at 日時
+     * @return アーカイブされている場合は true
+     */
+    public boolean containsUpdatedAtOrBefore(LocalDateTime at) {
+        return segmentRepository.existsByMinUpdatedAtLessThanEqual(at);
+    }
+
+    /**
+     * すべてのセグメントを作成日時の順で取得する。
+     *
+     * @return セグメントのリスト
+     */
+    public List<TodoHistoryArchiveSegmentEntity> listSegments() {
+        return segmentRepository.findAllByOrderByCreatedAtAscMinInternalIdAsc();
+    }
+
+    /**
+     * 指定されたセグメントのファイルのパスを取得する。
+     *
+     * @param segmentId セグメントID
+     * @return ファイルのパス（セグメントが存在しない場合は空）
+     */
+    public Optional<Path> findSegmentFile(UUID segmentId) {
+        return segmentRepository
+                .findById(segmentId)
+                .map(segment -> directory.resolve(segment.getFileName()));
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /** 一時ファイルに書き出してディスクに同期した後、名前を変えて配置する。 */
+    private long write(List<TodoHistoryArchiveRow> rows, Path file) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, "segment-", ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp.toFile());
+                    GZIPOutputStream gzip = new GZIPOutputStream(out);
+                    BufferedWriter writer =
+                            new BufferedWriter(
+                                    new OutputStreamWriter(gzip, StandardCharsets.UTF_8))) {
+                for (TodoHistoryArchiveRow row : rows) {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.newLine();
+                }
+                writer.flush();
+                gzip.finish();
+                out.getChannel().force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(file);
+        } catch (IOException e) {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            throw new UncheckedIOException("セグメントの書き出しに失敗しました: " + file, e);
+        }
+    }
+
+    /** セグメントから指定された Todo の行を読み出す（行は内部IDの昇順のため、範囲を過ぎたら打ち切る）。 */
+    private List<TodoHistoryArchiveRow> readRowsOf(
+            TodoHistoryArchiveSegmentEntity segment, Integer internalId) {
+        Path file = directory.resolve(segment.getFileName());
+        List<TodoHistoryArchiveRow> rows = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new GZIPInputStream(Files.newInputStream(file)),
+                                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                TodoHistoryArchiveRow row =
+                        objectMapper.readValue(line, TodoHistoryArchiveRow.class);
+                int compared = row.internalId().compareTo(internalId);
+                if (compared == 0) {
+                    rows.add(row);
+                } else if (compared > 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("セグメントの読み込みに失敗しました: " + file, e);
+        }
+        return rows;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("アーカイブのファイルを削除できませんでした: {}", file, e);
+        }
+    }
+}
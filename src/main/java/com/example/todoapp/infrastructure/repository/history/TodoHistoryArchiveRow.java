@@ -0,0 +1,53 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * アーカイブのセグメントファイルに書き出す履歴の 1 行。
+ *
+ * <p>セグメントファイルには 1 行ごとに JSON で書き出す（NDJSON）。 セグメント内の範囲を絞り込むため、エクスポート用の行と異なり内部IDも保持する。
+ *
+ * @param internalId 内部ID
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param detail 詳細
+ * @param dueDate 期限日
+ * @param completed 完了状態
+ * @param deleted 削除状態
+ * @param createdAt 履歴の作成日時
+ * @param updatedAt 履歴の更新日時
+ */
+public record TodoHistoryArchiveRow(
+        Integer internalId,
+        UUID publicId,
+        Integer versionNumber,
+        String title,
+        String detail,
+        LocalDate dueDate,
+        boolean completed,
+        boolean deleted,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * エクスポート・参照用の行に変換する。
+     *
+     * @return 内部IDを除いた履歴の行
+     */
+    public TodoHistoryExportRow toExportRow() {
+        return new TodoHistoryExportRow(
+                publicId,
+                versionNumber,
+                title,
+                detail,
+                dueDate,
+                completed,
+                deleted,
+                createdAt,
+                updatedAt);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Todo の履歴をどこで作成するかの設定。
+ *
+ * <ul>
+ *   <li>application: アプリケーションが履歴の行を組み立てて todo_history に INSERT する（既定）
+ *   <li>database: todos のトリガーが、INSERT と版数が増えた UPDATE の同じ文の中で履歴の行を作成する。 アプリケーションから履歴の行を送らないため、変更 1
+ *       件あたりの往復とエンティティの生成がなくなる
+ * </ul>
+ *
+ * <p>トリガーは接続のセッション変数 todoapp.history_capture が 'database' の場合にのみ動作する。 この変数は
+ * spring.datasource.hikari.connection-init-sql で接続ごとに設定する。
+ */
+@Component
+public class TodoHistoryCapture {
+
+    /** トリガーの動作を切り替えるセッション変数 */
+    static final String SESSION_VARIABLE = "todoapp.history_capture";
+
+    private static final String DATABASE = "database";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean database;
+
+    /**
+     * TodoHistoryCapture を構築する。
+     *
+     * @param jdbcTemplate セッション変数の確認に使用する JdbcTemplate
+     * @param mode 履歴を作成する場所（application または database）
+     */
+    public TodoHistoryCapture(
+            JdbcTemplate jdbcTemplate,
+            @Value("${todoapp.history.capture:application}") String mode) {
+        String normalized = mode.trim().toLowerCase(Locale.ROOT);
+        if (!normalized.equals("application") && !normalized.equals(DATABASE)) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.capture は application または database で指定してください");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.database = normalized.equals(DATABASE);
+    }
+
+    /**
+     * 履歴を DB のトリガーで作成するかを返す。
+     *
+     * @return トリガーで作成する場合は true（アプリケーションは履歴を書き込まない）
+     */
+    public boolean isDatabase() {
+        return database;
+    }
+
+    /**
+     * database の場合、接続のセッション変数でトリガーが有効になっていることを確認する。
+     *
+     * <p>有効になっていない場合は履歴がどこにも記録されないため、起動を失敗させる。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifySessionVariable() {
+        if (!database) {
+            return;
+        }
+        String value =
+                jdbcTemplate.queryForObject(
+                        "SELECT current_setting('" + SESSION_VARIABLE + "', true)", String.class);
+        if (value == null || !value.trim().equalsIgnoreCase(DATABASE)) {
+            throw new IllegalStateException(
+                    "todoapp.history.capture=database ですが、接続のセッション変数 "
+                            + SESSION_VARIABLE
+                            + " が database に設定されていません（spring.datasource.hikari.connection-init-sql を確認してください）");
+        }
+    }
+}
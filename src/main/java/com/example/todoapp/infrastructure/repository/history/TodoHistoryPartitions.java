@@ -0,0 +1,246 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * todo_history の月単位のパーティションを保守する定期処理。
+ *
+ * <p>todo_history は created_at（履歴を記録した日時）の月ごとにパーティションを分けている。 起動時と毎日の定期実行で次の処理を行う。
+ *
+ * <ul>
+ *   <li>当月から months-ahead か月先までのパーティションを作成する
+ *   <li>retention-months が 1 以上の場合、それより前の月のパーティションを切り離す（DETACH）または削除する（DROP）
+ * </ul>
+ *
+ * <p>DROP は行をアーカイブへ移さずに削除するため、履歴のアーカイブ（{@link TodoHistoryRetention}）とは併用できない。 また、DETACH・DROP
+ * のいずれも、Todo ごとの最新の keep-latest 版を含むパーティションは切り離さずに残す（次回以降、含まなくなった時点で処理する）。
+ * 切り離した版は記録済みの版の台帳（todo_history_versions）に残るため、起動時の補完でも戻らないためである。
+ *
+ * <p>パーティションがない月の行は既定のパーティション（todo_history_default）に入る。 その月のパーティションを後から作成する場合は、
+ * 既定のパーティションから該当する行を移してから接続する。
+ */
+@Slf4j
+@Component
+public class TodoHistoryPartitions {
+
+    private static final String PARENT = "todo_history";
+    private static final String DEFAULT_PARTITION = "todo_history_default";
+
+    private static final DateTimeFormatter NAME_FORMAT =
+            DateTimeFormatter.ofPattern("'todo_history_y'yyyy'm'MM");
+    private static final Pattern NAME_PATTERN = Pattern.compile("todo_history_y(\\d{4})m(\\d{2})");
+
+    private static final String SELECT_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "WHERE i.inhparent = 'todo_history'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final ExpiredPartitionAction expiredAction;
+    private final int keepLatest;
+
+    /**
+     * TodoHistoryPartitions を構築する。
+     *
+     * @param jdbcTemplate DDL の発行に使用する JdbcTemplate
+     * @param transactionOperations パーティションの作成（行の移動と接続）のトランザクションの境界
+     * @param enabled 保守を有効にするか
+     * @param monthsAhead 当月より先に作成しておく月数（0 以上）
+     * @param retentionMonths パーティションを残す月数（当月を含まない、0 の場合は切り離さない）
+     * @param expiredAction 保持期間を過ぎたパーティションの扱い
+     * @param archiveEnabled 履歴のアーカイブが有効か（有効な場合は DROP を指定できない）
+     * @param keepLatest 切り離さない、Todo ごとの最新の版の数（1 以上）
+     */
+    public TodoHistoryPartitions(
+            JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            @Value("${todoapp.history.partition.enabled:true}") boolean enabled,
+            @Value("${todoapp.history.partition.months-ahead:3}") int monthsAhead,
+            @Value("${todoapp.history.partition.retention-months:0}") int retentionMonths,
+            @Value("${todoapp.history.partition.expired-action:DETACH}")
+                    ExpiredPartitionAction expiredAction,
+            @Value("${todoapp.history.archive.enabled:false}") boolean archiveEnabled,
+            @Value("${todoapp.history.archive.keep-latest:10}") int keepLatest) {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.partition.months-ahead は 0 以上を指定してください");
+        }
+        if (retentionMonths < 0) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.partition.retention-months は 0 以上を指定してください");
+        }
+        if (expiredAction == ExpiredPartitionAction.DROP && archiveEnabled) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.partition.expired-action=DROP は履歴のアーカイブ（todoapp.history.archive.enabled=true）"
+                            + "と併用できません。 DETACH を指定してください");
+        }
+        if (keepLatest < 1) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.archive.keep-latest は 1 以上を指定してください");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.expiredAction = expiredAction;
+        this.keepLatest = keepLatest;
+    }
+
+    /** 起動時と設定された時刻に、パーティションを保守する（無効な場合は何もしない）。 */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${todoapp.history.partition.cron:0 0 2 * * *}")
+    public void maintainOnSchedule() {
+        if (enabled) {
+            maintain(LocalDate.now());
+        }
+    }
+
+    /**
+     * 指定された日を基準に、先の月のパーティションを作成し、保持期間を過ぎたパーティションを切り離す。
+     *
+     * <p>1 つのパーティションの処理に失敗しても、残りのパーティションの処理は続ける。
+     *
+     * @param today 基準日
+     */
+    public void maintain(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                createIfAbsent(month);
+            } catch (DataAccessException | TransactionException e) {
+                log.error("履歴のパーティションを作成できませんでした: {}", nameOf(month), e);
+            }
+        }
+        if (retentionMonths == 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        try {
+            for (YearMonth month : listPartitions()) {
+                if (month.isBefore(oldestKept)) {
+                    expire(month);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("保持期間を過ぎた履歴のパーティションを切り離せませんでした", e);
+        }
+    }
+
+    /**
+     * todo_history に接続されている月のパーティションを取得する（既定のパーティションを除く）。
+     *
+     * @return パーティションの月（古い順）
+     */
+    public List<YearMonth> listPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class)) {
+            Matcher matcher = NAME_PATTERN.matcher(name);
+            if (matcher.matches()) {
+                months.add(
+                        YearMonth.of(
+                                Integer.parseInt(matcher.group(1)),
+                                Integer.parseInt(matcher.group(2))));
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /** 指定された月のパーティションがなければ、既定のパーティションから該当する行を移して接続する。 */
+    private void createIfAbsent(YearMonth month) {
+        String name = nameOf(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        transactionOperations.executeWithoutResult(
+                status -> {
+                    String existing =
+                            jdbcTemplate.queryForObject(
+                                    "SELECT to_regclass(?)::text", String.class, name);
+                    if (existing != null) {
+                        return;
+                    }
+                    jdbcTemplate.execute(
+                            "CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+                    int moved =
+                            jdbcTemplate.update(
+                                    "WITH moved AS (DELETE FROM "
+                                            + DEFAULT_PARTITION
+                                            + " WHERE created_at >= ?::timestamp AND created_at < ?::timestamp"
+                                            + " RETURNING *) INSERT INTO "
+                                            + name
+                                            + " SELECT * FROM moved",
+                                    from,
+                                    to);
+                    jdbcTemplate.execute(
+                            "ALTER TABLE "
+                                    + PARENT
+                                    + " ATTACH PARTITION "
+                                    + name
+                                    + " FOR VALUES FROM ('"
+                                    + from
+                                    + "') TO ('"
+                                    + to
+                                    + "')");
+                    log.info("履歴のパーティションを作成しました: {}（既定のパーティションから {} 件を移動）", name, moved);
+                });
+    }
+
+    /** 保持期間を過ぎたパーティションを切り離す、または削除する（最新の keep-latest 版を含む場合は何もしない）。 */
+    private void expire(YearMonth month) {
+        String name = nameOf(month);
+        if (holdsLatestVersions(name)) {
+            log.warn(
+                    "最新の {} 版以内の履歴を含むため、パーティションを処理しませんでした: {}（{}）",
+                    keepLatest,
+                    name,
+                    expiredAction);
+            return;
+        }
+        switch (expiredAction) {
+            case DETACH -> jdbcTemplate.execute(
+                    "ALTER TABLE " + PARENT + " DETACH PARTITION " + name);
+            case DROP -> jdbcTemplate.execute("DROP TABLE " + name);
+        }
+        log.info("保持期間を過ぎた履歴のパーティションを処理しました: {}（{}）", name, expiredAction);
+    }
+
+    /** 指定されたパーティションが、Todo ごとの最新の keep-latest 版のいずれかを含むかを返す。 */
+    private boolean holdsLatestVersions(String name) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM "
+                                + name
+                                + " h JOIN todos t ON t.internal_id = h.internal_id"
+                                + " WHERE h.version_number > t.version_number - ?)",
+                        Boolean.class,
+                        keepLatest));
+    }
+
+    private static String nameOf(YearMonth month) {
+        return month.format(NAME_FORMAT);
+    }
+}
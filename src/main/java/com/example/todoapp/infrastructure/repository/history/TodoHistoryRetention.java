@@ -0,0 +1,193 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * 保持期間を過ぎた履歴の版を todo_history からアーカイブ（{@link TodoHistoryArchive}）へ移す定期処理。
+ *
+ * <p>更新日時が保持期間より古く、かつ Todo ごとの最新の keep-latest 版に含まれない版が対象となる。 対象を（内部ID, 版数）の順に chunk-size 件ずつ読み出し、1
+ * トランザクションで「セグメントファイルへの書き出し・一覧への記録・todo_history からの削除」を行う。 1 回に扱う件数は chunk-size
+ * 件までのため、対象が多くてもメモリ使用量とロックの範囲は一定に保たれる。
+ *
+ * <ul>
+ *   <li>最新の版は必ず todo_history に残す（keep-latest は 1 以上）
+ *   <li>記録日時（パーティションキー）の条件も付け、保持期間内の月のパーティションは読まない
+ *   <li>対象の行は読み出し時にロックするため、複数のインスタンスで同時に実行しても同じ版を二重にアーカイブしない
+ *   <li>途中で失敗した場合は、そのチャンクだけがロールバックされ、次回の実行で続きから処理する
+ *   <li>（内部ID, 版数）は todo_history 全体で一意（V11 の台帳で保証）のため、削除件数は読み出した件数と一致する
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TodoHistoryRetention {
+
+    private static final String SELECT_EXPIRED =
+            "SELECT h.internal_id, h.version_number, h.public_id, h.title, h.detail, h.due_date, "
+                    + "h.completed_flag, h.deleted_flag, h.created_at, h.updated_at "
+                    + "FROM todo_history h JOIN todos t ON t.internal_id = h.internal_id "
+                    + "WHERE h.updated_at < ? AND h.created_at < ? AND h.version_number <= t.version_number - ? "
+                    + "AND (h.internal_id, h.version_number) > (?, ?) "
+                    + "ORDER BY h.internal_id, h.version_number "
+                    + "LIMIT ? FOR UPDATE OF h";
+
+    private static final String DELETE_ARCHIVED =
+            "DELETE FROM todo_history h USING unnest(?, ?) AS a(internal_id, version_number) "
+                    + "WHERE h.internal_id = a.internal_id AND h.version_number = a.version_number";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final TodoHistoryArchive archive;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int keepLatest;
+    private final int chunkSize;
+
+    /**
+     * TodoHistoryRetention を構築する。
+     *
+     * @param jdbcTemplate 履歴の読み出し・削除に使用する JdbcTemplate
+     * @param transactionOperations チャンクごとのトランザクションの境界
+     * @param archive アーカイブの置き場
+     * @param enabled 定期実行を有効にするか
+     * @param retention todo_history に残す期間
+     * @param keepLatest 保持期間によらず todo_history に残す、Todo ごとの最新の版の数（1 以上）
+     * @param chunkSize 1 トランザクション（1 セグメント）で移す版の数（1 以上）
+     */
+    public TodoHistoryRetention(
+            JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            TodoHistoryArchive archive,
+            @Value("${todoapp.history.archive.enabled:false}") boolean enabled,
+            @Value("${todoapp.history.archive.retention:P180D}") Duration retention,
+            @Value("${todoapp.history.archive.keep-latest:10}") int keepLatest,
+            @Value("${todoapp.history.archive.chunk-size:1000}") int chunkSize) {
+        if (keepLatest < 1) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.archive.keep-latest は 1 以上を指定してください");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "todoapp.history.archive.chunk-size は 1 以上を指定してください");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.archive = archive;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.keepLatest = keepLatest;
+        this.chunkSize = chunkSize;
+    }
+
+    /** 設定された時刻に、保持期間を過ぎた版をアーカイブへ移す（無効な場合は何もしない）。 */
+    @Scheduled(cron = "${todoapp.history.archive.cron:0 30 3 * * *}")
+    public void archiveOnSchedule() {
+        if (enabled) {
+            archiveExpired(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた版を、対象がなくなるまでチャンクごとにアーカイブへ移す。
+     *
+     * @param now 基準日時（この日時から保持期間より前に更新された版が対象）
+     * @return アーカイブへ移した版の数
+     */
+    public int archiveExpired(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(retention);
+        int afterInternalId = Integer.MIN_VALUE;
+        int afterVersion = Integer.MIN_VALUE;
+        int archived = 0;
+        int segments = 0;
+        while (true) {
+            List<TodoHistoryArchiveRow> chunk =
+                    archiveChunk(cutoff, afterInternalId, afterVersion, now);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            archived += chunk.size();
+            segments++;
+            afterInternalId = chunk.getLast().internalId();
+            afterVersion = chunk.getLast().versionNumber();
+        }
+        if (archived > 0) {
+            log.info("保持期間を過ぎた履歴をアーカイブへ移しました（{} 件、{} セグメント）", archived, segments);
+        }
+        return archived;
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /** 指定された位置より後ろの対象を 1 チャンク分、1 トランザクションでアーカイブへ移す。 */
+    private List<TodoHistoryArchiveRow> archiveChunk(
+            LocalDateTime cutoff, int afterInternalId, int afterVersion, LocalDateTime now) {
+        return transactionOperations.execute(
+                status -> {
+                    List<TodoHistoryArchiveRow> rows =
+                            jdbcTemplate.query(
+                                    SELECT_EXPIRED,
+                                    (rs, rowNum) -> toArchiveRow(rs),
+                                    Timestamp.valueOf(cutoff),
+                                    Timestamp.valueOf(cutoff),
+                                    keepLatest,
+                                    afterInternalId,
+                                    afterVersion,
+                                    chunkSize);
+                    if (rows.isEmpty()) {
+                        return rows;
+                    }
+                    archive.writeSegment(rows, now);
+                    int deleted = jdbcTemplate.update(con -> deleteStatement(con, rows));
+                    if (deleted != rows.size()) {
+                        throw new IllegalStateException(
+                                "アーカイブした履歴の削除件数が一致しません（" + deleted + " / " + rows.size() + "）");
+                    }
+                    return rows;
+                });
+    }
+
+    private static PreparedStatement deleteStatement(
+            Connection con, List<TodoHistoryArchiveRow> rows) throws SQLException {
+        Array internalIds =
+                con.createArrayOf(
+                        "integer", rows.stream().map(TodoHistoryArchiveRow::internalId).toArray());
+        Array versions =
+                con.createArrayOf(
+                        "integer",
+                        rows.stream().map(TodoHistoryArchiveRow::versionNumber).toArray());
+        PreparedStatement ps = con.prepareStatement(DELETE_ARCHIVED);
+        ps.setArray(1, internalIds);
+        ps.setArray(2, versions);
+        return ps;
+    }
+
+    private static TodoHistoryArchiveRow toArchiveRow(ResultSet rs) throws SQLException {
+        return new TodoHistoryArchiveRow(
+                rs.getInt("internal_id"),
+                rs.getObject("public_id", UUID.class),
+                rs.getInt("version_number"),
+                rs.getString("title"),
+                rs.getString("detail"),
+                rs.getObject("due_date", LocalDate.class),
+                rs.getBoolean("completed_flag"),
+                rs.getBoolean("deleted_flag"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class));
+    }
+}
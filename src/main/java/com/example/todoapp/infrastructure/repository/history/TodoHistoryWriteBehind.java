@@ -0,0 +1,426 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Todo の履歴を、変更のトランザクションとは別にまとめて書き込む（write-behind）。
+ *
+ * <p>有効な場合、変更操作は履歴の行をコミット後に有界のキューへ入れるだけで、todo_history への INSERT は待たない。 バックグラウンドの 1 スレッドがキューから最大
+ * batch-size 件ずつ取り出し、1 トランザクションの JDBC バッチで INSERT する。 キューが一杯の場合は空きができるまで変更操作を待たせる（背圧）。
+ * どこまで待ってから戻るかは {@link WriteBehindDurability} で選ぶ。
+ *
+ * <ul>
+ *   <li>ロールバックした変更の履歴はキューに入らない
+ *   <li>INSERT は同じ版（内部ID, 版数）を記録済みであれば何もしない。 記録日時によらず判定するため、書き込み直しても、月をまたいでも重複しない
+ *   <li>終了時は Web サーバーの停止後にキューを最後まで書き込んでから停止する。 停止と並行してキューに入れようとした履歴は、キューに入れて停止時に書き込むか、
+ *       呼び出し元のスレッドで直接書き込むかのどちらかになり、失われない
+ *   <li>起動時に、最新の版の履歴が欠けている Todo を todos から補完する（異常終了でキューが失われた場合の備え）
+ * </ul>
+ *
+ * <p>キューの長さ・書き込みの所要時間・書き込んだ件数を /actuator/metrics で参照できる。
+ */
+@Slf4j
+@Component
+public class TodoHistoryWriteBehind implements SmartLifecycle {
+
+    /** Web サーバーの停止（グレースフルシャットダウンを含む）より後に停止するためのフェーズ */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /** 書き込みに失敗した場合に再試行する回数 */
+    private static final int MAX_RETRIES = 3;
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO todo_history (internal_id, version_number, public_id, title, detail, "
+                    + "due_date, completed_flag, deleted_flag, created_at, updated_at) "
+                    + "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM "
+                    + "todo_history_versions v WHERE v.internal_id = ? AND v.version_number = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoHistoryJpaRepository historyRepository;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final WriteBehindDurability durability;
+    private final int batchSize;
+    private final Duration retryBackoff;
+    private final BlockingQueue<PendingHistory> queue;
+
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private final Counter failedRows;
+
+    /** 書き込みスレッド（停止中は null） */
+    private volatile Thread writer;
+
+    /** キューを受け付けているか（停止後は呼び出し元のスレッドで直接書き込む） */
+    private volatile boolean running;
+
+    /**
+     * キューへの投入（読み取りロック）と停止の指示（書き込みロック）を排他にする。
+     *
+     * <p>停止を指示した時点でキューへの投入を終えていない呼び出しはないため、停止時の書き込みから漏れる履歴はない。
+     */
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    /**
+     * TodoHistoryWriteBehind を構築する。
+     *
+     * @param jdbcTemplate 履歴の INSERT に使用する JdbcTemplate
+     * @param historyRepository 起動時の補完に使用する履歴の永続化リポジトリ
+     * @param transactionOperations バッチごとのトランザクションを開始するためのテンプレート
+     * @param meterRegistry メトリクスの登録先
+     * @param enabled write-behind を使用するか（false の場合、履歴は変更のトランザクション内で書き込む）
+     * @param durability 変更操作がどこまで待ってから戻るか
+     * @param queueCapacity キューに保持できる履歴の件数
+     * @param batchSize 1 回の INSERT でまとめて書き込む最大件数
+     * @param retryBackoff 書き込みに失敗した場合に再試行するまでの待ち時間
+     */
+    public TodoHistoryWriteBehind(
+            JdbcTemplate jdbcTemplate,
+            TodoHistoryJpaRepository historyRepository,
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${todoapp.history.write-behind.enabled:false}") boolean enabled,
+            @Value("${todoapp.history.write-behind.durability:QUEUED}")
+                    WriteBehindDurability durability,
+            @Value("${todoapp.history.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${todoapp.history.write-behind.batch-size:500}") int batchSize,
+            @Value("${todoapp.history.write-behind.retry-backoff:PT1S}") Duration retryBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyRepository = historyRepository;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.retryBackoff = retryBackoff;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("todoapp.history.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("書き込みを待っている履歴の件数")
+                .register(meterRegistry);
+        this.flushTimer =
+                Timer.builder("todoapp.history.write_behind.flush")
+                        .description("履歴を 1 バッチ書き込むのにかかった時間")
+                        .register(meterRegistry);
+        this.flushedRows =
+                Counter.builder("todoapp.history.write_behind.rows")
+                        .tag("result", "flushed")
+                        .description("書き込んだ履歴の件数")
+                        .register(meterRegistry);
+        this.failedRows =
+                Counter.builder("todoapp.history.write_behind.rows")
+                        .tag("result", "failed")
+                        .description("再試行しても書き込めなかった履歴の件数")
+                        .register(meterRegistry);
+    }
+
+    // ========================================================================
+    // 書き込みの受け付け
+    // ========================================================================
+    /**
+     * write-behind が有効かを返す。
+     *
+     * @return 有効な場合は true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Todo の現在の状態を、現在のトランザクションのコミット後に履歴として書き込むよう登録する。
+     *
+     * <p>状態は呼び出し時点で複製するため、以降に Todo が変更されても影響しない。 トランザクション外で呼ばれた場合は即座にキューへ入れる。
+     *
+     * @param todo 履歴を記録する Todo（永続化済み）
+     */
+    public void enqueueAfterCommit(Todo todo) {
+        enqueueAllAfterCommit(List.of(todo));
+    }
+
+    /**
+     * 複数の Todo の現在の状態を、現在のトランザクションのコミット後に履歴としてまとめて書き込むよう登録する。
+     *
+     * <p>耐久性が FLUSHED の場合も、すべての履歴をキューに入れてから書き込みの完了をまとめて待つ。
+     *
+     * @param todos 履歴を記録する Todo（永続化済み）
+     */
+    public void enqueueAllAfterCommit(List<Todo> todos) {
+        LocalDateTime recordedAt = LocalDateTime.now();
+        List<HistoryRow> rows =
+                todos.stream().map(todo -> HistoryRow.of(todo, recordedAt)).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(rows);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enqueue(rows);
+                    }
+                });
+    }
+
+    // ========================================================================
+    // SmartLifecycle
+    // ========================================================================
+    /** 欠けている履歴を補完し、書き込みスレッドを開始する。 */
+    @Override
+    public void start() {
+        running = true;
+        if (enabled) {
+            int repaired =
+                    transactionOperations.execute(
+                            status ->
+                                    historyRepository.insertMissingLatestSnapshots(
+                                            LocalDateTime.now()));
+            if (repaired > 0) {
+                log.warn("最新の版の履歴が欠けていた Todo を補完しました（{} 件）", repaired);
+            }
+            writer = Thread.ofPlatform().name("todo-history-writer").start(this::runWriter);
+        }
+    }
+
+    /** キューを最後まで書き込んでから書き込みスレッドを停止する。 */
+    @Override
+    public void stop() {
+        // キューへ投入中の呼び出しが終わるのを待ってから受け付けを止める
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        if (writer == null) {
+            return;
+        }
+        // 書き込み中の JDBC 操作を中断しないよう割り込みはせず、キューの取り出しの待ちが明けるのを待つ
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        // 停止の直前にキューへ入った履歴を書き込む
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /**
+     * 履歴をキューに入れる。 耐久性が FLUSHED の場合は書き込みが完了するまで待つ。
+     *
+     * <p>停止後は呼び出し元のスレッドで直接書き込む。 受け付けの確認とキューへの投入は読み取りロックの中で行い、停止の指示と重ならないようにする。
+     */
+    private void enqueue(List<HistoryRow> rows) {
+        List<PendingHistory> queued = new ArrayList<>(rows.size());
+        List<PendingHistory> direct = new ArrayList<>();
+        acceptLock.readLock().lock();
+        try {
+            for (HistoryRow row : rows) {
+                PendingHistory pending = new PendingHistory(row, new CompletableFuture<>());
+                if (!running || writer == null) {
+                    direct.add(pending);
+                    continue;
+                }
+                try {
+                    queue.put(pending);
+                    queued.add(pending);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    direct.add(pending);
+                }
+            }
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        if (!direct.isEmpty()) {
+            flush(direct);
+        }
+        if (durability == WriteBehindDurability.FLUSHED) {
+            // 変更はコミット済みのため、書き込めなかった場合もログとメトリクスへの記録にとどめる
+            queued.forEach(pending -> pending.flushed().exceptionally(e -> null).join());
+        }
+    }
+
+    /** 書き込みスレッドの処理。停止を指示されるまで、キューから取り出した履歴を書き込む。 */
+    private void runWriter() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingHistory first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        drain();
+    }
+
+    /** キューに残っている履歴をすべて書き込む。 */
+    private void drain() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 履歴を 1 トランザクションの JDBC バッチで書き込む。
+     *
+     * <p>失敗した場合は間隔を空けて再試行し、それでも失敗した場合は 1 件ずつ書き込んで、書き込めない行だけを失敗として記録する。
+     */
+    private void flush(List<PendingHistory> batch) {
+        List<HistoryRow> rows = batch.stream().map(PendingHistory::row).toList();
+        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+            try {
+                flushTimer.record(() -> insert(rows));
+                flushedRows.increment(rows.size());
+                batch.forEach(pending -> pending.flushed().complete(null));
+                return;
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("履歴の書き込みに失敗しました（{} 件、{} 回目）", rows.size(), attempt + 1, e);
+                if (!sleep(retryBackoff)) {
+                    break;
+                }
+            }
+        }
+        for (PendingHistory pending : batch) {
+            try {
+                insert(List.of(pending.row()));
+                flushedRows.increment();
+                pending.flushed().complete(null);
+            } catch (DataAccessException | TransactionException e) {
+                failedRows.increment();
+                log.error(
+                        "履歴を書き込めませんでした（内部ID: {}, 版数: {}）",
+                        pending.row().internalId(),
+                        pending.row().versionNumber(),
+                        e);
+                pending.flushed().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void insert(List<HistoryRow> rows) {
+        transactionOperations.executeWithoutResult(
+                status ->
+                        jdbcTemplate.batchUpdate(
+                                INSERT_HISTORY,
+                                rows,
+                                rows.size(),
+                                (statement, row) -> row.bind(statement)));
+    }
+
+    /** 指定時間だけ待つ。 停止中（割り込まれた場合を含む）は待たずに false を返す。 */
+    private boolean sleep(Duration duration) {
+        if (!running) {
+            return false;
+        }
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 書き込みを待っている履歴。
+     *
+     * @param row 履歴の行
+     * @param flushed 書き込みが完了したときに完了する Future
+     */
+    private record PendingHistory(HistoryRow row, CompletableFuture<Void> flushed) {}
+
+    /** キューに入れる時点で複製した Todo の状態。 */
+    private record HistoryRow(
+            int internalId,
+            int versionNumber,
+            UUID publicId,
+            String title,
+            String detail,
+            LocalDate dueDate,
+            boolean completed,
+            boolean deleted,
+            LocalDateTime recordedAt) {
+
+        static HistoryRow of(Todo todo, LocalDateTime recordedAt) {
+            return new HistoryRow(
+                    todo.getInternalId().value(),
+                    todo.getVersionNumber().value(),
+                    todo.getPublicId().value(),
+                    todo.getTitle(),
+                    todo.getDetail(),
+                    todo.getDueDate().value(),
+                    todo.isCompleted(),
+                    todo.isDeleted(),
+                    recordedAt);
+        }
+
+        void bind(PreparedStatement statement) throws SQLException {
+            statement.setInt(1, internalId);
+            statement.setInt(2, versionNumber);
+            statement.setObject(3, publicId);
+            statement.setString(4, title);
+            statement.setString(5, detail);
+            statement.setDate(6, Date.valueOf(dueDate));
+            statement.setBoolean(7, completed);
+            statement.setBoolean(8, deleted);
+            statement.setTimestamp(9, Timestamp.valueOf(recordedAt));
+            statement.setTimestamp(10, Timestamp.valueOf(recordedAt));
+            statement.setInt(11, internalId);
+            statement.setInt(12, versionNumber);
+        }
+    }
+}
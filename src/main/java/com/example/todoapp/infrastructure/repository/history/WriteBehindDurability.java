@@ -0,0 +1,19 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+/** 履歴の非同期書き込み（write-behind）で、変更操作がどこまで待ってから戻るか。 */
+public enum WriteBehindDurability {
+
+    /**
+     * コミット後にキューへ入れた時点で戻る。
+     *
+     * <p>応答は最も速いが、書き込み前にプロセスが異常終了するとキュー内の履歴は失われる（次回起動時に最新の版のみ補完される）。
+     */
+    QUEUED,
+
+    /**
+     * コミット後、バックグラウンドの書き込みが完了するまで待ってから戻る。
+     *
+     * <p>並行する変更の履歴は 1 回のバッチ INSERT にまとめて書き込まれる（グループコミット）。
+     */
+    FLUSHED
+}
@@ -1,36 +1,95 @@
 package com.example.todoapp.infrastructure.repository.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
 
+import com.example.todoapp.domain.exception.TodoConflictException;
 import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoSummary;
 import com.example.todoapp.domain.model.todo.value.InternalId;
 import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
 import com.example.todoapp.domain.repository.TodoDomainRepository;
+import com.example.todoapp.infrastructure.config.CacheConfig;
 import com.example.todoapp.infrastructure.entity.TodoEntity;
 import com.example.todoapp.infrastructure.mapper.TodoMapper;
+import com.example.todoapp.infrastructure.metrics.TodoMetrics;
+import com.example.todoapp.infrastructure.repository.index.ActiveTodoIndex;
 import com.example.todoapp.infrastructure.repository.jpa.TodoJpaRepository;
+import com.example.todoapp.infrastructure.repository.jpa.TodoSummaryRow;
 
 /**
  * ドメイン repository インターフェースの実装クラス。
  *
  * <p>Spring Data JPA の TodoJpaRepository をアダプターとして使用し、 ドメイン層に対して repository パターンを提供する。 Entity と
  * Domain の変換は TodoMapper で行う。
+ *
+ * <p>公開IDによる検索結果はキャッシュする。 キャッシュへの書き込みと無効化はトランザクションのコミット後に行うため、
+ * ロールバックされた変更がキャッシュに残ることはない。 Todo は可変なため、キャッシュには複製を格納し、呼び出し元にも複製を返す。
+ *
+ * <p>キャッシュを上書きするのは保存のみとする。 検索結果と一括更新の結果は、キャッシュにない場合か、キャッシュより版数が新しい場合にのみ格納する。
+ * 検索と並行して他のトランザクションが保存や一括更新をコミットしても、検索で読んだ古い版で新しい版を上書きしない。
+ *
+ * <p>活動中の Todo の一覧の行は {@link ActiveTodoIndex} が読み込み済みであればそこから取得し、DB にはアクセスしない。 索引への反映もコミット後に行う。
+ *
+ * <p>一覧の全件を逐次取得する場合、DB からはフェッチサイズ単位でサーバー側カーソルから読み出す。
+ *
+ * <p>各メソッドの処理時間は {@link TodoMetrics} に記録する。
  */
 @Repository
 public class TodoRepositoryImpl implements TodoDomainRepository {
 
     private final TodoJpaRepository jpa;
+    private final Cache todosByPublicId;
+    private final ConcurrentMap<Object, Object> cachedTodos;
+    private final ActiveTodoIndex activeTodoIndex;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+    private final TodoMetrics metrics;
 
     /**
      * TodoRepositoryImpl を構築する。
      *
      * @param jpa Spring Data JPA の TodoJpaRepository
+     * @param cacheManager 公開IDによる検索結果を保持するキャッシュの取得元
+     * @param activeTodoIndex 活動中の Todo の索引
+     * @param entityManager 逐次取得のクエリを発行する EntityManager
+     * @param streamFetchSize 逐次取得で 1 回の往復あたりに読み出す行数
+     * @param metrics メソッドの処理時間の記録先
      */
-    public TodoRepositoryImpl(TodoJpaRepository jpa) {
+    public TodoRepositoryImpl(
+            TodoJpaRepository jpa,
+            CacheManager cacheManager,
+            ActiveTodoIndex activeTodoIndex,
+            EntityManager entityManager,
+            @Value("${todoapp.list-stream.fetch-size:500}") int streamFetchSize,
+            TodoMetrics metrics) {
         this.jpa = jpa;
+        this.activeTodoIndex = activeTodoIndex;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+        this.metrics = metrics;
+        Cache cache = cacheManager.getCache(CacheConfig.TODOS_BY_PUBLIC_ID);
+        this.todosByPublicId = new TransactionAwareCacheDecorator(cache);
+        this.cachedTodos = asMap(cache);
     }
 
     /**
@@ -41,18 +100,33 @@ public class TodoRepositoryImpl implements TodoDomainRepository {
      */
     @Override
     public Optional<Todo> findByInternalId(InternalId id) {
-        return jpa.findByInternalId(id.value()).map(TodoMapper::toDomain);
+        return metrics.timeRepository(
+                "findByInternalId",
+                () -> jpa.findByInternalId(id.value()).map(TodoMapper::toDomain));
     }
 
     /**
      * 公開IDで Todo を検索する。
      *
+     * <p>キャッシュにあればそれを返し、なければ DB から取得してキャッシュに格納する。 読み書きを行うトランザクションの中では、
+     * 未コミットの状態を格納しないよう格納をコミット後に行う。 格納時にキャッシュの方が新しい版であれば、キャッシュを優先する。
+     *
      * @param id 検索対象の公開ID
      * @return 見つかった場合は Todo を含む Optional、見つからない場合は空の Optional
      */
     @Override
     public Optional<Todo> findByPublicId(PublicId id) {
-        return jpa.findByPublicId(id.value()).map(TodoMapper::toDomain);
+        return metrics.timeRepository(
+                "findByPublicId",
+                () -> {
+                    Todo cached = todosByPublicId.get(id, Todo.class);
+                    if (cached != null) {
+                        return Optional.of(TodoMapper.copyOf(cached));
+                    }
+                    Optional<Todo> found = jpa.findByPublicId(id.value()).map(TodoMapper::toDomain);
+                    found.ifPresent(this::fill);
+                    return found;
+                });
     }
 
     /**
@@ -64,21 +138,279 @@ public class TodoRepositoryImpl implements TodoDomainRepository {
      */
     @Override
     public List<Todo> findAllActiveAndValid() {
-        return jpa.findAllActiveAndValid().stream().map(TodoMapper::toDomain).toList();
+        return metrics.timeRepository(
+                "findAllActiveAndValid",
+                () -> jpa.findAllActiveAndValid().stream().map(TodoMapper::toDomain).toList());
+    }
+
+    /**
+     * 削除されておらず、期限日が本日以降のTodoの一覧の行をキーセットページングで取得する。
+     *
+     * <p>カーソルがない場合は先頭ページを、ある場合はカーソル位置より後ろの行を取得する。 索引が読み込み済みの場合は DB にアクセスしない。 DB
+     * から取得する場合も一覧に表示する列だけを射影で取得し、エンティティは生成しない。
+     *
+     * @param after 直前のページの末尾を指すカーソル（先頭ページの場合は null）
+     * @param limit 取得する最大件数
+     * @return 一覧の行のリスト（ソート済み）
+     */
+    @Override
+    public List<TodoSummary> findActiveSummaries(TodoCursor after, int limit) {
+        return metrics.timeRepository(
+                "findActiveSummaries",
+                () -> {
+                    if (activeTodoIndex.isReady()) {
+                        return activeTodoIndex.findPage(after, limit);
+                    }
+                    List<TodoSummaryRow> rows =
+                            after == null
+                                    ? jpa.findActiveSummariesFirstPage(Limit.of(limit))
+                                    : jpa.findActiveSummariesAfter(
+                                            after.dueDate(),
+                                            after.createdAt(),
+                                            after.internalId(),
+                                            Limit.of(limit));
+                    return rows.stream().map(TodoMapper::toSummary).toList();
+                });
+    }
+
+    /**
+     * 削除されておらず、期限日が本日以降のTodoの一覧の行を一覧の並び順で逐次取得する。
+     *
+     * <p>索引が読み込み済みの場合は DB にアクセスしない。 DB から取得する場合は一覧に表示する列だけを射影で取得し、 JDBC
+     * のフェッチサイズ単位で読み出すため、全件を結果リストとして保持しない（PostgreSQL ではトランザクション内でのみカーソルが使われる）。
+     *
+     * @return 一覧の行のストリーム（ソート済み、使用後に close が必要）
+     */
+    @Override
+    public Stream<TodoSummary> streamActiveSummaries() {
+        return metrics.timeRepository(
+                "streamActiveSummaries",
+                () -> {
+                    if (activeTodoIndex.isReady()) {
+                        return activeTodoIndex.stream();
+                    }
+                    return entityManager
+                            .createQuery(
+                                    TodoJpaRepository.ACTIVE_SUMMARIES_QUERY, TodoSummaryRow.class)
+                            .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                            .getResultStream()
+                            .map(TodoMapper::toSummary);
+                });
     }
 
     /**
      * Todo を永続化する。
      *
-     * <p>新規作成の場合は INSERT、既存の場合は UPDATE が実行される。
+     * <p>新規作成の場合は INSERT を実行する。既存の場合は merge を使わず UPDATE 文を直接発行するため、 更新前の SELECT は発生しない。 UPDATE
+     * は復元時点の版数を条件とし、一致しない場合は競合として扱う（行ロックを待たずに失敗させる楽観的ロック）。
+     *
+     * <p>保存した状態はコミット後にキャッシュへ上書きする。 競合時はキャッシュが古い可能性があるため、即座に破棄する。
      *
      * @param todo 永続化対象の Todo
      * @return 永続化後の Todo（内部IDが設定済み）
+     * @throws TodoConflictException 他のトランザクションが先に更新していた場合
      */
     @Override
     public Todo save(Todo todo) {
-        TodoEntity entity = TodoMapper.toEntity(todo);
-        TodoEntity saved = jpa.save(entity);
-        return TodoMapper.toDomain(saved);
+        return metrics.timeRepository(
+                "save",
+                () -> {
+                    if (todo.getInternalId() == null) {
+                        TodoEntity saved = jpa.save(TodoMapper.toEntity(todo));
+                        return track(TodoMapper.toDomain(saved));
+                    }
+
+                    int updated =
+                            jpa.updateState(
+                                    todo.getInternalId().value(),
+                                    todo.getPersistedVersionNumber().value(),
+                                    todo.getVersionNumber().value(),
+                                    todo.getTitle(),
+                                    todo.getDetail(),
+                                    todo.getDueDate().value(),
+                                    todo.isCompleted(),
+                                    todo.isDeleted(),
+                                    todo.getUpdatedAt());
+                    if (updated == 0) {
+                        todosByPublicId.evictIfPresent(todo.getPublicId());
+                        throw new TodoConflictException();
+                    }
+                    return track(TodoMapper.copyOf(todo));
+                });
+    }
+
+    /**
+     * 複数の Todo をまとめて永続化する。
+     *
+     * <p>新規作成の Todo はまとめて persist し、コミット時に JDBC バッチで INSERT される。 既存の Todo は {@link #save(Todo)}
+     * と同じく版数付きの UPDATE を行う。
+     *
+     * @param todos 永続化対象の Todo
+     * @return 永続化後の Todo（入力と同じ順序、内部IDが設定済み）
+     * @throws TodoConflictException 既存の Todo の更新が他の操作と競合した場合
+     */
+    @Override
+    public List<Todo> saveAll(List<Todo> todos) {
+        return metrics.timeRepository(
+                "saveAll",
+                () -> {
+                    List<Todo> saved = new ArrayList<>(todos.size());
+                    for (Todo todo : todos) {
+                        if (todo.getInternalId() == null) {
+                            saved.add(
+                                    track(
+                                            TodoMapper.toDomain(
+                                                    jpa.save(TodoMapper.toEntity(todo)))));
+                        } else {
+                            saved.add(save(todo));
+                        }
+                    }
+                    return saved;
+                });
+    }
+
+    /**
+     * 指定された公開IDの未完了の Todo をまとめて完了状態にする。
+     *
+     * <p>1 文の UPDATE ... RETURNING で処理する。 返された更新後の行は、保存と同じくコミット後にキャッシュと索引へ反映する。
+     *
+     * @param ids 対象の公開ID
+     * @return 完了状態へ遷移した Todo（更新後の状態）
+     */
+    @Override
+    public List<Todo> completeAll(List<PublicId> ids) {
+        return metrics.timeRepository(
+                "completeAll",
+                () -> {
+                    if (ids.isEmpty()) {
+                        return List.of();
+                    }
+                    clearPersistenceContext();
+                    return trackAll(
+                            jpa.completeAllByPublicIds(toArray(ids), LocalDateTime.now()));
+                });
+    }
+
+    /**
+     * 指定された公開IDの未削除の Todo をまとめて論理削除する。
+     *
+     * <p>1 文の UPDATE ... RETURNING で処理する。 返された更新後の行は、保存と同じくコミット後にキャッシュと索引へ反映する。
+     *
+     * @param ids 対象の公開ID
+     * @return 削除状態へ遷移した Todo（更新後の状態）
+     */
+    @Override
+    public List<Todo> deleteAll(List<PublicId> ids) {
+        return metrics.timeRepository(
+                "deleteAll",
+                () -> {
+                    if (ids.isEmpty()) {
+                        return List.of();
+                    }
+                    clearPersistenceContext();
+                    return trackAll(jpa.deleteAllByPublicIds(toArray(ids), LocalDateTime.now()));
+                });
+    }
+
+    /**
+     * 保存した Todo をキャッシュと活動中の Todo の索引に反映する（反映はコミット後）。
+     *
+     * @param todo 保存した Todo
+     * @return 引数の Todo
+     */
+    private Todo track(Todo todo) {
+        activeTodoIndex.upsertAfterCommit(todo);
+        return cache(todo);
+    }
+
+    /**
+     * 一括更新で返された更新後の行をキャッシュと活動中の Todo の索引に反映する（反映はコミット後）。
+     *
+     * <p>キャッシュには版数を比較して格納するため、一括更新の前に読んだ古い版が後から格納されても、更新後の行は上書きされない。
+     *
+     * @param updated 更新後の行
+     * @return 更新後の Todo
+     */
+    private List<Todo> trackAll(List<TodoEntity> updated) {
+        List<Todo> todos = new ArrayList<>(updated.size());
+        for (TodoEntity entity : updated) {
+            Todo todo = TodoMapper.toDomain(entity);
+            activeTodoIndex.upsertAfterCommit(todo);
+            fill(todo);
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    /**
+     * 一括更新の前に、未反映の変更を書き出して永続化コンテキストを空にする。
+     *
+     * <p>RETURNING で返された行を Entity に変換する際、永続化コンテキストに同じ行の Entity があると、更新前の状態のまま返されるため。
+     */
+    private void clearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * 保存した Todo の複製でキャッシュを上書きする（上書きはコミット後）。
+     *
+     * @param todo 格納する Todo
+     * @return 引数の Todo
+     */
+    private Todo cache(Todo todo) {
+        todosByPublicId.put(todo.getPublicId(), TodoMapper.copyOf(todo));
+        return todo;
+    }
+
+    /**
+     * 検索または一括更新した Todo の複製を、キャッシュより新しい場合にのみ格納する。
+     *
+     * <p>読み取り専用のトランザクション、またはトランザクションの外では即座に格納し、それ以外はコミット後に格納する。
+     *
+     * @param todo 検索または一括更新した Todo
+     */
+    private void fill(Todo todo) {
+        Todo copy = TodoMapper.copyOf(todo);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            cachedTodos.merge(todo.getPublicId(), copy, TodoRepositoryImpl::newer);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cachedTodos.merge(todo.getPublicId(), copy, TodoRepositoryImpl::newer);
+                    }
+                });
+    }
+
+    /** キャッシュの値と検索した Todo のうち、版数が新しい方を返す（同じ版数ならキャッシュの値）。 */
+    private static Object newer(Object cached, Object loaded) {
+        if (cached instanceof Todo current
+                && current.getVersionNumber().value()
+                        >= ((Todo) loaded).getVersionNumber().value()) {
+            return cached;
+        }
+        return loaded;
+    }
+
+    /** 版数を比較して格納するため、キャッシュの実体を ConcurrentMap として取り出す。 */
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> asMap(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (ConcurrentMap<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            return (ConcurrentMap<Object, Object>) map;
+        }
+        throw new IllegalStateException(
+                "キャッシュ " + cache.getName() + " は版数を比較して格納できません: " + nativeCache.getClass());
+    }
+
+    private static UUID[] toArray(List<PublicId> ids) {
+        return ids.stream().map(PublicId::value).distinct().toArray(UUID[]::new);
     }
 }
@@ -0,0 +1,231 @@
+package com.example.todoapp.infrastructure.repository.importer;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryCapture;
+import com.example.todoapp.infrastructure.repository.index.ActiveTodoIndex;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorRow;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * CSV から取り込んだ Todo を PostgreSQL の COPY で書き込む。
+ *
+ * <p>INSERT を 1 行ずつ発行する代わりに、1 バッチ分の行を COPY ... FROM STDIN でまとめて送る。 todos と todo_history
+ * の両方に同じ内容を書き込み（取り込んだ Todo の版数は 1）、エラーとなった行も todo_import_errors に COPY する。
+ *
+ * <p>内部IDは Hibernate と同じシーケンスから、INCREMENT BY 単位のブロックで確保する（pooled オプティマイザと同じく、
+ * シーケンスの値をブロックの上限として扱う）。 そのため Hibernate が並行して採番しても ID は重複しない。
+ *
+ * <p>COPY は現在のトランザクションのコネクションで実行するため、必ずトランザクション内で呼ぶこと。 取り込んだ Todo はコミット後に活動中の Todo の索引へ反映する。
+ */
+@Repository
+public class TodoCopyWriter {
+
+    private static final String SEQUENCE_NAME = "todos_internal_id_seq";
+
+    private static final String TODO_COLUMNS =
+            "(internal_id, version_number, public_id, title, detail, due_date, "
+                    + "completed_flag, deleted_flag, created_at, updated_at)";
+
+    private static final String COPY_TODOS =
+            "COPY todos " + TODO_COLUMNS + " FROM STDIN (FORMAT csv)";
+
+    private static final String COPY_HISTORY =
+            "COPY todo_history " + TODO_COLUMNS + " FROM STDIN (FORMAT csv)";
+
+    private static final String COPY_ERRORS =
+            "COPY todo_import_errors (job_id, record_number, message) FROM STDIN (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final ActiveTodoIndex activeTodoIndex;
+    private final TodoHistoryCapture historyCapture;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    /**
+     * TodoCopyWriter を構築する。
+     *
+     * @param dataSource 書き込み先の DataSource（トランザクションのコネクションを取得する）
+     * @param activeTodoIndex 活動中の Todo の索引
+     * @param historyCapture 履歴を DB のトリガーで作成するかの設定
+     */
+    public TodoCopyWriter(
+            DataSource dataSource,
+            ActiveTodoIndex activeTodoIndex,
+            TodoHistoryCapture historyCapture) {
+        this.dataSource = dataSource;
+        this.activeTodoIndex = activeTodoIndex;
+        this.historyCapture = historyCapture;
+    }
+
+    /**
+     * 検証済みの Todo と、エラーとなった行を COPY で書き込む。
+     *
+     * @param jobId 取り込みのジョブID
+     * @param todos 永続化前の Todo（入力順）
+     * @param errors エラーとなった行
+     * @return 内部IDを設定した Todo（入力と同じ順序）
+     * @throws IllegalStateException トランザクション外で呼ばれた場合
+     */
+    public List<Todo> write(UUID jobId, List<Todo> todos, List<TodoImportErrorRow> errors) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("COPY による書き込みはトランザクション内で行う必要があります");
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            List<Todo> saved = withInternalIds(todos, allocateIds(connection, todos.size()));
+            if (!saved.isEmpty()) {
+                String rows = toCsv(saved);
+                copyIn(copyManager, COPY_TODOS, rows);
+                // トリガーで履歴を作成する場合は、todos への COPY で履歴も記録される
+                if (!historyCapture.isDatabase()) {
+                    copyIn(copyManager, COPY_HISTORY, rows);
+                }
+            }
+            if (!errors.isEmpty()) {
+                copyIn(copyManager, COPY_ERRORS, errorsToCsv(jobId, errors));
+            }
+            saved.forEach(activeTodoIndex::upsertAfterCommit);
+            return saved;
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("COPY", null, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /**
+     * シーケンスから指定件数分の内部IDを確保する。
+     *
+     * <p>シーケンスの 1 回の呼び出しで、値を上限とする INCREMENT BY 件のブロックが確保される。 余ったIDは使わずに捨てる（Hibernate の採番と同じく欠番となる）。
+     */
+    private static List<Integer> allocateIds(Connection connection, int count) throws SQLException {
+        List<Integer> ids = new ArrayList<>(count);
+        if (count == 0) {
+            return ids;
+        }
+        int increment;
+        try (PreparedStatement statement =
+                connection.prepareStatement(
+                        "SELECT increment_by FROM pg_sequences "
+                                + "WHERE schemaname = current_schema() AND sequencename = ?")) {
+            statement.setString(1, SEQUENCE_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("シーケンスが見つかりません: " + SEQUENCE_NAME);
+                }
+                increment = rs.getInt(1);
+            }
+        }
+        int blocks = (count + increment - 1) / increment;
+        try (PreparedStatement statement =
+                connection.prepareStatement(
+                        "SELECT nextval('" + SEQUENCE_NAME + "') FROM generate_series(1, ?)")) {
+            statement.setInt(1, blocks);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next() && ids.size() < count) {
+                    int high = rs.getInt(1);
+                    for (int id = high - increment + 1; id <= high && ids.size() < count; id++) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<Todo> withInternalIds(List<Todo> todos, List<Integer> ids) {
+        List<Todo> result = new ArrayList<>(todos.size());
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            result.add(
+                    new Todo(
+                            new InternalId(ids.get(i)),
+                            todo.getPublicId(),
+                            todo.getVersionNumber(),
+                            todo.getTitle(),
+                            todo.getDetail(),
+                            todo.isCompleted(),
+                            todo.isDeleted(),
+                            todo.getDueDate(),
+                            todo.getCreatedAt(),
+                            todo.getUpdatedAt()));
+        }
+        return result;
+    }
+
+    private static void copyIn(CopyManager copyManager, String sql, String rows)
+            throws SQLException {
+        try {
+            copyManager.copyIn(sql, new StringReader(rows));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Todo を COPY の CSV 形式（列は {@link #TODO_COLUMNS} の順）に変換する。 */
+    private static String toCsv(List<Todo> todos) {
+        StringBuilder csv = new StringBuilder(todos.size() * 128);
+        for (Todo todo : todos) {
+            csv.append(todo.getInternalId().value())
+                    .append(',')
+                    .append(todo.getVersionNumber().value())
+                    .append(',')
+                    .append(todo.getPublicId())
+                    .append(',');
+            appendText(csv, todo.getTitle());
+            csv.append(',');
+            appendText(csv, todo.getDetail());
+            csv.append(',')
+                    .append(todo.getDueDate().value())
+                    .append(',')
+                    .append(todo.isCompleted())
+                    .append(',')
+                    .append(todo.isDeleted())
+                    .append(',')
+                    .append(todo.getCreatedAt())
+                    .append(',')
+                    .append(todo.getUpdatedAt())
+                    .append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String errorsToCsv(UUID jobId, List<TodoImportErrorRow> errors) {
+        StringBuilder csv = new StringBuilder(errors.size() * 64);
+        for (TodoImportErrorRow error : errors) {
+            csv.append(jobId).append(',').append(error.recordNumber()).append(',');
+            appendText(csv, error.message());
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    /** 文字列を引用符で囲んで追加する。 null は引用符なしの空欄（COPY の CSV 形式で NULL）とし、空文字と区別する。 */
+    private static void appendText(StringBuilder csv, String value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
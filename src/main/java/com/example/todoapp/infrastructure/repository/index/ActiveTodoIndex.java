@@ -0,0 +1,342 @@
+package com.example.todoapp.infrastructure.repository.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
+import com.example.todoapp.infrastructure.mapper.TodoMapper;
+import com.example.todoapp.infrastructure.repository.jpa.TodoJpaRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 活動中（未削除かつ期限日が本日以降）の Todo の一覧の行を、一覧の並び順で保持するインメモリの索引。
+ *
+ * <p>起動時に DB から一度だけ読み込み、以降は作成・更新・完了・削除のコミット後に差分を反映する。 一覧の取得はこの索引から行うため、DB
+ * へのアクセスは発生しない。
+ *
+ * <ul>
+ *   <li>キーは（期限日, 作成日時, 内部ID）で、{@link ConcurrentSkipListMap} によりロックなしで並行に読み出せる
+ *   <li>書き込みは 1 つのロックで直列化し、版数が古い変更は無視する
+ *   <li>取り除いた Todo は取り除いた時点の版数を記録し、それ以下の版数の変更で復活させない
+ *   <li>期限日が過ぎた Todo は読み出し時に範囲外として扱い、日付が変わった時点で索引からも取り除く
+ *   <li>定期的に DB と突き合わせ、食い違いがあれば読み込み直す
+ * </ul>
+ *
+ * <p>保持するのは一覧に表示する項目（{@link TodoSummary}）のみで、詳細は保持しない。 作成日時は DB
+ * の精度（マイクロ秒）に揃えて保持するため、DB から読み込んだ場合とカーソルの位置が一致する。
+ */
+@Slf4j
+@Component
+public class ActiveTodoIndex {
+
+    private final TodoJpaRepository jpa;
+    private final boolean enabled;
+
+    /** 一覧の並び順で一覧の行を保持する（読み出しはロックなし） */
+    private final ConcurrentSkipListMap<TodoCursor, TodoSummary> byCursor =
+            new ConcurrentSkipListMap<>();
+
+    /** 内部IDから索引のキーを引く（期限日の変更時に古いキーを取り除くため） */
+    private final Map<Integer, TodoCursor> cursorById = new ConcurrentHashMap<>();
+
+    /** 書き込みを直列化するロック */
+    private final Object writeLock = new Object();
+
+    /**
+     * 索引から取り除いた Todo の内部IDと、取り除いた時点の版数（ロックで保護する）。
+     *
+     * <p>コミット後の反映は順不同で届くため、取り除いた後に古いトランザクションの反映が届いても、この版数以下であれば無視する。 読み込み中の削除も、読み込み結果で復活させない。
+     */
+    private Map<Integer, Integer> tombstones = new HashMap<>();
+
+    /** 前回の突き合わせより前に記録した tombstone（次の突き合わせで破棄する） */
+    private Map<Integer, Integer> olderTombstones = new HashMap<>();
+
+    /** 索引が読み込み済みで、一覧の取得に使用できるか */
+    private volatile boolean ready;
+
+    /**
+     * ActiveTodoIndex を構築する。
+     *
+     * @param jpa Spring Data JPA の TodoJpaRepository
+     * @param enabled 索引を使用するか（false の場合、一覧は常に DB から取得する）
+     */
+    public ActiveTodoIndex(
+            TodoJpaRepository jpa, @Value("${todoapp.active-index.enabled:true}") boolean enabled) {
+        this.jpa = jpa;
+        this.enabled = enabled;
+    }
+
+    // ========================================================================
+    // 読み出し
+    // ========================================================================
+    /**
+     * 索引が一覧の取得に使用できるかを返す。
+     *
+     * @return 有効かつ読み込み済みの場合は true
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 活動中の Todo の一覧の行をカーソル位置より後ろから取得する。
+     *
+     * @param after 直前のページの末尾を指すカーソル（先頭ページの場合は null）
+     * @param limit 取得する最大件数
+     * @return 一覧の行のリスト（一覧の並び順）
+     */
+    public List<TodoSummary> findPage(TodoCursor after, int limit) {
+        TodoCursor today = TodoCursor.startOf(LocalDate.now());
+        ConcurrentNavigableMap<TodoCursor, TodoSummary> range =
+                after == null || after.compareTo(today) < 0
+                        ? byCursor.tailMap(today, true)
+                        : byCursor.tailMap(after, false);
+        return range.values().stream().limit(limit).toList();
+    }
+
+    /**
+     * 活動中の Todo の一覧の行を一覧の並び順で逐次取得する。
+     *
+     * <p>索引の内容を複製せずに辿るため、件数によらず追加のメモリは消費しない。 読み出し中に反映された変更は、反映位置によって見える場合と見えない場合がある。
+     *
+     * @return 一覧の行のストリーム（一覧の並び順）
+     */
+    public Stream<TodoSummary> stream() {
+        return byCursor.tailMap(TodoCursor.startOf(LocalDate.now()), true).values().stream();
+    }
+
+    /**
+     * 索引に保持している件数を返す（期限日が過ぎて未だ取り除いていないものを含む）。
+     *
+     * @return 保持している件数
+     */
+    int size() {
+        return byCursor.size();
+    }
+
+    /**
+     * 活動中の Todo の一覧の行をすべて取得する。
+     *
+     * @return 一覧の行のリスト（一覧の並び順）
+     */
+    public List<TodoSummary> findAll() {
+        return findPage(null, Integer.MAX_VALUE);
+    }
+
+    // ========================================================================
+    // 書き込み（コミット後に反映）
+    // ========================================================================
+    /**
+     * 保存または一括更新した Todo の状態をコミット後に索引へ反映する。
+     *
+     * @param todo 保存または一括更新した Todo（内部IDが設定済み）
+     */
+    public void upsertAfterCommit(Todo todo) {
+        if (todo.isDeleted()) {
+            Integer id = todo.getInternalId().value();
+            int version = todo.getVersionNumber().value();
+            afterCommit(
+                    () -> {
+                        synchronized (writeLock) {
+                            remove(id, version);
+                        }
+                    });
+            return;
+        }
+        TodoSummary snapshot = TodoSummary.of(todo);
+        afterCommit(() -> apply(snapshot));
+    }
+
+    /**
+     * 一覧の行を索引へ反映する。
+     *
+     * <p>索引にある版数より古い状態と、取り除いた時点の版数以下の状態は無視する。
+     *
+     * @param summary 反映する一覧の行
+     */
+    void apply(TodoSummary summary) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            Integer id = summary.internalId().value();
+            Integer removedVersion = removedVersionOf(id);
+            if (removedVersion != null && removedVersion >= summary.versionNumber().value()) {
+                return;
+            }
+            TodoCursor oldKey = cursorById.get(id);
+            TodoSummary current = oldKey == null ? null : byCursor.get(oldKey);
+            if (current != null
+                    && current.versionNumber().value() > summary.versionNumber().value()) {
+                return;
+            }
+            TodoSummary normalized = normalize(summary);
+            TodoCursor newKey = TodoCursor.of(normalized);
+            // 新しいキーを先に追加し、読み出し側から一時的にも消えないようにする
+            byCursor.put(newKey, normalized);
+            cursorById.put(id, newKey);
+            if (oldKey != null && !oldKey.equals(newKey)) {
+                byCursor.remove(oldKey);
+            }
+        }
+    }
+
+    /** 索引から取り除き、取り除いた時点の版数を記録する（ロックを保持して呼び出す）。 */
+    private void remove(Integer id, int version) {
+        TodoCursor key = cursorById.remove(id);
+        if (key != null) {
+            byCursor.remove(key);
+        }
+        tombstones.merge(id, version, Math::max);
+    }
+
+    /** 取り除いた時点の版数を返す（ロックを保持して呼び出す、取り除いていない場合は null）。 */
+    private Integer removedVersionOf(Integer id) {
+        Integer removed = tombstones.get(id);
+        Integer older = olderTombstones.get(id);
+        if (removed == null || older == null) {
+            return removed != null ? removed : older;
+        }
+        return Math.max(removed, older);
+    }
+
+    // ========================================================================
+    // 読み込み・保守
+    // ========================================================================
+    /** アプリケーションの起動完了時に DB から索引を読み込む。 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<TodoSummary> loaded = findAllFromDb();
+        synchronized (writeLock) {
+            // 読み込み中に取り除いた Todo は、tombstone により復活させない
+            loaded.forEach(this::apply);
+        }
+        ready = true;
+        log.info("活動中の Todo の索引を読み込みました（{} 件）", loaded.size());
+    }
+
+    /** 日付が変わった時点で、期限日が過ぎた Todo を索引から取り除く。 */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void evictExpired() {
+        synchronized (writeLock) {
+            ConcurrentNavigableMap<TodoCursor, TodoSummary> expired =
+                    byCursor.headMap(TodoCursor.startOf(LocalDate.now()), false);
+            expired.keySet().forEach(key -> cursorById.remove(key.internalId()));
+            expired.clear();
+        }
+    }
+
+    /**
+     * 索引と DB の内容を突き合わせ、食い違いがあれば読み込み直す。
+     *
+     * <p>一覧の行の内容と並び順を比較する。 突き合わせ中に更新が入った場合も食い違いとなるが、読み込み直すだけなので害はない。
+     *
+     * <p>tombstone は 2 回の突き合わせの間だけ保持し、それより古いものは破棄する（コミット後の反映がそれほど遅れて届くことはないため）。
+     *
+     * @return 食い違いがなかった場合は true
+     */
+    @Scheduled(
+            initialDelayString = "${todoapp.active-index.consistency-check-interval:PT10M}",
+            fixedDelayString = "${todoapp.active-index.consistency-check-interval:PT10M}")
+    public boolean checkConsistency() {
+        synchronized (writeLock) {
+            olderTombstones = tombstones;
+            tombstones = new HashMap<>();
+        }
+        if (!ready) {
+            return true;
+        }
+        List<TodoSummary> fromDb = findAllFromDb();
+        List<TodoSummary> fromIndex = findAll();
+        boolean consistent = fromDb.equals(fromIndex);
+        if (!consistent) {
+            log.warn(
+                    "活動中の Todo の索引が DB と一致しないため読み込み直します（DB: {} 件, 索引: {} 件）",
+                    fromDb.size(),
+                    fromIndex.size());
+            ready = false;
+            synchronized (writeLock) {
+                byCursor.clear();
+                cursorById.clear();
+            }
+            load();
+        }
+        return consistent;
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /**
+     * 索引への反映処理を、現在のトランザクションのコミット後に実行するよう登録する。
+     *
+     * <p>トランザクション外で呼ばれた場合は即座に実行する。
+     *
+     * @param action 実行する処理
+     */
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
+    private List<TodoSummary> findAllFromDb() {
+        return jpa.findAllActiveSummaries().stream().map(TodoMapper::toSummary).toList();
+    }
+
+    /**
+     * 作成日時を DB の精度（マイクロ秒）に揃えた一覧の行を返す。
+     *
+     * @param summary 対象の一覧の行
+     * @return 作成日時を揃えた一覧の行
+     */
+    private static TodoSummary normalize(TodoSummary summary) {
+        return new TodoSummary(
+                summary.internalId(),
+                summary.publicId(),
+                summary.versionNumber(),
+                summary.title(),
+                summary.dueDate(),
+                summary.completed(),
+                truncate(summary.createdAt()));
+    }
+
+    private static LocalDateTime truncate(LocalDateTime dateTime) {
+        return Objects.requireNonNull(dateTime).truncatedTo(ChronoUnit.MICROS);
+    }
+}
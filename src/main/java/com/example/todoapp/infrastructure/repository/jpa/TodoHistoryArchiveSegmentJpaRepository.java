@@ -0,0 +1,42 @@
+package com.example.todoapp.infrastructure.repository.jpa;
+
+import com.example.todoapp.infrastructure.entity.TodoHistoryArchiveSegmentEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TodoHistoryArchiveSegmentJpaRepository
+        extends JpaRepository<TodoHistoryArchiveSegmentEntity, UUID> {
+
+    /**
+     * 内部IDの範囲が指定された Todo を含むセグメントを、作成日時の順で取得する。
+     *
+     * @param internalId 内部ID
+     * @return セグメントのリスト
+     */
+    @Query(
+            "SELECT s FROM TodoHistoryArchiveSegmentEntity s"
+                    + " WHERE s.minInternalId <= :internalId AND s.maxInternalId >= :internalId"
+                    + " ORDER BY s.createdAt ASC, s.minInternalId ASC")
+    List<TodoHistoryArchiveSegmentEntity> findCovering(@Param("internalId") Integer internalId);
+
+    /**
+     * 指定日時以前に更新された行を含むセグメントが存在するかを返す。
+     *
+     * @param at 日時
+     * @return 存在する場合は true
+     */
+    boolean existsByMinUpdatedAtLessThanEqual(LocalDateTime at);
+
+    /**
+     * すべてのセグメントを作成日時の順で取得する。
+     *
+     * @return セグメントのリスト
+     */
+    List<TodoHistoryArchiveSegmentEntity> findAllByOrderByCreatedAtAscMinInternalIdAsc();
+}
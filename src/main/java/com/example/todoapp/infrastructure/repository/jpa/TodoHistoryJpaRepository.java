@@ -2,11 +2,131 @@ package com.example.todoapp.infrastructure.repository.jpa;
 
 import com.example.todoapp.infrastructure.entity.TodoHistoryEntity;
 import com.example.todoapp.infrastructure.entity.TodoHistoryId;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TodoHistoryJpaRepository extends JpaRepository<TodoHistoryEntity, TodoHistoryId> {
+
+    /** 履歴の 1 行の射影（コンストラクタ式） */
+    String HISTORY_COLUMNS =
+            "new com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow("
+                    + "h.publicId, h.versionNumber, h.title, h.detail, h.dueDate, "
+                    + "h.completedFlag, h.deletedFlag, h.createdAt, h.updatedAt)";
+
     List<TodoHistoryEntity> findByInternalId(Integer internalId);
+
+    /**
+     * 指定された Todo の履歴を、版数が指定値より大きいものから版数の昇順で取得する（キーセットページング）。
+     *
+     * <p>主キー（internal_id, version_number）の範囲を読み出すため、何ページ目であっても取得コストは変わらない。
+     *
+     * @param internalId 内部ID
+     * @param afterVersion 直前のページの末尾の版数（先頭ページの場合は 0）
+     * @param limit 取得する最大件数
+     * @return 履歴の行のリスト（版数の昇順）
+     */
+    @Query(
+            "SELECT "
+                    + HISTORY_COLUMNS
+                    + " FROM TodoHistoryEntity h"
+                    + " WHERE h.internalId = :internalId AND h.versionNumber > :afterVersion"
+                    + " ORDER BY h.versionNumber ASC")
+    List<TodoHistoryExportRow> findPage(
+            @Param("internalId") Integer internalId,
+            @Param("afterVersion") Integer afterVersion,
+            Limit limit);
+
+    /**
+     * 指定された Todo の、指定日時の時点で最新の版の履歴を取得する。
+     *
+     * <p>索引（internal_id, updated_at DESC, version_number DESC）の先頭の 1 行を読み出すため、履歴の件数によらず 1
+     * 回の索引の探索で済む。 記録日時（パーティションキー）の条件も付け、指定日時より後の月のパーティションは読まない。
+     *
+     * @param internalId 内部ID
+     * @param at 時点
+     * @param limit 取得する最大件数（通常は 1）
+     * @return 履歴の行のリスト（新しい順）
+     */
+    @Query(
+            "SELECT "
+                    + HISTORY_COLUMNS
+                    + " FROM TodoHistoryEntity h"
+                    + " WHERE h.internalId = :internalId AND h.updatedAt <= :at"
+                    + " AND h.createdAt <= :at"
+                    + " ORDER BY h.updatedAt DESC, h.versionNumber DESC")
+    List<TodoHistoryExportRow> findLatestAsOf(
+            @Param("internalId") Integer internalId, @Param("at") LocalDateTime at, Limit limit);
+
+    /**
+     * 指定日時の時点で作成済みの Todo のうち、その時点以前の版が todo_history に残っていないものがあるかを返す。
+     *
+     * <p>最初の版が残っている Todo は、その時点で作成済みであれば必ずその時点以前の版を持つため対象外とする（作成日時と最初の版の更新日時の差を無視するため）。
+     * その時点以前の版が残っていない Todo は、その時点で最新の版がアーカイブ済み（または切り離し済み）である。
+     *
+     * @param at 時点
+     * @return そのような Todo がある場合は true
+     */
+    @Query(
+            value =
+                    "SELECT EXISTS (SELECT 1 FROM todos t WHERE t.created_at <= :at "
+                            + "AND NOT EXISTS (SELECT 1 FROM todo_history h "
+                            + "WHERE h.internal_id = t.internal_id AND (h.version_number = 1 "
+                            + "OR (h.updated_at <= :at AND h.created_at <= :at))))",
+            nativeQuery = true)
+    boolean existsTodoWithoutHistoryAsOf(@Param("at") LocalDateTime at);
+
+    /**
+     * 指定された Todo の現在の状態を、履歴としてまとめて記録する。
+     *
+     * <p>todos から直接 INSERT ... SELECT するため、Todo の状態をアプリケーションに読み込まずに 1 文で記録できる。
+     *
+     * @param internalIds 履歴を記録する Todo の内部ID
+     * @param recordedAt 履歴の作成日時・更新日時
+     * @return 記録した履歴の件数
+     */
+    @Modifying
+    @Query(
+            value =
+                    "INSERT INTO todo_history (internal_id, version_number, public_id, title, "
+                            + "detail, due_date, completed_flag, deleted_flag, created_at, "
+                            + "updated_at) "
+                            + "SELECT internal_id, version_number, public_id, title, detail, "
+                            + "due_date, completed_flag, deleted_flag, :recordedAt, :recordedAt "
+                            + "FROM todos WHERE internal_id = ANY(:internalIds)",
+            nativeQuery = true)
+    int insertSnapshotsOf(
+            @Param("internalIds") Integer[] internalIds,
+            @Param("recordedAt") LocalDateTime recordedAt);
+
+    /**
+     * 最新の版の履歴が存在しない Todo について、現在の状態を履歴として記録する。
+     *
+     * <p>履歴を非同期で書き込む場合に、書き込み前に異常終了して失われた履歴を補完するために使用する。 補完できるのは最新の版のみである。
+     * 記録済みの版の台帳（todo_history_versions）で判定するため、アーカイブ・切り離し済みの版は補完しない。
+     *
+     * @param recordedAt 履歴の作成日時・更新日時
+     * @return 記録した履歴の件数
+     */
+    @Modifying
+    @Query(
+            value =
+                    "INSERT INTO todo_history (internal_id, version_number, public_id, title, "
+                            + "detail, due_date, completed_flag, deleted_flag, created_at, "
+                            + "updated_at) "
+                            + "SELECT t.internal_id, t.version_number, t.public_id, t.title, "
+                            + "t.detail, t.due_date, t.completed_flag, t.deleted_flag, "
+                            + ":recordedAt, :recordedAt "
+                            + "FROM todos t WHERE NOT EXISTS (SELECT 1 FROM todo_history_versions v "
+                            + "WHERE v.internal_id = t.internal_id "
+                            + "AND v.version_number = t.version_number)",
+            nativeQuery = true)
+    int insertMissingLatestSnapshots(@Param("recordedAt") LocalDateTime recordedAt);
 }
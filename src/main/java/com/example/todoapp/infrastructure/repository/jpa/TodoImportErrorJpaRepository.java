@@ -0,0 +1,29 @@
+package com.example.todoapp.infrastructure.repository.jpa;
+
+import com.example.todoapp.infrastructure.entity.TodoImportErrorEntity;
+import com.example.todoapp.infrastructure.entity.TodoImportErrorId;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TodoImportErrorJpaRepository
+        extends JpaRepository<TodoImportErrorEntity, TodoImportErrorId> {
+
+    /**
+     * 指定されたジョブでエラーとなった行を、行番号の昇順で逐次取得する。
+     *
+     * <p>射影で取得するため、件数が多くても永続化コンテキストに行が溜まらない。 トランザクション内で使用し、使用後は close すること。
+     *
+     * @param jobId ジョブID
+     * @return エラーとなった行のストリーム
+     */
+    @Query(
+            "SELECT new com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorRow("
+                    + "e.recordNumber, e.message) FROM TodoImportErrorEntity e "
+                    + "WHERE e.jobId = :jobId ORDER BY e.recordNumber ASC")
+    Stream<TodoImportErrorRow> streamByJobId(@Param("jobId") UUID jobId);
+}
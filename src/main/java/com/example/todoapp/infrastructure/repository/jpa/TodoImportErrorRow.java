@@ -0,0 +1,9 @@
+package com.example.todoapp.infrastructure.repository.jpa;
+
+/**
+ * CSV からの一括取り込みでエラーとなった行の射影。
+ *
+ * @param recordNumber 行番号（ヘッダーを除き 1 始まり）
+ * @param message エラーの理由
+ */
+public record TodoImportErrorRow(Integer recordNumber, String message) {}
@@ -0,0 +1,41 @@
+package com.example.todoapp.infrastructure.repository.jpa;
+
+import com.example.todoapp.infrastructure.entity.TodoImportJobEntity;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TodoImportJobJpaRepository extends JpaRepository<TodoImportJobEntity, UUID> {
+
+    /**
+     * 1 バッチ分の取り込み結果を進捗に加算する。
+     *
+     * <p>コミット済みの行番号が読み込み時と一致する場合に限り更新する。 同じジョブを並行して再開した場合は 0 行となり、重複した取り込みを防ぐ。
+     *
+     * @param jobId ジョブID
+     * @param expectedProcessedRecords 読み込み時のコミット済みの行番号
+     * @param processedRecords バッチの最後の行番号
+     * @param imported バッチで取り込んだ件数
+     * @param errors バッチでエラーとなった行数
+     * @param updatedAt 更新日時
+     * @return 更新された行数（競合時は 0）
+     */
+    @Modifying
+    @Query(
+            "UPDATE TodoImportJobEntity j SET j.processedRecords = :processedRecords, "
+                    + "j.importedCount = j.importedCount + :imported, "
+                    + "j.errorCount = j.errorCount + :errors, j.updatedAt = :updatedAt "
+                    + "WHERE j.jobId = :jobId AND j.processedRecords = :expectedProcessedRecords")
+    int advance(
+            @Param("jobId") UUID jobId,
+            @Param("expectedProcessedRecords") int expectedProcessedRecords,
+            @Param("processedRecords") int processedRecords,
+            @Param("imported") int imported,
+            @Param("errors") int errors,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -1,19 +1,38 @@
 package com.example.todoapp.infrastructure.repository.jpa;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.todoapp.infrastructure.entity.TodoEntity;
 
 @Repository
 public interface TodoJpaRepository extends JpaRepository<TodoEntity, Integer> {
+
+    /** 一覧表示用の射影（{@link TodoSummaryRow}）を生成するコンストラクタ式 */
+    String SUMMARY_COLUMNS =
+            "new com.example.todoapp.infrastructure.repository.jpa.TodoSummaryRow("
+                    + "t.internalId, t.publicId, t.versionNumber, t.title, t.dueDate, "
+                    + "t.completedFlag, t.createdAt)";
+
+    /** 削除されておらず、期限日が本日以降のTodoの一覧表示用の列を一覧の並び順で取得する JPQL */
+    String ACTIVE_SUMMARIES_QUERY =
+            "SELECT " + SUMMARY_COLUMNS + " FROM TodoEntity t WHERE t.deletedFlag = false "
+                    + "AND t.dueDate >= CURRENT_DATE "
+                    + "ORDER BY t.dueDate ASC, t.createdAt ASC, t.internalId ASC";
+
     Optional<TodoEntity> findByInternalId(Integer internalId);
 
-    Optional<TodoEntity> findByPublicId(String publicId);
+    Optional<TodoEntity> findByPublicId(UUID publicId);
 
     /**
      * 削除されておらず、期限日が本日以降のTodoを取得する。
@@ -27,4 +46,115 @@ public interface TodoJpaRepository extends JpaRepository<TodoEntity, Integer> {
                     + "AND t.dueDate >= CURRENT_DATE "
                     + "ORDER BY t.dueDate ASC, t.createdAt ASC")
     List<TodoEntity> findAllActiveAndValid();
+
+    /**
+     * 削除されておらず、期限日が本日以降のTodoの一覧表示用の列をすべて取得する。
+     *
+     * <p>期限日の昇順、作成日時の昇順、内部IDの昇順でソートされる。 詳細列は取得せず、エンティティも生成しない。
+     *
+     * @return 一覧の行のリスト（ソート済み）
+     */
+    @Query(ACTIVE_SUMMARIES_QUERY)
+    List<TodoSummaryRow> findAllActiveSummaries();
+
+    /**
+     * 削除されておらず、期限日が本日以降のTodoの先頭ページを一覧表示用の列だけで取得する。
+     *
+     * <p>期限日の昇順、作成日時の昇順、内部IDの昇順でソートされる。 詳細列は取得せず、エンティティも生成しない。
+     *
+     * @param limit 取得する最大件数
+     * @return 一覧の行のリスト（ソート済み）
+     */
+    @Query(ACTIVE_SUMMARIES_QUERY)
+    List<TodoSummaryRow> findActiveSummariesFirstPage(Limit limit);
+
+    /**
+     * 削除されておらず、期限日が本日以降のTodoのうち、指定位置より後ろの行を一覧表示用の列だけで取得する。
+     *
+     * <p>（期限日, 作成日時, 内部ID）の行値比較でシークするため、OFFSET による読み飛ばしは発生しない。
+     *
+     * @param dueDate 直前のページ末尾の期限日
+     * @param createdAt 直前のページ末尾の作成日時
+     * @param internalId 直前のページ末尾の内部ID
+     * @param limit 取得する最大件数
+     * @return 一覧の行のリスト（ソート済み）
+     */
+    @Query(
+            "SELECT " + SUMMARY_COLUMNS + " FROM TodoEntity t WHERE t.deletedFlag = false "
+                    + "AND t.dueDate >= CURRENT_DATE "
+                    + "AND (t.dueDate, t.createdAt, t.internalId) "
+                    + "> (:dueDate, :createdAt, :internalId) "
+                    + "ORDER BY t.dueDate ASC, t.createdAt ASC, t.internalId ASC")
+    List<TodoSummaryRow> findActiveSummariesAfter(
+            @Param("dueDate") LocalDate dueDate,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("internalId") Integer internalId,
+            Limit limit);
+
+    /**
+     * 既存の Todo の状態を、版数が一致する場合に限り直接 UPDATE する。
+     *
+     * <p>エンティティを merge せずに 1 文で更新するため、更新前の SELECT は発行されない。 WHERE 句で読み込み時の版数と比較する楽観的ロックのため、
+     * 他のトランザクションが先に更新していた場合は 0 行となる。 永続化コンテキストに残っている古いエンティティは更新後にクリアされる。
+     *
+     * @return 更新された行数（版数の競合時は 0）
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(
+            "UPDATE TodoEntity t SET t.versionNumber = :versionNumber, t.title = :title, "
+                    + "t.detail = :detail, t.dueDate = :dueDate, "
+                    + "t.completedFlag = :completedFlag, t.deletedFlag = :deletedFlag, "
+                    + "t.updatedAt = :updatedAt "
+                    + "WHERE t.internalId = :internalId "
+                    + "AND t.versionNumber = :expectedVersionNumber")
+    int updateState(
+            @Param("internalId") Integer internalId,
+            @Param("expectedVersionNumber") Integer expectedVersionNumber,
+            @Param("versionNumber") Integer versionNumber,
+            @Param("title") String title,
+            @Param("detail") String detail,
+            @Param("dueDate") LocalDate dueDate,
+            @Param("completedFlag") boolean completedFlag,
+            @Param("deletedFlag") boolean deletedFlag,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 指定された公開IDの未完了の Todo をまとめて完了状態にする。
+     *
+     * <p>Todo.complete() と同じく、未完了の行のみを対象に版数を 1 つ進めて更新日時を設定する。 1 文の UPDATE で処理し、更新後の行を
+     * RETURNING で返す。
+     *
+     * @param publicIds 対象の公開ID
+     * @param updatedAt 設定する更新日時
+     * @return 完了状態にした Todo の更新後の行
+     */
+    @Query(
+            value =
+                    "UPDATE todos SET completed_flag = true, "
+                            + "version_number = version_number + 1, updated_at = :updatedAt "
+                            + "WHERE public_id = ANY(:publicIds) AND completed_flag = false "
+                            + "RETURNING *",
+            nativeQuery = true)
+    List<TodoEntity> completeAllByPublicIds(
+            @Param("publicIds") UUID[] publicIds, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 指定された公開IDの未削除の Todo をまとめて論理削除する。
+     *
+     * <p>Todo.delete() と同じく、未削除の行のみを対象に版数を 1 つ進めて更新日時を設定する。 1 文の UPDATE で処理し、更新後の行を
+     * RETURNING で返す。
+     *
+     * @param publicIds 対象の公開ID
+     * @param updatedAt 設定する更新日時
+     * @return 論理削除した Todo の更新後の行
+     */
+    @Query(
+            value =
+                    "UPDATE todos SET deleted_flag = true, "
+                            + "version_number = version_number + 1, updated_at = :updatedAt "
+                            + "WHERE public_id = ANY(:publicIds) AND deleted_flag = false "
+                            + "RETURNING *",
+            nativeQuery = true)
+    List<TodoEntity> deleteAllByPublicIds(
+            @Param("publicIds") UUID[] publicIds, @Param("updatedAt") LocalDateTime updatedAt);
 }
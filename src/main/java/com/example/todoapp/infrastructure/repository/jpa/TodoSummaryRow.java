@@ -0,0 +1,27 @@
+package com.example.todoapp.infrastructure.repository.jpa;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 一覧表示用に todos から必要な列だけを取得する射影。
+ *
+ * <p>JPQL のコンストラクタ式で生成されるため、管理対象のエンティティにはならず、 永続化コンテキストにも保持されない。 詳細（detail）列は取得しない。
+ *
+ * @param internalId 内部ID
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param dueDate 期限日
+ * @param completedFlag 完了状態フラグ
+ * @param createdAt 作成日時
+ */
+public record TodoSummaryRow(
+        Integer internalId,
+        UUID publicId,
+        Integer versionNumber,
+        String title,
+        LocalDate dueDate,
+        boolean completedFlag,
+        LocalDateTime createdAt) {}
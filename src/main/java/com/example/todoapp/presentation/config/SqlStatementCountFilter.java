@@ -0,0 +1,103 @@
+package com.example.todoapp.presentation.config;
+
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * HTTP リクエストごとに Hibernate が発行した SQL 文を数えるフィルター。
+ *
+ * <p>文の数を todoapp.sql.statements.request（method・uri タグ付き）に記録し、
+ * todoapp.sql.statement-count.warn-threshold を超えたリクエストを警告として出力する。 同じ文が
+ * todoapp.sql.statement-count.repeat-threshold 回以上発行された場合は、N+1 の可能性として その文も出力する。
+ *
+ * <p>ビューの描画で発行される文も含めて数える。 非同期で応答するリクエストでは、非同期処理を開始するまでの文のみを数える。
+ */
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    /** ハンドラーに対応付かなかったリクエストの uri タグの値 */
+    static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementCounter statementCounter;
+    private final Meter.MeterProvider<DistributionSummary> requestStatements;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+
+    /**
+     * SqlStatementCountFilter を構築する。
+     *
+     * @param statementCounter SQL 文の数え方
+     * @param meterRegistry メトリクスの登録先
+     * @param warnThreshold 警告を出力する 1 リクエストあたりの文の数（これを超えた場合に出力する）
+     * @param repeatThreshold N+1 の可能性として警告する、同じ文の発行回数
+     */
+    public SqlStatementCountFilter(
+            SqlStatementCounter statementCounter,
+            MeterRegistry meterRegistry,
+            @Value("${todoapp.sql.statement-count.warn-threshold:20}") int warnThreshold,
+            @Value("${todoapp.sql.statement-count.repeat-threshold:10}") int repeatThreshold) {
+        this.statementCounter = statementCounter;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+        this.requestStatements =
+                DistributionSummary.builder("todoapp.sql.statements.request")
+                        .description("HTTP リクエスト 1 回あたりに発行した SQL 文の数")
+                        .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Scope statements = statementCounter.open(true);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.close();
+            record(request, statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        long count = statements.count();
+        requestStatements.withTags("method", request.getMethod(), "uri", uri).record(count);
+
+        if (count > warnThreshold) {
+            log.warn(
+                    "SQL 文の発行数がしきい値を超えました（{} {}、{} 文、しきい値 {}）",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    count,
+                    warnThreshold);
+        }
+        statements
+                .mostRepeated()
+                .filter(repeated -> repeated.getValue() >= repeatThreshold)
+                .ifPresent(repeated -> warnRepeated(request, repeated));
+    }
+
+    private void warnRepeated(HttpServletRequest request, Map.Entry<String, Integer> repeated) {
+        log.warn(
+                "同じ SQL 文が繰り返し発行されました（N+1 の可能性、{} {}、{} 回）: {}",
+                request.getMethod(),
+                request.getRequestURI(),
+                repeated.getValue(),
+                repeated.getKey());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.presentation.dto.TodoPageResponse;
+import com.example.todoapp.presentation.dto.TodoRequest;
+import com.example.todoapp.presentation.dto.TodoResponse;
+import java.net.URI;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Todo の JSON API。 画面（TodoController）と同じユースケースを、HTML を介さずに外部のシステムから利用するために提供する。
+ *
+ * <p>応答には ETag を付ける。 取得では If-None-Match が一致すれば本文を作らずに 304 を返す。 更新・完了・削除では If-Match
+ * で前提とする版数を指定でき、一致しない場合は更新せずに 412 を返す。
+ */
+@RestController
+@RequestMapping("/api/todos")
+public class TodoApiController {
+
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    private final TodoService todoService;
+
+    public TodoApiController(TodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    // ================================================================
+    // 一覧取得
+    // ================================================================
+    /**
+     * 活動中の Todo の一覧を 1 ページ分取得する。
+     *
+     * <p>ETag はページ内の行の版数から作るため、いずれかの行が変わるまで同じ値となる。 ETag の計算にはページの取得が必要なため、 304
+     * の場合も取得は行い、本文の直列化と転送のみを省く。
+     */
+    @GetMapping
+    public ResponseEntity<TodoPageResponse> list(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TodoPage page = todoService.listActiveTodos(cursor, size);
+        String etag = TodoEtags.of(page);
+        if (TodoEtags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(TodoPageResponse.from(page));
+    }
+
+    // ================================================================
+    // 取得
+    // ================================================================
+    /**
+     * 指定された Todo を取得する。
+     *
+     * <p>存在しない、または削除済みの場合は 404 を返す。
+     */
+    @GetMapping("/{publicId}")
+    public ResponseEntity<TodoResponse> get(
+            @PathVariable String publicId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Todo todo = todoService.getTodo(PublicId.of(publicId));
+        String etag = TodoEtags.of(todo);
+        if (TodoEtags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(TodoResponse.from(todo));
+    }
+
+    // ================================================================
+    // 新規作成
+    // ================================================================
+    /** Todo を作成し、201 と作成した Todo の URI を返す。 */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TodoResponse> create(@RequestBody TodoRequest request) {
+        Todo todo = todoService.createTodo(request.title(), request.detail(), request.dueDate());
+        return ResponseEntity.created(URI.create("/api/todos/" + todo.getPublicId()))
+                .eTag(TodoEtags.of(todo))
+                .body(TodoResponse.from(todo));
+    }
+
+    // ================================================================
+    // 更新
+    // ================================================================
+    /** 指定された Todo を更新する。 */
+    @PutMapping(path = "/{publicId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TodoResponse> update(
+            @PathVariable String publicId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody TodoRequest request) {
+        PublicId id = PublicId.of(publicId);
+        Todo todo =
+                todoService.updateTodo(
+                        id,
+                        TodoEtags.expectedVersion(ifMatch, id),
+                        request.title(),
+                        request.detail(),
+                        request.dueDate());
+        return ResponseEntity.ok().eTag(TodoEtags.of(todo)).body(TodoResponse.from(todo));
+    }
+
+    // ================================================================
+    // 完了処理
+    // ================================================================
+    /** 指定された Todo を完了状態にする。 すでに完了済みの場合は変更せずに現在の状態を返す。 */
+    @PostMapping("/{publicId}/complete")
+    public ResponseEntity<TodoResponse> complete(
+            @PathVariable String publicId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PublicId id = PublicId.of(publicId);
+        Todo todo = todoService.completeTodo(id, TodoEtags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(TodoEtags.of(todo)).body(TodoResponse.from(todo));
+    }
+
+    // ================================================================
+    // 削除処理
+    // ================================================================
+    /** 指定された Todo を論理削除し、204 を返す。 */
+    @DeleteMapping("/{publicId}")
+    public ResponseEntity<Void> delete(
+            @PathVariable String publicId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PublicId id = PublicId.of(publicId);
+        todoService.deleteTodo(id, TodoEtags.expectedVersion(ifMatch, id));
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.BulkCreateResult;
+import com.example.todoapp.application.CreateTodoCommand;
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.presentation.dto.BulkCreateTodoRequest;
+import com.example.todoapp.presentation.dto.BulkCreateTodoResponse;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Todo の一括操作用の JSON コントローラ。 移行ジョブなど、画面を介さない大量登録で使用する。 */
+@RestController
+@RequestMapping("/todos/bulk")
+public class TodoBulkController {
+
+    private final TodoService todoService;
+
+    public TodoBulkController(TodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    // ================================================================
+    // 一括作成
+    // ================================================================
+    /**
+     * Todo を一括作成する。
+     *
+     * <p>一部の項目が不正でも処理全体は中断しない。 全件成功した場合は 201、一部でも失敗した場合は 207（Multi-Status）を返す。
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkCreateTodoResponse> create(
+            @RequestBody BulkCreateTodoRequest request) {
+        if (request.todos() == null) {
+            throw new IllegalArgumentException("todos を指定してください");
+        }
+        List<CreateTodoCommand> commands =
+                request.todos().stream()
+                        .map(
+                                item ->
+                                        item == null
+                                                ? new CreateTodoCommand(null, null, null)
+                                                : new CreateTodoCommand(
+                                                        item.title(),
+                                                        item.detail(),
+                                                        item.dueDate()))
+                        .toList();
+
+        BulkCreateResult result = todoService.createTodos(commands);
+
+        HttpStatus status =
+                result.errors().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(BulkCreateTodoResponse.from(result));
+    }
+}
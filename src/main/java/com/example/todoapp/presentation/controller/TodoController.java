@@ -2,9 +2,18 @@ package com.example.todoapp.presentation.controller;
 
 import com.example.todoapp.application.TodoService;
 import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.value.PublicId;
 import com.example.todoapp.presentation.form.TodoForm;
+import com.example.todoapp.presentation.view.TodoListStreamRenderer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -13,9 +22,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-/** Todo の Web UI 用コントローラ。 */
+/** Todo の Web UI 用コントローラ。 公開IDは URL・フォーム上の文字列から、ここで {@link PublicId} に変換する。 */
 @Controller
 @RequestMapping("/todos")
 public class TodoController {
@@ -23,23 +34,49 @@ public class TodoController {
     private static final String VIEW_TODOS_LIST = "todos/list";
     private static final String VIEW_TODOS_EDIT = "todos/edit";
     private static final String REDIRECT_TODOS = "redirect:/todos";
+    private static final String DEFAULT_PAGE_SIZE = "50";
 
     private final TodoService todoService;
+    private final TodoListStreamRenderer todoListStreamRenderer;
 
-    public TodoController(TodoService todoService) {
+    public TodoController(
+            TodoService todoService, TodoListStreamRenderer todoListStreamRenderer) {
         this.todoService = todoService;
+        this.todoListStreamRenderer = todoListStreamRenderer;
     }
 
     // ================================================================
     // 一覧表示
     // ================================================================
     @GetMapping
-    public String list(Model model) {
-        List<Todo> todos = todoService.listActiveTodos();
-        model.addAttribute("todos", todos);
+    public String list(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            Model model) {
+        TodoPage page = todoService.listActiveTodos(cursor, size);
+        model.addAttribute("todos", page.items());
+        model.addAttribute("nextCursor", page.hasNext() ? page.nextCursor().encode() : null);
+        model.addAttribute("isFirstPage", cursor == null || cursor.isBlank());
+        model.addAttribute("size", size);
         return VIEW_TODOS_LIST;
     }
 
+    // ================================================================
+    // 一覧表示（全件・逐次描画）
+    // ================================================================
+    /**
+     * 活動中の Todo を全件、ページングせずに表示する。
+     *
+     * <p>一覧をモデルに載せずに DB（または索引）から逐次読み出し、一定件数ごとに描画してクライアントへ送る。
+     */
+    @GetMapping("/all")
+    public ResponseEntity<StreamingResponseBody> listAll(
+            HttpServletRequest request, HttpServletResponse response, Locale locale) {
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(todoListStreamRenderer.render(request, response, locale));
+    }
+
     // ================================================================
     // 新規作成フォーム表示
     // ================================================================
@@ -78,11 +115,11 @@ public class TodoController {
     // ================================================================
     @GetMapping("/{publicId}/edit")
     public String showEditForm(@PathVariable String publicId, Model model) {
-        Todo todo = todoService.getTodo(publicId);
+        Todo todo = todoService.getTodo(PublicId.of(publicId));
 
         // TodoFormに変換
         TodoForm form = new TodoForm();
-        form.setPublicId(todo.getPublicId().value());
+        form.setPublicId(todo.getPublicId().toString());
         form.setTitle(todo.getTitle());
         form.setDetail(todo.getDetail());
         form.setDueDate(todo.getDueDate().value());
@@ -111,7 +148,8 @@ public class TodoController {
         }
 
         // 編集実行
-        todoService.updateTodo(publicId, form.getTitle(), form.getDetail(), form.getDueDate());
+        todoService.updateTodo(
+                PublicId.of(publicId), form.getTitle(), form.getDetail(), form.getDueDate());
 
         redirectAttributes.addFlashAttribute("message", "Todoを更新しました");
         return REDIRECT_TODOS;
@@ -122,7 +160,7 @@ public class TodoController {
     // ================================================================
     @PostMapping("/{publicId}/complete")
     public String complete(@PathVariable String publicId, RedirectAttributes redirectAttributes) {
-        todoService.completeTodo(publicId);
+        todoService.completeTodo(PublicId.of(publicId));
 
         redirectAttributes.addFlashAttribute("message", "Todoを完了しました");
         return REDIRECT_TODOS;
@@ -133,9 +171,39 @@ public class TodoController {
     // ================================================================
     @PostMapping("/{publicId}/delete")
     public String delete(@PathVariable String publicId, RedirectAttributes redirectAttributes) {
-        todoService.deleteTodo(publicId);
+        todoService.deleteTodo(PublicId.of(publicId));
 
         redirectAttributes.addFlashAttribute("message", "Todoを削除しました");
         return REDIRECT_TODOS;
     }
+
+    // ================================================================
+    // 一括完了処理
+    // ================================================================
+    @PostMapping("/bulk-complete")
+    public String bulkComplete(
+            @RequestParam(name = "publicIds", required = false) List<String> publicIds,
+            RedirectAttributes redirectAttributes) {
+        int count = publicIds == null ? 0 : todoService.completeTodos(toPublicIds(publicIds));
+
+        redirectAttributes.addFlashAttribute("message", count + "件のTodoを完了しました");
+        return REDIRECT_TODOS;
+    }
+
+    // ================================================================
+    // 一括削除処理
+    // ================================================================
+    @PostMapping("/bulk-delete")
+    public String bulkDelete(
+            @RequestParam(name = "publicIds", required = false) List<String> publicIds,
+            RedirectAttributes redirectAttributes) {
+        int count = publicIds == null ? 0 : todoService.deleteTodos(toPublicIds(publicIds));
+
+        redirectAttributes.addFlashAttribute("message", count + "件のTodoを削除しました");
+        return REDIRECT_TODOS;
+    }
+
+    private static List<PublicId> toPublicIds(List<String> publicIds) {
+        return publicIds.stream().map(PublicId::of).toList();
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.presentation.dto.TodoDetailResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Todo の詳細を返す JSON コントローラ。 一覧画面は詳細を含まないため、行を展開したときに個別に取得する。 */
+@RestController
+@RequestMapping("/todos")
+public class TodoDetailController {
+
+    private final TodoService todoService;
+
+    public TodoDetailController(TodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    // ================================================================
+    // 詳細取得
+    // ================================================================
+    /**
+     * 指定された Todo の詳細を取得する。
+     *
+     * <p>存在しない、または削除済みの場合は 404 を返す。
+     */
+    @GetMapping("/{publicId}/detail")
+    public TodoDetailResponse detail(@PathVariable String publicId) {
+        return TodoDetailResponse.from(todoService.getTodo(PublicId.of(publicId)));
+    }
+}
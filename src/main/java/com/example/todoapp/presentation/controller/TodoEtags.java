@@ -0,0 +1,120 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.domain.exception.TodoVersionMismatchException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * /api/todos の応答に付ける ETag を作成し、条件付きリクエストのヘッダーと比較する。
+ *
+ * <p>Todo 1 件の ETag は公開IDと版数から作る。 同じ版の Todo は常に同じ内容で表されるため、強い ETag とする。
+ *
+ * <p>一覧の ETag は、ページ内の各行の公開IDと版数、次ページの有無から作るハッシュとする。 行の内容は公開IDと版数で決まるため、応答を直列化せずに比較できる。
+ * ただしページを読み込んでから ETag を作るため、304 で省けるのは応答の直列化と転送のみで、ページの取得（索引の読み出し、または DB の検索）は省けない。
+ */
+final class TodoEtags {
+
+    /** 一覧の ETag に使うハッシュの長さ（バイト） */
+    private static final int PAGE_HASH_BYTES = 16;
+
+    private TodoEtags() {}
+
+    /**
+     * Todo 1 件の ETag を返す。
+     *
+     * @param todo 対象の Todo
+     * @return ETag（引用符を含む）
+     */
+    static String of(Todo todo) {
+        return "\"" + todo.getPublicId() + "-" + todo.getVersionNumber().value() + "\"";
+    }
+
+    /**
+     * 一覧の 1 ページ分の ETag を返す。
+     *
+     * <p>読み込み済みのページ全体から作るため、呼び出し時点でページの取得は済んでいる。
+     *
+     * @param page 一覧のページ
+     * @return ETag（引用符を含む）
+     */
+    static String of(TodoPage page) {
+        ByteBuffer buffer = ByteBuffer.allocate(page.items().size() * 20 + 1);
+        for (TodoSummary item : page.items()) {
+            UUID publicId = item.publicId().value();
+            buffer.putLong(publicId.getMostSignificantBits())
+                    .putLong(publicId.getLeastSignificantBits())
+                    .putInt(item.versionNumber().value());
+        }
+        buffer.put((byte) (page.hasNext() ? 1 : 0));
+        byte[] hash = sha256().digest(buffer.array());
+        return "\"" + HexFormat.of().formatHex(hash, 0, PAGE_HASH_BYTES) + "\"";
+    }
+
+    /**
+     * If-None-Match ヘッダーに ETag が含まれるかを返す（弱い比較）。
+     *
+     * @param ifNoneMatch If-None-Match ヘッダーの値（ない場合は null）
+     * @param etag 現在の ETag
+     * @return 含まれる場合は true（304 を返してよい）
+     */
+    static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*")
+                    || trimmed.equals(etag)
+                    || (trimmed.startsWith("W/") && trimmed.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match ヘッダーから、指定された Todo の更新の前提とする版数を取り出す。
+     *
+     * <p>If-Match は強い比較のため、弱い ETag は一致しないものとして扱う。 この Todo の ETag が複数含まれる場合は最初のものを使う。
+     *
+     * @param ifMatch If-Match ヘッダーの値（ない場合は null）
+     * @param publicId 更新対象の公開ID
+     * @return 前提とする版数（ヘッダーがない、または * の場合は null）
+     * @throws TodoVersionMismatchException この Todo の ETag が含まれない場合（DB にアクセスせずに 412 とする）
+     */
+    static VersionNumber expectedVersion(String ifMatch, PublicId publicId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + publicId + "-";
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (!trimmed.startsWith(prefix) || !trimmed.endsWith("\"")) {
+                continue;
+            }
+            try {
+                return new VersionNumber(
+                        Integer.valueOf(trimmed.substring(prefix.length(), trimmed.length() - 1)));
+            } catch (IllegalArgumentException e) {
+                // 版数として解釈できないタグは一致しないものとして扱う
+            }
+        }
+        throw new TodoVersionMismatchException();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
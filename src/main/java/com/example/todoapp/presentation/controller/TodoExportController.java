@@ -0,0 +1,205 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.RecordedAtRange;
+import com.example.todoapp.application.TodoExportService;
+import com.example.todoapp.application.TodoHistoryService;
+import com.example.todoapp.application.UpdatedAtRange;
+import com.example.todoapp.infrastructure.repository.export.TodoExportRow;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import com.example.todoapp.presentation.export.ExportFormat;
+import com.example.todoapp.presentation.export.RecordExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Todo と履歴をエクスポートするコントローラ。
+ *
+ * <p>行は DB から逐次読み出してそのままレスポンスへ書き出し、 DB から読み出す行数ごとにフラッシュする。 メモリに保持するのは 1
+ * チャンク分のみのため、件数によらずメモリ使用量は一定となる。 クライアントが gzip を受け付ける場合は書き出しながら圧縮する。
+ *
+ * <p>Todo は更新日時の範囲（updatedFrom を含み、updatedTo を含まない）、履歴は記録日時の範囲（recordedFrom を含み、recordedTo
+ * を含まない）で絞り込めるため、 前回の上限を次の下限に指定すれば差分だけを取り出せる。 監査のため、ボード全体のある時点の状態も同じ形式で取り出せる。
+ */
+@RestController
+@RequestMapping("/todos")
+public class TodoExportController {
+
+    private static final String DEFAULT_FORMAT = "ndjson";
+
+    /** Accept-Encoding で q=0（受け付けない）が指定されているか */
+    private static final Pattern REJECTED = Pattern.compile(";\\s*q=0(\\.0*)?\\s*$");
+
+    private final TodoExportService todoExportService;
+    private final TodoHistoryService todoHistoryService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public TodoExportController(
+            TodoExportService todoExportService,
+            TodoHistoryService todoHistoryService,
+            ObjectMapper objectMapper,
+            @Value("${todoapp.export.fetch-size:1000}") int chunkSize) {
+        this.todoExportService = todoExportService;
+        this.todoHistoryService = todoHistoryService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    // ================================================================
+    // Todo のエクスポート
+    // ================================================================
+    /** Todo を更新日時の昇順でエクスポートする（削除済みを含む）。 */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestParam(defaultValue = DEFAULT_FORMAT) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime updatedTo,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                    String acceptEncoding) {
+        UpdatedAtRange range = new UpdatedAtRange(updatedFrom, updatedTo);
+        return export(
+                "todos",
+                ExportFormat.of(format),
+                TodoExportRow.class,
+                acceptsGzip(acceptEncoding),
+                action -> todoExportService.exportTodos(range, action));
+    }
+
+    // ================================================================
+    // 履歴のエクスポート
+    // ================================================================
+    /** 履歴を記録日時の昇順でエクスポートする。 */
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(defaultValue = DEFAULT_FORMAT) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime recordedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime recordedTo,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                    String acceptEncoding) {
+        RecordedAtRange range = new RecordedAtRange(recordedFrom, recordedTo);
+        return export(
+                "todo_history",
+                ExportFormat.of(format),
+                TodoHistoryExportRow.class,
+                acceptsGzip(acceptEncoding),
+                action -> todoExportService.exportHistory(range, action));
+    }
+
+    // ================================================================
+    // ボード全体の時点指定
+    // ================================================================
+    /** 指定日時の時点のボード（その時点で削除されていない Todo）の状態を、各 Todo のその時点で最新の版としてエクスポートする。 */
+    @GetMapping("/history/as-of")
+    public ResponseEntity<StreamingResponseBody> exportStateAsOf(
+            @RequestParam(defaultValue = DEFAULT_FORMAT) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime at,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                    String acceptEncoding) {
+        todoHistoryService.requireBoardAsOf(at);
+        return export(
+                "todos_as_of",
+                ExportFormat.of(format),
+                TodoHistoryExportRow.class,
+                acceptsGzip(acceptEncoding),
+                action -> todoHistoryService.forEachStateAsOf(at, action));
+    }
+
+    // ================================================================
+    // Helper
+    // ================================================================
+    /**
+     * 行を逐次書き出すレスポンスを生成する。
+     *
+     * <p>引数の検証はここで行い、不正な場合は書き出しを始める前に 400 とする。
+     */
+    private <T extends Record> ResponseEntity<StreamingResponseBody> export(
+            String name,
+            ExportFormat format,
+            Class<T> rowType,
+            boolean gzip,
+            Consumer<Consumer<T>> exporter) {
+        StreamingResponseBody body =
+                out -> {
+                    GZIPOutputStream compressed =
+                            gzip ? new GZIPOutputStream(out, 8192, true) : null;
+                    OutputStream target = gzip ? compressed : out;
+                    RecordExportWriter<T> writer =
+                            new RecordExportWriter<>(
+                                    new BufferedWriter(
+                                            new OutputStreamWriter(target, StandardCharsets.UTF_8)),
+                                    format,
+                                    rowType,
+                                    objectMapper);
+                    writer.writeHeader();
+                    int[] written = {0};
+                    exporter.accept(
+                            row -> {
+                                writer.write(row);
+                                if (++written[0] % chunkSize == 0) {
+                                    writer.flush();
+                                }
+                            });
+                    writer.flush();
+                    if (compressed != null) {
+                        compressed.finish();
+                    }
+                };
+
+        ResponseEntity.BodyBuilder response =
+                ResponseEntity.ok()
+                        .contentType(format.getMediaType())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .header(
+                                HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment()
+                                        .filename(name + "." + format.getExtension())
+                                        .build()
+                                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Accept-Encoding で gzip を受け付けるかを判定する。
+     *
+     * @param acceptEncoding Accept-Encoding ヘッダの値（null 可）
+     * @return gzip を受け付ける場合は true
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String name = coding.split(";", 2)[0].trim();
+            if (name.equalsIgnoreCase("gzip") && !REJECTED.matcher(coding).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
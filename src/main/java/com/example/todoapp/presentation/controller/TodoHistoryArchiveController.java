@@ -0,0 +1,96 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.TodoHistoryService;
+import com.example.todoapp.presentation.dto.TodoHistoryArchiveSegmentResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 保持期間を過ぎてアーカイブへ移された履歴のセグメントファイルを返すコントローラ。
+ *
+ * <p>セグメントファイルは gzip で圧縮された NDJSON のまま返す。 Tomcat の sendfile が使える場合、ファイルの内容はアプリケーションのバッファを経由せず、 OS
+ * のゼロコピー転送で送る。 sendfile が使えない場合（TLS の終端を Tomcat で行う場合など）はゼロコピーにならないため、 通常の応答と同じくバッファを介して複写する。
+ */
+@RestController
+@RequestMapping("/todos/history/archive")
+public class TodoHistoryArchiveController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final TodoHistoryService todoHistoryService;
+
+    public TodoHistoryArchiveController(TodoHistoryService todoHistoryService) {
+        this.todoHistoryService = todoHistoryService;
+    }
+
+    // ================================================================
+    // 一覧
+    // ================================================================
+    /** アーカイブのセグメントを作成日時の順で返す。 */
+    @GetMapping
+    public List<TodoHistoryArchiveSegmentResponse> list() {
+        return todoHistoryService.listArchiveSegments().stream()
+                .map(TodoHistoryArchiveSegmentResponse::from)
+                .toList();
+    }
+
+    // ================================================================
+    // ダウンロード
+    // ================================================================
+    /** セグメントファイル（gzip で圧縮された NDJSON）を返す。 */
+    @GetMapping("/{segmentId}")
+    public void download(
+            @PathVariable String segmentId,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        Path file = todoHistoryService.getArchiveSegmentFile(parseSegmentId(segmentId));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType("application/gzip");
+            response.setContentLengthLong(size);
+            response.setHeader(
+                    HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment()
+                            .filename(file.getFileName().toString())
+                            .build()
+                            .toString());
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // 応答の本文は Tomcat がソケットへ直接転送する
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            Channels.newInputStream(channel).transferTo(response.getOutputStream());
+        }
+    }
+
+    // ================================================================
+    // Helper
+    // ================================================================
+    private static UUID parseSegmentId(String segmentId) {
+        try {
+            return UUID.fromString(segmentId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("セグメントIDの形式が不正です");
+        }
+    }
+}
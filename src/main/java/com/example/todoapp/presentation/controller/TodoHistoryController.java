@@ -0,0 +1,60 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.TodoHistoryService;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.presentation.dto.TodoHistoryPageResponse;
+import com.example.todoapp.presentation.dto.TodoHistoryResponse;
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Todo の履歴を返す JSON コントローラ。
+ *
+ * <p>履歴は版数のキーセットページングで返す。 ボード全体のある時点の状態は {@link TodoExportController} から逐次取得する。
+ */
+@RestController
+@RequestMapping("/todos/{publicId}/history")
+public class TodoHistoryController {
+
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    private final TodoHistoryService todoHistoryService;
+
+    public TodoHistoryController(TodoHistoryService todoHistoryService) {
+        this.todoHistoryService = todoHistoryService;
+    }
+
+    // ================================================================
+    // 履歴の一覧
+    // ================================================================
+    /** 指定された Todo の履歴を版数の昇順で 1 ページ分返す（削除済みの Todo を含む）。 */
+    @GetMapping
+    public TodoHistoryPageResponse list(
+            @PathVariable String publicId,
+            @RequestParam(required = false) Integer afterVersion,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        return TodoHistoryPageResponse.from(
+                todoHistoryService.listHistory(PublicId.of(publicId), afterVersion, size));
+    }
+
+    // ================================================================
+    // 時点指定
+    // ================================================================
+    /**
+     * 指定された Todo の、指定日時の時点の状態を返す。
+     *
+     * <p>その時点で作成されていない場合は 404 を返す。
+     */
+    @GetMapping("/as-of")
+    public TodoHistoryResponse asOf(
+            @PathVariable String publicId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime at) {
+        return TodoHistoryResponse.from(todoHistoryService.getAsOf(PublicId.of(publicId), at));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.todoapp.presentation.controller;
+
+import com.example.todoapp.application.TodoImportService;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorRow;
+import com.example.todoapp.presentation.dto.TodoImportJobResponse;
+import com.example.todoapp.presentation.export.ExportFormat;
+import com.example.todoapp.presentation.export.RecordExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * CSV から Todo を一括で取り込むコントローラ。
+ *
+ * <p>リクエストボディの CSV は逐次読み出すため、件数によらずメモリ使用量は一定となる。 取り込みが途中で失敗した場合は、返された jobId と同じ CSV
+ * を指定して再送すると続きから取り込む。
+ */
+@RestController
+@RequestMapping("/todos/import")
+public class TodoImportController {
+
+    private final TodoImportService todoImportService;
+    private final ObjectMapper objectMapper;
+
+    public TodoImportController(TodoImportService todoImportService, ObjectMapper objectMapper) {
+        this.todoImportService = todoImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    // ================================================================
+    // 取り込み
+    // ================================================================
+    /** CSV（UTF-8、先頭行は title,detail,dueDate）から Todo を取り込む。 */
+    @PostMapping(consumes = {"text/csv", "text/plain"})
+    public TodoImportJobResponse importTodos(
+            @RequestParam(required = false) String jobId, InputStream body) {
+        UUID resumeJobId = jobId == null ? null : parseJobId(jobId);
+        BufferedReader csv =
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return TodoImportJobResponse.from(todoImportService.importTodos(resumeJobId, csv));
+    }
+
+    // ================================================================
+    // 進捗・エラーの参照
+    // ================================================================
+    /** 取り込みの進捗を返す。 */
+    @GetMapping("/{jobId}")
+    public TodoImportJobResponse getJob(@PathVariable String jobId) {
+        return TodoImportJobResponse.from(todoImportService.getJob(parseJobId(jobId)));
+    }
+
+    /** エラーとなった行（行番号と理由）を行番号の昇順に CSV で返す。 */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<StreamingResponseBody> exportErrors(@PathVariable String jobId) {
+        UUID id = parseJobId(jobId);
+        todoImportService.getJob(id);
+
+        StreamingResponseBody body =
+                out -> {
+                    RecordExportWriter<TodoImportErrorRow> writer =
+                            new RecordExportWriter<>(
+                                    new BufferedWriter(
+                                            new OutputStreamWriter(out, StandardCharsets.UTF_8)),
+                                    ExportFormat.CSV,
+                                    TodoImportErrorRow.class,
+                                    objectMapper);
+                    writer.writeHeader();
+                    todoImportService.forEachError(id, writer::write);
+                    writer.flush();
+                };
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.CSV.getMediaType())
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename("import-errors-" + id + ".csv")
+                                .build()
+                                .toString())
+                .body(body);
+    }
+
+    // ================================================================
+    // Helper
+    // ================================================================
+    private static UUID parseJobId(String jobId) {
+        try {
+            return UUID.fromString(jobId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ジョブIDの形式が不正です");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todoapp.presentation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Todo の一括作成リクエストを表すDTO。
+ *
+ * <p>項目ごとの検証はドメインの Todo.create() で行い、不正な項目は他の項目を巻き込まずにエラーとして返す。
+ *
+ * @param todos 作成する Todo の一覧
+ */
+public record BulkCreateTodoRequest(List<Item> todos) {
+
+    /**
+     * 作成する Todo 1 件分。
+     *
+     * @param title タイトル
+     * @param detail 詳細
+     * @param dueDate 期限日（yyyy-MM-dd）
+     */
+    public record Item(
+            String title, String detail, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate dueDate) {}
+}
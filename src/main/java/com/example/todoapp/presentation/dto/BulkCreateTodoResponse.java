@@ -0,0 +1,43 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.application.BulkCreateResult;
+import java.util.List;
+
+/**
+ * Todo の一括作成レスポンスを表すDTO。
+ *
+ * @param createdCount 作成に成功した件数
+ * @param errorCount 作成に失敗した件数
+ * @param created 作成に成功した項目（リクエスト内の index と公開ID）
+ * @param errors 作成に失敗した項目（リクエスト内の index と理由）
+ */
+public record BulkCreateTodoResponse(
+        int createdCount, int errorCount, List<Created> created, List<ItemError> errors) {
+
+    /** 一括作成の結果からレスポンスを作成するファクトリメソッド。 */
+    public static BulkCreateTodoResponse from(BulkCreateResult result) {
+        List<Created> created =
+                result.created().stream()
+                        .map(c -> new Created(c.index(), c.todo().getPublicId().toString()))
+                        .toList();
+        List<ItemError> errors =
+                result.errors().stream().map(e -> new ItemError(e.index(), e.message())).toList();
+        return new BulkCreateTodoResponse(created.size(), errors.size(), created, errors);
+    }
+
+    /**
+     * 作成に成功した項目。
+     *
+     * @param index リクエスト内の位置（0 始まり）
+     * @param publicId 作成された Todo の公開ID
+     */
+    public record Created(int index, String publicId) {}
+
+    /**
+     * 作成に失敗した項目。
+     *
+     * @param index リクエスト内の位置（0 始まり）
+     * @param message 失敗理由
+     */
+    public record ItemError(int index, String message) {}
+}
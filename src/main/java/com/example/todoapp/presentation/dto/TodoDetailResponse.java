@@ -0,0 +1,17 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.domain.model.todo.Todo;
+
+/**
+ * Todo の詳細レスポンスを表すDTO。 一覧画面で行を展開したときに取得する。
+ *
+ * @param publicId 公開ID
+ * @param detail 詳細（未設定の場合は null）
+ */
+public record TodoDetailResponse(String publicId, String detail) {
+
+    /** Todo からレスポンスを作成するファクトリメソッド。 */
+    public static TodoDetailResponse from(Todo todo) {
+        return new TodoDetailResponse(todo.getPublicId().toString(), todo.getDetail());
+    }
+}
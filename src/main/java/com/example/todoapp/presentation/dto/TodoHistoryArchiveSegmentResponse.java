@@ -0,0 +1,34 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.application.TodoHistoryArchiveSegment;
+import java.time.LocalDateTime;
+
+/**
+ * 履歴のアーカイブのセグメントを表すレスポンスDTO。
+ *
+ * @param segmentId セグメントID（ダウンロード時に指定する）
+ * @param minUpdatedAt 含まれる履歴の最も古い更新日時
+ * @param maxUpdatedAt 含まれる履歴の最も新しい更新日時
+ * @param rowCount 含まれる履歴の件数
+ * @param byteSize ファイルのバイト数（gzip 圧縮後）
+ * @param createdAt 作成日時
+ */
+public record TodoHistoryArchiveSegmentResponse(
+        String segmentId,
+        LocalDateTime minUpdatedAt,
+        LocalDateTime maxUpdatedAt,
+        int rowCount,
+        long byteSize,
+        LocalDateTime createdAt) {
+
+    /** セグメントからレスポンスを作成するファクトリメソッド。 */
+    public static TodoHistoryArchiveSegmentResponse from(TodoHistoryArchiveSegment segment) {
+        return new TodoHistoryArchiveSegmentResponse(
+                segment.segmentId().toString(),
+                segment.minUpdatedAt(),
+                segment.maxUpdatedAt(),
+                segment.rowCount(),
+                segment.byteSize(),
+                segment.createdAt());
+    }
+}
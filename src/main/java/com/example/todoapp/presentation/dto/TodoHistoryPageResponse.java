@@ -0,0 +1,20 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.application.TodoHistoryPage;
+import java.util.List;
+
+/**
+ * Todo の履歴の 1 ページ分のレスポンスを表すDTO。
+ *
+ * @param items ページ内の履歴（版数の昇順）
+ * @param nextAfterVersion 次ページ取得時に afterVersion に指定する版数（最終ページの場合は null）
+ */
+public record TodoHistoryPageResponse(List<TodoHistoryResponse> items, Integer nextAfterVersion) {
+
+    /** 履歴のページからレスポンスを作成するファクトリメソッド。 */
+    public static TodoHistoryPageResponse from(TodoHistoryPage page) {
+        return new TodoHistoryPageResponse(
+                page.items().stream().map(TodoHistoryResponse::from).toList(),
+                page.nextAfterVersion());
+    }
+}
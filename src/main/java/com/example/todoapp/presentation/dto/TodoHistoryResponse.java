@@ -0,0 +1,41 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Todo の履歴（ある版の状態）のレスポンスを表すDTO。
+ *
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param detail 詳細（未設定の場合は null）
+ * @param dueDate 期限日
+ * @param completed 完了状態
+ * @param deleted 削除状態
+ * @param recordedAt 履歴を記録した日時
+ */
+public record TodoHistoryResponse(
+        String publicId,
+        int versionNumber,
+        String title,
+        String detail,
+        LocalDate dueDate,
+        boolean completed,
+        boolean deleted,
+        LocalDateTime recordedAt) {
+
+    /** 履歴の行からレスポンスを作成するファクトリメソッド。 */
+    public static TodoHistoryResponse from(TodoHistoryExportRow row) {
+        return new TodoHistoryResponse(
+                row.publicId().toString(),
+                row.versionNumber(),
+                row.title(),
+                row.detail(),
+                row.dueDate(),
+                row.completed(),
+                row.deleted(),
+                row.updatedAt());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.application.TodoImportJob;
+
+/**
+ * CSV からの一括取り込みの進捗レスポンスを表すDTO。
+ *
+ * @param jobId ジョブID（中断した取り込みを再開する場合に指定する）
+ * @param status 状態（RUNNING / COMPLETED / FAILED）
+ * @param processedRecords コミット済みの最後の行番号
+ * @param importedCount 取り込んだ件数
+ * @param errorCount エラーとなった行数
+ */
+public record TodoImportJobResponse(
+        String jobId, String status, int processedRecords, int importedCount, int errorCount) {
+
+    /** 取り込みの進捗からレスポンスを作成するファクトリメソッド。 */
+    public static TodoImportJobResponse from(TodoImportJob job) {
+        return new TodoImportJobResponse(
+                job.jobId().toString(),
+                job.status().name(),
+                job.processedRecords(),
+                job.importedCount(),
+                job.errorCount());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.domain.model.todo.TodoPage;
+import java.util.List;
+
+/**
+ * 活動中の Todo 一覧の 1 ページ分のレスポンスを表すDTO。
+ *
+ * @param items ページ内の行（一覧の並び順）
+ * @param nextCursor 次ページ取得時に cursor に指定する値（最終ページの場合は null）
+ */
+public record TodoPageResponse(List<TodoSummaryResponse> items, String nextCursor) {
+
+    /** 一覧のページからレスポンスを作成するファクトリメソッド。 */
+    public static TodoPageResponse from(TodoPage page) {
+        return new TodoPageResponse(
+                page.items().stream().map(TodoSummaryResponse::from).toList(),
+                page.hasNext() ? page.nextCursor().encode() : null);
+    }
+}
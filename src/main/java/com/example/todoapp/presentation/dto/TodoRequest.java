@@ -0,0 +1,16 @@
+package com.example.todoapp.presentation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+
+/**
+ * Todo の作成・更新リクエストを表すDTO。
+ *
+ * <p>入力値の検証はドメインの Todo で行い、不正な場合は 400 を返す。
+ *
+ * @param title タイトル
+ * @param detail 詳細
+ * @param dueDate 期限日（yyyy-MM-dd）
+ */
+public record TodoRequest(
+        String title, String detail, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate dueDate) {}
@@ -0,0 +1,41 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Todo 1 件のレスポンスを表すDTO。
+ *
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param detail 詳細（未設定の場合は null）
+ * @param dueDate 期限日
+ * @param completed 完了状態
+ * @param createdAt 作成日時
+ * @param updatedAt 更新日時
+ */
+public record TodoResponse(
+        String publicId,
+        int versionNumber,
+        String title,
+        String detail,
+        LocalDate dueDate,
+        boolean completed,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /** Todo からレスポンスを作成するファクトリメソッド。 */
+    public static TodoResponse from(Todo todo) {
+        return new TodoResponse(
+                todo.getPublicId().toString(),
+                todo.getVersionNumber().value(),
+                todo.getTitle(),
+                todo.getDetail(),
+                todo.getDueDate().value(),
+                todo.isCompleted(),
+                todo.getCreatedAt(),
+                todo.getUpdatedAt());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.presentation.dto;
+
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Todo 一覧の 1 行分のレスポンスを表すDTO。 詳細は含まない。
+ *
+ * @param publicId 公開ID
+ * @param versionNumber 版数
+ * @param title タイトル
+ * @param dueDate 期限日
+ * @param completed 完了状態
+ * @param createdAt 作成日時
+ */
+public record TodoSummaryResponse(
+        String publicId,
+        int versionNumber,
+        String title,
+        LocalDate dueDate,
+        boolean completed,
+        LocalDateTime createdAt) {
+
+    /** 一覧の行からレスポンスを作成するファクトリメソッド。 */
+    public static TodoSummaryResponse from(TodoSummary summary) {
+        return new TodoSummaryResponse(
+                summary.publicId().toString(),
+                summary.versionNumber().value(),
+                summary.title(),
+                summary.dueDate().value(),
+                summary.completed(),
+                summary.createdAt());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.todoapp.presentation.export;
+
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/** エクスポートの出力形式。 */
+public enum ExportFormat {
+
+    /** 1 行 1 JSON オブジェクトの改行区切り JSON */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /** 先頭行に列名を持つ CSV（RFC 4180） */
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * リクエストパラメータの値から出力形式を取得する。
+     *
+     * @param value 形式名（ndjson または csv、大文字小文字は区別しない）
+     * @return 出力形式
+     * @throws IllegalArgumentException 未対応の形式の場合
+     */
+    public static ExportFormat of(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("形式は ndjson または csv で指定してください");
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
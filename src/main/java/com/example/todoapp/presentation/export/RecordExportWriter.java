@@ -0,0 +1,122 @@
+package com.example.todoapp.presentation.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * レコードを 1 件ずつ NDJSON または CSV として書き出すライター。
+ *
+ * <p>書き出した行は保持しない。 CSV の列はレコードの構成要素の順序と名前に従う。
+ *
+ * @param <T> 書き出すレコードの型
+ */
+public class RecordExportWriter<T extends Record> {
+
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final RecordComponent[] components;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * RecordExportWriter を構築する。
+     *
+     * @param writer 書き出し先
+     * @param format 出力形式
+     * @param recordType 書き出すレコードの型
+     * @param objectMapper NDJSON の書き出しに使用する ObjectMapper
+     */
+    public RecordExportWriter(
+            Writer writer, ExportFormat format, Class<T> recordType, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.format = format;
+        this.components = recordType.getRecordComponents();
+        this.objectMapper = objectMapper;
+    }
+
+    /** CSV の場合、列名の行を書き出す。 */
+    public void writeHeader() {
+        if (format != ExportFormat.CSV) {
+            return;
+        }
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(components[i].getName());
+        }
+        write(line.append(CSV_LINE_SEPARATOR).toString());
+    }
+
+    /**
+     * レコードを 1 行として書き出す。
+     *
+     * @param row 書き出すレコード
+     */
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                write(objectMapper.writeValueAsString(row) + "\n");
+                return;
+            }
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(toCsvValue(components[i].getAccessor().invoke(row)));
+            }
+            write(line.append(CSV_LINE_SEPARATOR).toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("レコードの値を取得できません", e);
+        }
+    }
+
+    /** 書き出した内容をクライアントへ送る。 */
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    private void write(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 値を CSV のフィールドに変換する。 区切り文字・引用符・改行を含む場合は引用符で囲む。
+     *
+     * @param value 値（null の場合は空のフィールド）
+     * @return CSV のフィールド
+     */
+    private static String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0
+                && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0
+                && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.todoapp.presentation.handler;
 
+import com.example.todoapp.domain.exception.TodoConflictException;
 import com.example.todoapp.domain.exception.TodoNotFoundException;
+import com.example.todoapp.domain.exception.TodoVersionMismatchException;
 import com.example.todoapp.presentation.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /** アプリケーション全体の例外をハンドリングするグローバルハンドラ。 */
 @RestControllerAdvice
@@ -27,6 +34,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /** TodoVersionMismatchException をハンドリングし、HTTP 412 を返す。 If-Match の版数が現在の版数と一致しない場合に使用される。 */
+    @ExceptionHandler(TodoVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTodoVersionMismatchException(
+            TodoVersionMismatchException ex, WebRequest request) {
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.PRECONDITION_FAILED.value(),
+                        "Precondition Failed",
+                        ex.getMessage(),
+                        request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /** TodoConflictException をハンドリングし、HTTP 409 を返す。 版数の競合による更新失敗で使用され、クライアントは再読み込みして再試行できる。 */
+    @ExceptionHandler(TodoConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTodoConflictException(
+            TodoConflictException ex, WebRequest request) {
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.CONFLICT.value(),
+                        "Conflict",
+                        ex.getMessage(),
+                        request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /** IllegalArgumentException をハンドリングし、HTTP 400 を返す。 ドメインのバリデーションエラーなどで使用される。 */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
@@ -42,6 +79,53 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /** HttpMessageNotReadableException をハンドリングし、HTTP 400 を返す。 リクエストの本文が JSON として不正な場合や、日付の形式が誤っている場合に使用される。 */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex, WebRequest request) {
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        "リクエストの本文を読み取れません",
+                        request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /** MethodArgumentTypeMismatchException をハンドリングし、HTTP 400 を返す。 数値のパラメータに数値以外が指定された場合などに使用される。 */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, WebRequest request) {
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        "パラメータ " + ex.getName() + " の値が不正です",
+                        request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /** HttpMediaTypeNotSupportedException をハンドリングし、HTTP 415 を返す。 受け付ける Content-Type は Accept ヘッダーで示す。 */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMediaTypeNotSupportedException(
+            HttpMediaTypeNotSupportedException ex, WebRequest request) {
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                        "Unsupported Media Type",
+                        "Content-Type " + ex.getContentType() + " には対応していません",
+                        request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .header(HttpHeaders.ACCEPT, MediaType.toString(ex.getSupportedMediaTypes()))
+                .body(errorResponse);
+    }
+
     /** その他の予期しない例外をハンドリングし、HTTP 500 を返す。 */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, WebRequest request) {
@@ -0,0 +1,150 @@
+package com.example.todoapp.presentation.view;
+
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * 活動中の Todo の一覧を全件、逐次描画してクライアントへ送るレンダラ。
+ *
+ * <p>一覧画面（todos/list）を行を除いて描画し、行の位置で前後に分割する。 前半を送った後、行を一定件数ごとに rows フラグメントで描画して
+ * フラッシュし、最後に後半を送る。 保持するのは描画中の 1 チャンク分の行のみのため、件数によらずヒープ使用量は一定で、最初のバイトも件数によらず送られる。
+ */
+@Component
+public class TodoListStreamRenderer {
+
+    private static final String VIEW_TODOS_LIST = "todos/list";
+    private static final Set<String> ROWS_FRAGMENT = Set.of("rows");
+
+    /** 一覧画面の行の位置に埋め込む目印 */
+    private static final String ROWS_MARKER = "<!--todo-rows-->";
+
+    private final ITemplateEngine templateEngine;
+    private final TodoService todoService;
+    private final JakartaServletWebApplication application;
+    private final int chunkSize;
+
+    /**
+     * TodoListStreamRenderer を構築する。
+     *
+     * @param templateEngine Thymeleaf のテンプレートエンジン
+     * @param todoService Todo のアプリケーションサービス
+     * @param servletContext リンク式の解決に使用するサーブレットコンテキスト
+     * @param chunkSize まとめて描画・フラッシュする行数
+     */
+    public TodoListStreamRenderer(
+            ITemplateEngine templateEngine,
+            TodoService todoService,
+            ServletContext servletContext,
+            @Value("${todoapp.list-stream.chunk-size:100}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("チャンクの行数は1以上で指定してください");
+        }
+        this.templateEngine = templateEngine;
+        this.todoService = todoService;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 一覧を逐次描画するレスポンスボディを生成する。
+     *
+     * <p>描画はレスポンスボディの書き込み時（非同期スレッド）に行われる。
+     *
+     * @param request 現在のリクエスト
+     * @param response 現在のレスポンス
+     * @param locale 描画に使用するロケール
+     * @return 一覧を逐次描画するレスポンスボディ
+     */
+    public StreamingResponseBody render(
+            HttpServletRequest request, HttpServletResponse response, Locale locale) {
+        IWebExchange exchange = application.buildExchange(request, response);
+        return out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            String[] page = renderPage(exchange, locale);
+            writer.write(page[0]);
+            writer.flush();
+
+            List<TodoSummary> chunk = new ArrayList<>(chunkSize);
+            todoService.forEachActiveTodo(
+                    summary -> {
+                        chunk.add(summary);
+                        if (chunk.size() == chunkSize) {
+                            writeRows(exchange, locale, chunk, writer);
+                            chunk.clear();
+                        }
+                    });
+            if (!chunk.isEmpty()) {
+                writeRows(exchange, locale, chunk, writer);
+            }
+
+            writer.write(page[1]);
+            writer.flush();
+        };
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+    /**
+     * 行を除いた一覧画面を描画し、行の位置で前後に分割する。
+     *
+     * @return 行の前と後の HTML
+     */
+    private String[] renderPage(IWebExchange exchange, Locale locale) {
+        WebContext context =
+                new WebContext(
+                        exchange,
+                        locale,
+                        Map.of("todos", List.of(), "streaming", true, "rowsMarker", ROWS_MARKER));
+        StringWriter page = new StringWriter();
+        templateEngine.process(VIEW_TODOS_LIST, context, page);
+        String html = page.toString();
+        int marker = html.indexOf(ROWS_MARKER);
+        if (marker < 0) {
+            throw new IllegalStateException("一覧画面に行の位置の目印がありません");
+        }
+        return new String[] {
+            html.substring(0, marker), html.substring(marker + ROWS_MARKER.length())
+        };
+    }
+
+    /**
+     * 行を rows フラグメントで描画し、クライアントへフラッシュする。
+     */
+    private void writeRows(
+            IWebExchange exchange, Locale locale, List<TodoSummary> rows, Writer writer) {
+        WebContext context = new WebContext(exchange, locale, Map.of("todos", rows));
+        templateEngine.process(
+                new TemplateSpec(VIEW_TODOS_LIST, ROWS_FRAGMENT, TemplateMode.HTML, null),
+                context,
+                writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
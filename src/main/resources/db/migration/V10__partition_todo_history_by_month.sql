@@ -0,0 +1,63 @@
+-- todo_history を created_at（履歴を記録した日時）による月単位のレンジパーティションに変更する。
+-- 古い月の削除はパーティションの切り離し（DETACH / DROP）で済み、VACUUM・索引の保守もパーティションごとに行われる。
+-- 以後のパーティションの作成・期限切れのパーティションの切り離しはアプリケーションの定期処理が行う。
+--
+-- パーティションの主キーにはパーティションキーを含める必要があるため、主キーは (internal_id, version_number, created_at) となる。
+-- 既存の行は新しいテーブルへ複写するため、行数に比例した時間がかかる。
+
+ALTER TABLE todo_history RENAME TO todo_history_unpartitioned;
+ALTER INDEX todo_history_pkey RENAME TO todo_history_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_todo_history_updated_at;
+DROP INDEX IF EXISTS idx_todo_history_as_of;
+
+CREATE TABLE todo_history (
+    internal_id    INTEGER      NOT NULL REFERENCES todos (internal_id),
+    version_number INTEGER      NOT NULL,
+    public_id      UUID,
+    title          VARCHAR(255) NOT NULL,
+    detail         TEXT,
+    due_date       DATE         NOT NULL,
+    completed_flag BOOLEAN      NOT NULL,
+    deleted_flag   BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (internal_id, version_number, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 月のパーティションがまだ作成されていない行の受け皿（通常は空のまま）
+CREATE TABLE todo_history_default PARTITION OF todo_history DEFAULT;
+
+-- 既存の行の最も古い月から、当月の 3 か月先までのパーティションを作成する
+DO
+$$
+DECLARE
+    month_start DATE;
+    last_month  DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', coalesce(min(created_at), now())) INTO month_start
+    FROM todo_history_unpartitioned;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+                'CREATE TABLE %I PARTITION OF todo_history FOR VALUES FROM (%L) TO (%L)',
+                to_char(month_start, '"todo_history_y"YYYY"m"MM'),
+                month_start,
+                month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+INSERT INTO todo_history
+SELECT internal_id, version_number, public_id, title, detail, due_date, completed_flag,
+       deleted_flag, created_at, updated_at
+FROM todo_history_unpartitioned;
+
+DROP TABLE todo_history_unpartitioned;
+
+-- 索引は親テーブルに作成し、各パーティションに同じ索引が作成される（以後作成するパーティションにも自動で作成される）
+-- 履歴のエクスポート（記録日時の範囲）: パーティションの刈り込みの後、各パーティション内を記録日時の順に読み出す
+CREATE INDEX idx_todo_history_created_at ON todo_history (created_at);
+-- 履歴の時点指定（V8 と同じ）
+CREATE INDEX idx_todo_history_as_of ON todo_history (internal_id, updated_at DESC, version_number DESC);
+
+ANALYZE todo_history;
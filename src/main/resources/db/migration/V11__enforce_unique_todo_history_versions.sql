@@ -0,0 +1,55 @@
+-- todo_history の（内部ID, 版数）の一意性を、パーティションをまたいで保証する。
+-- V10 でパーティションキー（created_at）を主キーに含めたため、同じ版を別の月に記録しても主キー違反にならなくなった。
+-- パーティションを持つテーブルの一意索引にはパーティションキーを含める必要があるため、記録した版を
+-- パーティションを持たないテーブル todo_history_versions（台帳）にも記録し、その主キーで並行した INSERT の重複を検出する。
+--
+-- 台帳の行は todo_history から行を削除・アーカイブ・切り離ししても残す（記録済みかどうかの判定に使う）。
+-- 台帳にある版の INSERT は、その版が todo_history に残っている場合のみ拒否する。
+-- created_at を変える UPDATE は、パーティションをまたぐと DELETE と INSERT として実行されるため、これを妨げないためである。
+
+-- 既存の重複は、最も早く記録した行を残して削除する
+DELETE FROM todo_history h
+    USING todo_history d
+WHERE d.internal_id = h.internal_id
+  AND d.version_number = h.version_number
+  AND d.created_at < h.created_at;
+
+CREATE TABLE todo_history_versions (
+    internal_id    INTEGER NOT NULL,
+    version_number INTEGER NOT NULL,
+    PRIMARY KEY (internal_id, version_number)
+);
+
+INSERT INTO todo_history_versions (internal_id, version_number)
+SELECT internal_id, version_number
+FROM todo_history;
+
+-- todo_history への INSERT（COPY を含む）ごとに版を台帳へ記録し、todo_history に同じ版が残っていれば一意制約違反とする。
+-- 同じ版を並行して INSERT した場合、後の INSERT は台帳の行のロックで先のトランザクションの終了を待ってから判定する。
+CREATE OR REPLACE FUNCTION todo_history_claim_version() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO todo_history_versions (internal_id, version_number)
+    VALUES (NEW.internal_id, NEW.version_number)
+    ON CONFLICT DO NOTHING;
+    IF NOT FOUND AND EXISTS (SELECT 1
+                             FROM todo_history
+                             WHERE internal_id = NEW.internal_id
+                               AND version_number = NEW.version_number) THEN
+        RAISE unique_violation
+            USING MESSAGE = format('todo_history に同じ版が記録済みです（internal_id: %s, version_number: %s）',
+                                   NEW.internal_id, NEW.version_number),
+                CONSTRAINT = 'todo_history_versions_pkey';
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+-- 親テーブルに作成し、各パーティションに同じトリガーが作成される（以後接続するパーティションにも作成される）
+CREATE TRIGGER trg_todo_history_claim_version
+    BEFORE INSERT ON todo_history
+    FOR EACH ROW
+EXECUTE FUNCTION todo_history_claim_version();
+
+ANALYZE todo_history_versions;
@@ -0,0 +1,29 @@
+-- Todo 本体と履歴のテーブルを作成する。
+-- マイグレーション導入前から存在する DB は baseline（version 1）として扱われ、このスクリプトは実行されない。
+
+CREATE TABLE todos (
+    internal_id    INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version_number INTEGER,
+    public_id      VARCHAR(255),
+    title          VARCHAR(255) NOT NULL,
+    detail         TEXT,
+    due_date       DATE         NOT NULL,
+    completed_flag BOOLEAN      NOT NULL,
+    deleted_flag   BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE todo_history (
+    internal_id    INTEGER      NOT NULL REFERENCES todos (internal_id),
+    version_number INTEGER      NOT NULL,
+    public_id      VARCHAR(255),
+    title          VARCHAR(255) NOT NULL,
+    detail         TEXT,
+    due_date       DATE         NOT NULL,
+    completed_flag BOOLEAN      NOT NULL,
+    deleted_flag   BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (internal_id, version_number)
+);
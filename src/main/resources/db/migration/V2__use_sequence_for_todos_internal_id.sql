@@ -0,0 +1,17 @@
+-- todos.internal_id の採番を IDENTITY から pooled シーケンスに切り替える。
+-- IDENTITY では INSERT ごとに採番結果を待つ必要があり、Hibernate が JDBC バッチを使えないため。
+--
+-- INCREMENT BY はアプリ側の採番単位（TodoEntity.ID_ALLOCATION_SIZE）に対応する。
+-- 採番単位を変える場合は ALTER SEQUENCE で INCREMENT BY を変更すれば、
+-- Hibernate が起動時にシーケンスの値に合わせる（increment_size_mismatch_strategy=fix）。
+
+-- IDENTITY 列・SERIAL 列のどちらで作成されていても既存の採番を外す
+ALTER TABLE todos ALTER COLUMN internal_id DROP IDENTITY IF EXISTS;
+ALTER TABLE todos ALTER COLUMN internal_id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS todos_internal_id_seq;
+
+CREATE SEQUENCE todos_internal_id_seq INCREMENT BY 50 OWNED BY todos.internal_id;
+
+-- pooled オプティマイザはシーケンスの値を確保範囲の上限として扱うため、
+-- 既存の最大値より 1 ブロック先から開始する
+SELECT setval('todos_internal_id_seq', COALESCE(MAX(internal_id), 0) + 50, false) FROM todos;
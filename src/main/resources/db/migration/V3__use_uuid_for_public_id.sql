@@ -0,0 +1,8 @@
+-- public_id を VARCHAR(255) から PostgreSQL の uuid 型に変更する。
+-- uuid 型は 16 バイト固定長で、36 文字の文字列より比較が速く、索引も小さくなる。
+--
+-- アプリは常に UUID 形式の文字列を採番していたため、既存の値はそのまま変換できる。
+-- UUID 形式でない値が含まれる場合はマイグレーションが失敗するので、事前に修正すること。
+
+ALTER TABLE todos ALTER COLUMN public_id TYPE uuid USING public_id::uuid;
+ALTER TABLE todo_history ALTER COLUMN public_id TYPE uuid USING public_id::uuid;
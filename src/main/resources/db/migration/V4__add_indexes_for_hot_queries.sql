@@ -0,0 +1,15 @@
+-- 頻繁に実行される検索に合わせて索引を追加する。
+-- 手作業で同等の索引を作成済みの DB でも失敗しないよう、IF NOT EXISTS を付ける。
+
+-- findByPublicId（編集画面・各更新操作）: 公開IDは Todo ごとに一意
+CREATE UNIQUE INDEX IF NOT EXISTS uk_todos_public_id ON todos (public_id);
+
+-- 活動中の Todo の一覧（findAllActiveAndValid / キーセットページング）:
+-- 未削除の行だけを一覧の並び順（期限日, 作成日時, 内部ID）で保持する部分索引。
+-- 並び替えが不要になり、カーソル位置からの範囲検索にも使われる。
+CREATE INDEX IF NOT EXISTS idx_todos_active_due_date
+    ON todos (due_date, created_at, internal_id)
+    WHERE deleted_flag = false;
+
+-- 履歴の内部IDによる検索には、主キー (internal_id, version_number) の索引がそのまま使われるため、
+-- 追加の索引は作成しない。
@@ -0,0 +1,5 @@
+-- 更新日時の範囲によるエクスポート（差分の取り出し）のための索引を追加する。
+-- エクスポートは更新日時の昇順で読み出すため、範囲の絞り込みと並び替えの両方にこの索引が使われる。
+CREATE INDEX IF NOT EXISTS idx_todos_updated_at ON todos (updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_todo_history_updated_at ON todo_history (updated_at);
@@ -0,0 +1,20 @@
+-- CSV からの一括取り込みの進捗と、行ごとのエラーを記録するテーブルを作成する。
+-- 取り込みはバッチ単位でコミットし、同じトランザクションで processed_records を進めるため、
+-- 中断した取り込みは processed_records の次の行から再開できる。
+
+CREATE TABLE todo_import_jobs (
+    job_id            UUID         PRIMARY KEY,
+    status            VARCHAR(20)  NOT NULL,
+    processed_records INTEGER      NOT NULL,
+    imported_count    INTEGER      NOT NULL,
+    error_count       INTEGER      NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE todo_import_errors (
+    job_id        UUID    NOT NULL REFERENCES todo_import_jobs (job_id),
+    record_number INTEGER NOT NULL,
+    message       TEXT    NOT NULL,
+    PRIMARY KEY (job_id, record_number)
+);
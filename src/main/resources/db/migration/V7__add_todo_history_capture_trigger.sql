@@ -0,0 +1,29 @@
+-- todos の変更から DB 側で todo_history の行を作成するトリガーを追加する。
+-- セッション変数 todoapp.history_capture が 'database' の接続でのみ動作し、それ以外（未設定を含む）では何もしない。
+-- アプリケーションは接続の初期化時にこの変数を todoapp.history.capture の値に設定する。
+CREATE OR REPLACE FUNCTION todos_capture_history() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF lower(coalesce(current_setting('todoapp.history_capture', true), '')) <> 'database' THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO todo_history (internal_id, version_number, public_id, title, detail, due_date,
+                              completed_flag, deleted_flag, created_at, updated_at)
+    VALUES (NEW.internal_id, NEW.version_number, NEW.public_id, NEW.title, NEW.detail, NEW.due_date,
+            NEW.completed_flag, NEW.deleted_flag, NEW.updated_at, NEW.updated_at);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_todos_capture_history_insert
+    AFTER INSERT ON todos
+    FOR EACH ROW
+EXECUTE FUNCTION todos_capture_history();
+
+-- 版数が増えた更新のみ履歴を記録する（アプリケーション側の記録と同じ規則）
+CREATE TRIGGER trg_todos_capture_history_update
+    AFTER UPDATE ON todos
+    FOR EACH ROW
+    WHEN (NEW.version_number > OLD.version_number)
+EXECUTE FUNCTION todos_capture_history();
@@ -0,0 +1,5 @@
+-- 履歴の参照（ある時点の状態の取得）のための索引を追加する。
+-- Todo ごとに更新日時の降順で並ぶため、「指定日時以前の最新の版」を Todo ごとに先頭の 1 行として読み出せる。
+-- ボード全体の時点指定（DISTINCT ON (internal_id)）も、並び替えなしでこの索引の順に読み出せる。
+CREATE INDEX IF NOT EXISTS idx_todo_history_as_of
+    ON todo_history (internal_id, updated_at DESC, version_number DESC);
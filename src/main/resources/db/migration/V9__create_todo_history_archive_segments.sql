@@ -0,0 +1,18 @@
+-- 保持期間を過ぎた todo_history の版を書き出した、圧縮済みのセグメントファイルの一覧を作成する。
+-- セグメントは内部ID・版数の順に並んだ行をまとめたもので、一度書き出した後は変更しない（追記のみ）。
+-- 内部IDの範囲を記録し、Todo ごとの履歴の参照ではその Todo を含むセグメントだけを読み出す。
+
+CREATE TABLE todo_history_archive_segments (
+    segment_id      UUID         PRIMARY KEY,
+    file_name       VARCHAR(255) NOT NULL,
+    min_internal_id INTEGER      NOT NULL,
+    max_internal_id INTEGER      NOT NULL,
+    min_updated_at  TIMESTAMP(6) NOT NULL,
+    max_updated_at  TIMESTAMP(6) NOT NULL,
+    row_count       INTEGER      NOT NULL,
+    byte_size       BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_todo_history_archive_segments_internal_id
+    ON todo_history_archive_segments (min_internal_id, max_internal_id);
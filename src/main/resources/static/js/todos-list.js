@@ -1,4 +1,25 @@
 ﻿document.addEventListener("DOMContentLoaded", function () {
+  // 詳細は一覧に含まれないため、初めて展開したときに取得する
+  const loadDetail = (el) => {
+    if (!el || el.dataset.loaded) return;
+    el.dataset.loaded = "true";
+    el.textContent = "読み込み中...";
+    fetch(el.getAttribute("data-detail-url"), {
+      headers: { Accept: "application/json" },
+    })
+      .then((res) => {
+        if (!res.ok) throw new Error(res.status);
+        return res.json();
+      })
+      .then((body) => {
+        el.textContent = body.detail || "";
+      })
+      .catch(() => {
+        delete el.dataset.loaded;
+        el.textContent = "詳細を取得できませんでした";
+      });
+  };
+
   const buttons = document.querySelectorAll('[data-toggle="detail"]');
   buttons.forEach((btn) => {
     const targetId = btn.getAttribute("data-target");
@@ -9,6 +30,37 @@
       const isHidden = target.classList.contains("d-none");
       target.classList.toggle("d-none", !isHidden);
       btn.textContent = isHidden ? "- 閉じる" : "+ 詳細";
+      if (isHidden) loadDetail(target.querySelector("[data-detail]"));
     });
   });
+
+  // 一括操作（複数選択）
+  const selectAll = document.getElementById("select-all");
+  const checkboxes = document.querySelectorAll("[data-bulk-select]");
+  const bulkButtons = document.querySelectorAll("[data-bulk-action]");
+
+  const refreshBulkButtons = () => {
+    const selected = Array.from(checkboxes).filter((cb) => cb.checked).length;
+    bulkButtons.forEach((btn) => (btn.disabled = selected === 0));
+    if (selectAll) {
+      selectAll.checked = selected > 0 && selected === checkboxes.length;
+      selectAll.indeterminate = selected > 0 && selected < checkboxes.length;
+    }
+  };
+
+  if (selectAll) {
+    selectAll.addEventListener("change", () => {
+      checkboxes.forEach((cb) => (cb.checked = selectAll.checked));
+      refreshBulkButtons();
+    });
+  }
+  checkboxes.forEach((cb) => cb.addEventListener("change", refreshBulkButtons));
+  bulkButtons.forEach((btn) =>
+    btn.addEventListener("click", (event) => {
+      if (!confirm(btn.getAttribute("data-confirm"))) {
+        event.preventDefault();
+      }
+    })
+  );
+  refreshBulkButtons();
 });
@@ -0,0 +1,61 @@
+package com.example.todoapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * ユースケースが発行する SQL 文の数を検証するテスト用のヘルパー。
+ *
+ * <p>{@link SqlStatementCounter} で、処理の開始からコミットまでに Hibernate が発行した文を数える。 数が一致しない場合は、発行された文と回数を
+ * メッセージに含めて失敗する。
+ */
+public class SqlStatementBudget {
+
+    private final SqlStatementCounter statementCounter;
+
+    /**
+     * SqlStatementBudget を構築する。
+     *
+     * @param statementCounter アプリケーションの SessionFactory に登録された StatementInspector
+     */
+    public SqlStatementBudget(SqlStatementCounter statementCounter) {
+        this.statementCounter = statementCounter;
+    }
+
+    /**
+     * 処理が発行した SQL 文の数を返す。
+     *
+     * @param useCase 数える処理（呼び出し元のスレッドで実行する）
+     * @return SQL 文の数
+     */
+    public long count(Runnable useCase) {
+        try (SqlStatementCounter.Scope statements = statementCounter.open(false)) {
+            useCase.run();
+            return statements.count();
+        }
+    }
+
+    /**
+     * 処理がちょうど指定された数の SQL 文を発行することを検証する。
+     *
+     * @param expected 期待する SQL 文の数
+     * @param useCase 検証する処理（呼び出し元のスレッドで実行する）
+     */
+    public void assertStatements(long expected, Runnable useCase) {
+        try (SqlStatementCounter.Scope statements = statementCounter.open(true)) {
+            useCase.run();
+            assertThat(statements.count())
+                    .as("発行された SQL 文:%n%s", describe(statements.countsBySql()))
+                    .isEqualTo(expected);
+        }
+    }
+
+    private static String describe(Map<String, Integer> countsBySql) {
+        return countsBySql.entrySet().stream()
+                .map(entry -> entry.getValue() + " 回: " + entry.getKey())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.todoapp.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CsvRecordReader のテスト")
+class CsvRecordReaderTest {
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    @DisplayName("正常系: 引用符で囲まれた区切り文字・改行・引用符を値として読み出す")
+    void next_引用符で囲まれた値() throws IOException {
+        // act
+        List<List<String>> records = readAll("a,\"b,c\",\"d\r\ne\",\"f\"\"g\"\r\nh,,i\n");
+
+        // assert
+        assertThat(records)
+                .containsExactly(List.of("a", "b,c", "d\r\ne", "f\"g"), List.of("h", "", "i"));
+    }
+
+    @Test
+    @DisplayName("正常系: 先頭の BOM と空行を読み飛ばす")
+    void next_BOMと空行を読み飛ばす() throws IOException {
+        // act
+        List<List<String>> records = readAll("\uFEFFtitle,dueDate\r\n\r\nx,2099-01-01");
+
+        // assert
+        assertThat(records)
+                .containsExactly(List.of("title", "dueDate"), List.of("x", "2099-01-01"));
+    }
+
+    @Test
+    @DisplayName("異常系: 引用符が閉じられていない場合は例外")
+    void next_引用符が閉じられていない() {
+        // act & assert
+        assertThatThrownBy(() -> readAll("a,\"b\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("引用符");
+    }
+}
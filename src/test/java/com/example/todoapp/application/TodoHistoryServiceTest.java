@@ -0,0 +1,265 @@
+package com.example.todoapp.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.domain.exception.TodoNotFoundException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.value.DueDate;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import com.example.todoapp.infrastructure.repository.export.TodoExportRepository;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryArchive;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoHistoryService のテスト")
+class TodoHistoryServiceTest {
+
+    private static final PublicId PUBLIC_ID =
+            new PublicId(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"));
+
+    @Mock private TodoDomainRepository todoRepository;
+
+    @Mock private TodoHistoryJpaRepository historyRepository;
+
+    @Mock private TodoExportRepository exportRepository;
+
+    @Mock private TodoHistoryArchive archive;
+
+    @InjectMocks private TodoHistoryService historyService;
+
+    // テストデータ準備用のヘルパー
+    private void stubTodo() {
+        Todo todo =
+                new Todo(
+                        new InternalId(7),
+                        PUBLIC_ID,
+                        new VersionNumber(1),
+                        "title",
+                        null,
+                        false,
+                        false,
+                        new DueDate(LocalDate.now().plusDays(1)),
+                        LocalDateTime.now(),
+                        LocalDateTime.now());
+        when(todoRepository.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(todo));
+    }
+
+    private static TodoHistoryExportRow history(int versionNumber) {
+        return new TodoHistoryExportRow(
+                PUBLIC_ID.value(),
+                versionNumber,
+                "title",
+                null,
+                LocalDate.now().plusDays(1),
+                false,
+                false,
+                LocalDateTime.now(),
+                LocalDateTime.now());
+    }
+
+    @Nested
+    @DisplayName("listHistory のテスト")
+    class ListHistoryTest {
+
+        @Test
+        @DisplayName("正常系: 指定件数より多く取得できた場合は次ページの版数を返す")
+        void listHistory_次ページあり() {
+            // arrange
+            stubTodo();
+            when(historyRepository.findPage(7, 2, Limit.of(3)))
+                    .thenReturn(IntStream.rangeClosed(3, 5).mapToObj(v -> history(v)).toList());
+
+            // act
+            TodoHistoryPage page = historyService.listHistory(PUBLIC_ID, 2, 2);
+
+            // assert
+            assertThat(page.items())
+                    .extracting(TodoHistoryExportRow::versionNumber)
+                    .containsExactly(3, 4);
+            assertThat(page.nextAfterVersion()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("正常系: 先頭ページは版数 0 より後ろから取得し、最終ページでは次ページの版数を返さない")
+        void listHistory_先頭かつ最終ページ() {
+            // arrange
+            stubTodo();
+            when(historyRepository.findPage(7, 0, Limit.of(3))).thenReturn(List.of(history(1)));
+
+            // act
+            TodoHistoryPage page = historyService.listHistory(PUBLIC_ID, null, 2);
+
+            // assert
+            assertThat(page.items()).hasSize(1);
+            assertThat(page.nextAfterVersion()).isNull();
+            verify(archive, never()).findVersions(any());
+        }
+
+        @Test
+        @DisplayName("正常系: todo_history にない古い版はアーカイブから補う")
+        void listHistory_アーカイブから補う() {
+            // arrange
+            stubTodo();
+            when(historyRepository.findPage(7, 0, Limit.of(3)))
+                    .thenReturn(List.of(history(4), history(5)));
+            when(archive.findVersions(7)).thenReturn(List.of(history(1), history(2), history(3)));
+
+            // act
+            TodoHistoryPage page = historyService.listHistory(PUBLIC_ID, null, 2);
+
+            // assert
+            assertThat(page.items())
+                    .extracting(TodoHistoryExportRow::versionNumber)
+                    .containsExactly(1, 2);
+            assertThat(page.nextAfterVersion()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("正常系: アーカイブとの境目をまたぐページは両方から取得する")
+        void listHistory_境目をまたぐ() {
+            // arrange
+            stubTodo();
+            when(historyRepository.findPage(7, 2, Limit.of(3)))
+                    .thenReturn(List.of(history(4), history(5)));
+            when(archive.findVersions(7)).thenReturn(List.of(history(1), history(2), history(3)));
+
+            // act
+            TodoHistoryPage page = historyService.listHistory(PUBLIC_ID, 2, 2);
+
+            // assert
+            assertThat(page.items())
+                    .extracting(TodoHistoryExportRow::versionNumber)
+                    .containsExactly(3, 4);
+            assertThat(page.nextAfterVersion()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("異常系: 件数が上限を超える場合は例外")
+        void listHistory_件数が上限超過() {
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    historyService.listHistory(
+                                            PUBLIC_ID, null, TodoHistoryService.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("getAsOf のテスト")
+    class GetAsOfTest {
+
+        @Test
+        @DisplayName("正常系: 指定日時の時点で最新の版を 1 件だけ取得する")
+        void getAsOf_最新の版() {
+            // arrange
+            stubTodo();
+            LocalDateTime at = LocalDateTime.of(2030, 1, 1, 0, 0);
+            when(historyRepository.findLatestAsOf(7, at, Limit.of(1)))
+                    .thenReturn(List.of(history(3)));
+
+            // act
+            TodoHistoryExportRow result = historyService.getAsOf(PUBLIC_ID, at);
+
+            // assert
+            assertThat(result.versionNumber()).isEqualTo(3);
+            verify(historyRepository).findLatestAsOf(eq(7), eq(at), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("正常系: todo_history にその時点以前の版がない場合はアーカイブから取得する")
+        void getAsOf_アーカイブから取得() {
+            // arrange
+            stubTodo();
+            LocalDateTime at = LocalDateTime.of(2020, 1, 1, 0, 0);
+            when(historyRepository.findLatestAsOf(7, at, Limit.of(1))).thenReturn(List.of());
+            when(archive.findLatestAsOf(7, at)).thenReturn(Optional.of(history(2)));
+
+            // act
+            TodoHistoryExportRow result = historyService.getAsOf(PUBLIC_ID, at);
+
+            // assert
+            assertThat(result.versionNumber()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("異常系: 指定日時の時点で作成されていない場合は例外")
+        void getAsOf_作成前() {
+            // arrange
+            stubTodo();
+            when(historyRepository.findLatestAsOf(any(), any(), any())).thenReturn(List.of());
+
+            // act & assert
+            assertThatThrownBy(() -> historyService.getAsOf(PUBLIC_ID, LocalDateTime.now()))
+                    .isInstanceOf(TodoNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("異常系: 日時の指定がない場合は例外")
+        void getAsOf_日時なし() {
+            // act & assert
+            assertThatThrownBy(() -> historyService.getAsOf(PUBLIC_ID, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("forEachStateAsOf のテスト")
+    class ForEachStateAsOfTest {
+
+        @Test
+        @DisplayName("異常系: アーカイブ済みの期間にかかる日時は指定できない")
+        void forEachStateAsOf_アーカイブ済みの期間() {
+            // arrange
+            LocalDateTime at = LocalDateTime.of(2020, 1, 1, 0, 0);
+            when(archive.containsUpdatedAtOrBefore(at)).thenReturn(true);
+            when(historyRepository.existsTodoWithoutHistoryAsOf(at)).thenReturn(true);
+
+            // act & assert
+            assertThatThrownBy(() -> historyService.forEachStateAsOf(at, row -> {}))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(exportRepository, never()).streamStateAsOf(any());
+        }
+
+        @Test
+        @DisplayName("正常系: アーカイブがあっても、その時点の版がすべて todo_history にあれば参照できる")
+        void forEachStateAsOf_アーカイブ後の最近の日時() {
+            // arrange
+            LocalDateTime at = LocalDateTime.now();
+            when(archive.containsUpdatedAtOrBefore(at)).thenReturn(true);
+            when(historyRepository.existsTodoWithoutHistoryAsOf(at)).thenReturn(false);
+            when(exportRepository.streamStateAsOf(at)).thenReturn(Stream.empty());
+
+            // act & assert
+            assertThatCode(() -> historyService.forEachStateAsOf(at, row -> {}))
+                    .doesNotThrowAnyException();
+            verify(exportRepository).streamStateAsOf(at);
+        }
+    }
+}
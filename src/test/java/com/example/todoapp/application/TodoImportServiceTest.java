@@ -0,0 +1,243 @@
+package com.example.todoapp.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.domain.exception.TodoConflictException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.infrastructure.entity.TodoImportJobEntity;
+import com.example.todoapp.infrastructure.entity.TodoImportStatus;
+import com.example.todoapp.infrastructure.repository.importer.TodoCopyWriter;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorJpaRepository;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorRow;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportJobJpaRepository;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoImportService のテスト")
+class TodoImportServiceTest {
+
+    private static final String DUE_DATE = LocalDate.now().plusDays(1).toString();
+
+    @Mock private TodoCopyWriter copyWriter;
+
+    @Mock private TodoImportJobJpaRepository jobRepository;
+
+    @Mock private TodoImportErrorJpaRepository errorRepository;
+
+    private TodoImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        // バッチサイズ 2、検証スレッド 4、キュー容量 1
+        importService =
+                new TodoImportService(
+                        copyWriter,
+                        jobRepository,
+                        errorRepository,
+                        TransactionOperations.withoutTransaction(),
+                        2,
+                        4,
+                        1);
+    }
+
+    // テストデータ準備用のヘルパー
+    private TodoImportJobEntity stubJob(TodoImportStatus status, int processedRecords) {
+        TodoImportJobEntity job = new TodoImportJobEntity();
+        job.setJobId(UUID.randomUUID());
+        job.setStatus(status);
+        job.setProcessedRecords(processedRecords);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        when(jobRepository.findById(job.getJobId())).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    private void stubNewJob() {
+        when(jobRepository.save(any()))
+                .thenAnswer(
+                        invocation -> {
+                            TodoImportJobEntity saved = invocation.getArgument(0);
+                            when(jobRepository.findById(saved.getJobId()))
+                                    .thenReturn(Optional.of(saved));
+                            return saved;
+                        });
+    }
+
+    @Nested
+    @DisplayName("importTodos のテスト")
+    class ImportTodosTest {
+
+        @Test
+        @DisplayName("正常系: 検証を通過した行を書き込み、エラーとなった行は行番号と理由を記録する")
+        @SuppressWarnings("unchecked")
+        void importTodos_検証結果を書き込む() {
+            // arrange
+            stubNewJob();
+            when(jobRepository.advance(any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                    .thenReturn(1);
+            String csv =
+                    "title,detail,dueDate\n"
+                            + "a,detail,"
+                            + DUE_DATE
+                            + "\n"
+                            + "b,,2099/01/01\n"
+                            + ",,"
+                            + DUE_DATE
+                            + "\n"
+                            + "d,,"
+                            + DUE_DATE
+                            + "\n"
+                            + "e,"
+                            + DUE_DATE
+                            + "\n";
+
+            // act
+            TodoImportJob result = importService.importTodos(null, new StringReader(csv));
+
+            // assert
+            ArgumentCaptor<List<Todo>> todos = ArgumentCaptor.forClass(List.class);
+            ArgumentCaptor<List<TodoImportErrorRow>> errors = ArgumentCaptor.forClass(List.class);
+            verify(copyWriter, times(3))
+                    .write(eq(result.jobId()), todos.capture(), errors.capture());
+            assertThat(todos.getAllValues().stream().flatMap(List::stream).map(Todo::getTitle))
+                    .containsExactly("a", "d");
+            assertThat(todos.getAllValues().get(0).get(0).getDetail()).isEqualTo("detail");
+            assertThat(todos.getAllValues().get(1).get(0).getDetail()).isNull();
+            assertThat(errors.getAllValues().stream().flatMap(List::stream))
+                    .containsExactly(
+                            new TodoImportErrorRow(2, "期限日の形式が不正です（yyyy-MM-dd）"),
+                            new TodoImportErrorRow(3, "タイトルは必須です"),
+                            new TodoImportErrorRow(5, "列の数が不正です"));
+            assertThat(result.status()).isEqualTo(TodoImportStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("正常系: バッチは CSV の順序で書き込み、進捗をバッチごとに進める")
+        void importTodos_バッチの順序() {
+            // arrange
+            stubNewJob();
+            when(jobRepository.advance(any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                    .thenReturn(1);
+            StringBuilder csv = new StringBuilder("title,dueDate\n");
+            for (int i = 1; i <= 5; i++) {
+                csv.append("todo").append(i).append(',').append(DUE_DATE).append('\n');
+            }
+
+            // act
+            TodoImportJob result =
+                    importService.importTodos(null, new StringReader(csv.toString()));
+
+            // assert
+            InOrder order = inOrder(jobRepository);
+            order.verify(jobRepository)
+                    .advance(eq(result.jobId()), eq(0), eq(2), eq(2), eq(0), any());
+            order.verify(jobRepository)
+                    .advance(eq(result.jobId()), eq(2), eq(4), eq(2), eq(0), any());
+            order.verify(jobRepository)
+                    .advance(eq(result.jobId()), eq(4), eq(5), eq(1), eq(0), any());
+        }
+
+        @Test
+        @DisplayName("正常系: 再開時はコミット済みの行を読み飛ばす")
+        @SuppressWarnings("unchecked")
+        void importTodos_再開() {
+            // arrange
+            TodoImportJobEntity job = stubJob(TodoImportStatus.FAILED, 2);
+            when(jobRepository.advance(any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                    .thenReturn(1);
+            String csv =
+                    "title,dueDate\n"
+                            + "a,"
+                            + DUE_DATE
+                            + "\n"
+                            + "b,"
+                            + DUE_DATE
+                            + "\n"
+                            + "c,"
+                            + DUE_DATE
+                            + "\n";
+
+            // act
+            TodoImportJob result = importService.importTodos(job.getJobId(), new StringReader(csv));
+
+            // assert
+            ArgumentCaptor<List<Todo>> todos = ArgumentCaptor.forClass(List.class);
+            verify(copyWriter).write(eq(job.getJobId()), todos.capture(), anyList());
+            assertThat(todos.getValue()).extracting(Todo::getTitle).containsExactly("c");
+            verify(jobRepository).advance(eq(job.getJobId()), eq(2), eq(3), eq(1), eq(0), any());
+            assertThat(result.status()).isEqualTo(TodoImportStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("異常系: 進捗が他の処理で更新されていた場合は例外となり、ジョブは失敗となる")
+        void importTodos_進捗の競合() {
+            // arrange
+            TodoImportJobEntity job = stubJob(TodoImportStatus.FAILED, 0);
+            when(jobRepository.advance(any(), anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                    .thenReturn(0);
+
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    importService.importTodos(
+                                            job.getJobId(),
+                                            new StringReader("title,dueDate\na," + DUE_DATE)))
+                    .isInstanceOf(TodoConflictException.class);
+            assertThat(job.getStatus()).isEqualTo(TodoImportStatus.FAILED);
+        }
+
+        @Test
+        @DisplayName("異常系: ヘッダー行に必須の列がない場合は例外となり、何も書き込まない")
+        void importTodos_ヘッダー不正() {
+            // arrange
+            TodoImportJobEntity job = stubJob(TodoImportStatus.FAILED, 0);
+
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    importService.importTodos(
+                                            job.getJobId(), new StringReader("title\na")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(copyWriter, never()).write(any(), anyList(), anyList());
+            assertThat(job.getStatus()).isEqualTo(TodoImportStatus.FAILED);
+        }
+
+        @Test
+        @DisplayName("異常系: 完了済みのジョブは再開できない")
+        void importTodos_完了済み() {
+            // arrange
+            TodoImportJobEntity job = stubJob(TodoImportStatus.COMPLETED, 3);
+
+            // act & assert
+            assertThatThrownBy(
+                            () -> importService.importTodos(job.getJobId(), new StringReader("")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(copyWriter, never()).write(any(), anyList(), anyList());
+        }
+    }
+}
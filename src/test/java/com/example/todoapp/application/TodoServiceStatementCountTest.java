@@ -0,0 +1,92 @@
+package com.example.todoapp.application;
+
+import com.example.todoapp.SqlStatementBudget;
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * ユースケースごとに発行される SQL 文の数を検証する統合テスト。
+ *
+ * <p>{@link SqlStatementBudget} で、Hibernate が準備した文の数を数える。 作成直後の Todo はキャッシュに格納されているため、
+ * 更新系のユースケースでは公開IDによる SELECT は発行されない。 Docker が利用できない環境ではスキップされる。
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TodoService の SQL 発行数のテスト")
+class TodoServiceStatementCountTest {
+
+    @Autowired private TodoService todoService;
+
+    @Autowired private SqlStatementCounter statementCounter;
+
+    private SqlStatementBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        budget = new SqlStatementBudget(statementCounter);
+    }
+
+    private Todo createTodo() {
+        return todoService.createTodo("Title", "Detail", LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    @DisplayName("createTodo: todos の INSERT と履歴の INSERT の 2 文")
+    void createTodo_2文() {
+        // シーケンスからの ID ブロック確保（50 件に 1 回の SELECT nextval）を事前に済ませておく
+        createTodo();
+
+        budget.assertStatements(2, this::createTodo);
+    }
+
+    @Test
+    @DisplayName("updateTodo: UPDATE・履歴の INSERT の 2 文")
+    void updateTodo_2文() {
+        PublicId publicId = createTodo().getPublicId();
+
+        budget.assertStatements(
+                2,
+                () ->
+                        todoService.updateTodo(
+                                publicId,
+                                "Updated",
+                                "Updated Detail",
+                                LocalDate.now().plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("completeTodo: UPDATE・履歴の INSERT の 2 文")
+    void completeTodo_2文() {
+        PublicId publicId = createTodo().getPublicId();
+
+        budget.assertStatements(2, () -> todoService.completeTodo(publicId));
+    }
+
+    @Test
+    @DisplayName("completeTodo: 完了済みの場合は SQL を発行しない")
+    void completeTodo_完了済みは0文() {
+        PublicId publicId = createTodo().getPublicId();
+        todoService.completeTodo(publicId);
+
+        budget.assertStatements(0, () -> todoService.completeTodo(publicId));
+    }
+
+    @Test
+    @DisplayName("deleteTodo: UPDATE・履歴の INSERT の 2 文")
+    void deleteTodo_2文() {
+        PublicId publicId = createTodo().getPublicId();
+
+        budget.assertStatements(2, () -> todoService.deleteTodo(publicId));
+    }
+}
@@ -1,35 +1,56 @@
 package com.example.todoapp.application;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
-
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Nested;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.example.todoapp.domain.exception.TodoConflictException;
 import com.example.todoapp.domain.exception.TodoNotFoundException;
+import com.example.todoapp.domain.exception.TodoVersionMismatchException;
 import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.TodoSummary;
 import com.example.todoapp.domain.model.todo.value.DueDate;
 import com.example.todoapp.domain.model.todo.value.InternalId;
 import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
 import com.example.todoapp.domain.model.todo.value.VersionNumber;
 import com.example.todoapp.domain.repository.TodoDomainRepository;
 import com.example.todoapp.infrastructure.entity.TodoHistoryEntity;
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import com.example.todoapp.infrastructure.metrics.TodoMetrics;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryCapture;
+import com.example.todoapp.infrastructure.repository.history.TodoHistoryWriteBehind;
 import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("TodoService のテスト")
@@ -39,13 +60,23 @@ class TodoServiceTest {
 
     @Mock private TodoHistoryJpaRepository historyRepository;
 
+    @Mock private TransactionOperations transactionOperations;
+
+    @Mock private TodoHistoryWriteBehind historyWriteBehind;
+
+    @Mock private TodoHistoryCapture historyCapture;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy private TodoMetrics metrics = new TodoMetrics(meterRegistry, new SqlStatementCounter());
+
     @InjectMocks private TodoService todoService;
 
     // テストデータ準備用のヘルパー
-    private Todo createSampleTodo(Integer internalId, String publicId, int versionNumber) {
+    private Todo createSampleTodo(Integer internalId, PublicId publicId, int versionNumber) {
         return new Todo(
                 internalId != null ? new InternalId(internalId) : null,
-                new PublicId(publicId),
+                publicId,
                 new VersionNumber(versionNumber),
                 "Sample Title",
                 "Sample Detail",
@@ -57,10 +88,14 @@ class TodoServiceTest {
     }
 
     // 正しいUUID形式の定数
-    private static final String VALID_UUID_1 = "550e8400-e29b-41d4-a716-446655440000";
-    private static final String VALID_UUID_2 = "550e8400-e29b-41d4-a716-446655440001";
-    private static final String VALID_UUID_3 = "550e8400-e29b-41d4-a716-446655440002";
-    private static final String NON_EXISTENT_UUID = "00000000-0000-0000-0000-000000000000";
+    private static final PublicId VALID_UUID_1 =
+            PublicId.of("550e8400-e29b-41d4-a716-446655440000");
+    private static final PublicId VALID_UUID_2 =
+            PublicId.of("550e8400-e29b-41d4-a716-446655440001");
+    private static final PublicId VALID_UUID_3 =
+            PublicId.of("550e8400-e29b-41d4-a716-446655440002");
+    private static final PublicId NON_EXISTENT_UUID =
+            PublicId.of("00000000-0000-0000-0000-000000000000");
 
     // ========================================================================
     // createTodo テスト
@@ -80,7 +115,7 @@ class TodoServiceTest {
             Todo savedTodo =
                     new Todo(
                             new InternalId(1),
-                            new PublicId(VALID_UUID_1),
+                            VALID_UUID_1,
                             new VersionNumber(1),
                             expectedTitle,
                             expectedDetail,
@@ -109,6 +144,65 @@ class TodoServiceTest {
             assertThat(captured.getDetail()).isEqualTo(expectedDetail);
             assertThat(captured.getDueDate().value()).isEqualTo(expectedDueDate);
             verify(historyRepository, times(1)).save(any(TodoHistoryEntity.class));
+            assertThat(
+                            meterRegistry
+                                    .get("todoapp.service")
+                                    .tags("operation", "create", "exception", "none")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
+            assertThat(
+                            meterRegistry
+                                    .get("todoapp.history.save")
+                                    .tags("mode", "sync")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("正常系: write-behind が有効な場合、履歴はコミット後の書き込みに回される")
+        void createTodo_writeBehind() {
+            // arrange
+            LocalDate dueDate = LocalDate.now().plusDays(1);
+            Todo savedTodo =
+                    new Todo(
+                            new InternalId(1),
+                            VALID_UUID_1,
+                            new VersionNumber(1),
+                            "title",
+                            null,
+                            false,
+                            false,
+                            new DueDate(dueDate),
+                            LocalDateTime.now(),
+                            LocalDateTime.now());
+            when(todoRepository.save(any(Todo.class))).thenReturn(savedTodo);
+            when(historyWriteBehind.isEnabled()).thenReturn(true);
+
+            // act
+            todoService.createTodo("title", null, dueDate);
+
+            // assert
+            verify(historyWriteBehind).enqueueAfterCommit(savedTodo);
+            verify(historyRepository, never()).save(any(TodoHistoryEntity.class));
+        }
+
+        @Test
+        @DisplayName("正常系: 履歴を DB のトリガーで作成する場合、アプリケーションは履歴を書き込まない")
+        void createTodo_トリガーで履歴を作成() {
+            // arrange
+            LocalDate dueDate = LocalDate.now().plusDays(1);
+            when(todoRepository.save(any(Todo.class)))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            when(historyCapture.isDatabase()).thenReturn(true);
+
+            // act
+            todoService.createTodo("title", null, dueDate);
+
+            // assert
+            verify(historyRepository, never()).save(any(TodoHistoryEntity.class));
+            verify(historyWriteBehind, never()).enqueueAfterCommit(any());
         }
 
         @Test
@@ -152,7 +246,7 @@ class TodoServiceTest {
         @DisplayName("正常系: Todoを更新し履歴も保存される")
         void updateTodo_正常系() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo existingTodo = createSampleTodo(1, publicId, 1);
 
             String updatedTitle = "Updated Title";
@@ -190,7 +284,7 @@ class TodoServiceTest {
         @DisplayName("異常系: 存在しないTodoを更新しようとすると例外")
         void updateTodo_存在しないTodo() {
             // arrange
-            String publicId = NON_EXISTENT_UUID;
+            PublicId publicId = NON_EXISTENT_UUID;
             when(todoRepository.findByPublicId(any(PublicId.class))).thenReturn(Optional.empty());
 
             // act & assert
@@ -207,13 +301,62 @@ class TodoServiceTest {
             verify(todoRepository, times(1)).findByPublicId(any(PublicId.class));
             verify(todoRepository, never()).save(any(Todo.class));
             verify(historyRepository, never()).save(any(TodoHistoryEntity.class));
+            assertThat(
+                            meterRegistry
+                                    .get("todoapp.todo.not_found")
+                                    .tag("operation", "update")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 版数が競合した場合は例外となり履歴は保存されない")
+        void updateTodo_版数の競合() {
+            // arrange
+            PublicId publicId = VALID_UUID_1;
+            Todo existingTodo = createSampleTodo(1, publicId, 1);
+
+            when(todoRepository.findByPublicId(any(PublicId.class)))
+                    .thenReturn(Optional.of(existingTodo));
+            when(todoRepository.save(any(Todo.class))).thenThrow(new TodoConflictException());
+
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    todoService.updateTodo(
+                                            publicId,
+                                            "Title",
+                                            "Detail",
+                                            LocalDate.now().plusDays(1)))
+                    .isInstanceOf(TodoConflictException.class);
+
+            verify(historyRepository, never()).save(any(TodoHistoryEntity.class));
+            assertThat(
+                            meterRegistry
+                                    .get("todoapp.todo.version_conflict")
+                                    .tag("operation", "update")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(1);
+            assertThat(
+                            meterRegistry
+                                    .get("todoapp.service")
+                                    .tags(
+                                            "operation",
+                                            "update",
+                                            "exception",
+                                            "TodoConflictException")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
         }
 
         @Test
         @DisplayName("異常系: 更新時にタイトルが空白の場合は例外")
         void updateTodo_タイトルが空白() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo existingTodo = createSampleTodo(1, publicId, 1);
 
             when(todoRepository.findByPublicId(any(PublicId.class)))
@@ -229,6 +372,57 @@ class TodoServiceTest {
 
             verify(todoRepository, never()).save(any(Todo.class));
         }
+
+        @Test
+        @DisplayName("正常系: 指定した版数が現在の版数と一致する場合は更新される")
+        void updateTodo_版数が一致() {
+            // arrange
+            PublicId publicId = VALID_UUID_1;
+            Todo existingTodo = createSampleTodo(1, publicId, 3);
+
+            when(todoRepository.findByPublicId(any(PublicId.class)))
+                    .thenReturn(Optional.of(existingTodo));
+            when(todoRepository.save(any(Todo.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            // act
+            Todo result =
+                    todoService.updateTodo(
+                            publicId,
+                            new VersionNumber(3),
+                            "Updated Title",
+                            "Detail",
+                            LocalDate.now().plusDays(1));
+
+            // assert
+            assertThat(result.getVersionNumber().value()).isEqualTo(4);
+            verify(historyRepository, times(1)).save(any(TodoHistoryEntity.class));
+        }
+
+        @Test
+        @DisplayName("異常系: 指定した版数が現在の版数と一致しない場合は更新せずに例外")
+        void updateTodo_版数が不一致() {
+            // arrange
+            PublicId publicId = VALID_UUID_1;
+            Todo existingTodo = createSampleTodo(1, publicId, 3);
+
+            when(todoRepository.findByPublicId(any(PublicId.class)))
+                    .thenReturn(Optional.of(existingTodo));
+
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    todoService.updateTodo(
+                                            publicId,
+                                            new VersionNumber(2),
+                                            "Updated Title",
+                                            "Detail",
+                                            LocalDate.now().plusDays(1)))
+                    .isInstanceOf(TodoVersionMismatchException.class);
+
+            verify(todoRepository, never()).save(any(Todo.class));
+            verify(historyRepository, never()).save(any(TodoHistoryEntity.class));
+            assertThat(existingTodo.getTitle()).isEqualTo("Sample Title");
+        }
     }
 
     // ========================================================================
@@ -242,7 +436,7 @@ class TodoServiceTest {
         @DisplayName("正常系: Todoを完了状態にし履歴も保存される")
         void completeTodo_正常系() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo existingTodo = createSampleTodo(1, publicId, 1);
 
             ArgumentCaptor<Todo> todoCaptor = ArgumentCaptor.forClass(Todo.class);
@@ -279,7 +473,7 @@ class TodoServiceTest {
         @DisplayName("異常系: 存在しないTodoを完了しようとすると例外")
         void completeTodo_存在しないTodo() {
             // arrange
-            String publicId = NON_EXISTENT_UUID;
+            PublicId publicId = NON_EXISTENT_UUID;
             when(todoRepository.findByPublicId(any(PublicId.class))).thenReturn(Optional.empty());
 
             // act & assert
@@ -295,11 +489,11 @@ class TodoServiceTest {
         @DisplayName("重複完了: すでに完了状態のTodoを完了するとスキップされる")
         void completeTodo_重複完了() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo completedTodo =
                     new Todo(
                             new InternalId(1),
-                            new PublicId(publicId),
+                            publicId,
                             new VersionNumber(2),
                             "Sample Title",
                             "Sample Detail",
@@ -321,6 +515,26 @@ class TodoServiceTest {
             verify(todoRepository, times(1)).findByPublicId(any(PublicId.class));
             verify(todoRepository, never()).save(any(Todo.class));
             verify(historyRepository, never()).save(any(TodoHistoryEntity.class));
+            assertThat(meterRegistry.get("todoapp.todo.complete.noop").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 指定した版数が現在の版数と一致しない場合は完了にせずに例外")
+        void completeTodo_版数が不一致() {
+            // arrange
+            PublicId publicId = VALID_UUID_1;
+            Todo existingTodo = createSampleTodo(1, publicId, 2);
+
+            when(todoRepository.findByPublicId(any(PublicId.class)))
+                    .thenReturn(Optional.of(existingTodo));
+
+            // act & assert
+            assertThatThrownBy(() -> todoService.completeTodo(publicId, new VersionNumber(1)))
+                    .isInstanceOf(TodoVersionMismatchException.class);
+
+            assertThat(existingTodo.isCompleted()).isFalse();
+            verify(todoRepository, never()).save(any(Todo.class));
         }
     }
 
@@ -335,7 +549,7 @@ class TodoServiceTest {
         @DisplayName("正常系: Todoを論理削除し履歴も保存される")
         void deleteTodo_正常系() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo existingTodo = createSampleTodo(1, publicId, 1);
 
             ArgumentCaptor<Todo> todoCaptor = ArgumentCaptor.forClass(Todo.class);
@@ -372,7 +586,7 @@ class TodoServiceTest {
         @DisplayName("異常系: 存在しないTodoを削除しようとすると例外")
         void deleteTodo_存在しないTodo() {
             // arrange
-            String publicId = NON_EXISTENT_UUID;
+            PublicId publicId = NON_EXISTENT_UUID;
             when(todoRepository.findByPublicId(any(PublicId.class))).thenReturn(Optional.empty());
 
             // act & assert
@@ -383,6 +597,24 @@ class TodoServiceTest {
             verify(todoRepository, times(1)).findByPublicId(any(PublicId.class));
             verify(todoRepository, never()).save(any(Todo.class));
         }
+
+        @Test
+        @DisplayName("異常系: 指定した版数が現在の版数と一致しない場合は削除せずに例外")
+        void deleteTodo_版数が不一致() {
+            // arrange
+            PublicId publicId = VALID_UUID_1;
+            Todo existingTodo = createSampleTodo(1, publicId, 2);
+
+            when(todoRepository.findByPublicId(any(PublicId.class)))
+                    .thenReturn(Optional.of(existingTodo));
+
+            // act & assert
+            assertThatThrownBy(() -> todoService.deleteTodo(publicId, new VersionNumber(1)))
+                    .isInstanceOf(TodoVersionMismatchException.class);
+
+            assertThat(existingTodo.isDeleted()).isFalse();
+            verify(todoRepository, never()).save(any(Todo.class));
+        }
     }
 
     // ================================================================
@@ -396,7 +628,7 @@ class TodoServiceTest {
         @DisplayName("正常系: 指定したPublicIDのTodoを取得できる")
         void getTodo_正常系() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo existingTodo = createSampleTodo(1, publicId, 1);
 
             when(todoRepository.findByPublicId(any(PublicId.class)))
@@ -407,7 +639,7 @@ class TodoServiceTest {
 
             // assert
             assertThat(result).isNotNull();
-            assertThat(result.getPublicId().value()).isEqualTo(publicId);
+            assertThat(result.getPublicId()).isEqualTo(publicId);
             verify(todoRepository, times(1)).findByPublicId(any(PublicId.class));
         }
 
@@ -415,7 +647,7 @@ class TodoServiceTest {
         @DisplayName("異常系: 存在しないTodoを取得しようとすると例外")
         void getTodo_存在しないTodo() {
             // arrange
-            String publicId = NON_EXISTENT_UUID;
+            PublicId publicId = NON_EXISTENT_UUID;
             when(todoRepository.findByPublicId(any(PublicId.class))).thenReturn(Optional.empty());
 
             // act & assert
@@ -430,7 +662,7 @@ class TodoServiceTest {
         @DisplayName("異常系: 削除済みTodoを取得しようとすると例外")
         void getTodo_削除済みTodo() {
             // arrange
-            String publicId = VALID_UUID_1;
+            PublicId publicId = VALID_UUID_1;
             Todo deletedTodo = createSampleTodo(1, publicId, 1);
             deletedTodo.delete();
 
@@ -466,7 +698,7 @@ class TodoServiceTest {
 
             // assert
             assertThat(result).hasSize(1);
-            assertThat(result.get(0).getPublicId().value()).isEqualTo(VALID_UUID_1);
+            assertThat(result.get(0).getPublicId()).isEqualTo(VALID_UUID_1);
             verify(todoRepository, times(1)).findAllActiveAndValid();
         }
 
@@ -484,4 +716,330 @@ class TodoServiceTest {
             verify(todoRepository, times(1)).findAllActiveAndValid();
         }
     }
+
+    // ========================================================================
+    // listActiveTodos（ページング）テスト
+    // ========================================================================
+    @Nested
+    @DisplayName("listActiveTodos（ページング）のテスト")
+    class ListActiveTodosPageTest {
+
+        @Test
+        @DisplayName("正常系: 件数より多く取得できた場合は次ページのカーソルを返す")
+        void listActiveTodos_次ページあり() {
+            // arrange
+            TodoSummary first = TodoSummary.of(createSampleTodo(1, VALID_UUID_1, 1));
+            TodoSummary second = TodoSummary.of(createSampleTodo(2, VALID_UUID_2, 1));
+            TodoSummary third = TodoSummary.of(createSampleTodo(3, VALID_UUID_3, 1));
+
+            when(todoRepository.findActiveSummaries(isNull(), eq(3)))
+                    .thenReturn(List.of(first, second, third));
+
+            // act
+            TodoPage result = todoService.listActiveTodos(null, 2);
+
+            // assert
+            assertThat(result.items()).containsExactly(first, second);
+            assertThat(result.hasNext()).isTrue();
+            assertThat(result.nextCursor()).isEqualTo(TodoCursor.of(second));
+        }
+
+        @Test
+        @DisplayName("正常系: カーソルを指定すると続きのページを取得し、最終ページではカーソルを返さない")
+        void listActiveTodos_最終ページ() {
+            // arrange
+            TodoSummary previous = TodoSummary.of(createSampleTodo(2, VALID_UUID_2, 1));
+            TodoSummary last = TodoSummary.of(createSampleTodo(3, VALID_UUID_3, 1));
+            TodoCursor cursor = TodoCursor.of(previous);
+
+            when(todoRepository.findActiveSummaries(eq(cursor), eq(3))).thenReturn(List.of(last));
+
+            // act
+            TodoPage result = todoService.listActiveTodos(cursor.encode(), 2);
+
+            // assert
+            assertThat(result.items()).containsExactly(last);
+            assertThat(result.hasNext()).isFalse();
+            verify(todoRepository, times(1)).findActiveSummaries(eq(cursor), eq(3));
+        }
+
+        @Test
+        @DisplayName("異常系: 件数が上限を超える場合は例外")
+        void listActiveTodos_件数が上限超過() {
+            // act & assert
+            assertThatThrownBy(
+                            () -> todoService.listActiveTodos(null, TodoService.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(todoRepository, never()).findActiveSummaries(any(), any(Integer.class));
+        }
+    }
+
+    // ========================================================================
+    // forEachActiveTodo テスト
+    // ========================================================================
+    @Nested
+    @DisplayName("forEachActiveTodo のテスト")
+    class ForEachActiveTodoTest {
+
+        @Test
+        @DisplayName("正常系: 一覧の並び順で 1 件ずつ処理し、処理後にストリームを閉じる")
+        void forEachActiveTodo_逐次処理() {
+            // arrange
+            TodoSummary first = TodoSummary.of(createSampleTodo(1, VALID_UUID_1, 1));
+            TodoSummary second = TodoSummary.of(createSampleTodo(2, VALID_UUID_2, 1));
+            AtomicBoolean closed = new AtomicBoolean();
+            when(todoRepository.streamActiveSummaries())
+                    .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+            List<TodoSummary> visited = new ArrayList<>();
+
+            // act
+            todoService.forEachActiveTodo(visited::add);
+
+            // assert
+            assertThat(visited).containsExactly(first, second);
+            assertThat(closed).isTrue();
+        }
+    }
+
+    // ========================================================================
+    // createTodos テスト
+    // ========================================================================
+    @Nested
+    @DisplayName("createTodos のテスト")
+    class CreateTodosTest {
+
+        /** トランザクションテンプレートをコールバックの直接実行に置き換える。 */
+        private void executeCallbacksDirectly() {
+            when(transactionOperations.execute(any()))
+                    .thenAnswer(
+                            inv ->
+                                    inv.<TransactionCallback<?>>getArgument(0)
+                                            .doInTransaction(null));
+        }
+
+        /** saveAll に渡された Todo に内部IDを採番したものを返す。 */
+        private void assignIdsOnSaveAll() {
+            when(todoRepository.saveAll(anyList()))
+                    .thenAnswer(
+                            inv -> {
+                                List<Todo> todos = inv.getArgument(0);
+                                return todos.stream()
+                                        .map(
+                                                t ->
+                                                        new Todo(
+                                                                new InternalId(
+                                                                        t.getTitle().length()),
+                                                                t.getPublicId(),
+                                                                t.getVersionNumber(),
+                                                                t.getTitle(),
+                                                                t.getDetail(),
+                                                                t.isCompleted(),
+                                                                t.isDeleted(),
+                                                                t.getDueDate(),
+                                                                t.getCreatedAt(),
+                                                                t.getUpdatedAt()))
+                                        .toList();
+                            });
+        }
+
+        @Test
+        @DisplayName("正常系: 不正な項目はエラーとして返し、残りの項目は作成される")
+        void createTodos_不正な項目のみエラー() {
+            // arrange
+            executeCallbacksDirectly();
+            assignIdsOnSaveAll();
+            LocalDate dueDate = LocalDate.now().plusDays(1);
+            List<CreateTodoCommand> commands =
+                    List.of(
+                            new CreateTodoCommand("a", "detail", dueDate),
+                            new CreateTodoCommand("", "detail", dueDate),
+                            new CreateTodoCommand("ccc", "detail", dueDate));
+
+            // act
+            BulkCreateResult result = todoService.createTodos(commands);
+
+            // assert
+            assertThat(result.created())
+                    .extracting(BulkCreateResult.Created::index)
+                    .containsExactly(0, 2);
+            assertThat(result.errors()).hasSize(1);
+            assertThat(result.errors().get(0).index()).isEqualTo(1);
+            assertThat(result.errors().get(0).message()).contains("タイトルは必須です");
+            verify(todoRepository, times(1)).saveAll(anyList());
+            verify(historyRepository, times(1)).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("正常系: write-behind が有効な場合、作成した Todo の履歴をまとめてキューへ入れる")
+        void createTodos_writeBehind() {
+            // arrange
+            executeCallbacksDirectly();
+            assignIdsOnSaveAll();
+            when(historyWriteBehind.isEnabled()).thenReturn(true);
+            LocalDate dueDate = LocalDate.now().plusDays(1);
+            List<CreateTodoCommand> commands =
+                    List.of(
+                            new CreateTodoCommand("a", "detail", dueDate),
+                            new CreateTodoCommand("bb", "detail", dueDate));
+
+            // act
+            todoService.createTodos(commands);
+
+            // assert
+            verify(historyWriteBehind, times(1)).enqueueAllAfterCommit(anyList());
+            verify(historyRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("正常系: チャンクごとに別トランザクションで保存される")
+        void createTodos_チャンクごとに保存() {
+            // arrange
+            executeCallbacksDirectly();
+            assignIdsOnSaveAll();
+            LocalDate dueDate = LocalDate.now().plusDays(1);
+            List<CreateTodoCommand> commands =
+                    IntStream.range(0, TodoService.BULK_CHUNK_SIZE + 1)
+                            .mapToObj(i -> new CreateTodoCommand("title", null, dueDate))
+                            .toList();
+
+            // act
+            BulkCreateResult result = todoService.createTodos(commands);
+
+            // assert
+            assertThat(result.created()).hasSize(TodoService.BULK_CHUNK_SIZE + 1);
+            assertThat(result.errors()).isEmpty();
+            verify(transactionOperations, times(2)).execute(any());
+            verify(todoRepository, times(2)).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("異常系: チャンクの保存に失敗した場合はそのチャンクの項目のみエラーとなる")
+        void createTodos_チャンクの保存失敗() {
+            // arrange
+            when(transactionOperations.execute(any()))
+                    .thenThrow(new DataAccessResourceFailureException("connection lost"));
+            LocalDate dueDate = LocalDate.now().plusDays(1);
+            List<CreateTodoCommand> commands =
+                    List.of(
+                            new CreateTodoCommand(null, "detail", dueDate),
+                            new CreateTodoCommand("b", "detail", dueDate));
+
+            // act
+            BulkCreateResult result = todoService.createTodos(commands);
+
+            // assert
+            assertThat(result.created()).isEmpty();
+            assertThat(result.errors())
+                    .extracting(BulkCreateResult.ItemError::index)
+                    .containsExactly(0, 1);
+        }
+
+        @Test
+        @DisplayName("異常系: 件数が上限を超える場合は例外")
+        void createTodos_件数が上限超過() {
+            // arrange
+            List<CreateTodoCommand> commands =
+                    Collections.nCopies(
+                            TodoService.MAX_BULK_SIZE + 1,
+                            new CreateTodoCommand("title", null, LocalDate.now()));
+
+            // act & assert
+            assertThatThrownBy(() -> todoService.createTodos(commands))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(todoRepository, never()).saveAll(anyList());
+        }
+    }
+
+    // ========================================================================
+    // completeTodos / deleteTodos テスト
+    // ========================================================================
+    @Nested
+    @DisplayName("completeTodos / deleteTodos のテスト")
+    class BulkStateChangeTest {
+
+        private final PublicId publicId1 = PublicId.of("123e4567-e89b-12d3-a456-426614174000");
+        private final PublicId publicId2 = PublicId.of("123e4567-e89b-12d3-a456-426614174001");
+
+        @Test
+        @DisplayName("正常系: 完了状態へ遷移した件数を返し、その分の履歴を一括で記録する")
+        void completeTodos_成功() {
+            // arrange
+            when(todoRepository.completeAll(anyList()))
+                    .thenReturn(
+                            List.of(
+                                    createSampleTodo(1, publicId1, 2),
+                                    createSampleTodo(2, publicId2, 2)));
+
+            // act
+            int count = todoService.completeTodos(List.of(publicId1, publicId2));
+
+            // assert
+            assertThat(count).isEqualTo(2);
+            verify(todoRepository, times(1)).completeAll(List.of(publicId1, publicId2));
+            verify(historyRepository, times(1))
+                    .insertSnapshotsOf(eq(new Integer[] {1, 2}), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("正常系: 遷移した Todo がない場合は履歴を記録しない")
+        void completeTodos_対象なし() {
+            // arrange
+            when(todoRepository.completeAll(anyList())).thenReturn(List.of());
+
+            // act
+            int count = todoService.completeTodos(List.of(publicId1));
+
+            // assert
+            assertThat(count).isZero();
+            verify(historyRepository, never()).insertSnapshotsOf(any(), any());
+        }
+
+        @Test
+        @DisplayName("正常系: 削除状態へ遷移した件数を返し、その分の履歴を一括で記録する")
+        void deleteTodos_成功() {
+            // arrange
+            when(todoRepository.deleteAll(anyList()))
+                    .thenReturn(List.of(createSampleTodo(1, publicId1, 2)));
+
+            // act
+            int count = todoService.deleteTodos(List.of(publicId1, publicId2));
+
+            // assert
+            assertThat(count).isEqualTo(1);
+            verify(historyRepository, times(1))
+                    .insertSnapshotsOf(eq(new Integer[] {1}), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("正常系: write-behind が有効な場合、一括更新後の状態をキューへ入れ、同期では記録しない")
+        void completeTodos_writeBehind() {
+            // arrange
+            List<Todo> completed = List.of(createSampleTodo(1, publicId1, 2));
+            when(todoRepository.completeAll(anyList())).thenReturn(completed);
+            when(historyWriteBehind.isEnabled()).thenReturn(true);
+
+            // act
+            todoService.completeTodos(List.of(publicId1));
+
+            // assert
+            verify(historyWriteBehind).enqueueAllAfterCommit(completed);
+            verify(historyRepository, never()).insertSnapshotsOf(any(), any());
+        }
+
+        @Test
+        @DisplayName("異常系: 件数が上限を超える場合は例外")
+        void completeTodos_件数が上限超過() {
+            // arrange
+            List<PublicId> publicIds =
+                    Collections.nCopies(TodoService.MAX_BULK_SIZE + 1, publicId1);
+
+            // act & assert
+            assertThatThrownBy(() -> todoService.completeTodos(publicIds))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(todoRepository, never()).completeAll(anyList());
+        }
+    }
 }
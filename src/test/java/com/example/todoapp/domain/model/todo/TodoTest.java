@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import com.example.todoapp.domain.model.todo.value.DueDate;
 import com.example.todoapp.domain.model.todo.value.InternalId;
 import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
 
 @DisplayName("Todo のテスト")
 class TodoTest {
@@ -329,4 +330,47 @@ class TodoTest {
             assertThat(todo.isCompleted()).isEqualTo(completedBefore);
         }
     }
+
+    // ========================================================================
+    // persistedVersionNumber テスト
+    // ========================================================================
+    @Nested
+    @DisplayName("persistedVersionNumber のテスト")
+    class PersistedVersionNumberTest {
+
+        @Test
+        @DisplayName("正常系: 永続化前のTodoは復元時点の版数を持たない")
+        void persistedVersionNumber_永続化前はnull() {
+            // act
+            Todo todo = Todo.create("title", "detail", LocalDate.now().plusDays(1));
+
+            // assert
+            assertThat(todo.getPersistedVersionNumber()).isNull();
+        }
+
+        @Test
+        @DisplayName("正常系: 更新しても復元時点の版数は変わらない")
+        void persistedVersionNumber_更新しても変わらない() {
+            // arrange
+            Todo todo =
+                    new Todo(
+                            new InternalId(1),
+                            PublicId.generate(),
+                            new VersionNumber(3),
+                            "title",
+                            "detail",
+                            false,
+                            false,
+                            new DueDate(LocalDate.now().plusDays(1)),
+                            LocalDateTime.now(),
+                            LocalDateTime.now());
+
+            // act
+            todo.complete();
+
+            // assert
+            assertThat(todo.getVersionNumber().value()).isEqualTo(4);
+            assertThat(todo.getPersistedVersionNumber().value()).isEqualTo(3);
+        }
+    }
 }
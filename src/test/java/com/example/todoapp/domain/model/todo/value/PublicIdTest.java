@@ -3,6 +3,7 @@ package com.example.todoapp.domain.model.todo.value;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -21,24 +22,33 @@ class PublicIdTest {
             String uuid = "123e4567-e89b-12d3-a456-426614174000";
 
             // act
-            PublicId id = new PublicId(uuid);
+            PublicId id = PublicId.of(uuid);
 
             // assert
-            assertThat(id.value()).isEqualTo(uuid);
+            assertThat(id.value()).isEqualTo(UUID.fromString(uuid));
+            assertThat(id.toString()).isEqualTo(uuid);
         }
 
         @Test
         @DisplayName("異常系: 空文字では生成できない")
         void constructor_空文字では生成できない() {
             // act & assert
-            assertThatThrownBy(() -> new PublicId("")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> PublicId.of("")).isInstanceOf(IllegalArgumentException.class);
         }
 
         @Test
         @DisplayName("異常系: 不正なUUID文字列では生成できない")
         void constructor_不正なUUID文字列では生成できない() {
             // act & assert
-            assertThatThrownBy(() -> new PublicId("not-a-uuid"))
+            assertThatThrownBy(() -> PublicId.of("not-a-uuid"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    
+        @Test
+        @DisplayName("異常系: nullでは生成できない")
+        void constructor_nullでは生成できない() {
+            // act & assert
+            assertThatThrownBy(() -> new PublicId(null))
                     .isInstanceOf(IllegalArgumentException.class);
         }
     }
@@ -0,0 +1,73 @@
+package com.example.todoapp.domain.model.todo.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TodoCursor のテスト")
+class TodoCursorTest {
+
+    @Nested
+    @DisplayName("生成 のテスト")
+    class ConstructorTest {
+
+        @Test
+        @DisplayName("異常系: 期限日がnullでは生成できない")
+        void constructor_期限日がnullでは生成できない() {
+            // act & assert
+            assertThatThrownBy(() -> new TodoCursor(null, LocalDateTime.now(), 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("異常系: 内部IDがnullでは生成できない")
+        void constructor_内部IDがnullでは生成できない() {
+            // act & assert
+            assertThatThrownBy(() -> new TodoCursor(LocalDate.now(), LocalDateTime.now(), null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("encode / decode のテスト")
+    class EncodeDecodeTest {
+
+        @Test
+        @DisplayName("正常系: エンコードしたトークンから同じカーソルに復元できる")
+        void decode_エンコードしたトークンから復元できる() {
+            // arrange
+            TodoCursor cursor =
+                    new TodoCursor(
+                            LocalDate.of(2099, 1, 1),
+                            LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123456000),
+                            42);
+
+            // act
+            TodoCursor decoded = TodoCursor.decode(cursor.encode());
+
+            // assert
+            assertThat(decoded).isEqualTo(cursor);
+        }
+
+        @Test
+        @DisplayName("異常系: 不正なトークンは復元できない")
+        void decode_不正なトークンは復元できない() {
+            // act & assert
+            assertThatThrownBy(() -> TodoCursor.decode("not-a-cursor"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("異常系: 空のトークンは復元できない")
+        void decode_空のトークンは復元できない() {
+            // act & assert
+            assertThatThrownBy(() -> TodoCursor.decode(" "))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
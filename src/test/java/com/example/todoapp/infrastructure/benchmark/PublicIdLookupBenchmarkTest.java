@@ -0,0 +1,127 @@
+package com.example.todoapp.infrastructure.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 公開IDによる検索（findByPublicId）の速度と索引サイズを、VARCHAR 列と uuid 列で比較するベンチマーク。
+ *
+ * <p>同じ UUID を格納した 2 つのテーブルに一意索引を作成し、 findByPublicId と同じ形の SELECT を繰り返し実行する。 {@code ./mvnw
+ * test -Pbenchmark} で実行し、件数は {@code -Dbenchmark.rows}、検索回数は {@code -Dbenchmark.lookups} で変更できる。
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("公開IDによる検索のベンチマーク")
+class PublicIdLookupBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 20_000);
+
+    private static final String VARCHAR_TABLE = "bench_varchar_public_ids";
+    private static final String UUID_TABLE = "bench_uuid_public_ids";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private List<UUID> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute(
+                "CREATE TABLE "
+                        + UUID_TABLE
+                        + " AS SELECT gen_random_uuid() AS public_id, 'title'::varchar AS title "
+                        + "FROM generate_series(1, "
+                        + ROWS
+                        + ")");
+        jdbcTemplate.execute(
+                "CREATE TABLE "
+                        + VARCHAR_TABLE
+                        + " AS SELECT public_id::varchar(255) AS public_id, title FROM "
+                        + UUID_TABLE);
+        jdbcTemplate.execute("CREATE UNIQUE INDEX ON " + UUID_TABLE + " (public_id)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX ON " + VARCHAR_TABLE + " (public_id)");
+        jdbcTemplate.execute("ANALYZE " + UUID_TABLE);
+        jdbcTemplate.execute("ANALYZE " + VARCHAR_TABLE);
+        ids = jdbcTemplate.queryForList("SELECT public_id FROM " + UUID_TABLE, UUID.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + VARCHAR_TABLE);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + UUID_TABLE);
+    }
+
+    @Test
+    @DisplayName("VARCHAR 列と uuid 列で検索速度と索引サイズを比較する")
+    void compareVarcharAndUuid() {
+        // JIT とコネクションプール、共有バッファのウォームアップ
+        lookupByString(LOOKUPS / 10);
+        lookupByUuid(LOOKUPS / 10);
+
+        long varcharNanos = lookupByString(LOOKUPS);
+        long uuidNanos = lookupByUuid(LOOKUPS);
+        long varcharIndexBytes = indexSize(VARCHAR_TABLE);
+        long uuidIndexBytes = indexSize(UUID_TABLE);
+
+        report("VARCHAR(255)", varcharNanos, varcharIndexBytes);
+        report("uuid", uuidNanos, uuidIndexBytes);
+        System.out.printf(
+                "[benchmark] lookup speedup: %.2fx, index size ratio: %.2fx%n",
+                (double) varcharNanos / uuidNanos, (double) varcharIndexBytes / uuidIndexBytes);
+
+        assertThat(uuidIndexBytes).isLessThan(varcharIndexBytes);
+    }
+
+    private long lookupByString(int lookups) {
+        String sql = "SELECT title FROM " + VARCHAR_TABLE + " WHERE public_id = ?";
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            jdbcTemplate.queryForObject(sql, String.class, randomId().toString());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long lookupByUuid(int lookups) {
+        String sql = "SELECT title FROM " + UUID_TABLE + " WHERE public_id = ?";
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            jdbcTemplate.queryForObject(sql, String.class, randomId());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private long indexSize(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT pg_indexes_size(?::regclass)", Long.class, table);
+    }
+
+    private static void report(String label, long nanos, long indexBytes) {
+        System.out.printf(
+                "[benchmark] %-14s rows=%d lookups=%d avg=%.1fus index=%.1fMiB%n",
+                label,
+                ROWS,
+                LOOKUPS,
+                nanos / 1_000.0 / LOOKUPS,
+                indexBytes / 1024.0 / 1024.0);
+    }
+}
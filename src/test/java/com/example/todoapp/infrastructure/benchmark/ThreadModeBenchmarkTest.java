@@ -0,0 +1,196 @@
+package com.example.todoapp.infrastructure.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.Todo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * /todos のエンドポイントのスループットと p99 を、プラットフォームスレッドと仮想スレッドで比較するベンチマーク。
+ *
+ * <p>同じ DB に対してアプリケーションを 2 つの設定で順に起動し、 Tomcat のスレッド数より多いクライアントから一覧（DB から取得）と履歴を交互に取得する。
+ * 仮想スレッドの場合は接続プールへの同時アクセスをセマフォで制限する。 {@code ./mvnw test -Pbenchmark} で実行し、 クライアント数は {@code
+ * -Dbenchmark.clients}、計測時間（秒）は {@code -Dbenchmark.seconds} で変更できる。
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("スレッドの方式によるスループットのベンチマーク")
+class ThreadModeBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 20);
+    private static final int TODOS = 200;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    /** 1 つの設定での計測結果 */
+    private record Result(
+            String mode, long requests, long errors, double throughput, long p99Micros) {}
+
+    @Test
+    @DisplayName("プラットフォームスレッドと仮想スレッドでスループットと p99 を比較する")
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        report(platform);
+        report(virtual);
+        System.out.printf(
+                "[benchmark] java=%s throughput ratio (virtual/platform): %.2fx, p99 ratio: %.2fx%n",
+                Runtime.version(),
+                virtual.throughput() / platform.throughput(),
+                (double) virtual.p99Micros() / platform.p99Micros());
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(TodoAppApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                                "spring.datasource.username=" + POSTGRES.getUsername(),
+                                "spring.datasource.password=" + POSTGRES.getPassword(),
+                                "spring.threads.virtual.enabled=" + virtualThreads,
+                                // 一覧をインメモリの索引ではなく DB から取得する
+                                "todoapp.active-index.enabled=false")
+                        .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            List<String> publicIds = seed(context.getBean(TodoService.class));
+            return load(mode, "http://localhost:" + port, publicIds);
+        }
+    }
+
+    private static List<String> seed(TodoService todoService) {
+        List<String> publicIds = new ArrayList<>();
+        for (int i = 0; i < TODOS; i++) {
+            Todo todo =
+                    todoService.createTodo("title" + i, null, LocalDate.now().plusDays(i % 30 + 1));
+            todoService.updateTodo(
+                    todo.getPublicId(), "title" + i + "-2", null, todo.getDueDate().value());
+            publicIds.add(todo.getPublicId().value().toString());
+        }
+        return publicIds;
+    }
+
+    /** 全クライアントが計測時間の間リクエストを送り続け、成功した応答の件数と遅延を集計する（ウォームアップを含む）。 */
+    private static Result load(String mode, String baseUrl, List<String> publicIds)
+            throws Exception {
+        HttpClient client =
+                HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+        // JIT・接続プールのウォームアップ
+        runClients(client, baseUrl, publicIds, Math.max(1, SECONDS / 4), new AtomicLong());
+
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        List<long[]> latencies = runClients(client, baseUrl, publicIds, SECONDS, errors);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        long p99 =
+                all.length == 0
+                        ? 0
+                        : all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)];
+        return new Result(mode, all.length, errors.get(), all.length / elapsedSeconds, p99 / 1_000);
+    }
+
+    private static List<long[]> runClients(
+            HttpClient client,
+            String baseUrl,
+            List<String> publicIds,
+            int seconds,
+            AtomicLong errors)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(
+                        clients.submit(
+                                () -> {
+                                    long[] samples = new long[1024];
+                                    int count = 0;
+                                    while (System.nanoTime() < deadline) {
+                                        HttpRequest request =
+                                                HttpRequest.newBuilder(nextUri(baseUrl, publicIds))
+                                                        .build();
+                                        long sent = System.nanoTime();
+                                        HttpResponse<Void> response =
+                                                client.send(
+                                                        request,
+                                                        HttpResponse.BodyHandlers.discarding());
+                                        long latency = System.nanoTime() - sent;
+                                        if (response.statusCode() != 200) {
+                                            errors.incrementAndGet();
+                                            continue;
+                                        }
+                                        if (count == samples.length) {
+                                            samples = Arrays.copyOf(samples, count * 2);
+                                        }
+                                        samples[count++] = latency;
+                                    }
+                                    return Arrays.copyOf(samples, count);
+                                }));
+            }
+            List<long[]> latencies = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get());
+            }
+            return latencies;
+        }
+    }
+
+    /** 一覧の先頭ページと、ランダムな Todo の履歴を半々で要求する。 */
+    private static URI nextUri(String baseUrl, List<String> publicIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextBoolean()) {
+            return URI.create(baseUrl + "/todos?size=20");
+        }
+        return URI.create(
+                baseUrl + "/todos/" + publicIds.get(random.nextInt(publicIds.size())) + "/history");
+    }
+
+    private static void report(Result result) {
+        System.out.printf(
+                "[benchmark] %-8s clients=%d seconds=%d requests=%d errors=%d throughput=%.0f req/s p99=%.1fms%n",
+                result.mode(),
+                CLIENTS,
+                SECONDS,
+                result.requests(),
+                result.errors(),
+                result.throughput(),
+                result.p99Micros() / 1_000.0);
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.todoapp.infrastructure.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.application.BulkCreateResult;
+import com.example.todoapp.application.CreateTodoCommand;
+import com.example.todoapp.application.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * /todos の画面のエンドポイント（一覧・作成・編集・完了・削除）に、決まった到着率でリクエストを送る負荷試験。
+ *
+ * <p>PostgreSQL コンテナに接続したアプリケーションを起動し、応答を待たずに指数分布の間隔（オープンモデル）でリクエストを送る。
+ * 遅延は予定した送信時刻から応答までの時間で計測するため、 応答が遅れて送信が詰まった分も遅延に含まれる（coordinated omission の補正）。
+ * 送信してから応答までの時間も別に集計する。
+ *
+ * <p>{@code ./mvnw test -Ploadtest} で実行し、エンドポイントごとの p50・p95・p99・最大値を {@code -Dloadtest.output}（既定は
+ * target/loadtest/todo-endpoints.json）に JSON で書き出す。 到着率（件/秒）は {@code -Dloadtest.rate}、計測時間（秒）は
+ * {@code -Dloadtest.seconds}、結果に付けるラベル（コミットなど）は {@code -Dloadtest.label} で変更できる。
+ */
+@Tag("loadtest")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Todo の画面のエンドポイントの負荷試験")
+class TodoEndpointLoadTest {
+
+    private static final double RATE =
+            Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int SEED_TODOS = Integer.getInteger("loadtest.seed-todos", 5_000);
+    private static final long RANDOM_SEED = Long.getLong("loadtest.random-seed", 1L);
+    private static final String LABEL = System.getProperty("loadtest.label", "");
+    private static final Path OUTPUT =
+            Path.of(System.getProperty("loadtest.output", "target/loadtest/todo-endpoints.json"));
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    /** 負荷の内訳（重みの合計は 100）。 完了・削除した分を作成で補い、活動中の Todo の件数をおおよそ保つ。 */
+    private enum Operation {
+        LIST("GET", "/todos", 55),
+        CREATE("POST", "/todos", 15),
+        EDIT("POST", "/todos/{publicId}", 15),
+        COMPLETE("POST", "/todos/{publicId}/complete", 8),
+        DELETE("POST", "/todos/{publicId}/delete", 7);
+
+        private final String method;
+        private final String path;
+        private final int weight;
+
+        Operation(String method, String path, int weight) {
+            this.method = method;
+            this.path = path;
+            this.weight = weight;
+        }
+
+        static Operation pick(SplittableRandom random) {
+            int r = random.nextInt(100);
+            for (Operation operation : values()) {
+                r -= operation.weight;
+                if (r < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException("重みの合計が 100 ではありません");
+        }
+
+        boolean needsTodo() {
+            return this == EDIT || this == COMPLETE || this == DELETE;
+        }
+    }
+
+    /** 1 つのエンドポイントの集計（時間はマイクロ秒） */
+    private static final class EndpointStats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+
+    /**
+     * 編集・完了・削除の対象にする Todo の公開 ID。
+     *
+     * <p>同じ Todo を同時に操作しないよう、操作している間は取り出しておき、編集が終わったら戻す（完了・削除した Todo は戻さない）。
+     */
+    private static final class TodoPool {
+        private final List<String> publicIds;
+
+        private TodoPool(List<String> publicIds) {
+            this.publicIds = new ArrayList<>(publicIds);
+        }
+
+        synchronized String take() {
+            if (publicIds.isEmpty()) {
+                return null;
+            }
+            int i = ThreadLocalRandom.current().nextInt(publicIds.size());
+            String publicId = publicIds.get(i);
+            publicIds.set(i, publicIds.getLast());
+            publicIds.removeLast();
+            return publicId;
+        }
+
+        synchronized void put(String publicId) {
+            publicIds.add(publicId);
+        }
+    }
+
+    /**
+     * 出力する結果。
+     *
+     * @param offeredRate 計測時間内に実際に送信した件数（件/秒）
+     * @param throughput 応答を受け取った件数を、最後の応答までの時間で割った値（件/秒）
+     */
+    private record Report(
+            String label,
+            String java,
+            double targetRate,
+            double offeredRate,
+            double throughput,
+            int seconds,
+            int warmupSeconds,
+            int seedTodos,
+            long randomSeed,
+            Map<String, EndpointReport> endpoints) {}
+
+    /**
+     * 1 つのエンドポイントの結果。
+     *
+     * @param latencyMillis 予定した送信時刻から応答までの時間（coordinated omission を補正した値）
+     * @param serviceTimeMillis 実際に送信してから応答までの時間
+     */
+    private record EndpointReport(
+            String method,
+            String path,
+            long requests,
+            long errors,
+            long skipped,
+            Percentiles latencyMillis,
+            Percentiles serviceTimeMillis) {}
+
+    private record Percentiles(double p50, double p95, double p99, double max) {
+
+        static Percentiles of(Histogram histogram) {
+            return new Percentiles(
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+
+    @Test
+    @DisplayName("一覧・作成・編集・完了・削除を混ぜた負荷をかけ、エンドポイントごとの遅延を書き出す")
+    void measureTodoEndpoints() throws Exception {
+        try (ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(TodoAppApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                                "spring.datasource.username=" + POSTGRES.getUsername(),
+                                "spring.datasource.password=" + POSTGRES.getPassword())
+                        .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            TodoPool pool = new TodoPool(seed(context.getBean(TodoService.class)));
+            HttpClient client =
+                    HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .executor(Executors.newVirtualThreadPerTaskExecutor())
+                            .connectTimeout(Duration.ofSeconds(10))
+                            .build();
+            SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+            String baseUrl = "http://localhost:" + port;
+
+            // JIT・接続プールのウォームアップ（集計しない）
+            drive(client, baseUrl, pool, random, WARMUP_SECONDS, new AtomicLong());
+
+            AtomicLong sent = new AtomicLong();
+            long start = System.nanoTime();
+            Map<Operation, EndpointStats> stats =
+                    drive(client, baseUrl, pool, random, SECONDS, sent);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Report report = report(stats, (double) sent.get() / SECONDS, elapsedSeconds);
+            write(report);
+            print(report);
+
+            assertThat(report.endpoints().values())
+                    .allSatisfy(e -> assertThat(e.errors()).isZero());
+        }
+    }
+
+    private static List<String> seed(TodoService todoService) {
+        List<String> publicIds = new ArrayList<>();
+        for (int offset = 0; offset < SEED_TODOS; offset += TodoService.MAX_BULK_SIZE) {
+            List<CreateTodoCommand> commands = new ArrayList<>();
+            for (int i = offset;
+                    i < Math.min(SEED_TODOS, offset + TodoService.MAX_BULK_SIZE);
+                    i++) {
+                commands.add(
+                        new CreateTodoCommand(
+                                "title" + i, "detail" + i, LocalDate.now().plusDays(i % 60 + 1)));
+            }
+            BulkCreateResult result = todoService.createTodos(commands);
+            for (BulkCreateResult.Created created : result.created()) {
+                publicIds.add(created.todo().getPublicId().value().toString());
+            }
+        }
+        return publicIds;
+    }
+
+    /**
+     * 指定した時間、指数分布の間隔で操作を選んでリクエストを送り、すべての応答を待って集計を返す。
+     *
+     * <p>送信時刻は前の応答を待たずに決めるため、アプリケーションが遅くなっても到着率は下がらない。
+     */
+    private static Map<Operation, EndpointStats> drive(
+            HttpClient client,
+            String baseUrl,
+            TodoPool pool,
+            SplittableRandom random,
+            int seconds,
+            AtomicLong sent) {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        double meanIntervalNanos = 1e9 / RATE;
+        long intended = System.nanoTime();
+        long deadline = intended + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (intended < deadline) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = Operation.pick(random);
+                long scheduledAt = intended;
+                requests.execute(
+                        () ->
+                                send(
+                                        client,
+                                        baseUrl,
+                                        pool,
+                                        operation,
+                                        scheduledAt,
+                                        stats.get(operation)));
+                sent.incrementAndGet();
+                intended += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+            }
+        }
+        return stats;
+    }
+
+    private static void send(
+            HttpClient client,
+            String baseUrl,
+            TodoPool pool,
+            Operation operation,
+            long scheduledAt,
+            EndpointStats stats) {
+        String publicId = null;
+        if (operation.needsTodo()) {
+            publicId = pool.take();
+            if (publicId == null) {
+                stats.skipped.increment();
+                return;
+            }
+        }
+        HttpRequest request = request(baseUrl, operation, publicId);
+        long sentAt = System.nanoTime();
+        boolean succeeded;
+        try {
+            // 作成・更新系は一覧へのリダイレクト（302）を返すため、3xx も成功とする
+            succeeded =
+                    client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            succeeded = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            succeeded = false;
+        }
+        long completedAt = System.nanoTime();
+
+        if (publicId != null && (operation == Operation.EDIT || !succeeded)) {
+            pool.put(publicId);
+        }
+        if (!succeeded) {
+            stats.errors.increment();
+        }
+        stats.latency.recordValue((completedAt - scheduledAt) / 1_000);
+        stats.serviceTime.recordValue((completedAt - sentAt) / 1_000);
+    }
+
+    private static HttpRequest request(String baseUrl, Operation operation, String publicId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String dueDate = LocalDate.now().plusDays(random.nextInt(60) + 1).toString();
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (operation) {
+            case LIST -> builder.uri(URI.create(baseUrl + "/todos?size=20")).GET().build();
+            case CREATE -> post(
+                    builder,
+                    baseUrl + "/todos",
+                    Map.of(
+                            "title",
+                            "load" + random.nextInt(1_000_000),
+                            "detail",
+                            "created by load test",
+                            "dueDate",
+                            dueDate));
+            case EDIT -> post(
+                    builder,
+                    baseUrl + "/todos/" + publicId,
+                    Map.of(
+                            "title",
+                            "edited" + random.nextInt(1_000_000),
+                            "detail",
+                            "edited by load test",
+                            "dueDate",
+                            dueDate));
+            case COMPLETE -> post(builder, baseUrl + "/todos/" + publicId + "/complete", Map.of());
+            case DELETE -> post(builder, baseUrl + "/todos/" + publicId + "/delete", Map.of());
+        };
+    }
+
+    private static HttpRequest post(
+            HttpRequest.Builder builder, String url, Map<String, String> form) {
+        StringBuilder body = new StringBuilder();
+        form.forEach(
+                (name, value) -> {
+                    if (!body.isEmpty()) {
+                        body.append('&');
+                    }
+                    body.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                            .append('=')
+                            .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                });
+        return builder.uri(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static Report report(
+            Map<Operation, EndpointStats> stats, double offeredRate, double elapsedSeconds) {
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        stats.forEach(
+                (operation, endpoint) ->
+                        endpoints.put(
+                                operation.name().toLowerCase(),
+                                new EndpointReport(
+                                        operation.method,
+                                        operation.path,
+                                        endpoint.latency.getTotalCount(),
+                                        endpoint.errors.sum(),
+                                        endpoint.skipped.sum(),
+                                        Percentiles.of(endpoint.latency),
+                                        Percentiles.of(endpoint.serviceTime))));
+        long completed = endpoints.values().stream().mapToLong(EndpointReport::requests).sum();
+        return new Report(
+                LABEL,
+                Runtime.version().toString(),
+                RATE,
+                Math.round(offeredRate * 10) / 10.0,
+                Math.round(completed / elapsedSeconds * 10) / 10.0,
+                SECONDS,
+                WARMUP_SECONDS,
+                SEED_TODOS,
+                RANDOM_SEED,
+                endpoints);
+    }
+
+    private static void write(Report report) throws IOException {
+        Files.createDirectories(OUTPUT.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(OUTPUT.toFile(), report);
+    }
+
+    private static void print(Report report) {
+        System.out.printf(
+                "[loadtest] rate=%.0f/s offered=%.1f/s throughput=%.1f/s seconds=%d output=%s%n",
+                report.targetRate(),
+                report.offeredRate(),
+                report.throughput(),
+                report.seconds(),
+                OUTPUT);
+        report.endpoints()
+                .forEach(
+                        (name, endpoint) ->
+                                System.out.printf(
+                                        "[loadtest] %-8s requests=%d errors=%d skipped=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                                        name,
+                                        endpoint.requests(),
+                                        endpoint.errors(),
+                                        endpoint.skipped(),
+                                        endpoint.latencyMillis().p50(),
+                                        endpoint.latencyMillis().p95(),
+                                        endpoint.latencyMillis().p99(),
+                                        endpoint.latencyMillis().max()));
+    }
+}
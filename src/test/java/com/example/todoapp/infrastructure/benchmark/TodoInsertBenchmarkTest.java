@@ -0,0 +1,162 @@
+package com.example.todoapp.infrastructure.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.infrastructure.entity.TodoEntity;
+import com.example.todoapp.infrastructure.repository.jpa.TodoJpaRepository;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * todos への大量 INSERT のスループットを、IDENTITY 採番とシーケンス採番（JDBC バッチ）で比較するベンチマーク。
+ *
+ * <p>IDENTITY 採番では Hibernate が 1 行ごとに INSERT を実行して採番結果を受け取るため、 同じ動きを JDBC で再現した専用テーブルと比較する。 {@code
+ * ./mvnw test -Pbenchmark} で実行し、件数は {@code -Dbenchmark.rows} で変更できる。
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("todos INSERT のベンチマーク")
+class TodoInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int CHUNK_SIZE = 1_000;
+
+    private static final String IDENTITY_TABLE = "bench_identity_todos";
+
+    @Autowired private TodoJpaRepository jpa;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE " + IDENTITY_TABLE + " (LIKE todos INCLUDING ALL)");
+        jdbcTemplate.execute(
+                "ALTER TABLE "
+                        + IDENTITY_TABLE
+                        + " ALTER COLUMN internal_id ADD GENERATED BY DEFAULT AS IDENTITY");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+    }
+
+    @Test
+    @DisplayName("シーケンス採番 + JDBC バッチと IDENTITY 採番のスループットを比較する")
+    void compareIdentityAndSequence() {
+        // JIT とコネクションプールのウォームアップ
+        insertWithIdentity(CHUNK_SIZE);
+        insertWithSequence(CHUNK_SIZE);
+
+        long identityNanos = insertWithIdentity(ROWS);
+        long sequenceNanos = insertWithSequence(ROWS);
+
+        report("IDENTITY (1 行ずつ INSERT)", identityNanos);
+        report("SEQUENCE (pooled + JDBC バッチ)", sequenceNanos);
+        System.out.printf("[benchmark] speedup: %.2fx%n", (double) identityNanos / sequenceNanos);
+
+        Integer identityRows =
+                jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM " + IDENTITY_TABLE, Integer.class);
+        assertThat(identityRows).isEqualTo(ROWS + CHUNK_SIZE);
+        assertThat(jpa.count()).isGreaterThanOrEqualTo(ROWS + CHUNK_SIZE);
+    }
+
+    /** IDENTITY 採番時の Hibernate と同じく、1 行ごとに INSERT して採番結果を受け取る。 */
+    private long insertWithIdentity(int rows) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, rows - offset);
+            transactionTemplate.executeWithoutResult(
+                    status ->
+                            jdbcTemplate.execute(
+                                    (ConnectionCallback<Void>)
+                                            con -> insertIdentityChunk(con, size)));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Void insertIdentityChunk(Connection con, int size) throws SQLException {
+        String sql =
+                "INSERT INTO "
+                        + IDENTITY_TABLE
+                        + " (version_number, public_id, title, detail, due_date, "
+                        + "completed_flag, deleted_flag, created_at, updated_at) "
+                        + "VALUES (1, ?, ?, ?, ?, false, false, ?, ?)";
+        try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < size; i++) {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setString(2, "title");
+                ps.setString(3, "detail");
+                ps.setObject(4, LocalDate.now().plusDays(1));
+                ps.setObject(5, now);
+                ps.setObject(6, now);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        return null;
+    }
+
+    /** シーケンス採番のエンティティを saveAll し、Hibernate の JDBC バッチで INSERT する。 */
+    private long insertWithSequence(int rows) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, rows - offset);
+            transactionTemplate.executeWithoutResult(
+                    status -> {
+                        List<TodoEntity> chunk = new ArrayList<>(size);
+                        for (int i = 0; i < size; i++) {
+                            chunk.add(newEntity());
+                        }
+                        jpa.saveAll(chunk);
+                    });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static TodoEntity newEntity() {
+        TodoEntity entity = new TodoEntity();
+        entity.setVersionNumber(1);
+        entity.setPublicId(UUID.randomUUID());
+        entity.setTitle("title");
+        entity.setDetail("detail");
+        entity.setDueDate(LocalDate.now().plusDays(1));
+        return entity;
+    }
+
+    private static void report(String label, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf(
+                "[benchmark] %-32s rows=%d time=%.2fs throughput=%.0f rows/s%n",
+                label, ROWS, seconds, ROWS / seconds);
+    }
+}
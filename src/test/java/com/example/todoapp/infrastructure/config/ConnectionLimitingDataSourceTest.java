@@ -0,0 +1,92 @@
+package com.example.todoapp.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConnectionLimitingDataSource のテスト")
+class ConnectionLimitingDataSourceTest {
+
+    @Mock private DataSource pool;
+
+    @Test
+    @DisplayName("正常系: 接続を閉じると許可が返り、次のスレッドが接続を借りられる")
+    void getConnection_閉じると許可が返る() throws SQLException {
+        // arrange
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        ConnectionLimitingDataSource limiter =
+                new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+
+        // act
+        Connection first = limiter.getConnection();
+        int activeWhileBorrowed = limiter.getActivePermits();
+        first.close();
+        first.close();
+        Connection second = limiter.getConnection();
+
+        // assert
+        assertThat(activeWhileBorrowed).isEqualTo(1);
+        assertThat(second).isNotNull();
+        assertThat(limiter.getActivePermits()).isEqualTo(1);
+        verify(pooled, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("正常系: 接続のメソッドは元の接続へ委譲する")
+    void getConnection_元の接続へ委譲する() throws SQLException {
+        // arrange
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        when(pooled.getAutoCommit()).thenReturn(true);
+        ConnectionLimitingDataSource limiter =
+                new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+
+        // act & assert
+        try (Connection connection = limiter.getConnection()) {
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("異常系: 許可をすべて使用中の場合は待機時間を過ぎると例外")
+    void getConnection_許可がなければ例外() throws SQLException {
+        // arrange
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+        ConnectionLimitingDataSource limiter =
+                new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+        limiter.getConnection();
+
+        // act & assert
+        assertThatThrownBy(limiter::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    @DisplayName("異常系: 接続プールからの取得に失敗した場合は許可を返す")
+    void getConnection_取得に失敗したら許可を返す() throws SQLException {
+        // arrange
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionLimitingDataSource limiter =
+                new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+
+        // act & assert
+        assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLException.class);
+        assertThat(limiter.getActivePermits()).isZero();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.todoapp.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.infrastructure.metrics.SlowQuery;
+import com.example.todoapp.infrastructure.metrics.SlowQueryLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlowQueryDataSource のテスト")
+class SlowQueryDataSourceTest {
+
+    private static final String SELECT_BY_PUBLIC_ID = "select * from todos where public_id=?";
+
+    @Mock private DataSource pool;
+
+    @Mock private Connection pooled;
+
+    @Mock private PreparedStatement statement;
+
+    private SlowQueryLog slowQueryLog;
+
+    private SlowQueryDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(pool.getConnection()).thenReturn(pooled);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.destroy();
+    }
+
+    private void createDataSource(Duration threshold, double explainSampleRate) {
+        slowQueryLog =
+                new SlowQueryLog(
+                        new SimpleMeterRegistry(),
+                        threshold,
+                        10,
+                        explainSampleRate,
+                        Duration.ofMinutes(10));
+        dataSource = new SlowQueryDataSource(pool, slowQueryLog, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("正常系: しきい値未満の文は記録しない")
+    void execute_しきい値未満() throws SQLException {
+        // arrange
+        createDataSource(Duration.ofMinutes(1), 1.0);
+        when(pooled.prepareStatement(SELECT_BY_PUBLIC_ID)).thenReturn(statement);
+
+        // act
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(SELECT_BY_PUBLIC_ID)) {
+            ps.setObject(1, UUID.randomUUID());
+            ps.executeQuery();
+        }
+
+        // assert
+        assertThat(slowQueryLog.recent()).isEmpty();
+        verify(statement).executeQuery();
+    }
+
+    @Test
+    @DisplayName("正常系: しきい値を超えた文は SQL とバインドの形を記録し、同じ値で EXPLAIN ANALYZE を取得する")
+    void execute_しきい値超過() throws Exception {
+        // arrange
+        createDataSource(Duration.ZERO, 1.0);
+        UUID publicId = UUID.randomUUID();
+        when(pooled.prepareStatement(SELECT_BY_PUBLIC_ID)).thenReturn(statement);
+
+        Statement setTimeout = mock(Statement.class);
+        PreparedStatement explain = mock(PreparedStatement.class);
+        ResultSet plan = mock(ResultSet.class);
+        when(pooled.createStatement()).thenReturn(setTimeout);
+        when(pooled.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + SELECT_BY_PUBLIC_ID))
+                .thenReturn(explain);
+        when(explain.executeQuery()).thenReturn(plan);
+        when(plan.next()).thenReturn(true, false);
+        when(plan.getString(1)).thenReturn("Index Scan using uk_todos_public_id");
+
+        // act
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(SELECT_BY_PUBLIC_ID)) {
+            ps.setObject(1, publicId);
+            ps.executeQuery();
+        }
+
+        // assert
+        verify(explain, timeout(5000)).setObject(1, publicId);
+        verify(setTimeout, timeout(5000)).execute("SET LOCAL statement_timeout = 5000");
+        verify(pooled, timeout(5000)).rollback();
+        SlowQuery recorded = slowQueryLog.recent().getFirst();
+        assertThat(recorded.sql()).isEqualTo(SELECT_BY_PUBLIC_ID);
+        assertThat(recorded.parameters()).containsExactly("1: UUID");
+    }
+
+    @Test
+    @DisplayName("正常系: 更新系の文は実行せずに推定の実行計画のみを取得する")
+    void execute_更新系の文() throws Exception {
+        // arrange
+        createDataSource(Duration.ZERO, 1.0);
+        String update = "update todos set title=? where internal_id=?";
+        PreparedStatement updateStatement = mock(PreparedStatement.class);
+        when(pooled.prepareStatement(update)).thenReturn(updateStatement);
+        when(pooled.createStatement()).thenReturn(mock(Statement.class));
+        PreparedStatement explain = mock(PreparedStatement.class);
+        when(pooled.prepareStatement("EXPLAIN " + update)).thenReturn(explain);
+        when(explain.executeQuery()).thenReturn(mock(ResultSet.class));
+
+        // act
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(update)) {
+            ps.setString(1, "title");
+            ps.setInt(2, 1);
+            ps.executeUpdate();
+        }
+
+        // assert
+        verify(explain, timeout(5000)).setInt(2, 1);
+        verify(pooled, timeout(5000)).setReadOnly(true);
+        assertThat(slowQueryLog.recent().getFirst().parameters())
+                .containsExactly("1: String", "2: Integer");
+    }
+
+    @Test
+    @DisplayName("正常系: 文の作成以外の接続のメソッドは元の接続へ委譲する")
+    void getConnection_元の接続へ委譲する() throws SQLException {
+        // arrange
+        createDataSource(Duration.ZERO, 0.0);
+        when(pooled.getAutoCommit()).thenReturn(true);
+
+        // act & assert
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+        verify(pooled).close();
+        verify(pooled, never()).createStatement();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.infrastructure.metrics.SlowQuery.PlanStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SlowQueryLog のテスト")
+class SlowQueryLogTest {
+
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SlowQueryLog slowQueryLog =
+            new SlowQueryLog(registry, Duration.ofMillis(500), 2, 1.0, Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.destroy();
+    }
+
+    /** 実行計画の取得が終わるまで待ってから記録を返す。 */
+    private SlowQuery awaitPlan(long id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            SlowQuery entry = slowQueryLog.find(id).orElseThrow();
+            if (entry.planStatus() != PlanStatus.PENDING) {
+                return entry;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("実行計画の取得が終わりませんでした");
+    }
+
+    @Test
+    @DisplayName("正常系: すべての実行時間を記録し、しきい値以上の場合に true を返す")
+    void recordExecution_しきい値() {
+        // act & assert
+        assertThat(slowQueryLog.recordExecution(Duration.ofMillis(499).toNanos())).isFalse();
+        assertThat(slowQueryLog.recordExecution(Duration.ofMillis(500).toNanos())).isTrue();
+        assertThat(registry.get("todoapp.sql.execution").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("正常系: 別スレッドで取得した実行計画を記録に反映する")
+    void record_実行計画を反映() throws InterruptedException {
+        // act
+        SlowQuery recorded =
+                slowQueryLog.record("select 1", List.of("1: UUID"), SLOW, () -> "Seq Scan");
+
+        // assert
+        assertThat(recorded.planStatus()).isEqualTo(PlanStatus.PENDING);
+        SlowQuery captured = awaitPlan(recorded.id());
+        assertThat(captured.planStatus()).isEqualTo(PlanStatus.CAPTURED);
+        assertThat(captured.plan()).isEqualTo("Seq Scan");
+        assertThat(captured.parameters()).containsExactly("1: UUID");
+        assertThat(captured.elapsedMillis()).isEqualTo(1000);
+        assertThat(registry.get("todoapp.sql.slow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("異常系: 実行計画の取得に失敗した場合は理由を記録する")
+    void record_取得に失敗() throws InterruptedException {
+        // act
+        SlowQuery recorded =
+                slowQueryLog.record(
+                        "select 1",
+                        List.of(),
+                        SLOW,
+                        () -> {
+                            throw new IllegalStateException("timeout");
+                        });
+
+        // assert
+        SlowQuery failed = awaitPlan(recorded.id());
+        assertThat(failed.planStatus()).isEqualTo(PlanStatus.FAILED);
+        assertThat(failed.plan()).isEqualTo("timeout");
+    }
+
+    @Test
+    @DisplayName("正常系: 同じ文の実行計画は間隔内に 1 回だけ取得する")
+    void record_同じ文は間隔内に1回() throws InterruptedException {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // act
+        SlowQuery first =
+                slowQueryLog.record(
+                        "select 1", List.of(), SLOW, () -> "plan" + calls.incrementAndGet());
+        SlowQuery second =
+                slowQueryLog.record(
+                        "select 1", List.of(), SLOW, () -> "plan" + calls.incrementAndGet());
+
+        // assert
+        assertThat(awaitPlan(first.id()).planStatus()).isEqualTo(PlanStatus.CAPTURED);
+        assertThat(second.planStatus()).isEqualTo(PlanStatus.NOT_SAMPLED);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("正常系: 保持件数を超えた記録は古いものから破棄し、新しい順に返す")
+    void recent_保持件数() {
+        // act
+        SlowQuery first = slowQueryLog.record("select 1", List.of(), SLOW, null);
+        SlowQuery second = slowQueryLog.record("select 2", List.of(), SLOW, null);
+        SlowQuery third = slowQueryLog.record("select 3", List.of(), SLOW, null);
+
+        // assert
+        assertThat(slowQueryLog.recent())
+                .extracting(SlowQuery::id)
+                .containsExactly(third.id(), second.id());
+        assertThat(slowQueryLog.find(first.id())).isEmpty();
+        assertThat(third.planStatus()).isEqualTo(PlanStatus.NOT_SAMPLED);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SqlStatementCounter のテスト")
+class SqlStatementCounterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    @DisplayName("正常系: 開いている範囲でのみ文を数え、SQL 文は書き換えない")
+    void inspect_開いている範囲でのみ数える() {
+        // arrange
+        counter.inspect("select 0");
+        SqlStatementCounter.Scope scope = counter.open(false);
+
+        // act
+        String inspected = counter.inspect("select 1");
+        scope.close();
+        counter.inspect("select 2");
+
+        // assert
+        assertThat(inspected).isEqualTo("select 1");
+        assertThat(scope.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("正常系: 内側の範囲の文は外側の範囲にも数えられる")
+    void open_入れ子の範囲() {
+        // arrange
+        SqlStatementCounter.Scope outer = counter.open(false);
+        counter.inspect("select 1");
+
+        // act
+        try (SqlStatementCounter.Scope inner = counter.open(false)) {
+            counter.inspect("select 2");
+            counter.inspect("select 3");
+            assertThat(inner.count()).isEqualTo(2);
+        }
+        outer.close();
+
+        // assert
+        assertThat(outer.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("正常系: 文ごとの回数を記録し、最も多く発行された文を返す")
+    void mostRepeated_最も多く発行された文() {
+        // arrange
+        SqlStatementCounter.Scope scope = counter.open(true);
+
+        // act
+        counter.inspect("select * from todos where internal_id=?");
+        counter.inspect("select * from todo_history where internal_id=?");
+        counter.inspect("select * from todo_history where internal_id=?");
+        scope.close();
+
+        // assert
+        assertThat(scope.mostRepeated())
+                .contains(Map.entry("select * from todo_history where internal_id=?", 2));
+        assertThat(scope.countsBySql()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("正常系: 回数を記録しない範囲では文ごとの回数を返さない")
+    void mostRepeated_記録しない範囲() {
+        // act
+        try (SqlStatementCounter.Scope scope = counter.open(false)) {
+            counter.inspect("select 1");
+
+            // assert
+            assertThat(scope.mostRepeated()).isEmpty();
+            assertThat(scope.countsBySql()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("正常系: 別のスレッドで発行された文は数えない")
+    void inspect_別のスレッドは数えない() throws InterruptedException {
+        // arrange
+        SqlStatementCounter.Scope scope = counter.open(false);
+
+        // act
+        Thread other = Thread.ofVirtual().start(() -> counter.inspect("select 1"));
+        other.join();
+        scope.close();
+
+        // assert
+        assertThat(scope.count()).isZero();
+    }
+}
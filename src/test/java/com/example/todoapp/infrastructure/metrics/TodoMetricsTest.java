@@ -0,0 +1,161 @@
+package com.example.todoapp.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.todoapp.domain.exception.TodoConflictException;
+import com.example.todoapp.domain.exception.TodoNotFoundException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TodoMetrics のテスト")
+class TodoMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SqlStatementCounter statementCounter = new SqlStatementCounter();
+
+    private final TodoMetrics metrics = new TodoMetrics(registry, statementCounter);
+
+    @Nested
+    @DisplayName("timeService のテスト")
+    class TimeServiceTest {
+
+        @Test
+        @DisplayName("正常系: 処理結果を返し、ユースケースごとに処理時間を記録する")
+        void timeService_正常終了() {
+            // act
+            String result = metrics.timeService("get", () -> "ok");
+
+            // assert
+            assertThat(result).isEqualTo("ok");
+            Timer timer =
+                    registry.get("todoapp.service")
+                            .tags("operation", "get", "exception", TodoMetrics.NO_EXCEPTION)
+                            .timer();
+            assertThat(timer.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 見つからない場合は例外をそのまま投げ、見つからなかった回数を記録する")
+        void timeService_見つからない() {
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    metrics.timeService(
+                                            "get",
+                                            () -> {
+                                                throw new TodoNotFoundException();
+                                            }))
+                    .isInstanceOf(TodoNotFoundException.class);
+
+            assertThat(
+                            registry.get("todoapp.todo.not_found")
+                                    .tag("operation", "get")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(1);
+            assertThat(
+                            registry.get("todoapp.service")
+                                    .tags("operation", "get", "exception", "TodoNotFoundException")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 版数が競合した場合は競合の回数を記録する")
+        void timeService_版数の競合() {
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    metrics.timeService(
+                                            "update",
+                                            () -> {
+                                                throw new TodoConflictException();
+                                            }))
+                    .isInstanceOf(TodoConflictException.class);
+
+            assertThat(
+                            registry.get("todoapp.todo.version_conflict")
+                                    .tag("operation", "update")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(1);
+            assertThat(registry.find("todoapp.todo.not_found").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("正常系: トランザクション外では、ユースケースで発行した SQL 文の数を終了時に記録する")
+        void timeService_SQL文の数() {
+            // act
+            metrics.timeService(
+                    "list_active",
+                    () -> {
+                        statementCounter.inspect("select 1");
+                        return statementCounter.inspect("select 2");
+                    });
+            statementCounter.inspect("select 3");
+
+            // assert
+            assertThat(
+                            registry.get("todoapp.sql.statements.service")
+                                    .tag("operation", "list_active")
+                                    .summary()
+                                    .totalAmount())
+                    .isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("timeRepository / timeHistorySave のテスト")
+    class LayerTimerTest {
+
+        @Test
+        @DisplayName("正常系: リポジトリのメソッドごとに処理時間を記録する")
+        void timeRepository_メソッドごとに記録() {
+            // act
+            metrics.timeRepository("save", () -> 1);
+            metrics.timeRepository("save", () -> 2);
+            metrics.timeRepository("findByPublicId", () -> 3);
+
+            // assert
+            assertThat(
+                            registry.get("todoapp.repository")
+                                    .tags("method", "save", "exception", TodoMetrics.NO_EXCEPTION)
+                                    .timer()
+                                    .count())
+                    .isEqualTo(2);
+            assertThat(
+                            registry.get("todoapp.repository")
+                                    .tag("method", "findByPublicId")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 履歴の保存が失敗した場合は例外のクラス名を付けて記録する")
+        void timeHistorySave_失敗() {
+            // act & assert
+            assertThatThrownBy(
+                            () ->
+                                    metrics.timeHistorySave(
+                                            "sync",
+                                            () -> {
+                                                throw new IllegalStateException();
+                                            }))
+                    .isInstanceOf(IllegalStateException.class);
+
+            assertThat(
+                            registry.get("todoapp.history.save")
+                                    .tags("mode", "sync", "exception", "IllegalStateException")
+                                    .timer()
+                                    .count())
+                    .isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.todoapp.infrastructure.repository.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** TodoExportRepository の統合テスト。Docker が利用できない環境ではスキップされる。 */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+@DisplayName("TodoExportRepository のテスト")
+class TodoExportRepositoryTest {
+
+    /** 他のテストのデータと重ならない過去の日時 */
+    private static final LocalDateTime BASE = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired private TodoService todoService;
+
+    @Autowired private TodoDomainRepository todoRepository;
+
+    @Autowired private TodoExportRepository exportRepository;
+
+    @Autowired private EntityManager entityManager;
+
+    // テストデータ準備用のヘルパー
+    private UUID createTodoUpdatedAt(LocalDateTime updatedAt) {
+        Todo todo =
+                todoRepository.save(Todo.create("title", "detail", LocalDate.now().plusDays(1)));
+        entityManager.flush();
+        entityManager
+                .createNativeQuery("UPDATE todos SET updated_at = ?1 WHERE public_id = ?2")
+                .setParameter(1, updatedAt)
+                .setParameter(2, todo.getPublicId().value())
+                .executeUpdate();
+        return todo.getPublicId().value();
+    }
+
+    @Test
+    @DisplayName("正常系: 更新日時の範囲（開始を含み終了を含まない）の行を更新日時の昇順で返す")
+    void streamTodos_更新日時の範囲() {
+        // arrange
+        UUID second = createTodoUpdatedAt(BASE.plusHours(2));
+        UUID first = createTodoUpdatedAt(BASE.plusHours(1));
+        createTodoUpdatedAt(BASE.plusHours(3));
+        createTodoUpdatedAt(BASE);
+
+        // act
+        List<UUID> result;
+        try (Stream<TodoExportRow> rows =
+                exportRepository.streamTodos(BASE.plusHours(1), BASE.plusHours(3))) {
+            result = rows.map(TodoExportRow::publicId).toList();
+        }
+
+        // assert
+        assertThat(result).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("正常系: 範囲の指定がなければ履歴をすべて返す")
+    void streamHistory_範囲指定なし() {
+        // arrange
+        UUID publicId =
+                todoService
+                        .createTodo("title", "detail", LocalDate.now().plusDays(1))
+                        .getPublicId()
+                        .value();
+        entityManager.flush();
+
+        // act
+        List<TodoHistoryExportRow> result;
+        try (Stream<TodoHistoryExportRow> rows = exportRepository.streamHistory(null, null)) {
+            result = rows.filter(row -> row.publicId().equals(publicId)).toList();
+        }
+
+        // assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).detail()).isEqualTo("detail");
+    }
+
+    @Test
+    @DisplayName("正常系: 時点指定では各 Todo のその時点で最新の版を返し、その時点で削除済みのものは返さない")
+    void streamStateAsOf_時点の状態() {
+        // arrange
+        Todo todo = todoService.createTodo("v1", null, LocalDate.now().plusDays(1));
+        todoService.updateTodo(todo.getPublicId(), "v2", null, LocalDate.now().plusDays(1));
+        todoService.deleteTodo(todo.getPublicId());
+        entityManager.flush();
+        for (int version = 1; version <= 3; version++) {
+            entityManager
+                    .createNativeQuery(
+                            "UPDATE todo_history SET created_at = ?1, updated_at = ?1 "
+                                    + "WHERE internal_id = ?2 AND version_number = ?3")
+                    .setParameter(1, BASE.plusHours(version))
+                    .setParameter(2, todo.getInternalId().value())
+                    .setParameter(3, version)
+                    .executeUpdate();
+        }
+
+        // act
+        List<TodoHistoryExportRow> beforeCreated = findStateAsOf(BASE, todo);
+        List<TodoHistoryExportRow> afterUpdated = findStateAsOf(BASE.plusMinutes(150), todo);
+        List<TodoHistoryExportRow> afterDeleted = findStateAsOf(BASE.plusHours(4), todo);
+
+        // assert
+        assertThat(beforeCreated).isEmpty();
+        assertThat(afterUpdated).extracting(TodoHistoryExportRow::title).containsExactly("v2");
+        assertThat(afterDeleted).isEmpty();
+    }
+
+    private List<TodoHistoryExportRow> findStateAsOf(LocalDateTime at, Todo todo) {
+        try (Stream<TodoHistoryExportRow> rows = exportRepository.streamStateAsOf(at)) {
+            return rows.filter(row -> row.publicId().equals(todo.getPublicId().value())).toList();
+        }
+    }
+}
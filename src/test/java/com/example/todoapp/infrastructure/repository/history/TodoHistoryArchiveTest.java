@@ -0,0 +1,151 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.infrastructure.entity.TodoHistoryArchiveSegmentEntity;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryArchiveSegmentJpaRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoHistoryArchive のテスト")
+class TodoHistoryArchiveTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock private TodoHistoryArchiveSegmentJpaRepository segmentRepository;
+
+    @TempDir private Path directory;
+
+    private TodoHistoryArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive =
+                new TodoHistoryArchive(
+                        segmentRepository,
+                        JsonMapper.builder().findAndAddModules().build(),
+                        directory);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // テストデータ準備用のヘルパー
+    private static TodoHistoryArchiveRow row(int internalId, int versionNumber) {
+        return new TodoHistoryArchiveRow(
+                internalId,
+                new UUID(0, internalId),
+                versionNumber,
+                "title" + versionNumber,
+                null,
+                LocalDate.of(2024, 2, 1),
+                false,
+                false,
+                BASE.plusHours(versionNumber),
+                BASE.plusHours(versionNumber));
+    }
+
+    private TodoHistoryArchiveSegmentEntity writeSegment(List<TodoHistoryArchiveRow> rows) {
+        when(segmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return archive.writeSegment(rows, BASE);
+    }
+
+    /** 登録されたトランザクション同期に完了を通知する。 */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @Test
+    @DisplayName("正常系: 書き出したセグメントから指定した Todo の版だけを版数の順で読み出せる")
+    void findVersions_書き出した版を読み出せる() {
+        // arrange
+        TodoHistoryArchiveSegmentEntity segment =
+                writeSegment(List.of(row(1, 1), row(2, 1), row(2, 2), row(3, 1)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(segmentRepository.findCovering(2)).thenReturn(List.of(segment));
+
+        // act
+        List<TodoHistoryExportRow> versions = archive.findVersions(2);
+
+        // assert
+        assertThat(segment.getMinInternalId()).isEqualTo(1);
+        assertThat(segment.getMaxInternalId()).isEqualTo(3);
+        assertThat(segment.getRowCount()).isEqualTo(4);
+        assertThat(segment.getByteSize())
+                .isEqualTo(directory.resolve(segment.getFileName()).toFile().length());
+        assertThat(versions).extracting(TodoHistoryExportRow::versionNumber).containsExactly(1, 2);
+        assertThat(versions.getFirst()).isEqualTo(row(2, 1).toExportRow());
+    }
+
+    @Test
+    @DisplayName("正常系: 指定日時の時点で最新のアーカイブ済みの版を取得できる")
+    void findLatestAsOf_時点で最新の版() {
+        // arrange
+        TodoHistoryArchiveSegmentEntity segment =
+                writeSegment(List.of(row(5, 1), row(5, 2), row(5, 3)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(segmentRepository.findCovering(5)).thenReturn(List.of(segment));
+
+        // act & assert
+        assertThat(archive.findLatestAsOf(5, BASE.plusMinutes(150)))
+                .map(TodoHistoryExportRow::versionNumber)
+                .contains(2);
+        assertThat(archive.findLatestAsOf(5, BASE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("正常系: トランザクションがロールバックした場合は書き出したファイルを削除する")
+    void writeSegment_ロールバック時はファイルを削除() {
+        // arrange
+        TodoHistoryArchiveSegmentEntity segment = writeSegment(List.of(row(1, 1)));
+        Path file = directory.resolve(segment.getFileName());
+
+        // act
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // assert
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("異常系: トランザクションの外では書き出せない")
+    void writeSegment_トランザクション外() throws Exception {
+        // arrange
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // act & assert
+        assertThatThrownBy(() -> archive.writeSegment(List.of(row(1, 1)), BASE))
+                .isInstanceOf(IllegalStateException.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
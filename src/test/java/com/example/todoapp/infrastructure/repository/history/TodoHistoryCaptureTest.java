@@ -0,0 +1,164 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.application.CreateTodoCommand;
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import com.example.todoapp.infrastructure.metrics.TodoMetrics;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 履歴をトリガーで作成する場合（database）の統合テスト。
+ *
+ * <p>同じ操作をアプリケーションで履歴を作成する場合（application）と比べ、記録される履歴が 1 行ずつ一致することを確認する。 Docker が利用できない環境ではスキップされる。
+ */
+@SpringBootTest(
+        properties = {
+            "todoapp.history.capture=database",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TodoHistoryCapture のテスト")
+class TodoHistoryCaptureTest {
+
+    /** 比較に使用する履歴の列（作成日時・更新日時は記録した時刻のため比較しない） */
+    private record HistoryRow(
+            int versionNumber,
+            String title,
+            String detail,
+            LocalDate dueDate,
+            boolean completed,
+            boolean deleted) {}
+
+    @Autowired private TodoService todoService;
+
+    @Autowired private TodoDomainRepository todoRepository;
+
+    @Autowired private TodoHistoryJpaRepository historyRepository;
+
+    @Autowired private TodoHistoryWriteBehind historyWriteBehind;
+
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private TodoMetrics todoMetrics;
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    // テストデータ準備用のヘルパー
+    /** 作成・更新（変更あり / なし）・完了・削除・一括作成・一括完了・一括削除を行い、対象の内部IDを返す。 */
+    private List<Integer> runScenario(TodoService service) {
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+        List<Integer> internalIds = new ArrayList<>();
+
+        Todo todo = service.createTodo("title", "detail", dueDate);
+        service.updateTodo(todo.getPublicId(), "title2", null, dueDate.plusDays(1));
+        service.updateTodo(todo.getPublicId(), "title2", null, dueDate.plusDays(1));
+        service.completeTodo(todo.getPublicId());
+        service.deleteTodo(todo.getPublicId());
+        internalIds.add(todo.getInternalId().value());
+
+        List<Todo> created =
+                service
+                        .createTodos(
+                                List.of(
+                                        new CreateTodoCommand("a", null, dueDate),
+                                        new CreateTodoCommand("b", "detail", dueDate)))
+                        .created()
+                        .stream()
+                        .map(item -> item.todo())
+                        .toList();
+        service.completeTodos(List.of(created.get(0).getPublicId()));
+        service.deleteTodos(List.of(created.get(1).getPublicId()));
+        created.forEach(item -> internalIds.add(item.getInternalId().value()));
+        return internalIds;
+    }
+
+    private List<List<HistoryRow>> findHistories(List<Integer> internalIds) {
+        return internalIds.stream()
+                .map(
+                        internalId ->
+                                jdbcTemplate.query(
+                                        "SELECT version_number, title, detail, due_date, "
+                                                + "completed_flag, deleted_flag FROM todo_history "
+                                                + "WHERE internal_id = ? ORDER BY version_number",
+                                        (rs, rowNum) ->
+                                                new HistoryRow(
+                                                        rs.getInt(1),
+                                                        rs.getString(2),
+                                                        rs.getString(3),
+                                                        rs.getObject(4, LocalDate.class),
+                                                        rs.getBoolean(5),
+                                                        rs.getBoolean(6)),
+                                        internalId))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("正常系: トリガーで作成した履歴は、アプリケーションで作成した履歴と 1 行ずつ一致する")
+    void capture_両方式の履歴が一致する() {
+        // arrange
+        TodoService applicationService =
+                new TodoService(
+                        todoRepository,
+                        historyRepository,
+                        transactionTemplate,
+                        historyWriteBehind,
+                        new TodoHistoryCapture(jdbcTemplate, "application"),
+                        todoMetrics);
+
+        // act
+        List<Integer> byDatabase = transactionTemplate.execute(status -> runScenario(todoService));
+        List<Integer> byApplication =
+                transactionTemplate.execute(
+                        status -> {
+                            // この接続のトリガーを無効にして、アプリケーションで履歴を作成する
+                            jdbcTemplate.execute(
+                                    "SET LOCAL todoapp.history_capture = 'application'");
+                            return runScenario(applicationService);
+                        });
+
+        // assert
+        List<List<HistoryRow>> expected = findHistories(byApplication);
+        assertThat(expected.get(0))
+                .extracting(HistoryRow::versionNumber)
+                .containsExactly(1, 2, 3, 4);
+        assertThat(findHistories(byDatabase)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("正常系: createTodo は todos の INSERT の 1 文のみ（履歴はトリガーで作成される）")
+    void createTodo_1文() {
+        // arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // シーケンスからの ID ブロック確保を事前に済ませておく
+        todoService.createTodo("title", null, LocalDate.now().plusDays(1));
+        statistics.clear();
+
+        // act
+        Todo created = todoService.createTodo("title", null, LocalDate.now().plusDays(1));
+
+        // assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(historyRepository.findByInternalId(created.getInternalId().value())).hasSize(1);
+    }
+}
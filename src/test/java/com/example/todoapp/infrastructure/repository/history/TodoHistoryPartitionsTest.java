@@ -0,0 +1,233 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.Todo;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * todo_history のパーティションの保守の統合テスト。
+ *
+ * <p>Docker が利用できない環境ではスキップされる。
+ */
+@SpringBootTest(properties = "todoapp.history.partition.months-ahead=1")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TodoHistoryPartitions のテスト")
+class TodoHistoryPartitionsTest {
+
+    @Autowired private TodoService todoService;
+
+    @Autowired private TodoHistoryPartitions partitions;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("正常系: 先の月のパーティションを作成し、既定のパーティションに入っていた行を移す")
+    void maintain_先の月のパーティションを作成() {
+        // arrange
+        YearMonth future = YearMonth.now().plusYears(1);
+        Todo todo = todoService.createTodo("title", null, LocalDate.now().plusDays(1));
+        LocalDateTime recordedAt = future.atDay(15).atStartOfDay();
+        jdbcTemplate.update(
+                "UPDATE todo_history SET created_at = ?, updated_at = ? WHERE internal_id = ?",
+                recordedAt,
+                recordedAt,
+                todo.getInternalId().value());
+
+        // act
+        partitions.maintain(future.atDay(1));
+        partitions.maintain(future.atDay(1));
+
+        // assert
+        assertThat(partitions.listPartitions()).contains(future, future.plusMonths(1));
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT count(*) FROM todo_history_default WHERE internal_id = ?",
+                                Integer.class,
+                                todo.getInternalId().value()))
+                .isZero();
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT tableoid::regclass::text FROM todo_history WHERE internal_id = ?",
+                                String.class,
+                                todo.getInternalId().value()))
+                .isEqualTo(
+                        String.format(
+                                "todo_history_y%04dm%02d",
+                                future.getYear(), future.getMonthValue()));
+    }
+
+    @Test
+    @DisplayName("正常系: 保持期間を過ぎたパーティションを切り離す")
+    void maintain_保持期間を過ぎたパーティションを切り離す() {
+        // arrange
+        YearMonth past = YearMonth.now().minusYears(2);
+        TodoHistoryPartitions withRetention =
+                new TodoHistoryPartitions(
+                        jdbcTemplate,
+                        TransactionOperations.withoutTransaction(),
+                        true,
+                        0,
+                        12,
+                        ExpiredPartitionAction.DETACH,
+                        false,
+                        10);
+        withRetention.maintain(past.atDay(1));
+
+        // act
+        withRetention.maintain(LocalDate.now());
+
+        // assert
+        assertThat(withRetention.listPartitions()).doesNotContain(past).contains(YearMonth.now());
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT to_regclass(?)::text",
+                                String.class,
+                                String.format(
+                                        "todo_history_y%04dm%02d",
+                                        past.getYear(), past.getMonthValue())))
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("正常系: DETACH の場合も、最新の keep-latest 版を含むパーティションは切り離さない")
+    void maintain_最新の版を含むパーティションは切り離さない() {
+        // arrange
+        YearMonth past = YearMonth.now().minusYears(4);
+        TodoHistoryPartitions withRetention =
+                new TodoHistoryPartitions(
+                        jdbcTemplate,
+                        TransactionOperations.withoutTransaction(),
+                        true,
+                        0,
+                        12,
+                        ExpiredPartitionAction.DETACH,
+                        false,
+                        1);
+        withRetention.maintain(past.atDay(1));
+        Todo todo = todoService.createTodo("v1", null, LocalDate.now().plusDays(1));
+        LocalDateTime recordedAt = past.atDay(15).atStartOfDay();
+        jdbcTemplate.update(
+                "UPDATE todo_history SET created_at = ?, updated_at = ? WHERE internal_id = ?",
+                recordedAt,
+                recordedAt,
+                todo.getInternalId().value());
+
+        // act
+        withRetention.maintain(LocalDate.now());
+
+        // assert
+        assertThat(withRetention.listPartitions()).contains(past);
+        assertThat(
+                        jdbcTemplate.queryForList(
+                                "SELECT version_number FROM todo_history WHERE internal_id = ?",
+                                Integer.class,
+                                todo.getInternalId().value()))
+                .containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("異常系: 記録済みの版を別の月のパーティションに記録すると一意制約違反となる")
+    void insert_別の月に同じ版を記録できない() {
+        // arrange
+        Todo todo = todoService.createTodo("title", null, LocalDate.now().plusDays(1));
+        LocalDateTime nextMonth = YearMonth.now().plusMonths(1).atDay(1).atStartOfDay();
+
+        // act & assert
+        assertThatThrownBy(
+                        () ->
+                                jdbcTemplate.update(
+                                        "INSERT INTO todo_history SELECT internal_id, version_number, "
+                                                + "public_id, title, detail, due_date, completed_flag, "
+                                                + "deleted_flag, ?, ? FROM todos WHERE internal_id = ?",
+                                        nextMonth,
+                                        nextMonth,
+                                        todo.getInternalId().value()))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT count(*) FROM todo_history WHERE internal_id = ?",
+                                Integer.class,
+                                todo.getInternalId().value()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("正常系: DROP の場合、最新の keep-latest 版を含むパーティションは削除しない")
+    void maintain_最新の版を含むパーティションは削除しない() {
+        // arrange
+        YearMonth past = YearMonth.now().minusYears(3);
+        TodoHistoryPartitions withDrop =
+                new TodoHistoryPartitions(
+                        jdbcTemplate,
+                        TransactionOperations.withoutTransaction(),
+                        true,
+                        0,
+                        12,
+                        ExpiredPartitionAction.DROP,
+                        false,
+                        1);
+        withDrop.maintain(past.atDay(1));
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+        Todo todo = todoService.createTodo("v1", null, dueDate);
+        LocalDateTime recordedAt = past.atDay(15).atStartOfDay();
+        jdbcTemplate.update(
+                "UPDATE todo_history SET created_at = ?, updated_at = ? WHERE internal_id = ?",
+                recordedAt,
+                recordedAt,
+                todo.getInternalId().value());
+
+        // act: 最新の版（版数 1）を含むため削除しない
+        withDrop.maintain(LocalDate.now());
+
+        // assert
+        assertThat(withDrop.listPartitions()).contains(past);
+
+        // act: 版数 2 を当月に記録すると、過去のパーティションは最新の版を含まなくなる
+        todoService.updateTodo(todo.getPublicId(), "v2", null, dueDate);
+        withDrop.maintain(LocalDate.now());
+
+        // assert
+        assertThat(withDrop.listPartitions()).doesNotContain(past);
+        assertThat(
+                        jdbcTemplate.queryForList(
+                                "SELECT version_number FROM todo_history WHERE internal_id = ?",
+                                Integer.class,
+                                todo.getInternalId().value()))
+                .containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("異常系: 履歴のアーカイブが有効な場合は DROP を指定できない")
+    void constructor_アーカイブとDROPは併用できない() {
+        // act & assert
+        assertThatThrownBy(
+                        () ->
+                                new TodoHistoryPartitions(
+                                        jdbcTemplate,
+                                        TransactionOperations.withoutTransaction(),
+                                        true,
+                                        0,
+                                        12,
+                                        ExpiredPartitionAction.DROP,
+                                        true,
+                                        10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("DROP");
+    }
+}
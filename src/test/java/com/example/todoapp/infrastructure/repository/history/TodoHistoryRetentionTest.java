@@ -0,0 +1,120 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.application.TodoHistoryPage;
+import com.example.todoapp.application.TodoHistoryService;
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.infrastructure.repository.export.TodoHistoryExportRow;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 保持期間を過ぎた履歴のアーカイブの統合テスト。
+ *
+ * <p>アーカイブへ移した後も、Todo ごとの履歴の参照結果が変わらないことを確認する。 Docker が利用できない環境ではスキップされる。
+ */
+@SpringBootTest(
+        properties = {
+            "todoapp.history.archive.retention=P30D",
+            "todoapp.history.archive.keep-latest=2",
+            "todoapp.history.archive.chunk-size=2"
+        })
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TodoHistoryRetention のテスト")
+class TodoHistoryRetentionTest {
+
+    @TempDir static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("todoapp.history.archive.directory", archiveDirectory::toString);
+    }
+
+    @Autowired private TodoService todoService;
+
+    @Autowired private TodoHistoryService todoHistoryService;
+
+    @Autowired private TodoHistoryRetention retention;
+
+    @Autowired private TodoHistoryArchive archive;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("正常系: 最新の版を残して古い版をアーカイブへ移し、履歴の参照結果は変わらない")
+    void archiveExpired_参照結果は変わらない() {
+        // arrange
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+        Todo todo = todoService.createTodo("v1", null, dueDate);
+        for (int version = 2; version <= 5; version++) {
+            todoService.updateTodo(todo.getPublicId(), "v" + version, null, dueDate);
+        }
+        int internalId = todo.getInternalId().value();
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        jdbcTemplate.update(
+                "UPDATE todo_history SET created_at = ? + make_interval(hours => version_number), "
+                        + "updated_at = ? + make_interval(hours => version_number) "
+                        + "WHERE internal_id = ?",
+                old,
+                old,
+                internalId);
+        jdbcTemplate.update(
+                "UPDATE todos SET created_at = ? + make_interval(hours => 1) WHERE internal_id = ?",
+                old,
+                internalId);
+        List<TodoHistoryExportRow> before = listAll(todo);
+
+        // act
+        int archived = retention.archiveExpired(LocalDateTime.now());
+
+        // assert
+        assertThat(archived).isGreaterThanOrEqualTo(3);
+        assertThat(
+                        jdbcTemplate.queryForList(
+                                "SELECT version_number FROM todo_history WHERE internal_id = ? "
+                                        + "ORDER BY version_number",
+                                Integer.class,
+                                internalId))
+                .containsExactly(4, 5);
+        assertThat(listAll(todo)).isEqualTo(before);
+        assertThat(todoHistoryService.getAsOf(todo.getPublicId(), old.plusMinutes(150)).title())
+                .isEqualTo("v2");
+        assertThat(archive.listSegments()).isNotEmpty();
+        assertThatThrownBy(() -> todoHistoryService.requireBoardAsOf(old.plusMinutes(150)))
+                .isInstanceOf(IllegalArgumentException.class);
+        // その時点で最新の版が todo_history に残っている日時は、アーカイブがあってもボード全体を参照できる
+        assertThatCode(() -> todoHistoryService.requireBoardAsOf(old.plusMinutes(270)))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> todoHistoryService.requireBoardAsOf(LocalDateTime.now()))
+                .doesNotThrowAnyException();
+    }
+
+    private List<TodoHistoryExportRow> listAll(Todo todo) {
+        TodoHistoryPage first = todoHistoryService.listHistory(todo.getPublicId(), null, 2);
+        TodoHistoryPage second =
+                todoHistoryService.listHistory(todo.getPublicId(), first.nextAfterVersion(), 2);
+        TodoHistoryPage third =
+                todoHistoryService.listHistory(todo.getPublicId(), second.nextAfterVersion(), 2);
+        assertThat(third.nextAfterVersion()).isNull();
+        return Stream.of(first, second, third).flatMap(page -> page.items().stream()).toList();
+    }
+}
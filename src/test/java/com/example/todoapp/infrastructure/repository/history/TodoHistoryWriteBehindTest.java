@@ -0,0 +1,236 @@
+package com.example.todoapp.infrastructure.repository.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.value.DueDate;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+import com.example.todoapp.infrastructure.repository.jpa.TodoHistoryJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoHistoryWriteBehind のテスト")
+class TodoHistoryWriteBehindTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @Mock private TodoHistoryJpaRepository historyRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** batchUpdate で書き込まれたバッチごとの件数 */
+    private final List<Integer> writtenBatches = new CopyOnWriteArrayList<>();
+
+    // テストデータ準備用のヘルパー
+    private TodoHistoryWriteBehind createWriteBehind(WriteBehindDurability durability) {
+        return new TodoHistoryWriteBehind(
+                jdbcTemplate,
+                historyRepository,
+                TransactionOperations.withoutTransaction(),
+                meterRegistry,
+                true,
+                durability,
+                100,
+                10,
+                Duration.ZERO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubBatchUpdate() {
+        when(jdbcTemplate.batchUpdate(
+                        anyString(),
+                        any(Collection.class),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(
+                        invocation -> {
+                            writtenBatches.add(invocation.<Collection<?>>getArgument(1).size());
+                            return new int[0][];
+                        });
+    }
+
+    private static Todo todo(int internalId) {
+        return new Todo(
+                new InternalId(internalId),
+                new PublicId(UUID.randomUUID()),
+                new VersionNumber(1),
+                "title",
+                null,
+                false,
+                false,
+                new DueDate(LocalDate.now().plusDays(1)),
+                LocalDateTime.now(),
+                LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("正常系: 停止時にキューに残っている履歴をすべて書き込む")
+    void stop_キューを書き込んでから停止する() {
+        // arrange
+        stubBatchUpdate();
+        TodoHistoryWriteBehind writeBehind = createWriteBehind(WriteBehindDurability.QUEUED);
+        writeBehind.start();
+
+        // act
+        for (int i = 1; i <= 25; i++) {
+            writeBehind.enqueueAfterCommit(todo(i));
+        }
+        writeBehind.stop();
+
+        // assert
+        assertThat(writtenBatches.stream().mapToInt(Integer::intValue).sum()).isEqualTo(25);
+        assertThat(writtenBatches).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(10));
+        assertThat(meterRegistry.get("todoapp.history.write_behind.queue.depth").gauge().value())
+                .isZero();
+        assertThat(
+                        meterRegistry
+                                .get("todoapp.history.write_behind.rows")
+                                .tag("result", "flushed")
+                                .counter()
+                                .count())
+                .isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("正常系: 停止と並行してキューに入れた履歴も、すべて書き込む")
+    void stop_並行したキューへの投入を失わない() throws InterruptedException {
+        // arrange
+        stubBatchUpdate();
+        TodoHistoryWriteBehind writeBehind = createWriteBehind(WriteBehindDurability.QUEUED);
+        writeBehind.start();
+        CountDownLatch started = new CountDownLatch(4);
+        List<CompletableFuture<Void>> producers =
+                IntStream.range(0, 4)
+                        .mapToObj(
+                                p ->
+                                        CompletableFuture.runAsync(
+                                                () -> {
+                                                    started.countDown();
+                                                    for (int i = 1; i <= 500; i++) {
+                                                        writeBehind.enqueueAfterCommit(todo(i));
+                                                    }
+                                                }))
+                        .toList();
+
+        // act
+        started.await();
+        writeBehind.stop();
+        producers.forEach(CompletableFuture::join);
+
+        // assert
+        assertThat(writtenBatches.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2000);
+        assertThat(meterRegistry.get("todoapp.history.write_behind.queue.depth").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("正常系: FLUSHED の場合、まとめて入れた履歴がすべて書き込まれてから戻る")
+    void enqueueAllAfterCommit_FLUSHED() {
+        // arrange
+        stubBatchUpdate();
+        TodoHistoryWriteBehind writeBehind = createWriteBehind(WriteBehindDurability.FLUSHED);
+        writeBehind.start();
+
+        try {
+            // act
+            writeBehind.enqueueAllAfterCommit(List.of(todo(1), todo(2), todo(3)));
+
+            // assert
+            assertThat(writtenBatches.stream().mapToInt(Integer::intValue).sum()).isEqualTo(3);
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("正常系: FLUSHED の場合は書き込みが完了してから戻る")
+    void enqueueAfterCommit_FLUSHED() {
+        // arrange
+        stubBatchUpdate();
+        TodoHistoryWriteBehind writeBehind = createWriteBehind(WriteBehindDurability.FLUSHED);
+        writeBehind.start();
+
+        try {
+            // act
+            writeBehind.enqueueAfterCommit(todo(1));
+
+            // assert
+            assertThat(writtenBatches).containsExactly(1);
+            assertThat(meterRegistry.get("todoapp.history.write_behind.flush").timer().count())
+                    .isEqualTo(1);
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("異常系: 再試行しても書き込めない履歴は失敗として記録し、変更操作には例外を伝えない")
+    @SuppressWarnings("unchecked")
+    void enqueueAfterCommit_書き込み失敗() {
+        // arrange
+        when(jdbcTemplate.batchUpdate(
+                        anyString(),
+                        any(Collection.class),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("error"));
+        TodoHistoryWriteBehind writeBehind = createWriteBehind(WriteBehindDurability.FLUSHED);
+        writeBehind.start();
+
+        try {
+            // act
+            writeBehind.enqueueAfterCommit(todo(1));
+
+            // assert
+            assertThat(
+                            meterRegistry
+                                    .get("todoapp.history.write_behind.rows")
+                                    .tag("result", "failed")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(1);
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("正常系: 停止後は呼び出し元のスレッドで直接書き込む")
+    void enqueueAfterCommit_停止後() {
+        // arrange
+        stubBatchUpdate();
+        TodoHistoryWriteBehind writeBehind = createWriteBehind(WriteBehindDurability.QUEUED);
+
+        // act
+        writeBehind.enqueueAfterCommit(todo(1));
+
+        // assert
+        assertThat(writtenBatches).containsExactly(1);
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.todoapp.infrastructure.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.domain.exception.TodoConflictException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.infrastructure.config.CacheConfig;
+import com.example.todoapp.infrastructure.entity.TodoEntity;
+import com.example.todoapp.infrastructure.mapper.TodoMapper;
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import com.example.todoapp.infrastructure.metrics.TodoMetrics;
+import com.example.todoapp.infrastructure.repository.index.ActiveTodoIndex;
+import com.example.todoapp.infrastructure.repository.jpa.TodoJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * TodoRepositoryImpl のキャッシュのテスト。
+ *
+ * <p>トランザクション外で実行するため、キャッシュへの書き込みと無効化は即座に反映される。 コミット後の格納は、トランザクションの同期を直接操作して再現する。
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoRepositoryImpl のキャッシュのテスト")
+class TodoRepositoryImplCacheTest {
+
+    private static final UUID PUBLIC_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Mock private TodoJpaRepository jpa;
+    @Mock private EntityManager entityManager;
+
+    private TodoRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository =
+                new TodoRepositoryImpl(
+                        jpa,
+                        new ConcurrentMapCacheManager(CacheConfig.TODOS_BY_PUBLIC_ID),
+                        new ActiveTodoIndex(jpa, false),
+                        entityManager,
+                        500,
+                        new TodoMetrics(new SimpleMeterRegistry(), new SqlStatementCounter()));
+    }
+
+    private TodoEntity createEntity(int versionNumber) {
+        TodoEntity entity = new TodoEntity();
+        entity.setInternalId(1);
+        entity.setPublicId(PUBLIC_ID);
+        entity.setVersionNumber(versionNumber);
+        entity.setTitle("title");
+        entity.setDetail("detail");
+        entity.setCompletedFlag(false);
+        entity.setDeletedFlag(false);
+        entity.setDueDate(LocalDate.now().plusDays(1));
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUpdatedAt(LocalDateTime.now());
+        return entity;
+    }
+
+    /** 版数 1 から一括完了した（版数 2 の）行を返す。 */
+    private TodoEntity completedEntity() {
+        TodoEntity entity = createEntity(2);
+        entity.setCompletedFlag(true);
+        return entity;
+    }
+
+    private void updateStateReturns(int rows) {
+        when(jpa.updateState(
+                        anyInt(),
+                        anyInt(),
+                        anyInt(),
+                        any(),
+                        any(),
+                        any(),
+                        anyBoolean(),
+                        anyBoolean(),
+                        any()))
+                .thenReturn(rows);
+    }
+
+    @Nested
+    @DisplayName("findByPublicId のテスト")
+    class FindByPublicIdTest {
+
+        @Test
+        @DisplayName("正常系: 2回目以降の検索は DB にアクセスしない")
+        void findByPublicId_2回目はキャッシュから取得() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+
+            // act
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+            Optional<Todo> result = repository.findByPublicId(new PublicId(PUBLIC_ID));
+
+            // assert
+            assertThat(result).isPresent();
+            verify(jpa, times(1)).findByPublicId(PUBLIC_ID);
+        }
+
+        @Test
+        @DisplayName("正常系: 返された Todo を変更してもキャッシュには影響しない")
+        void findByPublicId_キャッシュは複製を返す() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            Todo first = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // act
+            first.update("changed", "detail", LocalDate.now().plusDays(1));
+            Todo second = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // assert
+            assertThat(second.getTitle()).isEqualTo("title");
+            assertThat(second.getVersionNumber().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("正常系: 見つからない場合はキャッシュしない")
+        void findByPublicId_見つからない場合はキャッシュしない() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.empty());
+
+            // act
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+
+            // assert
+            verify(jpa, times(2)).findByPublicId(PUBLIC_ID);
+        }
+    }
+
+    @Nested
+    @DisplayName("更新時のキャッシュ のテスト")
+    class InvalidationTest {
+
+        @Test
+        @DisplayName("正常系: 保存した状態でキャッシュが上書きされる")
+        void save_キャッシュを上書き() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            updateStateReturns(1);
+            Todo todo = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+            todo.update("updated", "detail", LocalDate.now().plusDays(1));
+
+            // act
+            repository.save(todo);
+            Todo result = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // assert
+            assertThat(result.getTitle()).isEqualTo("updated");
+            assertThat(result.getPersistedVersionNumber().value()).isEqualTo(2);
+            verify(jpa, times(1)).findByPublicId(PUBLIC_ID);
+        }
+
+        @Test
+        @DisplayName("異常系: 競合した場合はキャッシュを破棄し、次回は DB から取得する")
+        void save_競合時はキャッシュを破棄() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            updateStateReturns(0);
+            Todo todo = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+            todo.update("updated", "detail", LocalDate.now().plusDays(1));
+
+            // act
+            assertThatThrownBy(() -> repository.save(todo))
+                    .isInstanceOf(TodoConflictException.class);
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+
+            // assert
+            verify(jpa, times(2)).findByPublicId(PUBLIC_ID);
+        }
+
+        @Test
+        @DisplayName("正常系: 一括完了した Todo のキャッシュは更新後の行で上書きされる")
+        void completeAll_更新後の行で上書き() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            when(jpa.completeAllByPublicIds(any(), any())).thenReturn(List.of(completedEntity()));
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+
+            // act
+            repository.completeAll(List.of(new PublicId(PUBLIC_ID)));
+            Todo cached = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // assert
+            assertThat(cached.isCompleted()).isTrue();
+            assertThat(cached.getVersionNumber().value()).isEqualTo(2);
+            verify(jpa, times(1)).findByPublicId(PUBLIC_ID);
+        }
+    }
+
+    @Nested
+    @DisplayName("検索と保存が並行した場合のテスト")
+    class ConcurrentReadTest {
+
+        @AfterEach
+        void tearDown() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        /** 版数 1 から更新した（版数 2 の）Todo を保存する。 */
+        private void saveVersion2() {
+            Todo todo = TodoMapper.toDomain(createEntity(1));
+            todo.update("updated", "detail", LocalDate.now().plusDays(1));
+            repository.save(todo);
+        }
+
+        @Test
+        @DisplayName("正常系: 検索中に新しい版が保存された場合、検索で読んだ古い版で上書きしない")
+        void findByPublicId_検索中の保存を上書きしない() {
+            // arrange
+            updateStateReturns(1);
+            when(jpa.findByPublicId(PUBLIC_ID))
+                    .thenAnswer(
+                            inv -> {
+                                // 版数 1 を読んだ後、返す前に別の操作が版数 2 を保存する
+                                TodoEntity stale = createEntity(1);
+                                saveVersion2();
+                                return Optional.of(stale);
+                            });
+
+            // act
+            Todo read = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+            Todo cached = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // assert
+            assertThat(read.getVersionNumber().value()).isEqualTo(1);
+            assertThat(cached.getVersionNumber().value()).isEqualTo(2);
+            assertThat(cached.getTitle()).isEqualTo("updated");
+            verify(jpa, times(1)).findByPublicId(PUBLIC_ID);
+        }
+
+        @Test
+        @DisplayName("正常系: 検索したトランザクションのコミットが保存より後でも、古い版で上書きしない")
+        void findByPublicId_コミット後の格納で上書きしない() {
+            // arrange
+            updateStateReturns(1);
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            TransactionSynchronizationManager.initSynchronization();
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+            List<TransactionSynchronization> reader =
+                    TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+
+            // act
+            saveVersion2();
+            reader.forEach(TransactionSynchronization::afterCommit);
+            Todo cached = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // assert
+            assertThat(cached.getVersionNumber().value()).isEqualTo(2);
+            verify(jpa, times(1)).findByPublicId(PUBLIC_ID);
+        }
+
+        @Test
+        @DisplayName("正常系: 検索したトランザクションのコミットが一括完了より後でも、古い版で上書きしない")
+        void findByPublicId_一括完了を古い版で上書きしない() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            when(jpa.completeAllByPublicIds(any(), any())).thenReturn(List.of(completedEntity()));
+            TransactionSynchronizationManager.initSynchronization();
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+            List<TransactionSynchronization> reader =
+                    TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+
+            // act
+            repository.completeAll(List.of(new PublicId(PUBLIC_ID)));
+            reader.forEach(TransactionSynchronization::afterCommit);
+            Todo cached = repository.findByPublicId(new PublicId(PUBLIC_ID)).orElseThrow();
+
+            // assert
+            assertThat(cached.isCompleted()).isTrue();
+            assertThat(cached.getVersionNumber().value()).isEqualTo(2);
+            verify(jpa, times(1)).findByPublicId(PUBLIC_ID);
+        }
+
+        @Test
+        @DisplayName("正常系: 読み書きを行うトランザクションの中で検索した結果は、コミットまで格納しない")
+        void findByPublicId_コミットまで格納しない() {
+            // arrange
+            when(jpa.findByPublicId(PUBLIC_ID)).thenReturn(Optional.of(createEntity(1)));
+            TransactionSynchronizationManager.initSynchronization();
+
+            // act
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+            TransactionSynchronizationManager.clearSynchronization();
+            repository.findByPublicId(new PublicId(PUBLIC_ID));
+
+            // assert
+            verify(jpa, times(2)).findByPublicId(PUBLIC_ID);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.todoapp.infrastructure.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.domain.exception.TodoConflictException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** TodoRepositoryImpl の統合テスト。Docker が利用できない環境ではスキップされる。 */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+@DisplayName("TodoRepositoryImpl のテスト")
+class TodoRepositoryImplTest {
+
+    @Autowired private TodoDomainRepository todoRepository;
+
+    @Autowired private EntityManager entityManager;
+
+    @Nested
+    @DisplayName("save（楽観的ロック）のテスト")
+    class SaveOptimisticLockTest {
+
+        @Test
+        @DisplayName("正常系: 読み込み時の版数が一致すれば更新され、続けて保存もできる")
+        void save_版数が一致すれば更新できる() {
+            // arrange
+            Todo created =
+                    todoRepository.save(
+                            Todo.create("title", "detail", LocalDate.now().plusDays(1)));
+            Todo loaded = todoRepository.findByPublicId(created.getPublicId()).orElseThrow();
+
+            // act
+            loaded.update("updated", "detail", LocalDate.now().plusDays(2));
+            Todo saved = todoRepository.save(loaded);
+            saved.complete();
+            Todo savedAgain = todoRepository.save(saved);
+
+            // assert
+            assertThat(savedAgain.getVersionNumber().value()).isEqualTo(3);
+            Todo reloaded = todoRepository.findByPublicId(created.getPublicId()).orElseThrow();
+            assertThat(reloaded.getVersionNumber().value()).isEqualTo(3);
+            assertThat(reloaded.getTitle()).isEqualTo("updated");
+            assertThat(reloaded.isCompleted()).isTrue();
+        }
+
+        @Test
+        @DisplayName("異常系: 同じ版数から2回更新すると後勝ちにならず競合例外となる")
+        void save_同じ版数からの2回目の更新は競合() {
+            // arrange
+            Todo created =
+                    todoRepository.save(
+                            Todo.create("title", "detail", LocalDate.now().plusDays(1)));
+            Todo first = todoRepository.findByPublicId(created.getPublicId()).orElseThrow();
+            Todo second = todoRepository.findByPublicId(created.getPublicId()).orElseThrow();
+
+            first.update("first", "detail", LocalDate.now().plusDays(1));
+            todoRepository.save(first);
+            second.update("second", "detail", LocalDate.now().plusDays(1));
+
+            // act & assert
+            assertThatThrownBy(() -> todoRepository.save(second))
+                    .isInstanceOf(TodoConflictException.class);
+
+            Todo reloaded = todoRepository.findByPublicId(created.getPublicId()).orElseThrow();
+            assertThat(reloaded.getTitle()).isEqualTo("first");
+        }
+    }
+
+    @Nested
+    @DisplayName("completeAll / deleteAll のテスト")
+    class BulkStateChangeTest {
+
+        @Test
+        @DisplayName("正常系: 未完了の Todo のみ完了し、版数を1つ進める")
+        void completeAll_未完了のみ完了() {
+            // arrange
+            Todo active =
+                    todoRepository.save(Todo.create("active", null, LocalDate.now().plusDays(1)));
+            Todo completed =
+                    todoRepository.save(Todo.create("done", null, LocalDate.now().plusDays(1)));
+            completed.complete();
+            todoRepository.save(completed);
+
+            // act
+            List<Todo> result =
+                    todoRepository.completeAll(
+                            List.of(
+                                    active.getPublicId(),
+                                    completed.getPublicId(),
+                                    PublicId.generate()));
+            entityManager.clear();
+
+            // assert
+            assertThat(result)
+                    .extracting(Todo::getInternalId)
+                    .containsExactly(active.getInternalId());
+            assertThat(result.get(0).isCompleted()).isTrue();
+            assertThat(result.get(0).getVersionNumber().value()).isEqualTo(2);
+            Todo reloaded = todoRepository.findByPublicId(active.getPublicId()).orElseThrow();
+            assertThat(reloaded.isCompleted()).isTrue();
+            assertThat(reloaded.getVersionNumber().value()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("正常系: 削除済みの Todo は対象外となる")
+        void deleteAll_削除済みは対象外() {
+            // arrange
+            Todo todo =
+                    todoRepository.save(Todo.create("title", null, LocalDate.now().plusDays(1)));
+            todoRepository.deleteAll(List.of(todo.getPublicId()));
+
+            // act
+            List<Todo> result = todoRepository.deleteAll(List.of(todo.getPublicId()));
+
+            // assert
+            assertThat(result).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todoapp.infrastructure.repository.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import com.example.todoapp.infrastructure.repository.jpa.TodoImportErrorRow;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** TodoCopyWriter の統合テスト。Docker が利用できない環境ではスキップされる。 */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+@DisplayName("TodoCopyWriter のテスト")
+class TodoCopyWriterTest {
+
+    @Autowired private TodoCopyWriter copyWriter;
+
+    @Autowired private TodoDomainRepository todoRepository;
+
+    @Autowired private EntityManager entityManager;
+
+    @Test
+    @DisplayName("正常系: todos・todo_history・エラーを COPY で書き込み、Hibernate の採番と重複しない")
+    void write_COPYで書き込む() {
+        // arrange
+        UUID jobId = UUID.randomUUID();
+        entityManager
+                .createNativeQuery(
+                        "INSERT INTO todo_import_jobs (job_id, status, processed_records, "
+                                + "imported_count, error_count, created_at, updated_at) "
+                                + "VALUES (?1, 'RUNNING', 0, 0, 0, now(), now())")
+                .setParameter(1, jobId)
+                .executeUpdate();
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+        Todo viaHibernate = todoRepository.save(Todo.create("hibernate", null, dueDate));
+        List<Todo> todos =
+                List.of(
+                        Todo.create("a,\"quoted\"", "line1\nline2", dueDate),
+                        Todo.create("b", null, dueDate));
+
+        // act
+        List<Todo> saved =
+                copyWriter.write(jobId, todos, List.of(new TodoImportErrorRow(3, "エラー")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // assert
+        assertThat(saved)
+                .extracting(todo -> todo.getInternalId().value())
+                .doesNotContain(viaHibernate.getInternalId().value())
+                .doesNotHaveDuplicates();
+        Todo loaded = todoRepository.findByPublicId(saved.get(0).getPublicId()).orElseThrow();
+        assertThat(loaded.getTitle()).isEqualTo("a,\"quoted\"");
+        assertThat(loaded.getDetail()).isEqualTo("line1\nline2");
+        assertThat(
+                        todoRepository
+                                .findByPublicId(saved.get(1).getPublicId())
+                                .orElseThrow()
+                                .getDetail())
+                .isNull();
+        Number history =
+                (Number)
+                        entityManager
+                                .createNativeQuery(
+                                        "SELECT count(*) FROM todo_history WHERE public_id IN (?1, ?2)")
+                                .setParameter(1, saved.get(0).getPublicId().value())
+                                .setParameter(2, saved.get(1).getPublicId().value())
+                                .getSingleResult();
+        assertThat(history.intValue()).isEqualTo(2);
+        Number errors =
+                (Number)
+                        entityManager
+                                .createNativeQuery(
+                                        "SELECT count(*) FROM todo_import_errors WHERE job_id = ?1")
+                                .setParameter(1, jobId)
+                                .getSingleResult();
+        assertThat(errors.intValue()).isEqualTo(1);
+    }
+}
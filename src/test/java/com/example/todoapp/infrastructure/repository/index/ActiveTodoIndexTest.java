@@ -0,0 +1,313 @@
+package com.example.todoapp.infrastructure.repository.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import com.example.todoapp.domain.model.todo.value.DueDate;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+import com.example.todoapp.infrastructure.repository.jpa.TodoJpaRepository;
+import com.example.todoapp.infrastructure.repository.jpa.TodoSummaryRow;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveTodoIndex のテスト")
+class ActiveTodoIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Mock private TodoJpaRepository jpa;
+
+    private ActiveTodoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveTodoIndex(jpa, true);
+    }
+
+    // テストデータ準備用のヘルパー
+    private Todo createTodo(int internalId, int version, LocalDate dueDate, boolean deleted) {
+        return new Todo(
+                new InternalId(internalId),
+                PublicId.generate(),
+                new VersionNumber(version),
+                "title" + internalId,
+                null,
+                false,
+                deleted,
+                new DueDate(dueDate),
+                BASE.plusMinutes(internalId),
+                BASE);
+    }
+
+    private TodoSummary createSummary(int internalId, int version, LocalDate dueDate) {
+        return TodoSummary.of(createTodo(internalId, version, dueDate, false));
+    }
+
+    private void loadWith(TodoSummary... summaries) {
+        when(jpa.findAllActiveSummaries())
+                .thenReturn(List.of(summaries).stream().map(this::toRow).toList());
+        index.load();
+    }
+
+    private TodoSummaryRow toRow(TodoSummary summary) {
+        return new TodoSummaryRow(
+                summary.internalId().value(),
+                summary.publicId().value(),
+                summary.versionNumber().value(),
+                summary.title(),
+                summary.dueDate().value(),
+                summary.completed(),
+                summary.createdAt());
+    }
+
+    private List<Integer> idsOf(List<TodoSummary> summaries) {
+        return summaries.stream().map(s -> s.internalId().value()).toList();
+    }
+
+    @Nested
+    @DisplayName("読み出し のテスト")
+    class FindTest {
+
+        @Test
+        @DisplayName("正常系: 期限日・作成日時・内部IDの順に並ぶ")
+        void findAll_一覧の並び順() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(
+                    createSummary(3, 1, tomorrow),
+                    createSummary(1, 1, tomorrow.plusDays(1)),
+                    createSummary(2, 1, tomorrow));
+
+            // act
+            List<TodoSummary> result = index.findAll();
+
+            // assert
+            assertThat(index.isReady()).isTrue();
+            assertThat(idsOf(result)).containsExactly(2, 3, 1);
+        }
+
+        @Test
+        @DisplayName("正常系: カーソル位置より後ろから指定件数だけ取得する")
+        void findPage_カーソル以降() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            TodoSummary first = createSummary(1, 1, tomorrow);
+            loadWith(first, createSummary(2, 1, tomorrow), createSummary(3, 1, tomorrow));
+
+            // act
+            List<TodoSummary> result = index.findPage(TodoCursor.of(first), 1);
+
+            // assert
+            assertThat(idsOf(result)).containsExactly(2);
+        }
+
+        @Test
+        @DisplayName("正常系: 逐次取得でも一覧の並び順で返し、期限切れは含めない")
+        void stream_一覧の並び順() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(2, 1, tomorrow), createSummary(1, 1, tomorrow));
+            index.apply(createSummary(3, 1, LocalDate.now().minusDays(1)));
+
+            // act
+            List<TodoSummary> result = index.stream().toList();
+
+            // assert
+            assertThat(idsOf(result)).containsExactly(1, 2);
+        }
+
+        @Test
+        @DisplayName("正常系: 期限日が過ぎた Todo は返さず、日付の切り替わりで取り除く")
+        void findAll_期限切れは対象外() {
+            // arrange
+            loadWith(createSummary(1, 1, LocalDate.now()));
+            index.apply(createSummary(2, 1, LocalDate.now().minusDays(1)));
+
+            // act
+            List<TodoSummary> result = index.findAll();
+            index.evictExpired();
+
+            // assert
+            assertThat(idsOf(result)).containsExactly(1);
+            assertThat(index.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("正常系: 詳細は保持しない")
+        void findAll_詳細は保持しない() {
+            // arrange
+            loadWith();
+            Todo todo =
+                    new Todo(
+                            new InternalId(1),
+                            PublicId.generate(),
+                            new VersionNumber(1),
+                            "title",
+                            "detail",
+                            false,
+                            false,
+                            new DueDate(LocalDate.now().plusDays(1)),
+                            BASE,
+                            BASE);
+
+            // act
+            index.upsertAfterCommit(todo);
+
+            // assert
+            assertThat(index.findAll()).containsExactly(TodoSummary.of(todo));
+        }
+    }
+
+    @Nested
+    @DisplayName("書き込み のテスト")
+    class ApplyTest {
+
+        @Test
+        @DisplayName("正常系: 期限日の変更で並び順の位置が移動する")
+        void apply_期限日の変更() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(1, 1, tomorrow), createSummary(2, 1, tomorrow));
+
+            // act
+            index.apply(createSummary(1, 2, tomorrow.plusDays(1)));
+
+            // assert
+            assertThat(idsOf(index.findAll())).containsExactly(2, 1);
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("正常系: 索引より古い版数の変更は無視する")
+        void apply_古い版数は無視() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(1, 2, tomorrow));
+
+            // act
+            index.apply(createSummary(1, 1, tomorrow.plusDays(1)));
+
+            // assert
+            assertThat(index.findAll().get(0).versionNumber().value()).isEqualTo(2);
+            assertThat(index.findAll().get(0).dueDate().value()).isEqualTo(tomorrow);
+        }
+
+        @Test
+        @DisplayName("正常系: 削除された Todo は索引から取り除く")
+        void upsertAfterCommit_削除() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(1, 1, tomorrow));
+
+            // act
+            index.upsertAfterCommit(createTodo(1, 2, tomorrow, true));
+
+            // assert
+            assertThat(index.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("正常系: 取り除いた後に届いた古い版数の変更では復活させない")
+        void apply_削除後の古い版数は無視() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(1, 1, tomorrow));
+            index.upsertAfterCommit(createTodo(1, 3, tomorrow, true));
+
+            // act: 削除より前にコミットした更新（版数 2）の反映が後から届く
+            index.apply(createSummary(1, 2, tomorrow));
+
+            // assert
+            assertThat(index.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("正常系: 2 回の突き合わせを経た tombstone は破棄する")
+        void checkConsistency_古いtombstoneを破棄() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(1, 1, tomorrow));
+            index.upsertAfterCommit(createTodo(1, 2, tomorrow, true));
+            when(jpa.findAllActiveSummaries()).thenReturn(List.of());
+            index.checkConsistency();
+            index.apply(createSummary(1, 2, tomorrow));
+            List<TodoSummary> afterFirstCheck = index.findAll();
+            index.checkConsistency();
+
+            // act
+            index.apply(createSummary(1, 2, tomorrow));
+
+            // assert
+            assertThat(afterFirstCheck).isEmpty();
+            assertThat(idsOf(index.findAll())).containsExactly(1);
+        }
+
+        @Test
+        @DisplayName("正常系: トランザクション内の変更はコミットされるまで反映しない")
+        void upsertAfterCommit_コミット後に反映() {
+            // arrange
+            loadWith();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // act
+                index.upsertAfterCommit(createTodo(1, 1, LocalDate.now().plusDays(1), false));
+                List<TodoSummary> beforeCommit = index.findAll();
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+
+                // assert
+                assertThat(beforeCommit).isEmpty();
+                assertThat(idsOf(index.findAll())).containsExactly(1);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("checkConsistency のテスト")
+    class CheckConsistencyTest {
+
+        @Test
+        @DisplayName("正常系: DB と一致する場合は true")
+        void checkConsistency_一致() {
+            // arrange
+            loadWith(createSummary(1, 1, LocalDate.now().plusDays(1)));
+
+            // act & assert
+            assertThat(index.checkConsistency()).isTrue();
+        }
+
+        @Test
+        @DisplayName("異常系: DB と一致しない場合は false を返し、DB から読み込み直す")
+        void checkConsistency_不一致は読み込み直す() {
+            // arrange
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            loadWith(createSummary(1, 1, tomorrow));
+            index.apply(createSummary(2, 1, tomorrow));
+
+            // act
+            boolean result = index.checkConsistency();
+
+            // assert
+            assertThat(result).isFalse();
+            assertThat(idsOf(index.findAll())).containsExactly(1);
+        }
+    }
+}
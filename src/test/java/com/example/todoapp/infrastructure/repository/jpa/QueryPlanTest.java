@@ -0,0 +1,218 @@
+package com.example.todoapp.infrastructure.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.TestcontainersConfiguration;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.repository.TodoDomainRepository;
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import com.example.todoapp.infrastructure.repository.export.TodoExportRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * repository の検索が索引を使うことを、実行計画（EXPLAIN）で確認する統合テスト。
+ *
+ * <p>SQL は手で書き写さず、repository のメソッドを呼び出して {@link SqlStatementCounter} が記録した文（Hibernate が実際に発行した文）を、
+ * 呼び出しと同じ値をバインドして EXPLAIN する。 テストデータが少ないとシーケンシャルスキャンが選ばれるため、 enable_seqscan
+ * を無効にしたうえで、索引を使える計画が存在することを確認する。 Docker が利用できない環境ではスキップされる。
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+@DisplayName("検索の実行計画のテスト")
+class QueryPlanTest {
+
+    /** 時点用の索引（idx_todo_history_as_of）から各パーティションに作成される索引の名前の末尾 */
+    private static final String AS_OF_INDEX = "internal_id_updated_at_version_number_idx";
+
+    /** 実行計画の並び替えのノード（Merge Append の Sort Key は含まない） */
+    private static final Pattern SORT_NODE =
+            Pattern.compile("(?m)^\\s*(->\\s+)?(Incremental )?Sort\\s+\\(");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private TodoDomainRepository todoRepository;
+
+    @Autowired private TodoJpaRepository todoJpaRepository;
+
+    @Autowired private TodoHistoryJpaRepository historyJpaRepository;
+
+    @Autowired private TodoExportRepository exportRepository;
+
+    @Autowired private SqlStatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            todoRepository.save(Todo.create("title" + i, null, LocalDate.now().plusDays(i)));
+        }
+        // 検索の前の自動フラッシュで INSERT が記録されないよう、ここで書き込んでおく
+        todoJpaRepository.flush();
+        jdbcTemplate.execute("ANALYZE todos");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    private static String partitionOf(YearMonth month) {
+        return String.format("todo_history_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * repository のメソッドを呼び出し、Hibernate が発行した 1 文を返す。
+     *
+     * @param query 呼び出す処理（1 文だけを発行すること）
+     * @return 発行された SQL 文
+     */
+    private String recordedSql(Runnable query) {
+        Map<String, Integer> countsBySql;
+        try (SqlStatementCounter.Scope statements = statementCounter.open(true)) {
+            query.run();
+            countsBySql = statements.countsBySql();
+        }
+        assertThat(countsBySql).as("発行された SQL 文").hasSize(1);
+        return countsBySql.keySet().iterator().next();
+    }
+
+    /**
+     * 記録した SQL 文に、呼び出しと同じ値をバインドして EXPLAIN する。
+     *
+     * @param sql 記録した SQL 文
+     * @param args バインドする値（SQL 文のプレースホルダーの順）
+     * @return 実行計画
+     */
+    private String explain(String sql, Object... args) {
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("プレースホルダーの数: %s", sql)
+                .isEqualTo(args.length);
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        return String.join("\n", lines);
+    }
+
+    @Test
+    @DisplayName("findByPublicId: 公開IDの一意索引を使う")
+    void findByPublicId_一意索引() {
+        UUID publicId = UUID.randomUUID();
+        String sql = recordedSql(() -> todoJpaRepository.findByPublicId(publicId));
+
+        String plan = explain(sql, publicId);
+
+        assertThat(plan).contains("uk_todos_public_id");
+    }
+
+    @Test
+    @DisplayName("findAllActiveAndValid: 部分索引を使い、並び替えを行わない")
+    void findAllActiveAndValid_部分索引() {
+        String sql = recordedSql(todoJpaRepository::findAllActiveAndValid);
+
+        String plan = explain(sql);
+
+        assertThat(plan).contains("idx_todos_active_due_date").doesNotContainPattern(SORT_NODE);
+    }
+
+    @Test
+    @DisplayName("キーセットページング: カーソル位置から部分索引を範囲検索する")
+    void findActiveSummariesAfter_部分索引() {
+        LocalDate dueDate = LocalDate.now();
+        LocalDateTime createdAt = LocalDateTime.now();
+        String sql =
+                recordedSql(
+                        () ->
+                                todoJpaRepository.findActiveSummariesAfter(
+                                        dueDate, createdAt, 1, Limit.of(51)));
+
+        String plan = explain(sql, dueDate, createdAt, 1, 51);
+
+        assertThat(plan).contains("idx_todos_active_due_date").doesNotContainPattern(SORT_NODE);
+    }
+
+    @Test
+    @DisplayName("履歴のページ: 主キーの索引の順に読み、並び替えを行わない")
+    void findPage_主キー() {
+        String sql = recordedSql(() -> historyJpaRepository.findPage(1, 0, Limit.of(20)));
+
+        String plan = explain(sql, 1, 0, 20);
+
+        // todo_history はパーティションに分かれているため、各パーティションの主キーの索引を使う
+        assertThat(plan).containsPattern("todo_history_\\w+_pkey").doesNotContainPattern(SORT_NODE);
+    }
+
+    @Test
+    @DisplayName("履歴の時点指定: 時点用の索引の先頭 1 行を読み、並び替えを行わない")
+    void findLatestAsOf_時点用の索引() {
+        LocalDateTime at = LocalDateTime.now();
+        String sql = recordedSql(() -> historyJpaRepository.findLatestAsOf(1, at, Limit.of(1)));
+
+        String plan = explain(sql, 1, at, at, 1);
+
+        assertThat(plan).contains(AS_OF_INDEX).doesNotContainPattern(SORT_NODE);
+    }
+
+    @Test
+    @DisplayName("ボード全体の時点指定: DISTINCT ON を時点用の索引の順に読み、並び替えを行わない")
+    void streamStateAsOf_時点用の索引() {
+        LocalDateTime at = LocalDateTime.now();
+        String sql =
+                recordedSql(
+                        () -> {
+                            try (Stream<?> rows = exportRepository.streamStateAsOf(at)) {
+                                rows.count();
+                            }
+                        });
+
+        String plan = explain(sql, at, at);
+
+        assertThat(plan).contains(AS_OF_INDEX).doesNotContainPattern(SORT_NODE);
+    }
+
+    @Test
+    @DisplayName("履歴の範囲指定: 範囲外の月のパーティションを読まない")
+    void streamHistory_パーティションの刈り込み() {
+        YearMonth month = YearMonth.now();
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String sql =
+                recordedSql(
+                        () -> {
+                            try (Stream<?> rows = exportRepository.streamHistory(from, to)) {
+                                rows.count();
+                            }
+                        });
+
+        String plan = explain(sql, from, to);
+
+        assertThat(plan)
+                .contains(partitionOf(month))
+                .doesNotContain(partitionOf(month.plusMonths(1)))
+                .doesNotContain("todo_history_default");
+    }
+
+    @Test
+    @DisplayName("履歴の時点指定: 指定日時より後の月のパーティションを読まない")
+    void findLatestAsOf_パーティションの刈り込み() {
+        LocalDateTime at = LocalDateTime.now();
+        String sql = recordedSql(() -> historyJpaRepository.findLatestAsOf(1, at, Limit.of(1)));
+
+        String plan = explain(sql, 1, at, at, 1);
+
+        assertThat(plan)
+                .contains(partitionOf(YearMonth.from(at)))
+                .doesNotContain(partitionOf(YearMonth.from(at).plusMonths(1)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todoapp.presentation.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.todoapp.infrastructure.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+@DisplayName("SqlStatementCountFilter のテスト")
+class SqlStatementCountFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    private final SqlStatementCountFilter filter =
+            new SqlStatementCountFilter(counter, registry, 20, 10);
+
+    @Test
+    @DisplayName("正常系: リクエストで発行した文の数をハンドラーのパターンごとに記録する")
+    void doFilter_パターンごとに記録() throws Exception {
+        // arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/todos/abc/detail");
+        FilterChain chain =
+                (req, res) -> {
+                    req.setAttribute(
+                            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                            "/todos/{publicId}/detail");
+                    counter.inspect("select 1");
+                    counter.inspect("select 2");
+                };
+
+        // act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // assert
+        assertThat(
+                        registry.get("todoapp.sql.statements.request")
+                                .tags("method", "GET", "uri", "/todos/{publicId}/detail")
+                                .summary()
+                                .totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("正常系: ハンドラーに対応付かないリクエストは UNKNOWN として記録する")
+    void doFilter_対応付かないリクエスト() throws Exception {
+        // act
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/missing"),
+                new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // assert
+        assertThat(
+                        registry.get("todoapp.sql.statements.request")
+                                .tag("uri", SqlStatementCountFilter.UNKNOWN_URI)
+                                .summary()
+                                .count())
+                .isEqualTo(1);
+    }
+}
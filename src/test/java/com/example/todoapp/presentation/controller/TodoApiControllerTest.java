@@ -0,0 +1,346 @@
+package com.example.todoapp.presentation.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.todoapp.application.TodoService;
+import com.example.todoapp.domain.exception.TodoVersionMismatchException;
+import com.example.todoapp.domain.model.todo.Todo;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import com.example.todoapp.domain.model.todo.value.DueDate;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+import com.example.todoapp.presentation.handler.GlobalExceptionHandler;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoApiController のテスト")
+class TodoApiControllerTest {
+
+    private static final PublicId PUBLIC_ID = PublicId.of("550e8400-e29b-41d4-a716-446655440000");
+    private static final PublicId OTHER_PUBLIC_ID =
+            PublicId.of("550e8400-e29b-41d4-a716-446655440001");
+    private static final String UPDATE_BODY =
+            "{\"title\":\"Updated\",\"detail\":null,\"dueDate\":\"2999-01-01\"}";
+
+    @Mock private TodoService todoService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc =
+                MockMvcBuilders.standaloneSetup(new TodoApiController(todoService))
+                        .setControllerAdvice(new GlobalExceptionHandler())
+                        .build();
+    }
+
+    private static Todo todo(int versionNumber) {
+        return new Todo(
+                new InternalId(1),
+                PUBLIC_ID,
+                new VersionNumber(versionNumber),
+                "Title",
+                "Detail",
+                false,
+                false,
+                new DueDate(LocalDate.now().plusDays(1)),
+                LocalDateTime.now(),
+                LocalDateTime.now());
+    }
+
+    private static String etag(int versionNumber) {
+        return "\"" + PUBLIC_ID + "-" + versionNumber + "\"";
+    }
+
+    @Nested
+    @DisplayName("取得のテスト")
+    class GetTest {
+
+        @Test
+        @DisplayName("正常系: 公開IDと版数から作った ETag を付けて返す")
+        void get_ETagを付ける() throws Exception {
+            // arrange
+            when(todoService.getTodo(PUBLIC_ID)).thenReturn(todo(3));
+
+            // act & assert
+            mockMvc.perform(get("/api/todos/{publicId}", PUBLIC_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag(3)))
+                    .andExpect(jsonPath("$.publicId").value(PUBLIC_ID.toString()))
+                    .andExpect(jsonPath("$.versionNumber").value(3));
+        }
+
+        @Test
+        @DisplayName("正常系: If-None-Match が一致する場合は本文なしで 304 を返す")
+        void get_IfNoneMatchが一致() throws Exception {
+            // arrange
+            when(todoService.getTodo(PUBLIC_ID)).thenReturn(todo(3));
+
+            // act & assert
+            mockMvc.perform(
+                            get("/api/todos/{publicId}", PUBLIC_ID)
+                                    .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag(3)))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag(3)))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("正常系: 版数が変わった場合は 200 で新しい ETag を返す")
+        void get_版数が変わった() throws Exception {
+            // arrange
+            when(todoService.getTodo(PUBLIC_ID)).thenReturn(todo(4));
+
+            // act & assert
+            mockMvc.perform(
+                            get("/api/todos/{publicId}", PUBLIC_ID)
+                                    .header(HttpHeaders.IF_NONE_MATCH, etag(3)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag(4)));
+        }
+
+        @Test
+        @DisplayName("正常系: 一覧は同じページであれば 304 を返す")
+        void list_IfNoneMatchが一致() throws Exception {
+            // arrange
+            TodoPage page = new TodoPage(List.of(TodoSummary.of(todo(2))), null);
+            when(todoService.listActiveTodos(null, 50)).thenReturn(page);
+            String listEtag = TodoEtags.of(page);
+
+            // act & assert
+            mockMvc.perform(get("/api/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, listEtag))
+                    .andExpect(jsonPath("$.items[0].versionNumber").value(2))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+            mockMvc.perform(get("/api/todos").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+    }
+
+    @Nested
+    @DisplayName("更新系のテスト")
+    class WriteTest {
+
+        @Test
+        @DisplayName("正常系: 作成した Todo の URI と ETag を付けて 201 を返す")
+        void create_201() throws Exception {
+            // arrange
+            when(todoService.createTodo(eq("Title"), isNull(), any(LocalDate.class)))
+                    .thenReturn(todo(1));
+
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"title\":\"Title\",\"dueDate\":\"2999-01-01\"}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string(HttpHeaders.LOCATION, "/api/todos/" + PUBLIC_ID))
+                    .andExpect(header().string(HttpHeaders.ETAG, etag(1)));
+        }
+
+        @Test
+        @DisplayName("正常系: If-Match の版数を前提として更新し、新しい ETag を返す")
+        void update_IfMatchの版数で更新() throws Exception {
+            // arrange
+            when(todoService.updateTodo(
+                            eq(PUBLIC_ID),
+                            eq(new VersionNumber(3)),
+                            eq("Updated"),
+                            isNull(),
+                            eq(LocalDate.of(2999, 1, 1))))
+                    .thenReturn(todo(4));
+
+            // act & assert
+            mockMvc.perform(
+                            put("/api/todos/{publicId}", PUBLIC_ID)
+                                    .header(HttpHeaders.IF_MATCH, etag(3))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(UPDATE_BODY))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag(4)));
+        }
+
+        @Test
+        @DisplayName("正常系: If-Match がない場合は版数を確認せずに更新する")
+        void update_IfMatchなし() throws Exception {
+            // arrange
+            when(todoService.updateTodo(eq(PUBLIC_ID), isNull(), any(), any(), any()))
+                    .thenReturn(todo(4));
+
+            // act & assert
+            mockMvc.perform(
+                            put("/api/todos/{publicId}", PUBLIC_ID)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(UPDATE_BODY))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("異常系: If-Match が別の Todo・弱い ETag の場合は DB にアクセスせずに 412 を返す")
+        void update_IfMatchが一致しない() throws Exception {
+            // act & assert
+            mockMvc.perform(
+                            put("/api/todos/{publicId}", PUBLIC_ID)
+                                    .header(
+                                            HttpHeaders.IF_MATCH,
+                                            "\"" + OTHER_PUBLIC_ID + "-3\", W/" + etag(3))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(UPDATE_BODY))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.status").value(412));
+
+            verifyNoInteractions(todoService);
+        }
+
+        @Test
+        @DisplayName("異常系: 現在の版数と一致しない場合は 412 を返す")
+        void delete_版数が不一致() throws Exception {
+            // arrange
+            when(todoService.deleteTodo(PUBLIC_ID, new VersionNumber(3)))
+                    .thenThrow(new TodoVersionMismatchException());
+
+            // act & assert
+            mockMvc.perform(
+                            delete("/api/todos/{publicId}", PUBLIC_ID)
+                                    .header(HttpHeaders.IF_MATCH, etag(3)))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        @DisplayName("正常系: 完了処理は If-Match の版数を前提として行う")
+        void complete_IfMatchの版数で完了() throws Exception {
+            // arrange
+            when(todoService.completeTodo(PUBLIC_ID, new VersionNumber(3))).thenReturn(todo(4));
+
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos/{publicId}/complete", PUBLIC_ID)
+                                    .header(HttpHeaders.IF_MATCH, etag(3)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag(4)));
+            verify(todoService).completeTodo(PUBLIC_ID, new VersionNumber(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("不正なリクエストのテスト")
+    class BadRequestTest {
+
+        @Test
+        @DisplayName("異常系: 本文が JSON として不正な場合は 400 を返す")
+        void create_不正なJSON() throws Exception {
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"title\":"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value(400))
+                    .andExpect(jsonPath("$.path").value("/api/todos"));
+
+            verifyNoInteractions(todoService);
+        }
+
+        @Test
+        @DisplayName("異常系: 期限日の形式が不正な場合は 400 を返す")
+        void create_期限日の形式が不正() throws Exception {
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"title\":\"Title\",\"dueDate\":\"2999/01/01\"}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(todoService);
+        }
+
+        @Test
+        @DisplayName("異常系: タイトルがない場合は 400 を返す")
+        void create_タイトルなし() throws Exception {
+            // arrange
+            when(todoService.createTodo(isNull(), isNull(), eq(LocalDate.of(2999, 1, 1))))
+                    .thenThrow(new IllegalArgumentException("タイトルは必須です"));
+
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"dueDate\":\"2999-01-01\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("タイトルは必須です"));
+        }
+
+        @Test
+        @DisplayName("異常系: 期限日がない場合は 400 を返す")
+        void create_期限日なし() throws Exception {
+            // arrange
+            when(todoService.createTodo(eq("Title"), isNull(), isNull()))
+                    .thenThrow(new IllegalArgumentException("期限日は必須です"));
+
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"title\":\"Title\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("期限日は必須です"));
+        }
+
+        @Test
+        @DisplayName("異常系: Content-Type が JSON でない場合は 415 を返す")
+        void create_ContentTypeが不正() throws Exception {
+            // act & assert
+            mockMvc.perform(
+                            post("/api/todos")
+                                    .contentType(MediaType.TEXT_PLAIN)
+                                    .content("title=Title"))
+                    .andExpect(status().isUnsupportedMediaType())
+                    .andExpect(jsonPath("$.status").value(415))
+                    .andExpect(
+                            header().string(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE));
+
+            verifyNoInteractions(todoService);
+        }
+
+        @Test
+        @DisplayName("異常系: 件数が数値でない場合は 400 を返す")
+        void list_件数が数値でない() throws Exception {
+            // act & assert
+            mockMvc.perform(get("/api/todos").param("size", "abc"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("パラメータ size の値が不正です"));
+
+            verifyNoInteractions(todoService);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.todoapp.presentation.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.todoapp.domain.exception.TodoVersionMismatchException;
+import com.example.todoapp.domain.model.todo.TodoPage;
+import com.example.todoapp.domain.model.todo.TodoSummary;
+import com.example.todoapp.domain.model.todo.value.DueDate;
+import com.example.todoapp.domain.model.todo.value.InternalId;
+import com.example.todoapp.domain.model.todo.value.PublicId;
+import com.example.todoapp.domain.model.todo.value.TodoCursor;
+import com.example.todoapp.domain.model.todo.value.VersionNumber;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TodoEtags のテスト")
+class TodoEtagsTest {
+
+    private static final PublicId PUBLIC_ID = PublicId.of("550e8400-e29b-41d4-a716-446655440000");
+
+    private static TodoSummary summary(int internalId, PublicId publicId, int versionNumber) {
+        return new TodoSummary(
+                new InternalId(internalId),
+                publicId,
+                new VersionNumber(versionNumber),
+                "Title",
+                new DueDate(LocalDate.now().plusDays(1)),
+                false,
+                LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("正常系: 一覧の ETag はいずれかの行の版数・行の構成・次ページの有無が変わると変わる")
+    void ofPage_変更を検出する() {
+        // arrange
+        TodoSummary first = summary(1, PUBLIC_ID, 1);
+        TodoSummary second = summary(2, PublicId.generate(), 1);
+        TodoPage page = new TodoPage(List.of(first, second), null);
+
+        // act
+        String etag = TodoEtags.of(page);
+
+        // assert
+        assertThat(TodoEtags.of(new TodoPage(List.of(first, second), null))).isEqualTo(etag);
+        assertThat(
+                        TodoEtags.of(
+                                new TodoPage(
+                                        List.of(first, summary(2, second.publicId(), 2)), null)))
+                .isNotEqualTo(etag);
+        assertThat(TodoEtags.of(new TodoPage(List.of(first), null))).isNotEqualTo(etag);
+        assertThat(TodoEtags.of(new TodoPage(List.of(first, second), TodoCursor.of(second))))
+                .isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("正常系: If-Match から対象の Todo の版数を取り出す")
+    void expectedVersion_版数を取り出す() {
+        // act & assert
+        assertThat(TodoEtags.expectedVersion("\"" + PUBLIC_ID + "-7\"", PUBLIC_ID))
+                .isEqualTo(new VersionNumber(7));
+        assertThat(TodoEtags.expectedVersion(null, PUBLIC_ID)).isNull();
+        assertThat(TodoEtags.expectedVersion("*", PUBLIC_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("異常系: If-Match に対象の Todo の強い ETag がない場合は例外")
+    void expectedVersion_一致しない() {
+        // act & assert
+        assertThatThrownBy(() -> TodoEtags.expectedVersion("W/\"" + PUBLIC_ID + "-7\"", PUBLIC_ID))
+                .isInstanceOf(TodoVersionMismatchException.class);
+        assertThatThrownBy(() -> TodoEtags.expectedVersion("\"" + PUBLIC_ID + "-x\"", PUBLIC_ID))
+                .isInstanceOf(TodoVersionMismatchException.class);
+        assertThatThrownBy(
+                        () ->
+                                TodoEtags.expectedVersion(
+                                        "\"" + PublicId.generate() + "-7\"", PUBLIC_ID))
+                .isInstanceOf(TodoVersionMismatchException.class);
+    }
+}
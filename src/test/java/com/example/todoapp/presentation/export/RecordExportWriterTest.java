@@ -0,0 +1,111 @@
+package com.example.todoapp.presentation.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RecordExportWriter のテスト")
+class RecordExportWriterTest {
+
+    private record Row(String title, String detail, LocalDate dueDate, boolean completed) {}
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private String write(ExportFormat format, Row... rows) {
+        StringWriter out = new StringWriter();
+        RecordExportWriter<Row> writer =
+                new RecordExportWriter<>(out, format, Row.class, objectMapper);
+        writer.writeHeader();
+        for (Row row : rows) {
+            writer.write(row);
+        }
+        writer.flush();
+        return out.toString();
+    }
+
+    @Nested
+    @DisplayName("CSV のテスト")
+    class CsvTest {
+
+        @Test
+        @DisplayName("正常系: 先頭行に列名を出力し、値はレコードの構成要素の順に並ぶ")
+        void write_列名と値() {
+            // act
+            String result =
+                    write(ExportFormat.CSV, new Row("title", null, LocalDate.of(2025, 1, 2), true));
+
+            // assert
+            assertThat(result)
+                    .isEqualTo("title,detail,dueDate,completed\r\ntitle,,2025-01-02,true\r\n");
+        }
+
+        @Test
+        @DisplayName("正常系: 区切り文字・引用符・改行を含む値は引用符で囲む")
+        void write_エスケープ() {
+            // act
+            String result =
+                    write(
+                            ExportFormat.CSV,
+                            new Row("a,b", "say \"hi\"\nbye", LocalDate.of(2025, 1, 2), false));
+
+            // assert
+            assertThat(result)
+                    .endsWith("\"a,b\",\"say \"\"hi\"\"\nbye\",2025-01-02,false\r\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON のテスト")
+    class NdjsonTest {
+
+        @Test
+        @DisplayName("正常系: 1 行に 1 つの JSON オブジェクトを出力し、列名の行は出力しない")
+        void write_1行1オブジェクト() {
+            // act
+            String result =
+                    write(
+                            ExportFormat.NDJSON,
+                            new Row("a", "line1\nline2", LocalDate.of(2025, 1, 2), false),
+                            new Row("b", null, LocalDate.of(2025, 1, 3), true));
+
+            // assert
+            assertThat(result.split("\n"))
+                    .containsExactly(
+                            "{\"title\":\"a\",\"detail\":\"line1\\nline2\","
+                                    + "\"dueDate\":\"2025-01-02\",\"completed\":false}",
+                            "{\"title\":\"b\",\"detail\":null,"
+                                    + "\"dueDate\":\"2025-01-03\",\"completed\":true}");
+        }
+    }
+
+    @Nested
+    @DisplayName("ExportFormat のテスト")
+    class ExportFormatTest {
+
+        @Test
+        @DisplayName("正常系: 形式名は大文字小文字を区別しない")
+        void of_大文字小文字を区別しない() {
+            // act & assert
+            assertThat(ExportFormat.of("CSV")).isEqualTo(ExportFormat.CSV);
+        }
+
+        @Test
+        @DisplayName("異常系: 未対応の形式は例外")
+        void of_未対応の形式() {
+            // act & assert
+            assertThatThrownBy(() -> ExportFormat.of("xml"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}